@@ -0,0 +1,82 @@
+package br.com.pateandoapp.pateandobackend.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.pateandoapp.pateandobackend.DTO.ResumoAgendamentoDTO;
+
+/**
+ * Escritas do AgendamentoService: criação e transições de status.
+ * Cada operação cria o próprio agendamento (horário novo, nunca conflita),
+ * alternando clientes e dogwalkers da massa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AgendamentoBenchmark {
+
+    private final AtomicInteger rodada = new AtomicInteger();
+
+    // criarAgendamento com os pets do cliente (validação em um SELECT + INSERTs em lote)
+    @Benchmark
+    public ResumoAgendamentoDTO criarAgendamento(AplicacaoBenchmark aplicacao) {
+        return criar(aplicacao, rodada.getAndIncrement());
+    }
+
+    // criar + aceitar
+    @Benchmark
+    public ResumoAgendamentoDTO aceitar(AplicacaoBenchmark aplicacao) {
+        int i = rodada.getAndIncrement();
+        ResumoAgendamentoDTO criado = criar(aplicacao, i);
+        return aplicacao.agendamentoService.aceitarAgendamento(criado.getId(), dogwalkerUsuarioId(aplicacao, i));
+    }
+
+    // criar + cancelar pelo cliente
+    @Benchmark
+    public ResumoAgendamentoDTO cancelar(AplicacaoBenchmark aplicacao) {
+        int i = rodada.getAndIncrement();
+        ResumoAgendamentoDTO criado = criar(aplicacao, i);
+        return aplicacao.agendamentoService.cancelarAgendamento(criado.getId(), clienteId(aplicacao, i));
+    }
+
+    // Ciclo completo: criar, aceitar, iniciar e finalizar (estatísticas, contador do dogwalker)
+    @Benchmark
+    public ResumoAgendamentoDTO cicloCompleto(AplicacaoBenchmark aplicacao) {
+        int i = rodada.getAndIncrement();
+        Long dogwalkerUsuarioId = dogwalkerUsuarioId(aplicacao, i);
+        ResumoAgendamentoDTO criado = criar(aplicacao, i);
+        aplicacao.agendamentoService.aceitarAgendamento(criado.getId(), dogwalkerUsuarioId);
+        aplicacao.agendamentoService.iniciarPasseio(criado.getId(), dogwalkerUsuarioId);
+        return aplicacao.agendamentoService.finalizarPasseio(criado.getId(), dogwalkerUsuarioId);
+    }
+
+    private static ResumoAgendamentoDTO criar(AplicacaoBenchmark aplicacao, int i) {
+        int cliente = i % AplicacaoBenchmark.CLIENTES;
+        return aplicacao.agendamentoService.criarAgendamento(
+                aplicacao.clienteIds.get(cliente),
+                aplicacao.petIdsPorCliente.get(cliente),
+                aplicacao.dogwalkerIds.get(i % AplicacaoBenchmark.DOGWALKERS),
+                aplicacao.novoPasseio());
+    }
+
+    private static Long clienteId(AplicacaoBenchmark aplicacao, int i) {
+        return aplicacao.clienteIds.get(i % AplicacaoBenchmark.CLIENTES);
+    }
+
+    private static Long dogwalkerUsuarioId(AplicacaoBenchmark aplicacao, int i) {
+        return aplicacao.dogwalkerUsuarioIds.get(i % AplicacaoBenchmark.DOGWALKERS);
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.pateandoapp.pateandobackend.benchmark;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.com.pateandoapp.pateandobackend.PateandobackendApplication;
+import br.com.pateandoapp.pateandobackend.DTO.ResumoAgendamentoDTO;
+import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.Pet;
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+import br.com.pateandoapp.pateandobackend.service.AgendamentoService;
+import br.com.pateandoapp.pateandobackend.service.DogwalkerService;
+import br.com.pateandoapp.pateandobackend.service.PetService;
+import br.com.pateandoapp.pateandobackend.service.UsuarioService;
+
+/**
+ * Aplicação completa no H2 em memória do perfil h2 (modo PostgreSQL, mesmas
+ * migrations do Flyway), com uma massa de dados fixa, compartilhada pelos benchmarks de um fork.
+ *
+ * A massa é sempre a mesma (CLIENTES clientes com PETS_POR_CLIENTE pets cada,
+ * DOGWALKERS dogwalkers e AGENDAMENTOS_POR_CLIENTE agendamentos por cliente, metade
+ * já concluída), para os resultados de execuções diferentes serem comparáveis.
+ */
+@State(Scope.Benchmark)
+public class AplicacaoBenchmark {
+
+    static final int CLIENTES = 50;
+    static final int PETS_POR_CLIENTE = 2;
+    static final int DOGWALKERS = 20;
+    static final int AGENDAMENTOS_POR_CLIENTE = 20;
+
+    // Passeios da massa começam aqui; os criados durante a medição, em HORARIO_MEDICAO
+    static final LocalDateTime HORARIO_MASSA = LocalDateTime.of(2035, 1, 1, 0, 0);
+    static final LocalDateTime HORARIO_MEDICAO = LocalDateTime.of(2040, 1, 1, 0, 0);
+    static final int DURACAO_MINUTOS = 60;
+
+    ConfigurableApplicationContext contexto;
+
+    AgendamentoService agendamentoService;
+
+    // Ids da massa, na ordem de criação
+    final List<Long> clienteIds = new ArrayList<>();
+    final List<List<Long>> petIdsPorCliente = new ArrayList<>();
+    final List<Long> dogwalkerIds = new ArrayList<>();
+    final List<Long> dogwalkerUsuarioIds = new ArrayList<>();
+    final List<Long> agendamentoIds = new ArrayList<>();
+
+    // Próximo horário livre para passeios criados na medição (um por passeio: nunca conflitam)
+    private final AtomicLong proximoHorario = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        // Como argumentos de linha de comando: valem mais que o application.properties
+        contexto = SpringApplication.run(PateandobackendApplication.class,
+                "--spring.profiles.active=h2",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+
+        agendamentoService = contexto.getBean(AgendamentoService.class);
+        popular();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    /**
+     * Dados de um novo passeio, num horário que nenhum outro usa
+     */
+    Agendamento novoPasseio() {
+        Agendamento dados = new Agendamento();
+        dados.setDataHora(HORARIO_MEDICAO.plusMinutes(proximoHorario.getAndIncrement() * (DURACAO_MINUTOS + 1)));
+        dados.setDuracao(DURACAO_MINUTOS);
+        dados.setObservacoes("Benchmark");
+        return dados;
+    }
+
+    private void popular() {
+        UsuarioService usuarioService = bean(UsuarioService.class);
+        PetService petService = bean(PetService.class);
+        DogwalkerService dogwalkerService = bean(DogwalkerService.class);
+
+        for (int i = 0; i < DOGWALKERS; i++) {
+            Usuario usuario = usuarioService.createUser(usuario("dogwalker" + i, "DOGWALKER", 900_000 + i));
+            dogwalkerUsuarioIds.add(usuario.getId());
+            dogwalkerIds.add(dogwalkerService.buscarPorUsuarioId(usuario.getId()).orElseThrow().getId());
+        }
+
+        for (int i = 0; i < CLIENTES; i++) {
+            Usuario cliente = usuarioService.createUser(usuario("cliente" + i, "CLIENTE", 100_000 + i));
+            clienteIds.add(cliente.getId());
+
+            List<Long> petIds = new ArrayList<>();
+            for (int p = 0; p < PETS_POR_CLIENTE; p++) {
+                Pet pet = new Pet();
+                pet.setNome("Pet " + i + "-" + p);
+                pet.setRaca("SRD");
+                pet.setIdade(1 + p);
+                petIds.add(petService.createPet(cliente.getId(), pet).orElseThrow().getId());
+            }
+            petIdsPorCliente.add(petIds);
+
+            // Série semanal; cada cliente num horário próprio, então as séries não conflitam
+            Agendamento dados = new Agendamento();
+            dados.setDataHora(HORARIO_MASSA.plusMinutes((long) i * (DURACAO_MINUTOS + 1)));
+            dados.setDuracao(DURACAO_MINUTOS);
+            int walker = i % DOGWALKERS;
+            List<ResumoAgendamentoDTO> serie = agendamentoService.criarRecorrente(cliente.getId(), petIds,
+                    dogwalkerIds.get(walker), dados, EnumSet.noneOf(DayOfWeek.class), AGENDAMENTOS_POR_CLIENTE);
+
+            // Metade concluída (estatísticas do cliente e histórico do dogwalker)
+            for (int a = 0; a < serie.size(); a++) {
+                Long id = serie.get(a).getId();
+                agendamentoIds.add(id);
+                if (a < serie.size() / 2) {
+                    Long dogwalkerUsuarioId = dogwalkerUsuarioIds.get(walker);
+                    agendamentoService.aceitarAgendamento(id, dogwalkerUsuarioId);
+                    agendamentoService.iniciarPasseio(id, dogwalkerUsuarioId);
+                    agendamentoService.finalizarPasseio(id, dogwalkerUsuarioId);
+                }
+            }
+        }
+    }
+
+    private static Usuario usuario(String nome, String tipo, int telefone) {
+        Usuario usuario = new Usuario();
+        usuario.setNome(nome + " Benchmark");
+        usuario.setEmail(nome + "@benchmark.local");
+        usuario.setTelefone(Integer.toString(telefone));
+        usuario.setSenha("benchmark");
+        usuario.setTipo(tipo);
+        return usuario;
+    }
+}
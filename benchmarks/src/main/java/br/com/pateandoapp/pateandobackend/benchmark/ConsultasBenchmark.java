@@ -0,0 +1,123 @@
+package br.com.pateandoapp.pateandobackend.benchmark;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import br.com.pateandoapp.pateandobackend.DTO.CartaoDogwalkerDTO;
+import br.com.pateandoapp.pateandobackend.DTO.CartaoPetDTO;
+import br.com.pateandoapp.pateandobackend.DTO.FiltroAgendamentoDTO;
+import br.com.pateandoapp.pateandobackend.DTO.PaginaDTO;
+import br.com.pateandoapp.pateandobackend.DTO.ResumoAgendamentoDTO;
+import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+import br.com.pateandoapp.pateandobackend.repository.AgendamentoRepository;
+import br.com.pateandoapp.pateandobackend.repository.AgendamentoSpecifications;
+import br.com.pateandoapp.pateandobackend.repository.DogwalkerRepository;
+import br.com.pateandoapp.pateandobackend.repository.HorarioAgendamento;
+import br.com.pateandoapp.pateandobackend.repository.ParticipantesAgendamento;
+import br.com.pateandoapp.pateandobackend.repository.PetRepository;
+
+/**
+ * Consultas dos caminhos quentes, direto nos repositórios (sem HTTP nem serialização).
+ * A listagem do cliente também é medida pelo serviço, que junta os pets da página.
+ * Cada chamada usa o próximo cliente da massa, para não repetir sempre as mesmas linhas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ConsultasBenchmark {
+
+    // Página medida nas listagens (20) com um a mais para saber se há próxima
+    private static final int PAGINA = 21;
+
+    private static final Set<StatusAgendamento> ATIVOS =
+            EnumSet.of(StatusAgendamento.PENDENTE, StatusAgendamento.ACEITO, StatusAgendamento.EM_ANDAMENTO);
+
+    private AplicacaoBenchmark aplicacao;
+    private AgendamentoRepository agendamentoRepository;
+    private DogwalkerRepository dogwalkerRepository;
+    private PetRepository petRepository;
+
+    private int proximo;
+
+    @Setup
+    public void iniciar(AplicacaoBenchmark aplicacao) {
+        this.aplicacao = aplicacao;
+        agendamentoRepository = aplicacao.bean(AgendamentoRepository.class);
+        dogwalkerRepository = aplicacao.bean(DogwalkerRepository.class);
+        petRepository = aplicacao.bean(PetRepository.class);
+    }
+
+    @Benchmark
+    public List<ResumoAgendamentoDTO> resumosDoCliente() {
+        return agendamentoRepository.buscarResumos(
+                AgendamentoSpecifications.doCliente(aplicacao.clienteIds.get(indice())), Limit.of(PAGINA));
+    }
+
+    @Benchmark
+    public PaginaDTO<ResumoAgendamentoDTO> listarPorCliente() {
+        return aplicacao.agendamentoService.listarPorCliente(aplicacao.clienteIds.get(indice()), umaPagina());
+    }
+
+    @Benchmark
+    public Optional<Agendamento> agendamentoPorId() {
+        List<Long> ids = aplicacao.agendamentoIds;
+        return agendamentoRepository.findById(ids.get(proximo++ % ids.size()));
+    }
+
+    @Benchmark
+    public List<ParticipantesAgendamento> participantes() {
+        int i = indice();
+        return agendamentoRepository.buscarParticipantes(aplicacao.clienteIds.get(i),
+                aplicacao.petIdsPorCliente.get(i), dogwalkerDo(i));
+    }
+
+    @Benchmark
+    public List<HorarioAgendamento> horariosDoDogwalker() {
+        return agendamentoRepository.buscarHorarios(dogwalkerDo(indice()), ATIVOS, AplicacaoBenchmark.HORARIO_MASSA);
+    }
+
+    @Benchmark
+    public List<CartaoDogwalkerDTO> cartoesDogwalkers() {
+        return dogwalkerRepository.buscarCartoesAPartirDe(0L, Limit.of(PAGINA));
+    }
+
+    @Benchmark
+    public List<CartaoPetDTO> petsDoCliente() {
+        return petRepository.buscarCartoesPorDono(aplicacao.clienteIds.get(indice()));
+    }
+
+    // Limite explícito: a medida não muda quando o padrão das listagens muda
+    private static FiltroAgendamentoDTO umaPagina() {
+        FiltroAgendamentoDTO filtro = new FiltroAgendamentoDTO();
+        filtro.setLimite(PAGINA - 1);
+        return filtro;
+    }
+
+    private int indice() {
+        return proximo++ % aplicacao.clienteIds.size();
+    }
+
+    // Mesmo dogwalker da série do cliente na massa
+    private Long dogwalkerDo(int cliente) {
+        return aplicacao.dogwalkerIds.get(cliente % AplicacaoBenchmark.DOGWALKERS);
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.pateandoapp.pateandobackend.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.pateandoapp.pateandobackend.DTO.ClienteEstatisticasDTO;
+import br.com.pateandoapp.pateandobackend.service.ClienteEstatisticasService;
+
+/**
+ * Estatísticas do cliente (GET /usuarios/{id}/estatisticas): a leitura do
+ * acumulado e a reconstrução completa a partir dos agendamentos concluídos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class EstatisticasBenchmark {
+
+    private ClienteEstatisticasService estatisticasService;
+    private int proximo;
+
+    @Setup
+    public void iniciar(AplicacaoBenchmark aplicacao) {
+        estatisticasService = aplicacao.bean(ClienteEstatisticasService.class);
+    }
+
+    @Benchmark
+    public ClienteEstatisticasDTO buscar(AplicacaoBenchmark aplicacao) {
+        return estatisticasService.buscar(aplicacao.clienteIds.get(proximo++ % AplicacaoBenchmark.CLIENTES));
+    }
+
+    // Agregação de todos os concluídos (backfill/reparo)
+    @Benchmark
+    public void reconstruir() {
+        estatisticasService.reconstruir();
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.pateandoapp.pateandobackend.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.pateandoapp.pateandobackend.DTO.CartaoDogwalkerDTO;
+import br.com.pateandoapp.pateandobackend.DTO.PetResumoDTO;
+import br.com.pateandoapp.pateandobackend.DTO.ResumoAgendamentoDTO;
+import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.Disponibilidade;
+import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+import br.com.pateandoapp.pateandobackend.model.Pet;
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+
+/**
+ * Serialização JSON (ObjectMapper configurado pelo Spring) de uma página de
+ * agendamentos e da lista de dogwalkers: o grafo de entidades, como as respostas
+ * eram antes, e os DTOs enxutos que os endpoints devolvem hoje.
+ * Não usa o banco; os objetos são montados em memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SerializacaoBenchmark {
+
+    // Itens por resposta (tamanho de página)
+    @Param({"20", "200"})
+    public int itens;
+
+    private ObjectMapper objectMapper;
+
+    private List<Agendamento> agendamentos;
+    private List<ResumoAgendamentoDTO> resumos;
+    private List<Dogwalker> dogwalkers;
+    private List<CartaoDogwalkerDTO> cartoes;
+
+    @Setup
+    public void iniciar(AplicacaoBenchmark aplicacao) {
+        objectMapper = aplicacao.bean(ObjectMapper.class);
+
+        Usuario cliente = usuario(1L, "Ana Cliente", "CLIENTE");
+        List<Pet> pets = List.of(pet(1L, "Rex", cliente), pet(2L, "Bob", cliente));
+
+        agendamentos = new ArrayList<>();
+        resumos = new ArrayList<>();
+        dogwalkers = new ArrayList<>();
+        cartoes = new ArrayList<>();
+        for (long i = 1; i <= itens; i++) {
+            Dogwalker dogwalker = dogwalker(i, usuario(1000 + i, "Dogwalker " + i, "DOGWALKER"));
+            dogwalkers.add(dogwalker);
+            cartoes.add(new CartaoDogwalkerDTO(dogwalker.getId(), dogwalker.getUsuario().getId(),
+                    dogwalker.getUsuario().getNome(), dogwalker.getUsuario().getTelefone(),
+                    dogwalker.getDisponibilidade(), dogwalker.getPreco30min(), dogwalker.getPreco60min(),
+                    dogwalker.getPreco90min(), dogwalker.getAvaliacaoMedia(), 0, dogwalker.getTotalPasseios(),
+                    dogwalker.getDescricao(), dogwalker.getFotoUrl()));
+
+            Agendamento agendamento = new Agendamento();
+            agendamento.setId(i);
+            agendamento.setCliente(cliente);
+            agendamento.setDogwalker(dogwalker);
+            agendamento.setPets(new ArrayList<>(pets));
+            agendamento.setDataHora(LocalDateTime.of(2035, 1, 1, 10, 0).plusDays(i));
+            agendamento.setDuracao(60);
+            agendamento.setObservacoes("Portão azul");
+            agendamento.setStatus(StatusAgendamento.ACEITO);
+            agendamento.setVersao(1L);
+            agendamentos.add(agendamento);
+
+            ResumoAgendamentoDTO resumo = new ResumoAgendamentoDTO(i, agendamento.getDataHora(), 60,
+                    StatusAgendamento.ACEITO, false, null, "Portão azul",
+                    cliente.getId(), cliente.getNome(), cliente.getTelefone(),
+                    dogwalker.getId(), dogwalker.getUsuario().getId(),
+                    dogwalker.getUsuario().getNome(), dogwalker.getUsuario().getTelefone());
+            for (Pet pet : pets) {
+                resumo.getPets().add(new PetResumoDTO(pet.getId(), pet.getNome()));
+            }
+            resumos.add(resumo);
+        }
+    }
+
+    @Benchmark
+    public byte[] agendamentosEntidades() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(agendamentos);
+    }
+
+    @Benchmark
+    public byte[] agendamentosResumos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(resumos);
+    }
+
+    @Benchmark
+    public byte[] dogwalkersEntidades() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dogwalkers);
+    }
+
+    @Benchmark
+    public byte[] dogwalkersCartoes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cartoes);
+    }
+
+    private static Usuario usuario(Long id, String nome, String tipo) {
+        return new Usuario(id, nome, nome.toLowerCase().replace(' ', '.') + "@exemplo.com",
+                "1199999" + id, "senha-" + id, tipo);
+    }
+
+    private static Pet pet(Long id, String nome, Usuario dono) {
+        Pet pet = new Pet();
+        pet.setId(id);
+        pet.setNome(nome);
+        pet.setRaca("SRD");
+        pet.setIdade(3);
+        pet.setDono(dono);
+        return pet;
+    }
+
+    private static Dogwalker dogwalker(Long id, Usuario usuario) {
+        Dogwalker dogwalker = new Dogwalker();
+        dogwalker.setId(id);
+        dogwalker.setUsuario(usuario);
+        dogwalker.setDisponibilidade(Disponibilidade.DISPONIVEL);
+        dogwalker.setDescricao("Passeios no parque, cães de todos os portes.");
+        dogwalker.setLatitude(-23.55);
+        dogwalker.setLongitude(-46.63);
+        return dogwalker;
+    }
+}
@@ -0,0 +1,390 @@
+package br.com.pateandoapp.pateandobackend.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.pateandoapp.pateandobackend.PateandobackendApplication;
+
+/**
+ * Teste de carga de ponta a ponta, na mesma JVM da aplicação.
+ *
+ * Sobe a aplicação (por padrão com os perfis h2 e carga, ou seja, H2 em memória com a
+ * massa sintética do GeradorDadosSinteticos), abre uma sessão por usuário virtual e
+ * repete por HTTP o uso do app: login, agenda, pets, busca de dogwalkers, perfil,
+ * avaliações, estatísticas, novos agendamentos e cancelamentos; do lado do dogwalker,
+ * pedidos pendentes, aceite, localização e disponibilidade. As listagens mandam o
+ * If-None-Match do último ETag recebido, como o app.
+ *
+ * Ao final imprime, por endpoint, requisições, vazão, erros, respostas 304 e os
+ * percentis de latência (só do período de medição, depois do aquecimento).
+ *
+ * Os argumentos vão para a aplicação (ex: --pateando.carga.agendamentos=300000); os do
+ * simulador são pateando.simulador.*: usuarios-virtuais (32), proporcao-dogwalkers (0.2),
+ * aquecimento-segundos (15), duracao-segundos (60), pausa-ms (0) e semente (42).
+ */
+public class SimuladorCarga {
+
+    private final Environment ambiente;
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String base;
+
+    // Dados da massa que as sessões usam
+    private final List<Long> dogwalkerIds;
+    private final List<double[]> posicoes;
+
+    private final long pausaMs;
+    private long inicioMedicao;
+    private long fimMedicao;
+
+    // Horário dos agendamentos criados na carga: depois da agenda gerada, um por passeio
+    private final LocalDateTime horarioNovos;
+
+    public static void main(String[] args) throws Exception {
+        SpringApplication aplicacao = new SpringApplication(PateandobackendApplication.class);
+        // Padrões: valem só se não vierem nos argumentos
+        aplicacao.setDefaultProperties(Map.of(
+                "spring.profiles.active", "h2,carga",
+                "server.port", "0",
+                "logging.level.root", "WARN",
+                "logging.level.br.com.pateandoapp.pateandobackend.service.GeradorDadosSinteticos", "INFO"));
+        ConfigurableApplicationContext contexto = aplicacao.run(args);
+        try {
+            new SimuladorCarga(contexto).executar();
+        } finally {
+            contexto.close();
+        }
+    }
+
+    SimuladorCarga(ConfigurableApplicationContext contexto) {
+        ambiente = contexto.getEnvironment();
+        objectMapper = contexto.getBean(ObjectMapper.class);
+        base = "http://localhost:" + ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        pausaMs = ambiente.getProperty("pateando.simulador.pausa-ms", Long.class, 0L);
+        horarioNovos = LocalDate.now()
+                .plusDays(ambiente.getProperty("pateando.carga.dias-futuro", Integer.class, 30) + 2)
+                .atTime(6, 0);
+
+        jdbc = contexto.getBean(JdbcTemplate.class);
+        dogwalkerIds = jdbc.queryForList("select id from dogwalkers order by id", Long.class);
+        posicoes = jdbc.query("select latitude, longitude from dogwalkers where latitude is not null",
+                (linha, n) -> new double[] {linha.getDouble(1), linha.getDouble(2)});
+    }
+
+    void executar() throws Exception {
+        int virtuais = ambiente.getProperty("pateando.simulador.usuarios-virtuais", Integer.class, 32);
+        double proporcaoDogwalkers = ambiente.getProperty("pateando.simulador.proporcao-dogwalkers", Double.class, 0.2);
+        int aquecimento = ambiente.getProperty("pateando.simulador.aquecimento-segundos", Integer.class, 15);
+        int duracao = ambiente.getProperty("pateando.simulador.duracao-segundos", Integer.class, 60);
+        Random aleatorio = new Random(ambiente.getProperty("pateando.simulador.semente", Long.class, 42L));
+
+        // Usuários das sessões, sorteados da massa
+        int dogwalkers = (int) Math.round(virtuais * proporcaoDogwalkers);
+        List<Map<String, Object>> clientes = sortear(aleatorio, jdbc.queryForList(
+                "select u.id, u.email from usuarios u where u.tipo = 'CLIENTE'"
+                        + " and exists (select 1 from pets p where p.usuario_id = u.id)"), virtuais - dogwalkers);
+        List<Map<String, Object>> walkers = sortear(aleatorio, jdbc.queryForList(
+                "select d.id as dogwalker_id, u.id, u.email from dogwalkers d join usuarios u on u.id = d.usuario_id"),
+                dogwalkers);
+
+        System.out.printf("%nCarga: %d clientes e %d dogwalkers virtuais, %d s de aquecimento, %d s de medição, %s%n",
+                clientes.size(), walkers.size(), aquecimento, duracao, base);
+        inicioMedicao = System.nanoTime() + aquecimento * 1_000_000_000L;
+        fimMedicao = inicioMedicao + duracao * 1_000_000_000L;
+
+        List<Future<Map<String, Medicoes>>> sessoes = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int numero = 0;
+            for (Map<String, Object> cliente : clientes) {
+                Sessao sessao = new Sessao(numero++, aleatorio.nextLong(), cliente);
+                sessoes.add(executor.submit(sessao::comoCliente));
+            }
+            for (Map<String, Object> walker : walkers) {
+                Sessao sessao = new Sessao(numero++, aleatorio.nextLong(), walker);
+                sessoes.add(executor.submit(sessao::comoDogwalker));
+            }
+        }
+
+        Map<String, Medicoes> total = new TreeMap<>();
+        for (Future<Map<String, Medicoes>> sessao : sessoes) {
+            sessao.get().forEach((endpoint, medicoes) ->
+                    total.computeIfAbsent(endpoint, e -> new Medicoes()).juntar(medicoes));
+        }
+        imprimir(total, duracao);
+    }
+
+    /**
+     * Um usuário virtual: faz login e repete ações sorteadas pelos pesos até o fim da medição
+     */
+    private class Sessao {
+
+        private final Random aleatorio;
+        private final long usuarioId;
+        private final String email;
+        private final Long dogwalkerId;
+        private final int numero;
+        private String token;
+        private int criados;
+
+        private final Map<String, Medicoes> medicoes = new HashMap<>();
+        private final Map<String, String> etags = new HashMap<>();
+        private final Deque<Long> pendentes = new ArrayDeque<>();
+        private List<Long> petIds = List.of();
+
+        Sessao(int numero, long semente, Map<String, Object> usuario) {
+            this.numero = numero;
+            this.aleatorio = new Random(semente);
+            this.usuarioId = ((Number) usuario.get("id")).longValue();
+            this.email = (String) usuario.get("email");
+            this.dogwalkerId = usuario.get("dogwalker_id") != null ? ((Number) usuario.get("dogwalker_id")).longValue() : null;
+        }
+
+        Map<String, Medicoes> comoCliente() throws Exception {
+            entrar();
+            petIds = jdbc.queryForList("select id from pets where usuario_id = ?", Long.class, usuarioId);
+            while (System.nanoTime() < fimMedicao) {
+                int sorteio = aleatorio.nextInt(100);
+                if (sorteio < 30) {
+                    listagem("GET /agendamentos/cliente/{id}", "/agendamentos/cliente/" + usuarioId + "?limite=20");
+                } else if (sorteio < 40) {
+                    listagem("GET /pets/user/{id}", "/pets/user/" + usuarioId);
+                } else if (sorteio < 55) {
+                    double[] posicao = posicoes.get(aleatorio.nextInt(posicoes.size()));
+                    chamar("GET /dogwalkers/proximos", get(String.format(Locale.ROOT,
+                            "/dogwalkers/proximos?latitude=%.5f&longitude=%.5f&raioKm=5&limite=20",
+                            posicao[0] + (aleatorio.nextDouble() - 0.5) * 0.05,
+                            posicao[1] + (aleatorio.nextDouble() - 0.5) * 0.05)));
+                } else if (sorteio < 65) {
+                    listagem("GET /dogwalkers/{id}", "/dogwalkers/" + algumDogwalker());
+                } else if (sorteio < 73) {
+                    listagem("GET /dogwalkers/{id}/avaliacoes", "/dogwalkers/" + algumDogwalker() + "/avaliacoes?limite=10");
+                } else if (sorteio < 80) {
+                    listagem("GET /usuarios/{id}/estatisticas", "/usuarios/" + usuarioId + "/estatisticas");
+                } else if (sorteio < 92) {
+                    agendar();
+                } else if (!pendentes.isEmpty()) {
+                    chamar("PUT /agendamentos/{id}/cancelar",
+                            put("/agendamentos/" + pendentes.pollFirst() + "/cancelar", "{}"));
+                }
+                pausar();
+            }
+            return medicoes;
+        }
+
+        Map<String, Medicoes> comoDogwalker() throws Exception {
+            entrar();
+            while (System.nanoTime() < fimMedicao) {
+                int sorteio = aleatorio.nextInt(100);
+                if (sorteio < 40) {
+                    HttpResponse<String> resposta = listagem("GET /agendamentos/dogwalker/{id}",
+                            "/agendamentos/dogwalker/" + dogwalkerId + "?status=PENDENTE&limite=20");
+                    if (resposta != null && resposta.statusCode() == 200) {
+                        pendentes.clear();
+                        for (JsonNode agendamento : objectMapper.readTree(resposta.body())) {
+                            pendentes.add(agendamento.get("id").asLong());
+                        }
+                    }
+                } else if (sorteio < 55) {
+                    if (!pendentes.isEmpty()) {
+                        chamar("PUT /agendamentos/{id}/aceitar", put("/agendamentos/" + pendentes.pollFirst() + "/aceitar", "{}"));
+                    }
+                } else if (sorteio < 90) {
+                    double[] posicao = posicoes.get(aleatorio.nextInt(posicoes.size()));
+                    chamar("PUT /dogwalkers/{id}/localizacao", put("/dogwalkers/" + dogwalkerId + "/localizacao",
+                            "{\"latitude\":" + posicao[0] + ",\"longitude\":" + posicao[1] + "}"));
+                } else {
+                    chamar("PUT /dogwalkers/{id}/disponibilidade", put("/dogwalkers/" + dogwalkerId + "/disponibilidade",
+                            "{\"disponibilidade\":\"" + (aleatorio.nextBoolean() ? "DISPONIVEL" : "INDISPONIVEL") + "\"}"));
+                }
+                pausar();
+            }
+            return medicoes;
+        }
+
+        private void entrar() throws Exception {
+            String senha = ambiente.getProperty("pateando.carga.senha", "carga123");
+            HttpResponse<String> resposta = chamar("POST /usuarios/login", HttpRequest.newBuilder(URI.create(base + "/usuarios/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            objectMapper.writeValueAsString(Map.of("email", email, "senha", senha)))));
+            if (resposta == null || resposta.statusCode() != 200) {
+                throw new IllegalStateException("Login falhou para " + email);
+            }
+            token = objectMapper.readTree(resposta.body()).get("token").asText();
+        }
+
+        private void agendar() throws Exception {
+            // Horário exclusivo desta sessão: não conflita com a massa nem com as outras sessões
+            LocalDateTime dataHora = horarioNovos.plusDays(numero * 1000L + criados / 10).plusMinutes(90L * (criados % 10));
+            criados++;
+            Map<String, Object> corpo = Map.of(
+                    "petIds", List.of(petIds.get(aleatorio.nextInt(petIds.size()))),
+                    "dogwalkerId", algumDogwalker(),
+                    "dataHora", dataHora.toString(),
+                    "duracao", 60);
+            HttpResponse<String> resposta = chamar("POST /agendamentos/criar", HttpRequest.newBuilder(URI.create(base + "/agendamentos/criar"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(corpo))));
+            if (resposta != null && resposta.statusCode() == 200) {
+                pendentes.add(objectMapper.readTree(resposta.body()).get("id").asLong());
+            }
+        }
+
+        /**
+         * GET condicional: manda o ETag da última resposta completa dessa URL
+         */
+        private HttpResponse<String> listagem(String endpoint, String caminho) {
+            HttpRequest.Builder requisicao = get(caminho);
+            String etag = etags.get(caminho);
+            if (etag != null) {
+                requisicao.header("If-None-Match", etag);
+            }
+            HttpResponse<String> resposta = chamar(endpoint, requisicao);
+            if (resposta != null && resposta.statusCode() == 200) {
+                resposta.headers().firstValue("ETag").ifPresent(valor -> etags.put(caminho, valor));
+            }
+            return resposta;
+        }
+
+        private HttpRequest.Builder get(String caminho) {
+            return HttpRequest.newBuilder(URI.create(base + caminho)).GET();
+        }
+
+        private HttpRequest.Builder put(String caminho, String corpo) {
+            return HttpRequest.newBuilder(URI.create(base + caminho))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(corpo));
+        }
+
+        private HttpResponse<String> chamar(String endpoint, HttpRequest.Builder requisicao) {
+            if (token != null) {
+                requisicao.header("Authorization", "Bearer " + token);
+            }
+            long inicio = System.nanoTime();
+            HttpResponse<String> resposta;
+            try {
+                resposta = http.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                resposta = null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            long fim = System.nanoTime();
+            if (inicio >= inicioMedicao && fim <= fimMedicao) {
+                medicoes.computeIfAbsent(endpoint, e -> new Medicoes())
+                        .registrar(fim - inicio, resposta == null ? 0 : resposta.statusCode());
+            }
+            return resposta;
+        }
+
+        private Long algumDogwalker() {
+            return dogwalkerIds.get(aleatorio.nextInt(dogwalkerIds.size()));
+        }
+
+        private void pausar() throws InterruptedException {
+            if (pausaMs > 0) {
+                Thread.sleep(pausaMs);
+            }
+        }
+    }
+
+    /**
+     * Latências (ns) e contagens de um endpoint; cada sessão tem as suas, juntadas no fim
+     */
+    private static class Medicoes {
+
+        private long[] latencias = new long[1024];
+        private int quantidade;
+        private int erros;
+        private int naoModificados;
+
+        void registrar(long nanos, int status) {
+            if (quantidade == latencias.length) {
+                latencias = Arrays.copyOf(latencias, quantidade * 2);
+            }
+            latencias[quantidade++] = nanos;
+            if (status == 304) {
+                naoModificados++;
+            } else if (status < 200 || status >= 300) {
+                erros++;
+            }
+        }
+
+        void juntar(Medicoes outras) {
+            if (quantidade + outras.quantidade > latencias.length) {
+                latencias = Arrays.copyOf(latencias, quantidade + outras.quantidade);
+            }
+            System.arraycopy(outras.latencias, 0, latencias, quantidade, outras.quantidade);
+            quantidade += outras.quantidade;
+            erros += outras.erros;
+            naoModificados += outras.naoModificados;
+        }
+
+        static double percentilMs(long[] ordenadas, double percentil) {
+            int indice = (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, indice)] / 1_000_000.0;
+        }
+    }
+
+    private static void imprimir(Map<String, Medicoes> total, int duracao) {
+        String formato = "%-38s %8s %8s %6s %6s %8s %8s %8s %8s%n";
+        System.out.printf("%n" + formato, "Endpoint", "Req", "Req/s", "Erros", "304%", "p50 ms", "p90 ms", "p99 ms", "máx ms");
+        Medicoes todas = new Medicoes();
+        total.forEach((endpoint, medicoes) -> {
+            linha(formato, endpoint, medicoes, duracao);
+            todas.juntar(medicoes);
+        });
+        if (todas.quantidade > 0) {
+            linha(formato, "TOTAL", todas, duracao);
+        }
+    }
+
+    private static void linha(String formato, String endpoint, Medicoes medicoes, int duracao) {
+        long[] ordenadas = Arrays.copyOf(medicoes.latencias, medicoes.quantidade);
+        Arrays.sort(ordenadas);
+        System.out.printf(Locale.ROOT, formato, endpoint, medicoes.quantidade,
+                String.format(Locale.ROOT, "%.1f", (double) medicoes.quantidade / duracao),
+                medicoes.erros,
+                String.format(Locale.ROOT, "%.0f", 100.0 * medicoes.naoModificados / medicoes.quantidade),
+                String.format(Locale.ROOT, "%.2f", Medicoes.percentilMs(ordenadas, 50)),
+                String.format(Locale.ROOT, "%.2f", Medicoes.percentilMs(ordenadas, 90)),
+                String.format(Locale.ROOT, "%.2f", Medicoes.percentilMs(ordenadas, 99)),
+                String.format(Locale.ROOT, "%.2f", ordenadas[ordenadas.length - 1] / 1_000_000.0));
+    }
+
+    private static <T> List<T> sortear(Random aleatorio, List<T> todos, int quantidade) {
+        List<T> embaralhados = new ArrayList<>(todos);
+        Collections.shuffle(embaralhados, aleatorio);
+        return embaralhados.subList(0, Math.min(quantidade, embaralhados.size()));
+    }
+}
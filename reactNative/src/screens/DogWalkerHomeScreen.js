@@ -9,7 +9,7 @@ import * as Haptics from 'expo-haptics';
 import { COLORS } from '../theme/colors';
 import AgendaItem from '../components/AgendaItem';
 import { AuthContext } from '../context/AuthContext';
-import api from '../services/api';
+import api, { buscarTodasPaginas } from '../services/api';
 
 if (Platform.OS === 'android' && UIManager.setLayoutAnimationEnabledExperimental) {
   UIManager.setLayoutAnimationEnabledExperimental(true);
@@ -85,8 +85,8 @@ export default function DogWalkerHomeScreen({ navigation }) {
     if (!user?.id) return;
     
     try {
-      const response = await api.get(`/agendamentos/dogwalker/usuario/${user.id}`);
-      const agendamentos = response.data;
+      // A listagem é paginada: percorre as páginas seguindo o cursor
+      const agendamentos = await buscarTodasPaginas(`/agendamentos/dogwalker/usuario/${user.id}`);
       
       // Organizar agendamentos por data
       const appointmentsByDate = {};
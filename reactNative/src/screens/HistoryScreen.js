@@ -14,7 +14,7 @@ import {
 import { Ionicons } from "@expo/vector-icons";
 import { COLORS } from "../theme/colors";
 import { AuthContext } from "../context/AuthContext";
-import api from "../services/api";
+import api, { buscarPagina } from "../services/api";
 
 // Componente de Card para cada agendamento
 const AppointmentHistoryCard = ({ appointment, onCancel }) => {
@@ -165,6 +165,9 @@ const FilterButton = ({ label, isActive, onPress }) => (
   </TouchableOpacity>
 );
 
+// Agendamentos por página no histórico
+const TAMANHO_PAGINA_HISTORICO = 20;
+
 export default function HistoryScreen({ navigation }) {
   const { user } = useContext(AuthContext);
   const [appointments, setAppointments] = useState([]);
@@ -172,30 +175,51 @@ export default function HistoryScreen({ navigation }) {
   const [isLoading, setIsLoading] = useState(true);
   const [isRefreshing, setIsRefreshing] = useState(false);
   const [activeFilter, setActiveFilter] = useState('all');
+  // Cursor da próxima página do histórico (null quando já carregou tudo)
+  const [nextCursor, setNextCursor] = useState(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
 
-  // Buscar agendamentos
+  // Buscar a primeira página de agendamentos (já vem do mais recente para o mais antigo)
   const fetchAppointments = useCallback(async () => {
     if (!user?.id) return;
 
     try {
-      const response = await api.get(`/agendamentos/cliente/${user.id}`);
-      const data = response.data;
-
-      // Ordenar por ID (maior ID = criado mais recentemente)
-      data.sort((a, b) => b.id - a.id);
+      const pagina = await buscarPagina(`/agendamentos/cliente/${user.id}`, { limite: TAMANHO_PAGINA_HISTORICO });
 
-      setAppointments(data);
-      applyFilter(activeFilter, data);
+      setAppointments(pagina.itens);
+      setNextCursor(pagina.cursor);
+      applyFilter(activeFilter, pagina.itens);
     } catch (error) {
       console.error('Erro ao buscar histórico:', error);
       setAppointments([]);
       setFilteredAppointments([]);
+      setNextCursor(null);
     } finally {
       setIsLoading(false);
       setIsRefreshing(false);
     }
   }, [user?.id, activeFilter]);
 
+  // Próxima página, ao chegar no fim da lista
+  const fetchMoreAppointments = async () => {
+    if (!nextCursor || isLoadingMore) return;
+
+    setIsLoadingMore(true);
+    try {
+      const pagina = await buscarPagina(`/agendamentos/cliente/${user.id}`,
+        { limite: TAMANHO_PAGINA_HISTORICO }, nextCursor);
+      const data = [...appointments, ...pagina.itens];
+
+      setAppointments(data);
+      setNextCursor(pagina.cursor);
+      applyFilter(activeFilter, data);
+    } catch (error) {
+      console.error('Erro ao buscar mais do histórico:', error);
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   // Aplicar filtro
   const applyFilter = (filter, data = appointments) => {
     setActiveFilter(filter);
@@ -314,6 +338,11 @@ export default function HistoryScreen({ navigation }) {
           />
         )}
         contentContainerStyle={styles.listContent}
+        onEndReached={fetchMoreAppointments}
+        onEndReachedThreshold={0.5}
+        ListFooterComponent={
+          isLoadingMore ? <ActivityIndicator style={styles.loadingMore} color={COLORS.primary} /> : null
+        }
         refreshControl={
           <RefreshControl
             refreshing={isRefreshing}
@@ -362,6 +391,9 @@ const styles = StyleSheet.create({
     fontSize: 16,
     color: COLORS.textSecondary,
   },
+  loadingMore: {
+    marginVertical: 16,
+  },
   header: {
     flexDirection: 'row',
     alignItems: 'center',
@@ -17,7 +17,7 @@ import { AuthContext } from "../context/AuthContext";
 import { COLORS } from "../theme/colors";
 import CardInfo from "../components/CardInfo";
 import NavButton from "../components/NavButton";
-import api from "../services/api";
+import { buscarTodasPaginas } from "../services/api";
 
 if (Platform.OS === "android" && UIManager.setLayoutAnimationEnabledExperimental) {
   UIManager.setLayoutAnimationEnabledExperimental(true);
@@ -133,9 +133,12 @@ export default function InicialClientScreen({ navigation }) {
     if (!user?.id) return;
     
     try {
-      // Buscar agendamentos do cliente
-      const response = await api.get(`/agendamentos/cliente/${user.id}`);
-      const agendamentos = response.data;
+      // Buscar só os agendamentos em aberto do cliente (a listagem é paginada)
+      const url = `/agendamentos/cliente/${user.id}`;
+      const porStatus = await Promise.all(
+        ['EM_ANDAMENTO', 'PENDENTE', 'ACEITO'].map(status => buscarTodasPaginas(url, { status }))
+      );
+      const agendamentos = porStatus.flat();
       
       // Procurar por passeio EM_ANDAMENTO
       const emAndamento = agendamentos.find(a => a.status === 'EM_ANDAMENTO');
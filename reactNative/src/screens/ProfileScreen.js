@@ -13,7 +13,7 @@ import {
 import { Ionicons } from "@expo/vector-icons";
 import { COLORS } from "../theme/colors";
 import { AuthContext } from "../context/AuthContext";
-import api from "../services/api";
+import api, { buscarTodasPaginas } from "../services/api";
 
 // Componente para cada item do menu
 const ProfileMenuItem = ({ icon, text, onPress, badge }) => (
@@ -57,12 +57,13 @@ export default function ProfileScreen({ navigation }) {
       const statsResponse = await api.get(`/usuarios/${user.id}/estatisticas`);
       setEstatisticas(statsResponse.data);
 
-      // Buscar agendamentos para contar pendentes
-      const appointmentsResponse = await api.get(`/agendamentos/cliente/${user.id}`);
-      const pending = appointmentsResponse.data.filter(a => 
-        a.status === 'PENDENTE' || a.status === 'ACEITO'
-      );
-      setPendingCount(pending.length);
+      // Buscar agendamentos para contar pendentes (filtrados no servidor, a listagem é paginada)
+      const url = `/agendamentos/cliente/${user.id}`;
+      const [pendentes, aceitos] = await Promise.all([
+        buscarTodasPaginas(url, { status: 'PENDENTE' }),
+        buscarTodasPaginas(url, { status: 'ACEITO' }),
+      ]);
+      setPendingCount(pendentes.length + aceitos.length);
 
     } catch (error) {
       console.log("Erro ao buscar dados:", error);
@@ -6,7 +6,7 @@ import {
 import { Ionicons } from '@expo/vector-icons';
 import { COLORS } from '../theme/colors';
 import { AuthContext } from '../context/AuthContext';
-import api from '../services/api';
+import api, { buscarTodasPaginas } from '../services/api';
 
 const DogwalkerCard = ({ dogwalker, isSelected, onSelect }) => {
   const usuario = dogwalker.usuario || {};
@@ -95,8 +95,7 @@ export default function SelectDogWalkerScreen({ navigation, route }) {
       setDogwalkers(response.data);
     } catch (error) {
       try {
-        const fallbackResponse = await api.get('/dogwalkers');
-        setDogwalkers(fallbackResponse.data);
+        setDogwalkers(await buscarTodasPaginas('/dogwalkers'));
       } catch (fallbackError) {
         Alert.alert('Erro', 'Não foi possível carregar os dogwalkers.');
       }
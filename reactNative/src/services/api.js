@@ -30,4 +30,36 @@ api.interceptors.request.use(
 );
 
 
+// 3. Listagens paginadas (agendamentos, usuários, dogwalkers): cada resposta traz
+//    no máximo uma página, e o header Link (rel="next") aponta para a próxima.
+//    O cursor é tirado do link e reenviado com a mesma baseURL.
+export const TAMANHO_PAGINA = 200;
+
+export function proximoCursor(response) {
+  const link = response.headers?.link;
+  const proxima = link && link.match(/<([^>]*)>\s*;\s*rel="next"/);
+  const cursor = proxima && proxima[1].match(/[?&]cursor=([^&]*)/);
+  return cursor ? decodeURIComponent(cursor[1]) : null;
+}
+
+// Uma página da listagem; devolve os itens e o cursor da próxima (null na última)
+export async function buscarPagina(url, params = {}, cursor = null) {
+  const response = await api.get(url, {
+    params: cursor ? { ...params, cursor } : params,
+  });
+  return { itens: response.data, cursor: proximoCursor(response) };
+}
+
+// Percorre todas as páginas (para telas que precisam da lista inteira, já filtrada)
+export async function buscarTodasPaginas(url, params = {}) {
+  const itens = [];
+  let cursor = null;
+  do {
+    const pagina = await buscarPagina(url, { limite: TAMANHO_PAGINA, ...params }, cursor);
+    itens.push(...pagina.itens);
+    cursor = pagina.cursor;
+  } while (cursor);
+  return itens;
+}
+
 export default api;
\ No newline at end of file
@@ -0,0 +1,70 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de uma emergência escalada para a fila do operador
+ * (o dogwalker não confirmou dentro do prazo).
+ */
+public class AlertaEmergenciaDTO {
+
+    private Long agendamentoId;
+    private Long clienteId;
+    private Long dogwalkerUsuarioId;
+    private LocalDateTime solicitadoEm;
+    private int tentativas;
+
+    // Construtor vazio
+    public AlertaEmergenciaDTO() {}
+
+    // Construtor completo
+    public AlertaEmergenciaDTO(Long agendamentoId, Long clienteId, Long dogwalkerUsuarioId,
+            LocalDateTime solicitadoEm, int tentativas) {
+        this.agendamentoId = agendamentoId;
+        this.clienteId = clienteId;
+        this.dogwalkerUsuarioId = dogwalkerUsuarioId;
+        this.solicitadoEm = solicitadoEm;
+        this.tentativas = tentativas;
+    }
+
+    // Getters e Setters
+    public Long getAgendamentoId() {
+        return agendamentoId;
+    }
+
+    public void setAgendamentoId(Long agendamentoId) {
+        this.agendamentoId = agendamentoId;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public Long getDogwalkerUsuarioId() {
+        return dogwalkerUsuarioId;
+    }
+
+    public void setDogwalkerUsuarioId(Long dogwalkerUsuarioId) {
+        this.dogwalkerUsuarioId = dogwalkerUsuarioId;
+    }
+
+    public LocalDateTime getSolicitadoEm() {
+        return solicitadoEm;
+    }
+
+    public void setSolicitadoEm(LocalDateTime solicitadoEm) {
+        this.solicitadoEm = solicitadoEm;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    public void setTentativas(int tentativas) {
+        this.tentativas = tentativas;
+    }
+}
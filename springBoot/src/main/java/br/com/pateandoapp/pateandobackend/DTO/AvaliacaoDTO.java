@@ -0,0 +1,81 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de uma avaliação exibida no perfil do dogwalker
+ */
+public class AvaliacaoDTO {
+
+    private Long id;
+    private Long agendamentoId;
+    private int nota;
+    private String comentario;
+
+    // Nome do cliente no formato "Nome S."
+    private String cliente;
+    private LocalDateTime criadaEm;
+
+    // Construtor vazio
+    public AvaliacaoDTO() {}
+
+    // Construtor completo
+    public AvaliacaoDTO(Long id, Long agendamentoId, int nota, String comentario, String cliente,
+            LocalDateTime criadaEm) {
+        this.id = id;
+        this.agendamentoId = agendamentoId;
+        this.nota = nota;
+        this.comentario = comentario;
+        this.cliente = cliente;
+        this.criadaEm = criadaEm;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAgendamentoId() {
+        return agendamentoId;
+    }
+
+    public void setAgendamentoId(Long agendamentoId) {
+        this.agendamentoId = agendamentoId;
+    }
+
+    public int getNota() {
+        return nota;
+    }
+
+    public void setNota(int nota) {
+        this.nota = nota;
+    }
+
+    public String getComentario() {
+        return comentario;
+    }
+
+    public void setComentario(String comentario) {
+        this.comentario = comentario;
+    }
+
+    public String getCliente() {
+        return cliente;
+    }
+
+    public void setCliente(String cliente) {
+        this.cliente = cliente;
+    }
+
+    public LocalDateTime getCriadaEm() {
+        return criadaEm;
+    }
+
+    public void setCriadaEm(LocalDateTime criadaEm) {
+        this.criadaEm = criadaEm;
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+import br.com.pateandoapp.pateandobackend.model.Disponibilidade;
+
+/**
+ * DTO do cartão de um dogwalker na escolha do cliente: contato, preços e reputação.
+ * Não leva email, senha, localização nem o histograma das avaliações.
+ */
+public class CartaoDogwalkerDTO {
+
+    private Long id;
+    private ContatoDTO usuario;
+    private Disponibilidade disponibilidade;
+    private Double preco30min;
+    private Double preco60min;
+    private Double preco90min;
+    private Double avaliacaoMedia;
+    private int totalAvaliacoes;
+    private Integer totalPasseios;
+    private String descricao;
+    private String fotoUrl;
+
+    // Construtor vazio
+    public CartaoDogwalkerDTO() {}
+
+    // Construtor completo
+    public CartaoDogwalkerDTO(Long id, ContatoDTO usuario, Disponibilidade disponibilidade,
+            Double preco30min, Double preco60min, Double preco90min, Double avaliacaoMedia,
+            int totalAvaliacoes, Integer totalPasseios, String descricao, String fotoUrl) {
+        this.id = id;
+        this.usuario = usuario;
+        this.disponibilidade = disponibilidade;
+        this.preco30min = preco30min;
+        this.preco60min = preco60min;
+        this.preco90min = preco90min;
+        this.avaliacaoMedia = avaliacaoMedia;
+        this.totalAvaliacoes = totalAvaliacoes;
+        this.totalPasseios = totalPasseios;
+        this.descricao = descricao;
+        this.fotoUrl = fotoUrl;
+    }
+
+    // Construtor das consultas "select new": colunas do usuário no lugar do ContatoDTO
+    public CartaoDogwalkerDTO(Long id, Long usuarioId, String nome, String telefone,
+            Disponibilidade disponibilidade, Double preco30min, Double preco60min, Double preco90min,
+            Double avaliacaoMedia, int totalAvaliacoes, Integer totalPasseios, String descricao, String fotoUrl) {
+        this(id, new ContatoDTO(usuarioId, nome, telefone), disponibilidade, preco30min, preco60min,
+                preco90min, avaliacaoMedia, totalAvaliacoes, totalPasseios, descricao, fotoUrl);
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ContatoDTO getUsuario() {
+        return usuario;
+    }
+
+    public void setUsuario(ContatoDTO usuario) {
+        this.usuario = usuario;
+    }
+
+    public Disponibilidade getDisponibilidade() {
+        return disponibilidade;
+    }
+
+    public void setDisponibilidade(Disponibilidade disponibilidade) {
+        this.disponibilidade = disponibilidade;
+    }
+
+    public Double getPreco30min() {
+        return preco30min;
+    }
+
+    public void setPreco30min(Double preco30min) {
+        this.preco30min = preco30min;
+    }
+
+    public Double getPreco60min() {
+        return preco60min;
+    }
+
+    public void setPreco60min(Double preco60min) {
+        this.preco60min = preco60min;
+    }
+
+    public Double getPreco90min() {
+        return preco90min;
+    }
+
+    public void setPreco90min(Double preco90min) {
+        this.preco90min = preco90min;
+    }
+
+    public Double getAvaliacaoMedia() {
+        return avaliacaoMedia;
+    }
+
+    public void setAvaliacaoMedia(Double avaliacaoMedia) {
+        this.avaliacaoMedia = avaliacaoMedia;
+    }
+
+    public int getTotalAvaliacoes() {
+        return totalAvaliacoes;
+    }
+
+    public void setTotalAvaliacoes(int totalAvaliacoes) {
+        this.totalAvaliacoes = totalAvaliacoes;
+    }
+
+    public Integer getTotalPasseios() {
+        return totalPasseios;
+    }
+
+    public void setTotalPasseios(Integer totalPasseios) {
+        this.totalPasseios = totalPasseios;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getFotoUrl() {
+        return fotoUrl;
+    }
+
+    public void setFotoUrl(String fotoUrl) {
+        this.fotoUrl = fotoUrl;
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+/**
+ * DTO do cartão de um pet na lista de pets do cliente (sem os dados do dono)
+ */
+public class CartaoPetDTO {
+
+    private Long id;
+    private String nome;
+    private String raca;
+    private int idade;
+    private String necessidadesEspeciais;
+    private String observacoes;
+
+    // Construtor vazio
+    public CartaoPetDTO() {}
+
+    // Construtor completo
+    public CartaoPetDTO(Long id, String nome, String raca, int idade, String necessidadesEspeciais,
+            String observacoes) {
+        this.id = id;
+        this.nome = nome;
+        this.raca = raca;
+        this.idade = idade;
+        this.necessidadesEspeciais = necessidadesEspeciais;
+        this.observacoes = observacoes;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getRaca() {
+        return raca;
+    }
+
+    public void setRaca(String raca) {
+        this.raca = raca;
+    }
+
+    public int getIdade() {
+        return idade;
+    }
+
+    public void setIdade(int idade) {
+        this.idade = idade;
+    }
+
+    public String getNecessidadesEspeciais() {
+        return necessidadesEspeciais;
+    }
+
+    public void setNecessidadesEspeciais(String necessidadesEspeciais) {
+        this.necessidadesEspeciais = necessidadesEspeciais;
+    }
+
+    public String getObservacoes() {
+        return observacoes;
+    }
+
+    public void setObservacoes(String observacoes) {
+        this.observacoes = observacoes;
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+/**
+ * DTO com o contato de um usuário exibido nas respostas (sem email nem senha)
+ */
+public class ContatoDTO {
+
+    private Long id;
+    private String nome;
+    private String telefone;
+
+    // Construtor vazio
+    public ContatoDTO() {}
+
+    // Construtor completo
+    public ContatoDTO(Long id, String nome, String telefone) {
+        this.id = id;
+        this.nome = nome;
+        this.telefone = telefone;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getTelefone() {
+        return telefone;
+    }
+
+    public void setTelefone(String telefone) {
+        this.telefone = telefone;
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+/**
+ * DTO de um dogwalker na busca por proximidade, com a distância até o cliente
+ */
+public class DogwalkerProximoDTO {
+
+    private CartaoDogwalkerDTO dogwalker;
+
+    // Distância em linha reta, em km
+    private double distanciaKm;
+
+    // Construtor vazio
+    public DogwalkerProximoDTO() {}
+
+    // Construtor completo
+    public DogwalkerProximoDTO(CartaoDogwalkerDTO dogwalker, double distanciaKm) {
+        this.dogwalker = dogwalker;
+        this.distanciaKm = distanciaKm;
+    }
+
+    // Getters e Setters
+    public CartaoDogwalkerDTO getDogwalker() {
+        return dogwalker;
+    }
+
+    public void setDogwalker(CartaoDogwalkerDTO dogwalker) {
+        this.dogwalker = dogwalker;
+    }
+
+    public double getDistanciaKm() {
+        return distanciaKm;
+    }
+
+    public void setDistanciaKm(double distanciaKm) {
+        this.distanciaKm = distanciaKm;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+/**
+ * DTO do dogwalker dentro do resumo de um agendamento: id e contato do usuário
+ */
+public class DogwalkerResumoDTO {
+
+    private Long id;
+    private ContatoDTO usuario;
+
+    // Construtor vazio
+    public DogwalkerResumoDTO() {}
+
+    // Construtor completo
+    public DogwalkerResumoDTO(Long id, ContatoDTO usuario) {
+        this.id = id;
+        this.usuario = usuario;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ContatoDTO getUsuario() {
+        return usuario;
+    }
+
+    public void setUsuario(ContatoDTO usuario) {
+        this.usuario = usuario;
+    }
+}
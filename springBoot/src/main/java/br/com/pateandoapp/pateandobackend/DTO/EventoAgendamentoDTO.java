@@ -0,0 +1,109 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+import java.time.LocalDateTime;
+
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+import br.com.pateandoapp.pateandobackend.model.TipoTransicao;
+
+/**
+ * DTO de um evento de mudança de estado de agendamento, enviado por push (SSE)
+ * ao cliente e ao dogwalker envolvidos. Leva só o necessário para o app
+ * atualizar a tela sem baixar a lista inteira de novo.
+ */
+public class EventoAgendamentoDTO {
+
+    // Sequência desta subida do servidor, atribuída pelo hub na publicação (o id SSE é "época-sequência")
+    private long id;
+    private TipoTransicao tipo;
+    private Long agendamentoId;
+    private StatusAgendamento status;
+    private boolean emergenciaAtiva;
+    private Long clienteId;
+    private Long dogwalkerUsuarioId;
+    private LocalDateTime ocorridoEm;
+
+    // Construtor vazio
+    public EventoAgendamentoDTO() {}
+
+    // Construtor completo (sem o id, que é atribuído na publicação)
+    public EventoAgendamentoDTO(TipoTransicao tipo, Long agendamentoId, StatusAgendamento status, boolean emergenciaAtiva,
+            Long clienteId, Long dogwalkerUsuarioId, LocalDateTime ocorridoEm) {
+        this.tipo = tipo;
+        this.agendamentoId = agendamentoId;
+        this.status = status;
+        this.emergenciaAtiva = emergenciaAtiva;
+        this.clienteId = clienteId;
+        this.dogwalkerUsuarioId = dogwalkerUsuarioId;
+        this.ocorridoEm = ocorridoEm;
+    }
+
+    // Indica se o evento interessa a este usuário
+    public boolean envolve(Long usuarioId) {
+        return usuarioId.equals(clienteId) || usuarioId.equals(dogwalkerUsuarioId);
+    }
+
+    // Getters e Setters
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public TipoTransicao getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoTransicao tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getAgendamentoId() {
+        return agendamentoId;
+    }
+
+    public void setAgendamentoId(Long agendamentoId) {
+        this.agendamentoId = agendamentoId;
+    }
+
+    public StatusAgendamento getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusAgendamento status) {
+        this.status = status;
+    }
+
+    public boolean isEmergenciaAtiva() {
+        return emergenciaAtiva;
+    }
+
+    public void setEmergenciaAtiva(boolean emergenciaAtiva) {
+        this.emergenciaAtiva = emergenciaAtiva;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public Long getDogwalkerUsuarioId() {
+        return dogwalkerUsuarioId;
+    }
+
+    public void setDogwalkerUsuarioId(Long dogwalkerUsuarioId) {
+        this.dogwalkerUsuarioId = dogwalkerUsuarioId;
+    }
+
+    public LocalDateTime getOcorridoEm() {
+        return ocorridoEm;
+    }
+
+    public void setOcorridoEm(LocalDateTime ocorridoEm) {
+        this.ocorridoEm = ocorridoEm;
+    }
+}
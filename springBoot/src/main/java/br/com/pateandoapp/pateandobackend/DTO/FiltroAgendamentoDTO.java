@@ -0,0 +1,69 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * DTO com os parâmetros de consulta das listagens de agendamentos.
+ * Ex: /agendamentos?status=CONCLUIDO&de=2025-01-01T00:00:00&limite=20&cursor=...
+ */
+public class FiltroAgendamentoDTO {
+
+    // Cursor devolvido no header Link da página anterior
+    private String cursor;
+
+    // Tamanho da página (limitado no serviço)
+    private Integer limite;
+
+    // Filtro opcional por status
+    private String status;
+
+    // Filtro opcional por intervalo de dataHora (inclusivo)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime de;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime ate;
+
+    // Getters e Setters
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getLimite() {
+        return limite;
+    }
+
+    public void setLimite(Integer limite) {
+        this.limite = limite;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getDe() {
+        return de;
+    }
+
+    public void setDe(LocalDateTime de) {
+        this.de = de;
+    }
+
+    public LocalDateTime getAte() {
+        return ate;
+    }
+
+    public void setAte(LocalDateTime ate) {
+        this.ate = ate;
+    }
+}
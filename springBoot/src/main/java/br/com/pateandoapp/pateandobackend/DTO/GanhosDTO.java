@@ -0,0 +1,65 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+import java.time.LocalDate;
+
+/**
+ * DTO com os ganhos e a atividade de um dogwalker num período (dia, semana ou mês)
+ */
+public class GanhosDTO {
+
+    // Primeiro dia do período (vazio no total do relatório)
+    private LocalDate inicio;
+    private int passeios;
+    private int minutos;
+    private double receita;
+    private int pets;
+
+    // Construtor vazio
+    public GanhosDTO() {}
+
+    // Período ainda sem passeios
+    public GanhosDTO(LocalDate inicio) {
+        this.inicio = inicio;
+    }
+
+    // Getters e Setters
+    public LocalDate getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDate inicio) {
+        this.inicio = inicio;
+    }
+
+    public int getPasseios() {
+        return passeios;
+    }
+
+    public void setPasseios(int passeios) {
+        this.passeios = passeios;
+    }
+
+    public int getMinutos() {
+        return minutos;
+    }
+
+    public void setMinutos(int minutos) {
+        this.minutos = minutos;
+    }
+
+    public double getReceita() {
+        return receita;
+    }
+
+    public void setReceita(double receita) {
+        this.receita = receita;
+    }
+
+    public int getPets() {
+        return pets;
+    }
+
+    public void setPets(int pets) {
+        this.pets = pets;
+    }
+}
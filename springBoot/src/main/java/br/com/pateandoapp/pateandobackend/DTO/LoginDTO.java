@@ -0,0 +1,39 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+
+/**
+ * DTO da resposta do login: o token de acesso (enviado depois em
+ * "Authorization: Bearer <token>") e os dados do usuário
+ */
+public class LoginDTO {
+
+    private String token;
+    private Usuario usuario;
+
+    // Construtor vazio
+    public LoginDTO() {}
+
+    // Construtor completo
+    public LoginDTO(String token, Usuario usuario) {
+        this.token = token;
+        this.usuario = usuario;
+    }
+
+    // Getters e Setters
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public Usuario getUsuario() {
+        return usuario;
+    }
+
+    public void setUsuario(Usuario usuario) {
+        this.usuario = usuario;
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO do lote de pontos de GPS enviado pelo app do dogwalker
+ * Body: { dogwalkerUsuarioId, pontos: [{ latitude, longitude, timestamp }, ...] }
+ */
+public class LoteLocalizacoesDTO {
+
+    private Long dogwalkerUsuarioId;
+    private List<PontoLocalizacaoDTO> pontos = new ArrayList<>();
+
+    // Getters e Setters
+    public Long getDogwalkerUsuarioId() {
+        return dogwalkerUsuarioId;
+    }
+
+    public void setDogwalkerUsuarioId(Long dogwalkerUsuarioId) {
+        this.dogwalkerUsuarioId = dogwalkerUsuarioId;
+    }
+
+    public List<PontoLocalizacaoDTO> getPontos() {
+        return pontos;
+    }
+
+    public void setPontos(List<PontoLocalizacaoDTO> pontos) {
+        this.pontos = pontos;
+    }
+}
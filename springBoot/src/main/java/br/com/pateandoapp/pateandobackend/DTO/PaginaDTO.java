@@ -0,0 +1,39 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+import java.util.List;
+
+/**
+ * DTO com uma página de resultados de uma listagem paginada por cursor.
+ * O proximoCursor é null quando não há mais páginas.
+ */
+public class PaginaDTO<T> {
+
+    private List<T> itens;
+    private String proximoCursor;
+
+    // Construtor vazio
+    public PaginaDTO() {}
+
+    // Construtor completo
+    public PaginaDTO(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    // Getters e Setters
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<T> itens) {
+        this.itens = itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+}
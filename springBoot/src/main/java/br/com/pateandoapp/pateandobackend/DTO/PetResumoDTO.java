@@ -0,0 +1,36 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+/**
+ * DTO de um pet dentro do resumo de um agendamento
+ */
+public class PetResumoDTO {
+
+    private Long id;
+    private String nome;
+
+    // Construtor vazio
+    public PetResumoDTO() {}
+
+    // Construtor completo
+    public PetResumoDTO(Long id, String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+}
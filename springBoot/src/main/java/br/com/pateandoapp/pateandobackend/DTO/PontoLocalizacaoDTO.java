@@ -0,0 +1,48 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+/**
+ * DTO de um ponto de GPS do passeio
+ */
+public class PontoLocalizacaoDTO {
+
+    private double latitude;
+    private double longitude;
+
+    // Momento da leitura no aparelho (epoch em milissegundos)
+    private long timestamp;
+
+    // Construtor vazio
+    public PontoLocalizacaoDTO() {}
+
+    // Construtor completo
+    public PontoLocalizacaoDTO(double latitude, double longitude, long timestamp) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.timestamp = timestamp;
+    }
+
+    // Getters e Setters
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
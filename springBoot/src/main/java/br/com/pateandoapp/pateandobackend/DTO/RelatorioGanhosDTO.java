@@ -0,0 +1,71 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO do relatório de ganhos de um dogwalker: total do intervalo e um item por
+ * período com passeio (dia, semana ou mês), em ordem
+ */
+public class RelatorioGanhosDTO {
+
+    private LocalDate de;
+    private LocalDate ate;
+    private String agrupamento;
+    private GanhosDTO total;
+    private List<GanhosDTO> periodos = new ArrayList<>();
+
+    // Construtor vazio
+    public RelatorioGanhosDTO() {}
+
+    // Construtor completo
+    public RelatorioGanhosDTO(LocalDate de, LocalDate ate, String agrupamento, GanhosDTO total, List<GanhosDTO> periodos) {
+        this.de = de;
+        this.ate = ate;
+        this.agrupamento = agrupamento;
+        this.total = total;
+        this.periodos = periodos;
+    }
+
+    // Getters e Setters
+    public LocalDate getDe() {
+        return de;
+    }
+
+    public void setDe(LocalDate de) {
+        this.de = de;
+    }
+
+    public LocalDate getAte() {
+        return ate;
+    }
+
+    public void setAte(LocalDate ate) {
+        this.ate = ate;
+    }
+
+    public String getAgrupamento() {
+        return agrupamento;
+    }
+
+    public void setAgrupamento(String agrupamento) {
+        this.agrupamento = agrupamento;
+    }
+
+    public GanhosDTO getTotal() {
+        return total;
+    }
+
+    public void setTotal(GanhosDTO total) {
+        this.total = total;
+    }
+
+    public List<GanhosDTO> getPeriodos() {
+        return periodos;
+    }
+
+    public void setPeriodos(List<GanhosDTO> periodos) {
+        this.periodos = periodos;
+    }
+}
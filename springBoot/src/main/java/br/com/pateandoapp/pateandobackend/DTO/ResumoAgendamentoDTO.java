@@ -0,0 +1,137 @@
+package br.com.pateandoapp.pateandobackend.DTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+
+/**
+ * DTO do resumo de um agendamento nas listagens e nas respostas das transições.
+ * Cliente e dogwalker vão só com o contato; os pets, só com id e nome.
+ */
+public class ResumoAgendamentoDTO {
+
+    private Long id;
+    private LocalDateTime dataHora;
+    private int duracao;
+    private StatusAgendamento status;
+    private boolean emergenciaAtiva;
+    private String rota;
+    private String observacoes;
+    private ContatoDTO cliente;
+    private DogwalkerResumoDTO dogwalker;
+    private List<PetResumoDTO> pets = new ArrayList<>();
+
+    // Construtor vazio
+    public ResumoAgendamentoDTO() {}
+
+    // Construtor completo
+    public ResumoAgendamentoDTO(Long id, LocalDateTime dataHora, int duracao, StatusAgendamento status,
+            boolean emergenciaAtiva, String rota, String observacoes, ContatoDTO cliente,
+            DogwalkerResumoDTO dogwalker, List<PetResumoDTO> pets) {
+        this.id = id;
+        this.dataHora = dataHora;
+        this.duracao = duracao;
+        this.status = status;
+        this.emergenciaAtiva = emergenciaAtiva;
+        this.rota = rota;
+        this.observacoes = observacoes;
+        this.cliente = cliente;
+        this.dogwalker = dogwalker;
+        this.pets = pets;
+    }
+
+    // Construtor das consultas por projeção: colunas dos contatos no lugar dos DTOs;
+    // os pets são preenchidos depois, numa consulta para a página inteira
+    public ResumoAgendamentoDTO(Long id, LocalDateTime dataHora, int duracao, StatusAgendamento status,
+            boolean emergenciaAtiva, String rota, String observacoes,
+            Long clienteId, String clienteNome, String clienteTelefone,
+            Long dogwalkerId, Long dogwalkerUsuarioId, String dogwalkerNome, String dogwalkerTelefone) {
+        this(id, dataHora, duracao, status, emergenciaAtiva, rota, observacoes,
+                new ContatoDTO(clienteId, clienteNome, clienteTelefone),
+                new DogwalkerResumoDTO(dogwalkerId, new ContatoDTO(dogwalkerUsuarioId, dogwalkerNome, dogwalkerTelefone)),
+                new ArrayList<>());
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    public void setDataHora(LocalDateTime dataHora) {
+        this.dataHora = dataHora;
+    }
+
+    public int getDuracao() {
+        return duracao;
+    }
+
+    public void setDuracao(int duracao) {
+        this.duracao = duracao;
+    }
+
+    public StatusAgendamento getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusAgendamento status) {
+        this.status = status;
+    }
+
+    public boolean isEmergenciaAtiva() {
+        return emergenciaAtiva;
+    }
+
+    public void setEmergenciaAtiva(boolean emergenciaAtiva) {
+        this.emergenciaAtiva = emergenciaAtiva;
+    }
+
+    public String getRota() {
+        return rota;
+    }
+
+    public void setRota(String rota) {
+        this.rota = rota;
+    }
+
+    public String getObservacoes() {
+        return observacoes;
+    }
+
+    public void setObservacoes(String observacoes) {
+        this.observacoes = observacoes;
+    }
+
+    public ContatoDTO getCliente() {
+        return cliente;
+    }
+
+    public void setCliente(ContatoDTO cliente) {
+        this.cliente = cliente;
+    }
+
+    public DogwalkerResumoDTO getDogwalker() {
+        return dogwalker;
+    }
+
+    public void setDogwalker(DogwalkerResumoDTO dogwalker) {
+        this.dogwalker = dogwalker;
+    }
+
+    public List<PetResumoDTO> getPets() {
+        return pets;
+    }
+
+    public void setPets(List<PetResumoDTO> pets) {
+        this.pets = pets;
+    }
+}
@@ -2,19 +2,39 @@ package br.com.pateandoapp.pateandobackend;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import br.com.pateandoapp.pateandobackend.config.TokenAutenticacaoFilter;
+import br.com.pateandoapp.pateandobackend.service.TokenService;
 
 @Configuration
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
         http
                 .csrf(csrf -> csrf.disable()) // desativa CSRF para a API
+                .cors(Customizer.withDefaults()) // preflight tratado pelos @CrossOrigin dos controllers
                 .headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()))
+                // Sem sessão: cada requisição se identifica pelo token (Authorization: Bearer)
+                .sessionManagement(sessao -> sessao.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new TokenAutenticacaoFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+                .exceptionHandling(erros -> erros.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authorizeHttpRequests(auth -> auth
-                        .anyRequest().permitAll() // permite todas as requisições sem autenticação
+                        // cadastro e login são as únicas rotas abertas
+                        .requestMatchers(HttpMethod.POST, "/usuarios", "/usuarios/login").permitAll()
+                        .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        .requestMatchers("/h2-console/**", "/error").permitAll()
+                        // o actuator só responde na porta de métricas (management.server.port), interna
+                        .requestMatchers("/actuator/**").permitAll()
+                        .anyRequest().authenticated()
                 );
         return http.build();
     }
@@ -0,0 +1,50 @@
+package br.com.pateandoapp.pateandobackend.config;
+
+/**
+ * Comandos SQL e entidades carregadas pela requisição em curso, na thread dela.
+ *
+ * Aberto e fechado pelo MetricasRequisicaoFilter; os comandos vêm do DataSourceContado
+ * e as entidades das EstatisticasHibernate.
+ * Fora de uma requisição (tarefas agendadas, listeners assíncronos) nada é contado.
+ */
+final class ContadorRequisicao {
+
+    private static final ThreadLocal<ContadorRequisicao> ATUAL = new ThreadLocal<>();
+
+    private int comandos;
+    private int entidades;
+
+    private ContadorRequisicao() {}
+
+    static ContadorRequisicao iniciar() {
+        ContadorRequisicao contador = new ContadorRequisicao();
+        ATUAL.set(contador);
+        return contador;
+    }
+
+    static void encerrar() {
+        ATUAL.remove();
+    }
+
+    static void comandoExecutado() {
+        ContadorRequisicao contador = ATUAL.get();
+        if (contador != null) {
+            contador.comandos++;
+        }
+    }
+
+    static void entidadeCarregada() {
+        ContadorRequisicao contador = ATUAL.get();
+        if (contador != null) {
+            contador.entidades++;
+        }
+    }
+
+    int comandos() {
+        return comandos;
+    }
+
+    int entidades() {
+        return entidades;
+    }
+}
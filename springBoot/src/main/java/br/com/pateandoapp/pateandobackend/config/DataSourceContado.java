@@ -0,0 +1,72 @@
+package br.com.pateandoapp.pateandobackend.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que conta, para a requisição em curso (ContadorRequisicao), cada comando
+ * executado no banco: execute, executeQuery, executeUpdate e executeBatch de qualquer
+ * Statement das conexões que entrega.
+ *
+ * Fica na camada JDBC para contar tudo que vai ao banco, do Hibernate ou não.
+ * Fora de uma requisição o custo é só o do proxy.
+ */
+class DataSourceContado extends DelegatingDataSource {
+
+    DataSourceContado(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return contar(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return contar(super.getConnection(username, password));
+    }
+
+    /**
+     * Conexão cujos createStatement, prepareStatement e prepareCall devolvem comandos contados
+     */
+    private static Connection contar(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, metodo, args) -> {
+                    Object resultado = invocar(conexao, metodo, args);
+                    if (resultado instanceof Statement comando && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                        return contar(comando, metodo.getReturnType());
+                    }
+                    return resultado;
+                });
+    }
+
+    // Statement, PreparedStatement ou CallableStatement, conforme o método que o criou
+    private static Object contar(Statement comando, Class<?> tipo) {
+        return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {tipo},
+                (proxy, metodo, args) -> {
+                    if (metodo.getName().startsWith("execute")) {
+                        ContadorRequisicao.comandoExecutado();
+                    }
+                    return invocar(comando, metodo, args);
+                });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
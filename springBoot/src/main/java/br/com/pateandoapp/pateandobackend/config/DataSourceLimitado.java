@@ -0,0 +1,113 @@
+package br.com.pateandoapp.pateandobackend.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * DataSource que limita quantas threads têm conexão aberta ao mesmo tempo.
+ *
+ * Cada getConnection pega uma permissão de um semáforo justo (ordem de chegada) e
+ * a devolve no close da conexão. Quem não consegue permissão dentro da espera
+ * máxima recebe SQLTransientConnectionException, em vez de todas as threads
+ * disputarem o pool e estourarem juntas o timeout dele.
+ *
+ * A espera por permissão vai para a métrica pateando.jdbc.espera (resultado obtida ou
+ * esgotada); a espera pelo pool em si é a hikaricp.connections.acquire.
+ */
+class DataSourceLimitado extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+    private final long esperaMaximaMs;
+
+    // O registro de métricas é criado depois do DataSource; buscado no primeiro uso
+    private final ObjectProvider<MeterRegistry> registry;
+
+    DataSourceLimitado(DataSource alvo, int maximo, long esperaMaximaMs, ObjectProvider<MeterRegistry> registry) {
+        super(alvo);
+        this.permissoes = new Semaphore(maximo, true);
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return liberarAoFechar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        try {
+            return liberarAoFechar(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    private void adquirir() throws SQLException {
+        long inicio = System.nanoTime();
+        try {
+            boolean obtida = permissoes.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS);
+            registrarEspera(System.nanoTime() - inicio, obtida);
+            if (!obtida) {
+                throw new SQLTransientConnectionException(
+                        "Tempo esgotado esperando conexão com o banco (" + esperaMaximaMs + " ms)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido esperando conexão com o banco", e);
+        }
+    }
+
+    private void registrarEspera(long nanos, boolean obtida) {
+        MeterRegistry metricas = registry.getIfAvailable();
+        if (metricas != null) {
+            Timer.builder("pateando.jdbc.espera")
+                    .description("Espera por permissão de conexão no modo de threads virtuais")
+                    .tag("resultado", obtida ? "obtida" : "esgotada")
+                    .register(metricas)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Devolve a permissão no primeiro close da conexão (os seguintes são ignorados)
+     */
+    private Connection liberarAoFechar(Connection conexao) {
+        AtomicBoolean fechada = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, metodo, args) -> {
+                    try {
+                        return metodo.invoke(conexao, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if ("close".equals(metodo.getName()) && fechada.compareAndSet(false, true)) {
+                            permissoes.release();
+                        }
+                    }
+                });
+    }
+}
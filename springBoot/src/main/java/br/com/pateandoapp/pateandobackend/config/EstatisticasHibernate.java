@@ -0,0 +1,71 @@
+package br.com.pateandoapp.pateandobackend.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * Estatísticas do Hibernate (hibernate.generate_statistics=true) com dois acréscimos:
+ *
+ * - cada entidade carregada também conta para a requisição em curso (ContadorRequisicao),
+ *   o que vira a métrica por endpoint (os comandos são contados no DataSourceContado);
+ * - as consultas lentas (acima de hibernate.log_slow_query ms) são contadas e registradas
+ *   no log por amostragem: no máximo maximoPorMinuto linhas por minuto, com o número das
+ *   omitidas na próxima. Substitui o antigo show-sql, que imprimia todo comando.
+ *
+ * O SQL registrado é o do PreparedStatement, sem os valores dos parâmetros.
+ */
+class EstatisticasHibernate extends StatisticsImpl {
+
+    private static final Logger log = LoggerFactory.getLogger("br.com.pateandoapp.pateandobackend.sql.lentas");
+
+    private static final long MINUTO_NANOS = 60_000_000_000L;
+
+    private final int maximoPorMinuto;
+    private final Counter consultasLentas;
+
+    // Janela de um minuto da amostragem
+    private final AtomicLong inicioJanela = new AtomicLong(System.nanoTime());
+    private final AtomicInteger registradasNaJanela = new AtomicInteger();
+    private final AtomicInteger omitidas = new AtomicInteger();
+
+    EstatisticasHibernate(SessionFactoryImplementor sessionFactory, int maximoPorMinuto, Counter consultasLentas) {
+        super(sessionFactory);
+        this.maximoPorMinuto = maximoPorMinuto;
+        this.consultasLentas = consultasLentas;
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        ContadorRequisicao.entidadeCarregada();
+    }
+
+    @Override
+    public void slowQuery(String sql, long executionTime) {
+        super.slowQuery(sql, executionTime);
+        consultasLentas.increment();
+
+        long agora = System.nanoTime();
+        long inicio = inicioJanela.get();
+        if (agora - inicio > MINUTO_NANOS && inicioJanela.compareAndSet(inicio, agora)) {
+            registradasNaJanela.set(0);
+        }
+        if (registradasNaJanela.incrementAndGet() > maximoPorMinuto) {
+            omitidas.incrementAndGet();
+            return;
+        }
+        int anteriores = omitidas.getAndSet(0);
+        if (anteriores > 0) {
+            log.warn("Consulta lenta ({} ms, {} omitidas antes desta): {}", executionTime, anteriores, sql);
+        } else {
+            log.warn("Consulta lenta ({} ms): {}", executionTime, sql);
+        }
+    }
+}
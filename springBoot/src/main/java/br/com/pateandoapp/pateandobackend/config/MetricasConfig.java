@@ -0,0 +1,63 @@
+package br.com.pateandoapp.pateandobackend.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Instrumentação que o actuator não traz pronta: comandos SQL contados na camada JDBC
+ * (DataSourceContado), estatísticas do Hibernate com entidades por requisição e log amostrado
+ * de consultas lentas (EstatisticasHibernate), e o filtro que publica essas contagens por
+ * endpoint e confere o orçamento de comandos de cada um (MetricasRequisicaoFilter, @OrcamentoSql).
+ *
+ * Latência por endpoint (http.server.requests), espera por conexão do pool
+ * (hikaricp.connections.*) e os totais do Hibernate (hibernate.*) vêm do próprio Spring Boot.
+ */
+@Configuration
+public class MetricasConfig {
+
+    // static: o pós-processador precisa existir antes dos demais beans
+    @Bean
+    public static BeanPostProcessor contadorComandos() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceContado)) {
+                    return new DataSourceContado(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer estatisticasHibernate(MeterRegistry registry, Environment environment) {
+        int maximoPorMinuto = environment.getProperty("pateando.sql.lentas.maximo-por-minuto", Integer.class, 20);
+        Counter consultasLentas = Counter.builder("pateando.sql.lentas")
+                .description("Consultas acima de hibernate.log_slow_query")
+                .register(registry);
+        StatisticsFactory fabrica = sessionFactory -> new EstatisticasHibernate(sessionFactory, maximoPorMinuto, consultasLentas);
+        return propriedades -> propriedades.put(AvailableSettings.STATS_BUILDER, fabrica);
+    }
+
+    @Bean
+    public FilterRegistrationBean<MetricasRequisicaoFilter> metricasRequisicaoFilter(MeterRegistry registry, Environment environment) {
+        MetricasRequisicaoFilter.ModoOrcamento modo = environment.getProperty("pateando.sql.orcamento.modo",
+                MetricasRequisicaoFilter.ModoOrcamento.class, MetricasRequisicaoFilter.ModoOrcamento.AVISAR);
+        FilterRegistrationBean<MetricasRequisicaoFilter> registro = new FilterRegistrationBean<>(new MetricasRequisicaoFilter(registry, modo));
+        // Antes da segurança: a consulta do usuário do token também conta
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
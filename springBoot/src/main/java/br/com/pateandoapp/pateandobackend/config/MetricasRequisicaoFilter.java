@@ -0,0 +1,95 @@
+package br.com.pateandoapp.pateandobackend.config;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Comandos SQL e entidades carregadas por requisição, por endpoint (método e padrão da URL,
+ * como no http.server.requests): pateando.requisicao.comandos.sql e pateando.requisicao.entidades.
+ * Uma listagem que de repente passa a fazer um SELECT por linha aparece aqui.
+ *
+ * Também confere o orçamento de comandos do endpoint (@OrcamentoSql): acima dele, conta em
+ * pateando.sql.orcamento.excedido e avisa no log ou, no modo FALHAR, lança exceção.
+ */
+class MetricasRequisicaoFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricasRequisicaoFilter.class);
+
+    // Faixas dos histogramas (quantidade por requisição; o Micrometer só aceita limites > 0)
+    private static final double[] FAIXAS = {1, 2, 3, 5, 10, 20, 50, 100};
+
+    enum ModoOrcamento { AVISAR, FALHAR }
+
+    private final MeterRegistry registry;
+    private final ModoOrcamento modo;
+
+    MetricasRequisicaoFilter(MeterRegistry registry, ModoOrcamento modo) {
+        this.registry = registry;
+        this.modo = modo;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContadorRequisicao contador = ContadorRequisicao.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ContadorRequisicao.encerrar();
+            resumo("pateando.requisicao.comandos.sql", "Comandos SQL executados por requisição", request)
+                    .record(contador.comandos());
+            resumo("pateando.requisicao.entidades", "Entidades carregadas do banco por requisição", request)
+                    .record(contador.entidades());
+        }
+
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            OrcamentoSql orcamento = handler.getMethodAnnotation(OrcamentoSql.class);
+            if (orcamento != null && contador.comandos() > orcamento.value()) {
+                excedido(request, contador.comandos(), orcamento.value());
+            }
+        }
+    }
+
+    private void excedido(HttpServletRequest request, int comandos, int orcamento) {
+        Counter.builder("pateando.sql.orcamento.excedido")
+                .description("Requisições que executaram mais comandos SQL que o @OrcamentoSql do endpoint")
+                .tag("method", request.getMethod())
+                .tag("uri", uri(request))
+                .register(registry)
+                .increment();
+
+        String mensagem = "Orçamento de comandos SQL excedido em " + request.getMethod() + " " + uri(request) + ": "
+                + comandos + " comandos (máximo " + orcamento + ")";
+        if (modo == ModoOrcamento.FALHAR) {
+            throw new IllegalStateException(mensagem);
+        }
+        log.warn(mensagem);
+    }
+
+    private DistributionSummary resumo(String nome, String descricao, HttpServletRequest request) {
+        return DistributionSummary.builder(nome)
+                .description(descricao)
+                .tag("method", request.getMethod())
+                .tag("uri", uri(request))
+                .serviceLevelObjectives(FAIXAS)
+                .register(registry);
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? padrao.toString() : "NAO_MAPEADO";
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.pateandoapp.pateandobackend.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Máximo de comandos SQL que uma requisição ao endpoint pode executar, contados na
+ * camada JDBC (DataSourceContado) do começo ao fim da requisição, incluindo a segurança.
+ *
+ * Um lote (executeBatch) conta como um comando. O orçamento vale para o pior caso
+ * do endpoint (cache frio, lista com várias linhas): um SELECT por linha estoura na hora.
+ * Acima do orçamento, pateando.sql.orcamento.modo decide: AVISAR (log e métrica
+ * pateando.sql.orcamento.excedido) ou FALHAR (exceção; usado nos testes).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OrcamentoSql {
+
+    int value();
+}
@@ -0,0 +1,82 @@
+package br.com.pateandoapp.pateandobackend.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Réplica de leitura (pateando.datasource.replica.url definida).
+ *
+ * Substitui o DataSource do Spring Boot por dois pools Hikari, "primario" (spring.datasource.*)
+ * e "replica" (pateando.datasource.replica.*), atrás de um LazyConnectionDataSourceProxy: a
+ * conexão real só é pedida no primeiro comando, quando já se sabe se a transação é somente
+ * leitura (@Transactional(readOnly = true) e os métodos de leitura herdados do JpaRepository;
+ * consultas declaradas nos repositórios, chamadas fora de transação, ficam no primário).
+ * Quem escolhe o banco é o RoteamentoLeituras.
+ *
+ * Só o DataSource roteado é bean, então a contagem de comandos (DataSourceContado), o limite
+ * de threads virtuais (DataSourceLimitado), o Flyway e o Hibernate continuam vendo um único
+ * DataSource. Cada pool publica as próprias métricas (hikaricp.connections.*, tag pool).
+ * O pool é escolhido uma vez por transação: a réplica nunca recebe escrita.
+ */
+@Configuration
+@ConditionalOnProperty(name = "pateando.datasource.replica.url")
+public class ReplicaLeituraConfig {
+
+    @Bean(destroyMethod = "close")
+    RoteamentoLeituras roteamentoLeituras(DataSourceProperties propriedades, Environment environment,
+            ObjectProvider<MeterRegistry> registry) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primario = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primario));
+        configurarPool(primario, "primario", registry);
+
+        // Usuário, senha e ajustes do pool herdados do primário, se a réplica não definir os seus
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(environment.getProperty("pateando.datasource.replica.url"))
+                .username(environment.getProperty("pateando.datasource.replica.username", propriedades.determineUsername()))
+                .password(environment.getProperty("pateando.datasource.replica.password", propriedades.determinePassword()))
+                .driverClassName(environment.getProperty("pateando.datasource.replica.driver-class-name",
+                        propriedades.determineDriverClassName()))
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+        binder.bind("pateando.datasource.replica.hikari", Bindable.ofInstance(replica));
+        configurarPool(replica, "replica", registry);
+
+        long janelaMs = environment.getProperty("pateando.datasource.replica.janela-leitura-ms", Long.class, 2000L);
+        return new RoteamentoLeituras(primario, replica, janelaMs, registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteamentoLeituras roteamento) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(roteamento.escrita());
+        dataSource.setReadOnlyDataSource(roteamento.leitura());
+        return dataSource;
+    }
+
+    private static void configurarPool(HikariDataSource pool, String nome, ObjectProvider<MeterRegistry> registry) {
+        pool.setPoolName(nome);
+        MeterRegistry metricas = registry.getIfAvailable();
+        if (metricas != null) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(metricas));
+        }
+    }
+}
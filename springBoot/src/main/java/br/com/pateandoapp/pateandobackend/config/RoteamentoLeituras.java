@@ -0,0 +1,157 @@
+package br.com.pateandoapp.pateandobackend.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.pateandoapp.pateandobackend.service.UsuarioAutenticado;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Decide de qual banco sai cada conexão quando há réplica de leitura (ReplicaLeituraConfig).
+ *
+ * Escritas vão para o primário. Transações somente leitura vão para a réplica, exceto
+ * logo depois de uma escrita ("ler o que acabou de escrever"): durante janela-leitura-ms
+ * depois da última escrita do mesmo usuário (token) ou da mesma thread, elas também vão
+ * para o primário, porque a réplica pode ainda não ter recebido a alteração. A thread cobre
+ * o que roda depois do commit na própria requisição (listeners de eventos, recarga do
+ * diretório) e escritas sem usuário, como o cadastro.
+ *
+ * Cada conexão entregue conta em pateando.datasource.conexoes (destino e motivo).
+ * Os dois pools são fechados com este bean, depois do DataSource que os usa.
+ */
+class RoteamentoLeituras implements AutoCloseable {
+
+    // A cada tantas escritas registradas, o mapa de usuários descarta as janelas vencidas
+    private static final int LIMPEZA_A_CADA = 1024;
+
+    private final HikariDataSource primario;
+    private final HikariDataSource replica;
+    private final long janelaNanos;
+    private final ObjectProvider<MeterRegistry> registry;
+
+    // Última escrita (System.nanoTime) por usuário e na thread atual
+    private final Map<Long, Long> escritasPorUsuario = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> escritaNaThread = new ThreadLocal<>();
+    private final AtomicInteger registradas = new AtomicInteger();
+
+    RoteamentoLeituras(HikariDataSource primario, HikariDataSource replica, long janelaMs, ObjectProvider<MeterRegistry> registry) {
+        this.primario = primario;
+        this.replica = replica;
+        this.janelaNanos = TimeUnit.MILLISECONDS.toNanos(janelaMs);
+        this.registry = registry;
+    }
+
+    /**
+     * Conexões de escrita: sempre o primário, registrando a escrita do usuário e da thread
+     */
+    DataSource escrita() {
+        return new DelegatingDataSource(primario) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                registrarEscrita();
+                contar("primario", "escrita");
+                return super.getConnection();
+            }
+        };
+    }
+
+    /**
+     * Conexões de transações somente leitura: a réplica, ou o primário dentro da janela
+     */
+    DataSource leitura() {
+        return new DelegatingDataSource(replica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (escreveuRecentemente()) {
+                    contar("primario", "janela");
+                    return primario.getConnection();
+                }
+                contar("replica", "leitura");
+                return super.getConnection();
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primario.close();
+    }
+
+    private void registrarEscrita() {
+        // Sem transação (migrations, consultas avulsas) não há escrita a acompanhar
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Long usuarioId = usuarioAtual();
+        marcar(usuarioId);
+        // A janela conta a partir do fim da transação, não do começo
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                marcar(usuarioId);
+            }
+        });
+    }
+
+    private void marcar(Long usuarioId) {
+        long agora = System.nanoTime();
+        escritaNaThread.set(agora);
+        if (usuarioId != null) {
+            escritasPorUsuario.put(usuarioId, agora);
+            if (registradas.incrementAndGet() % LIMPEZA_A_CADA == 0) {
+                escritasPorUsuario.values().removeIf(instante -> agora - instante > janelaNanos);
+            }
+        }
+    }
+
+    private boolean escreveuRecentemente() {
+        long agora = System.nanoTime();
+        Long naThread = escritaNaThread.get();
+        if (naThread != null) {
+            if (agora - naThread <= janelaNanos) {
+                return true;
+            }
+            escritaNaThread.remove();
+        }
+        Long usuarioId = usuarioAtual();
+        Long doUsuario = usuarioId != null ? escritasPorUsuario.get(usuarioId) : null;
+        return doUsuario != null && agora - doUsuario <= janelaNanos;
+    }
+
+    private static Long usuarioAtual() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacao != null && autenticacao.getPrincipal() instanceof UsuarioAutenticado usuario
+                ? usuario.id()
+                : null;
+    }
+
+    private void contar(String destino, String motivo) {
+        MeterRegistry metricas = registry.getIfAvailable();
+        if (metricas != null) {
+            Counter.builder("pateando.datasource.conexoes")
+                    .description("Conexões entregues por banco (primario/replica) e motivo da escolha")
+                    .tag("destino", destino)
+                    .tag("motivo", motivo)
+                    .register(metricas)
+                    .increment();
+        }
+    }
+}
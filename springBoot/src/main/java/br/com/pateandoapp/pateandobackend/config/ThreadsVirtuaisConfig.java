@@ -0,0 +1,45 @@
+package br.com.pateandoapp.pateandobackend.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Modo de threads virtuais (spring.threads.virtual.enabled=true).
+ *
+ * O Spring Boot já troca o executor do Tomcat, o applicationTaskExecutor e o
+ * agendador por threads virtuais. O que falta é o limite de acesso ao banco:
+ * sem o teto de threads do Tomcat, milhares de requisições podem pedir conexão
+ * ao mesmo tempo e esgotar o tempo de espera do pool. O DataSource é embrulhado
+ * num DataSourceLimitado, que deixa no máximo N threads com conexão aberta e
+ * enfileira as demais (estacionadas, sem ocupar thread de plataforma).
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+    // static: o pós-processador precisa existir antes dos demais beans
+    @Bean
+    public static BeanPostProcessor limitadorConexoes(Environment environment, ObjectProvider<MeterRegistry> registry) {
+        int maximo = environment.getProperty("pateando.jdbc.concorrencia-maxima", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long esperaMaximaMs = environment.getProperty("pateando.jdbc.espera-maxima-ms", Long.class, 5000L);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceLimitado)) {
+                    return new DataSourceLimitado(dataSource, maximo, esperaMaximaMs, registry);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.pateandoapp.pateandobackend.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import br.com.pateandoapp.pateandobackend.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Lê o header "Authorization: Bearer <token>" e, se o token for válido, coloca o
+ * UsuarioAutenticado no contexto de segurança (papel ROLE_CLIENTE ou ROLE_DOGWALKER).
+ * Token ausente ou inválido segue sem autenticação; o SecurityConfig decide se a rota exige.
+ */
+public class TokenAutenticacaoFilter extends OncePerRequestFilter {
+
+    private static final String PREFIXO = "Bearer ";
+
+    private final TokenService tokenService;
+
+    public TokenAutenticacaoFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(PREFIXO)) {
+            tokenService.verificar(header.substring(PREFIXO.length()).trim()).ifPresent(usuario -> {
+                var autenticacao = new UsernamePasswordAuthenticationToken(usuario, null,
+                        List.of(new SimpleGrantedAuthority("ROLE_" + usuario.tipo())));
+                SecurityContextHolder.getContext().setAuthentication(autenticacao);
+            });
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -1,15 +1,28 @@
 package br.com.pateandoapp.pateandobackend.controller;
 
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import br.com.pateandoapp.pateandobackend.DTO.FiltroAgendamentoDTO;
+import br.com.pateandoapp.pateandobackend.DTO.ResumoAgendamentoDTO;
+import br.com.pateandoapp.pateandobackend.config.OrcamentoSql;
 import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.TransicaoAgendamento;
+import br.com.pateandoapp.pateandobackend.repository.EnvolvidosAgendamento;
 import br.com.pateandoapp.pateandobackend.service.AgendamentoService;
+import br.com.pateandoapp.pateandobackend.service.AvaliacaoService;
+import br.com.pateandoapp.pateandobackend.service.HistoricoAgendamentosService;
+import br.com.pateandoapp.pateandobackend.service.VersoesRecursos;
 
 @RestController
 @RequestMapping("/agendamentos")
@@ -19,57 +32,69 @@ public class AgendamentoController {
     @Autowired
     private AgendamentoService agendamentoService;
 
+    @Autowired
+    private AvaliacaoService avaliacaoService;
+
+    @Autowired
+    private HistoricoAgendamentosService historicoService;
+
+    @Autowired
+    private VersoesRecursos versoesRecursos;
+
     /**
      * POST /agendamentos/criar
      * ✅ ATUALIZADO: Aceita múltiplos pets
-     * Body: { clienteId, petIds: [1,2,3], dogwalkerId, dataHora, duracao, rota?, observacoes? }
-     * Também aceita formato antigo: { clienteId, petId, dogwalkerId, ... }
+     * Body: { petIds: [1,2,3], dogwalkerId, dataHora, duracao, rota?, observacoes? }
+     * Também aceita formato antigo: { petId, dogwalkerId, ... }
+     * O cliente é o usuário do token (clienteId no corpo é opcional e precisa ser o mesmo).
      */
     @PostMapping("/criar")
+    @OrcamentoSql(5)
     public ResponseEntity<?> criarAgendamento(@RequestBody Map<String, Object> dados) {
         try {
-            Long clienteId = Long.valueOf(dados.get("clienteId").toString());
+            Long clienteId = Autenticacao.usuarioId(dados.get("clienteId"));
             Long dogwalkerId = Long.valueOf(dados.get("dogwalkerId").toString());
+            List<Long> petIds = lerPetIds(dados);
 
-            // ✅ Suporte para múltiplos pets (petIds) ou único pet (petId)
-            List<Long> petIds = new ArrayList<>();
-            
-            if (dados.get("petIds") != null) {
-                // Novo formato: array de IDs
-                @SuppressWarnings("unchecked")
-                List<?> rawPetIds = (List<?>) dados.get("petIds");
-                for (Object id : rawPetIds) {
-                    petIds.add(Long.valueOf(id.toString()));
-                }
-            } else if (dados.get("petId") != null) {
-                // Formato antigo: único ID (compatibilidade)
-                petIds.add(Long.valueOf(dados.get("petId").toString()));
-            } else {
-                return ResponseEntity.badRequest().body("É necessário informar petId ou petIds!");
-            }
+            ResumoAgendamentoDTO salvo = agendamentoService.criarAgendamento(clienteId, petIds, dogwalkerId, lerAgendamento(dados));
+            return ResponseEntity.ok(salvo);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 
-            // Validar máximo de 3 pets
-            if (petIds.size() > 3) {
-                return ResponseEntity.badRequest().body("Máximo de 3 pets por passeio!");
-            }
+    /**
+     * POST /agendamentos/recorrente
+     * Cria uma série semanal de agendamentos numa única transação
+     * Body: { petIds, dogwalkerId, dataHora, duracao, ocorrencias,
+     *         diasSemana?: ["MONDAY", "WEDNESDAY", ...], rota?, observacoes? }
+     * Sem diasSemana, repete no dia da semana de dataHora.
+     */
+    @PostMapping("/recorrente")
+    @OrcamentoSql(4)
+    public ResponseEntity<?> criarRecorrente(@RequestBody Map<String, Object> dados) {
+        try {
+            Long clienteId = Autenticacao.usuarioId(dados.get("clienteId"));
+            Long dogwalkerId = Long.valueOf(dados.get("dogwalkerId").toString());
+            List<Long> petIds = lerPetIds(dados);
+            Integer ocorrencias = dados.get("ocorrencias") != null
+                    ? Integer.valueOf(dados.get("ocorrencias").toString())
+                    : null;
 
-            Agendamento agendamentoData = new Agendamento();
-            
-            // Parse da data/hora (formato ISO)
-            String dataHoraStr = dados.get("dataHora").toString();
-            agendamentoData.setDataHora(java.time.LocalDateTime.parse(dataHoraStr));
-            
-            agendamentoData.setDuracao(Integer.valueOf(dados.get("duracao").toString()));
-            
-            if (dados.get("rota") != null) {
-                agendamentoData.setRota(dados.get("rota").toString());
-            }
-            if (dados.get("observacoes") != null) {
-                agendamentoData.setObservacoes(dados.get("observacoes").toString());
+            Set<DayOfWeek> diasSemana = EnumSet.noneOf(DayOfWeek.class);
+            if (dados.get("diasSemana") != null) {
+                for (Object dia : (List<?>) dados.get("diasSemana")) {
+                    try {
+                        diasSemana.add(DayOfWeek.valueOf(dia.toString().toUpperCase()));
+                    } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().body("Dia da semana inválido: " + dia);
+                    }
+                }
             }
 
-            Agendamento salvo = agendamentoService.criarAgendamento(clienteId, petIds, dogwalkerId, agendamentoData);
-            return ResponseEntity.ok(salvo);
+            List<ResumoAgendamentoDTO> salvos = agendamentoService.criarRecorrente(
+                    clienteId, petIds, dogwalkerId, lerAgendamento(dados), diasSemana, ocorrencias);
+            return ResponseEntity.ok(salvos);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -77,11 +102,20 @@ public class AgendamentoController {
 
     /**
      * GET /agendamentos
-     * Lista todos os agendamentos
+     * Lista todos os agendamentos, do mais recente para o mais antigo.
+     * As listagens aceitam ?status=&de=&ate=&limite=&cursor= e devolvem
+     * o link da próxima página no header Link, e respondem 304 ao If-None-Match
+     * com o ETag da versão atual (ver RespostaCondicional).
      */
     @GetMapping
-    public ResponseEntity<List<Agendamento>> listarTodos() {
-        return ResponseEntity.ok(agendamentoService.listarTodos());
+    @OrcamentoSql(2)
+    public ResponseEntity<?> listarTodos(FiltroAgendamentoDTO filtro) {
+        try {
+            return RespostaCondicional.ok(versoesRecursos, VersoesRecursos.AGENDAMENTOS,
+                    () -> RespostaPaginada.ok(agendamentoService.listarTodos(filtro)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
@@ -89,21 +123,38 @@ public class AgendamentoController {
      * Busca agendamento por ID
      */
     @GetMapping("/{id}")
+    @OrcamentoSql(2)
     public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
         return agendamentoService.buscarPorId(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * GET /agendamentos/{id}/historico
+     * Transições do agendamento (tipo, status, autor e horário), da mais antiga para a mais recente
+     */
+    @GetMapping("/{id}/historico")
+    @OrcamentoSql(2)
+    public ResponseEntity<List<TransicaoAgendamento>> listarHistorico(@PathVariable Long id) {
+        Optional<EnvolvidosAgendamento> envolvidos = agendamentoService.buscarEnvolvidos(id);
+        if (envolvidos.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Autenticacao.exigirEnvolvido(envolvidos.get());
+        return ResponseEntity.ok(historicoService.listar(id));
+    }
+
     /**
      * GET /agendamentos/cliente/{clienteId}
      * Lista agendamentos de um cliente
      */
     @GetMapping("/cliente/{clienteId}")
-    public ResponseEntity<?> listarPorCliente(@PathVariable Long clienteId) {
+    @OrcamentoSql(3)
+    public ResponseEntity<?> listarPorCliente(@PathVariable Long clienteId, FiltroAgendamentoDTO filtro) {
         try {
-            List<Agendamento> agendamentos = agendamentoService.listarPorCliente(clienteId);
-            return ResponseEntity.ok(agendamentos);
+            return RespostaCondicional.ok(versoesRecursos, VersoesRecursos.agendamentosDoUsuario(clienteId),
+                    () -> RespostaPaginada.ok(agendamentoService.listarPorCliente(clienteId, filtro)));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -114,10 +165,11 @@ public class AgendamentoController {
      * Lista agendamentos de um dogwalker (pelo ID do dogwalker)
      */
     @GetMapping("/dogwalker/{dogwalkerId}")
-    public ResponseEntity<?> listarPorDogwalker(@PathVariable Long dogwalkerId) {
+    @OrcamentoSql(3)
+    public ResponseEntity<?> listarPorDogwalker(@PathVariable Long dogwalkerId, FiltroAgendamentoDTO filtro) {
         try {
-            List<Agendamento> agendamentos = agendamentoService.listarPorDogwalker(dogwalkerId);
-            return ResponseEntity.ok(agendamentos);
+            return RespostaCondicional.ok(versoesRecursos, VersoesRecursos.agendamentosDoDogwalker(dogwalkerId),
+                    () -> RespostaPaginada.ok(agendamentoService.listarPorDogwalker(dogwalkerId, filtro)));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -128,10 +180,11 @@ public class AgendamentoController {
      * Lista agendamentos de um dogwalker pelo ID do usuário
      */
     @GetMapping("/dogwalker/usuario/{usuarioId}")
-    public ResponseEntity<?> listarPorDogwalkerUsuarioId(@PathVariable Long usuarioId) {
+    @OrcamentoSql(2)
+    public ResponseEntity<?> listarPorDogwalkerUsuarioId(@PathVariable Long usuarioId, FiltroAgendamentoDTO filtro) {
         try {
-            List<Agendamento> agendamentos = agendamentoService.listarPorDogwalkerUsuarioId(usuarioId);
-            return ResponseEntity.ok(agendamentos);
+            return RespostaCondicional.ok(versoesRecursos, VersoesRecursos.agendamentosDoUsuario(usuarioId),
+                    () -> RespostaPaginada.ok(agendamentoService.listarPorDogwalkerUsuarioId(usuarioId, filtro)));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -142,20 +195,27 @@ public class AgendamentoController {
      * Lista agendamentos por status (PENDENTE, ACEITO, REJEITADO, EM_ANDAMENTO, CONCLUIDO, CANCELADO)
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Agendamento>> listarPorStatus(@PathVariable String status) {
-        return ResponseEntity.ok(agendamentoService.listarPorStatus(status));
+    @OrcamentoSql(2)
+    public ResponseEntity<?> listarPorStatus(@PathVariable String status, FiltroAgendamentoDTO filtro) {
+        try {
+            return RespostaCondicional.ok(versoesRecursos, VersoesRecursos.AGENDAMENTOS,
+                    () -> RespostaPaginada.ok(agendamentoService.listarPorStatus(status, filtro)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
      * PUT /agendamentos/{id}/aceitar
      * Dogwalker aceita um agendamento
-     * Body: { dogwalkerUsuarioId }
+     * Body: { dogwalkerUsuarioId? } (o dogwalker é o usuário do token)
      */
     @PutMapping("/{id}/aceitar")
+    @OrcamentoSql(2)
     public ResponseEntity<?> aceitarAgendamento(@PathVariable Long id, @RequestBody Map<String, Long> body) {
         try {
-            Long dogwalkerUsuarioId = body.get("dogwalkerUsuarioId");
-            Agendamento agendamento = agendamentoService.aceitarAgendamento(id, dogwalkerUsuarioId);
+            Long dogwalkerUsuarioId = Autenticacao.usuarioId(body.get("dogwalkerUsuarioId"));
+            ResumoAgendamentoDTO agendamento = agendamentoService.aceitarAgendamento(id, dogwalkerUsuarioId);
             return ResponseEntity.ok(agendamento);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -165,13 +225,14 @@ public class AgendamentoController {
     /**
      * PUT /agendamentos/{id}/rejeitar
      * Dogwalker rejeita um agendamento
-     * Body: { dogwalkerUsuarioId }
+     * Body: { dogwalkerUsuarioId? } (o dogwalker é o usuário do token)
      */
     @PutMapping("/{id}/rejeitar")
+    @OrcamentoSql(2)
     public ResponseEntity<?> rejeitarAgendamento(@PathVariable Long id, @RequestBody Map<String, Long> body) {
         try {
-            Long dogwalkerUsuarioId = body.get("dogwalkerUsuarioId");
-            Agendamento agendamento = agendamentoService.rejeitarAgendamento(id, dogwalkerUsuarioId);
+            Long dogwalkerUsuarioId = Autenticacao.usuarioId(body.get("dogwalkerUsuarioId"));
+            ResumoAgendamentoDTO agendamento = agendamentoService.rejeitarAgendamento(id, dogwalkerUsuarioId);
             return ResponseEntity.ok(agendamento);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -181,13 +242,14 @@ public class AgendamentoController {
     /**
      * PUT /agendamentos/{id}/iniciar
      * Dogwalker inicia o passeio
-     * Body: { dogwalkerUsuarioId }
+     * Body: { dogwalkerUsuarioId? } (o dogwalker é o usuário do token)
      */
     @PutMapping("/{id}/iniciar")
+    @OrcamentoSql(3)
     public ResponseEntity<?> iniciarPasseio(@PathVariable Long id, @RequestBody Map<String, Long> body) {
         try {
-            Long dogwalkerUsuarioId = body.get("dogwalkerUsuarioId");
-            Agendamento agendamento = agendamentoService.iniciarPasseio(id, dogwalkerUsuarioId);
+            Long dogwalkerUsuarioId = Autenticacao.usuarioId(body.get("dogwalkerUsuarioId"));
+            ResumoAgendamentoDTO agendamento = agendamentoService.iniciarPasseio(id, dogwalkerUsuarioId);
             return ResponseEntity.ok(agendamento);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -197,13 +259,14 @@ public class AgendamentoController {
     /**
      * PUT /agendamentos/{id}/finalizar
      * Dogwalker finaliza o passeio
-     * Body: { dogwalkerUsuarioId }
+     * Body: { dogwalkerUsuarioId? } (o dogwalker é o usuário do token)
      */
     @PutMapping("/{id}/finalizar")
+    @OrcamentoSql(11)
     public ResponseEntity<?> finalizarPasseio(@PathVariable Long id, @RequestBody Map<String, Long> body) {
         try {
-            Long dogwalkerUsuarioId = body.get("dogwalkerUsuarioId");
-            Agendamento agendamento = agendamentoService.finalizarPasseio(id, dogwalkerUsuarioId);
+            Long dogwalkerUsuarioId = Autenticacao.usuarioId(body.get("dogwalkerUsuarioId"));
+            ResumoAgendamentoDTO agendamento = agendamentoService.finalizarPasseio(id, dogwalkerUsuarioId);
             return ResponseEntity.ok(agendamento);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -213,13 +276,14 @@ public class AgendamentoController {
     /**
      * PUT /agendamentos/{id}/cancelar
      * Cliente cancela um agendamento
-     * Body: { clienteId }
+     * Body: { clienteId? } (o cliente é o usuário do token)
      */
     @PutMapping("/{id}/cancelar")
+    @OrcamentoSql(2)
     public ResponseEntity<?> cancelarAgendamento(@PathVariable Long id, @RequestBody Map<String, Long> body) {
         try {
-            Long clienteId = body.get("clienteId");
-            Agendamento agendamento = agendamentoService.cancelarAgendamento(id, clienteId);
+            Long clienteId = Autenticacao.usuarioId(body.get("clienteId"));
+            ResumoAgendamentoDTO agendamento = agendamentoService.cancelarAgendamento(id, clienteId);
             return ResponseEntity.ok(agendamento);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -229,13 +293,14 @@ public class AgendamentoController {
     /**
      * PUT /agendamentos/{id}/emergencia
      * Cliente solicita parada de emergência
-     * Body: { clienteId }
+     * Body: { clienteId? } (o cliente é o usuário do token)
      */
     @PutMapping("/{id}/emergencia")
+    @OrcamentoSql(2)
     public ResponseEntity<?> solicitarEmergencia(@PathVariable Long id, @RequestBody Map<String, Long> body) {
         try {
-            Long clienteId = body.get("clienteId");
-            Agendamento agendamento = agendamentoService.solicitarEmergencia(id, clienteId);
+            Long clienteId = Autenticacao.usuarioId(body.get("clienteId"));
+            ResumoAgendamentoDTO agendamento = agendamentoService.solicitarEmergencia(id, clienteId);
             return ResponseEntity.ok(agendamento);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -245,26 +310,93 @@ public class AgendamentoController {
     /**
      * PUT /agendamentos/{id}/emergencia/confirmar
      * Dogwalker confirma recebimento da emergência
-     * Body: { dogwalkerUsuarioId }
+     * Body: { dogwalkerUsuarioId? } (o dogwalker é o usuário do token)
      */
     @PutMapping("/{id}/emergencia/confirmar")
+    @OrcamentoSql(9)
     public ResponseEntity<?> confirmarEmergencia(@PathVariable Long id, @RequestBody Map<String, Long> body) {
         try {
-            Long dogwalkerUsuarioId = body.get("dogwalkerUsuarioId");
-            Agendamento agendamento = agendamentoService.confirmarEmergencia(id, dogwalkerUsuarioId);
+            Long dogwalkerUsuarioId = Autenticacao.usuarioId(body.get("dogwalkerUsuarioId"));
+            ResumoAgendamentoDTO agendamento = agendamentoService.confirmarEmergencia(id, dogwalkerUsuarioId);
             return ResponseEntity.ok(agendamento);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    /**
+     * POST /agendamentos/{id}/avaliacao
+     * Cliente avalia um passeio concluído
+     * Body: { nota (1 a 5), comentario? } (o cliente é o usuário do token)
+     */
+    @PostMapping("/{id}/avaliacao")
+    @OrcamentoSql(4)
+    public ResponseEntity<?> avaliarPasseio(@PathVariable Long id, @RequestBody Map<String, Object> dados) {
+        try {
+            Long clienteId = Autenticacao.usuarioId(dados.get("clienteId"));
+            Integer nota = dados.get("nota") != null ? Integer.valueOf(dados.get("nota").toString()) : null;
+            String comentario = dados.get("comentario") != null ? dados.get("comentario").toString() : null;
+            return ResponseEntity.ok(avaliacaoService.avaliar(id, clienteId, nota, comentario));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     /**
      * DELETE /agendamentos/{id}
-     * Deleta um agendamento
+     * Deleta um agendamento (só o cliente que o criou; passeios concluídos não)
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletarAgendamento(@PathVariable Long id) {
-        agendamentoService.deletarAgendamento(id);
-        return ResponseEntity.noContent().build();
+    @OrcamentoSql(7)
+    public ResponseEntity<?> deletarAgendamento(@PathVariable Long id) {
+        Optional<EnvolvidosAgendamento> envolvidos = agendamentoService.buscarEnvolvidos(id);
+        if (envolvidos.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Autenticacao.exigirUsuario(envolvidos.get().getClienteId());
+        try {
+            agendamentoService.deletarAgendamento(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ✅ Suporte para múltiplos pets (petIds) ou único pet (petId)
+    private static List<Long> lerPetIds(Map<String, Object> dados) {
+        List<Long> petIds = new ArrayList<>();
+
+        if (dados.get("petIds") != null) {
+            // Novo formato: array de IDs
+            for (Object id : (List<?>) dados.get("petIds")) {
+                petIds.add(Long.valueOf(id.toString()));
+            }
+        } else if (dados.get("petId") != null) {
+            // Formato antigo: único ID (compatibilidade)
+            petIds.add(Long.valueOf(dados.get("petId").toString()));
+        } else {
+            throw new RuntimeException("É necessário informar petId ou petIds!");
+        }
+
+        // Validar máximo de 3 pets
+        if (petIds.size() > 3) {
+            throw new RuntimeException("Máximo de 3 pets por passeio!");
+        }
+        return petIds;
+    }
+
+    // Data/hora (formato ISO), duração, rota e observações do corpo da requisição
+    private static Agendamento lerAgendamento(Map<String, Object> dados) {
+        Agendamento agendamentoData = new Agendamento();
+        agendamentoData.setDataHora(LocalDateTime.parse(dados.get("dataHora").toString()));
+        agendamentoData.setDuracao(Integer.valueOf(dados.get("duracao").toString()));
+
+        if (dados.get("rota") != null) {
+            agendamentoData.setRota(dados.get("rota").toString());
+        }
+        if (dados.get("observacoes") != null) {
+            agendamentoData.setObservacoes(dados.get("observacoes").toString());
+        }
+        return agendamentoData;
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package br.com.pateandoapp.pateandobackend.controller;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import br.com.pateandoapp.pateandobackend.repository.EnvolvidosAgendamento;
+import br.com.pateandoapp.pateandobackend.service.UsuarioAutenticado;
+
+/**
+ * Acesso ao usuário autenticado pelo token (colocado no contexto pelo TokenAutenticacaoFilter).
+ *
+ * Os ids de cliente/dogwalker que o app ainda manda no corpo são opcionais: quando vêm,
+ * precisam ser do próprio usuário do token; o id usado é sempre o do token.
+ *
+ * Os exigir* conferem o dono do recurso da URL e respondem 403 (AccessDeniedException,
+ * tratada pelo Spring Security): devem ser chamados fora do try/catch de RuntimeException.
+ */
+final class Autenticacao {
+
+    private Autenticacao() {}
+
+    static UsuarioAutenticado usuario() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao == null || !(autenticacao.getPrincipal() instanceof UsuarioAutenticado usuario)) {
+            throw new RuntimeException("Usuário não autenticado!");
+        }
+        return usuario;
+    }
+
+    // ID do usuário autenticado, conferindo o ID informado no corpo (se houver)
+    static Long usuarioId(Object informado) {
+        Long id = usuario().id();
+        if (informado != null && !id.toString().equals(informado.toString())) {
+            throw new RuntimeException("O usuário informado não é o usuário autenticado!");
+        }
+        return id;
+    }
+
+    // O usuário autenticado é o usuário informado na URL
+    static void exigirUsuario(Long usuarioId) {
+        if (!usuario().id().equals(usuarioId)) {
+            throw new AccessDeniedException("Você não tem permissão para acessar este usuário!");
+        }
+    }
+
+    // O usuário autenticado é o cliente ou o dogwalker do agendamento
+    static void exigirEnvolvido(EnvolvidosAgendamento envolvidos) {
+        Long id = usuario().id();
+        if (!id.equals(envolvidos.getClienteId()) && !id.equals(envolvidos.getDogwalkerUsuarioId())) {
+            throw new AccessDeniedException("Você não tem permissão para acessar este agendamento!");
+        }
+    }
+
+    // O dogwalker autenticado é o dogwalker informado na URL
+    static void exigirDogwalker(Long dogwalkerId) {
+        exigirDogwalker(dogwalkerId, "Você não tem permissão para alterar este dogwalker!");
+    }
+
+    // O mesmo, para leituras restritas ao próprio dogwalker (com a mensagem da leitura)
+    static void exigirDogwalker(Long dogwalkerId, String semPermissao) {
+        UsuarioAutenticado usuario = usuario();
+        if (!usuario.isDogwalker() || !dogwalkerId.equals(usuario.dogwalkerId())) {
+            throw new AccessDeniedException(semPermissao);
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package br.com.pateandoapp.pateandobackend.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+import br.com.pateandoapp.pateandobackend.DTO.CartaoDogwalkerDTO;
+import br.com.pateandoapp.pateandobackend.DTO.DogwalkerProximoDTO;
+import br.com.pateandoapp.pateandobackend.config.OrcamentoSql;
+import br.com.pateandoapp.pateandobackend.service.AvaliacaoService;
 import br.com.pateandoapp.pateandobackend.service.DogwalkerService;
+import br.com.pateandoapp.pateandobackend.service.GanhosDogwalkerService;
+import br.com.pateandoapp.pateandobackend.service.VersoesRecursos;
 
 /**
  * Controller responsável pelos endpoints de Dogwalker.
@@ -21,20 +28,30 @@ public class DogwalkerController {
     @Autowired
     private DogwalkerService dogwalkerService;
 
+    @Autowired
+    private AvaliacaoService avaliacaoService;
+
+    @Autowired
+    private GanhosDogwalkerService ganhosService;
+
+    @Autowired
+    private VersoesRecursos versoesRecursos;
+
     /**
      * POST /dogwalkers/criar
-     * Cria um novo Dogwalker vinculado a um usuário
-     * Body: { usuarioId, disponibilidade? }
+     * Cria o perfil de Dogwalker do usuário autenticado
+     * Body: { usuarioId?, disponibilidade? } (usuarioId, se vier, tem de ser o do token)
      */
     @PostMapping("/criar")
+    @OrcamentoSql(3)
     public ResponseEntity<?> criarDogwalker(@RequestBody Map<String, Object> dados) {
         try {
-            Long usuarioId = Long.valueOf(dados.get("usuarioId").toString());
+            Long usuarioId = Autenticacao.usuarioId(dados.get("usuarioId"));
             String disponibilidade = dados.get("disponibilidade") != null 
                     ? dados.get("disponibilidade").toString() 
                     : "DISPONIVEL";
 
-            Dogwalker dogwalker = dogwalkerService.criarDogwalker(usuarioId, disponibilidade);
+            CartaoDogwalkerDTO dogwalker = dogwalkerService.criarDogwalker(usuarioId, disponibilidade);
             return ResponseEntity.ok(dogwalker);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -42,12 +59,20 @@ public class DogwalkerController {
     }
 
     /**
-     * GET /dogwalkers
-     * Lista todos os dogwalkers
+     * GET /dogwalkers?limite=50&cursor=...
+     * Lista todos os dogwalkers (paginado; próxima página no header Link)
      */
     @GetMapping
-    public ResponseEntity<List<Dogwalker>> listarTodos() {
-        return ResponseEntity.ok(dogwalkerService.listarTodos());
+    @OrcamentoSql(1)
+    public ResponseEntity<?> listarTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        try {
+            return RespostaCondicional.ok(versoesRecursos, VersoesRecursos.DOGWALKERS,
+                    () -> RespostaPaginada.ok(dogwalkerService.listarTodos(cursor, limite)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
@@ -55,8 +80,29 @@ public class DogwalkerController {
      * Lista apenas dogwalkers disponíveis
      */
     @GetMapping("/disponiveis")
-    public ResponseEntity<List<Dogwalker>> listarDisponiveis() {
-        return ResponseEntity.ok(dogwalkerService.listarDisponiveis());
+    @OrcamentoSql(2)
+    public ResponseEntity<?> listarDisponiveis() {
+        return RespostaCondicional.ok(versoesRecursos, VersoesRecursos.DOGWALKERS,
+                () -> ResponseEntity.ok(dogwalkerService.listarDisponiveis()));
+    }
+
+    /**
+     * GET /dogwalkers/proximos?latitude=-23.55&longitude=-46.63&raioKm=5&limite=10
+     * Dogwalkers DISPONIVEL mais próximos, do mais perto para o mais longe
+     */
+    @GetMapping("/proximos")
+    @OrcamentoSql(2)
+    public ResponseEntity<?> buscarProximos(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(required = false) Double raioKm,
+            @RequestParam(required = false) Integer limite) {
+        try {
+            List<DogwalkerProximoDTO> proximos = dogwalkerService.buscarProximos(latitude, longitude, raioKm, limite);
+            return ResponseEntity.ok(proximos);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
@@ -64,10 +110,49 @@ public class DogwalkerController {
      * Busca dogwalker por ID
      */
     @GetMapping("/{id}")
+    @OrcamentoSql(2)
     public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
-        return dogwalkerService.buscarPorId(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        return RespostaCondicional.ok(versoesRecursos, VersoesRecursos.dogwalker(id),
+                () -> dogwalkerService.buscarPorId(id)
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build()));
+    }
+
+    /**
+     * GET /dogwalkers/{id}/avaliacoes?limite=20&cursor=...
+     * Avaliações do dogwalker, das mais recentes para as mais antigas (próxima página no header Link)
+     */
+    @GetMapping("/{id}/avaliacoes")
+    @OrcamentoSql(1)
+    public ResponseEntity<?> listarAvaliacoes(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        try {
+            return RespostaCondicional.ok(versoesRecursos, VersoesRecursos.dogwalker(id),
+                    () -> RespostaPaginada.ok(avaliacaoService.listarPorDogwalker(id, cursor, limite)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /dogwalkers/{id}/ganhos?de=2025-01-01&ate=2025-03-31&agrupamento=SEMANA
+     * Ganhos e atividade do próprio dogwalker por DIA, SEMANA ou MES (padrão: últimos 30 dias, por dia)
+     */
+    @GetMapping("/{id}/ganhos")
+    @OrcamentoSql(1)
+    public ResponseEntity<?> buscarGanhos(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) String agrupamento) {
+        Autenticacao.exigirDogwalker(id, "Você não tem permissão para ver os ganhos deste dogwalker!");
+        try {
+            return ResponseEntity.ok(ganhosService.relatorio(id, de, ate, agrupamento));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
@@ -75,10 +160,12 @@ public class DogwalkerController {
      * Busca dogwalker pelo ID do usuário
      */
     @GetMapping("/usuario/{usuarioId}")
+    @OrcamentoSql(2)
     public ResponseEntity<?> buscarPorUsuarioId(@PathVariable Long usuarioId) {
-        return dogwalkerService.buscarPorUsuarioId(usuarioId)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        return RespostaCondicional.ok(versoesRecursos, VersoesRecursos.DOGWALKERS,
+                () -> dogwalkerService.buscarPorUsuarioId(usuarioId)
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build()));
     }
 
     /**
@@ -87,12 +174,33 @@ public class DogwalkerController {
      * Body: { disponibilidade: "DISPONIVEL" | "INDISPONIVEL" }
      */
     @PutMapping("/{id}/disponibilidade")
+    @OrcamentoSql(2)
     public ResponseEntity<?> atualizarDisponibilidade(
             @PathVariable Long id, 
             @RequestBody Map<String, String> body) {
+        Autenticacao.exigirDogwalker(id);
         try {
             String disponibilidade = body.get("disponibilidade");
-            Dogwalker dogwalker = dogwalkerService.atualizarDisponibilidade(id, disponibilidade);
+            CartaoDogwalkerDTO dogwalker = dogwalkerService.atualizarDisponibilidade(id, disponibilidade);
+            return ResponseEntity.ok(dogwalker);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * PUT /dogwalkers/{id}/localizacao
+     * Atualiza a localização do dogwalker (casa ou posição atual)
+     * Body: { latitude, longitude }
+     */
+    @PutMapping("/{id}/localizacao")
+    @OrcamentoSql(2)
+    public ResponseEntity<?> atualizarLocalizacao(
+            @PathVariable Long id,
+            @RequestBody Map<String, Double> body) {
+        Autenticacao.exigirDogwalker(id);
+        try {
+            CartaoDogwalkerDTO dogwalker = dogwalkerService.atualizarLocalizacao(id, body.get("latitude"), body.get("longitude"));
             return ResponseEntity.ok(dogwalker);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -105,12 +213,14 @@ public class DogwalkerController {
      * Body: { disponibilidade: "DISPONIVEL" | "INDISPONIVEL" }
      */
     @PutMapping("/usuario/{usuarioId}/disponibilidade")
+    @OrcamentoSql(2)
     public ResponseEntity<?> atualizarDisponibilidadePorUsuarioId(
             @PathVariable Long usuarioId, 
             @RequestBody Map<String, String> body) {
+        Autenticacao.exigirUsuario(usuarioId);
         try {
             String disponibilidade = body.get("disponibilidade");
-            Dogwalker dogwalker = dogwalkerService.atualizarDisponibilidadePorUsuarioId(usuarioId, disponibilidade);
+            CartaoDogwalkerDTO dogwalker = dogwalkerService.atualizarDisponibilidadePorUsuarioId(usuarioId, disponibilidade);
             return ResponseEntity.ok(dogwalker);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -119,10 +229,12 @@ public class DogwalkerController {
 
     /**
      * DELETE /dogwalkers/{id}
-     * Deleta um dogwalker
+     * Deleta um dogwalker (só o próprio)
      */
     @DeleteMapping("/{id}")
+    @OrcamentoSql(2)
     public ResponseEntity<Void> deletar(@PathVariable Long id) {
+        Autenticacao.exigirDogwalker(id, "Você não tem permissão para remover este dogwalker!");
         dogwalkerService.deletar(id);
         return ResponseEntity.noContent().build();
     }
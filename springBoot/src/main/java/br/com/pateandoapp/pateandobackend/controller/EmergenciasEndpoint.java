@@ -0,0 +1,31 @@
+package br.com.pateandoapp.pateandobackend.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import br.com.pateandoapp.pateandobackend.DTO.AlertaEmergenciaDTO;
+import br.com.pateandoapp.pateandobackend.service.EmergenciaService;
+
+/**
+ * Acompanhamento de emergências pelo operador, só na porta do actuator (rede interna).
+ * A solicitação e a confirmação continuam em /agendamentos/{id}/emergencia.
+ *
+ * GET /actuator/emergencias: emergências escaladas que o dogwalker ainda não confirmou.
+ * Contadores e latência alerta → confirmação: /actuator/metrics/pateando.emergencias.*
+ */
+@Component
+@Endpoint(id = "emergencias")
+public class EmergenciasEndpoint {
+
+    @Autowired
+    private EmergenciaService emergenciaService;
+
+    @ReadOperation
+    public List<AlertaEmergenciaDTO> filaOperador() {
+        return emergenciaService.listarFilaOperador();
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.pateandoapp.pateandobackend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import br.com.pateandoapp.pateandobackend.config.OrcamentoSql;
+import br.com.pateandoapp.pateandobackend.service.EventoAgendamentoHub;
+
+/**
+ * Controller do canal de push (Server-Sent Events) de eventos de agendamento.
+ * Substitui o polling das listas: o app mantém a conexão aberta e recebe
+ * CRIADO, ACEITO, REJEITADO, INICIADO, FINALIZADO, CANCELADO e emergências.
+ */
+@RestController
+@RequestMapping("/eventos")
+@CrossOrigin(origins = "*")
+public class EventoController {
+
+    @Autowired
+    private EventoAgendamentoHub eventoAgendamentoHub;
+
+    /**
+     * GET /eventos/usuario/{usuarioId}
+     * Abre o stream SSE do usuário. Ao reconectar, o cliente SSE envia o header
+     * Last-Event-ID e recebe os eventos perdidos (ou RESINCRONIZAR, se forem muitos
+     * ou se o id for de antes de o servidor reiniciar).
+     * Só o próprio usuário assina o seu stream.
+     */
+    @GetMapping(value = "/usuario/{usuarioId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @OrcamentoSql(0)
+    public SseEmitter assinar(
+            @PathVariable Long usuarioId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        Autenticacao.exigirUsuario(usuarioId);
+        return eventoAgendamentoHub.assinar(usuarioId, ultimoEventoId);
+    }
+}
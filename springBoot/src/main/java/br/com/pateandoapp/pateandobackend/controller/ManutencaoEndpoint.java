@@ -0,0 +1,70 @@
+package br.com.pateandoapp.pateandobackend.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import br.com.pateandoapp.pateandobackend.service.AvaliacaoService;
+import br.com.pateandoapp.pateandobackend.service.ClienteEstatisticasService;
+import br.com.pateandoapp.pateandobackend.service.DiretorioDogwalkers;
+import br.com.pateandoapp.pateandobackend.service.HistoricoAgendamentosService;
+import br.com.pateandoapp.pateandobackend.service.TokenService;
+import br.com.pateandoapp.pateandobackend.service.VersoesRecursos;
+
+/**
+ * Operações de manutenção, só na porta do actuator (management.server.port, rede interna):
+ *
+ * GET  /actuator/manutencao                          caches (tokens, versões, diretório de dogwalkers)
+ * POST /actuator/manutencao/estatisticas-clientes    reconstrói as estatísticas dos clientes
+ * POST /actuator/manutencao/projecoes                refaz as projeções a partir do histórico
+ * POST /actuator/manutencao/avaliacoes               recalcula os resumos de avaliação
+ */
+@Component
+@Endpoint(id = "manutencao")
+public class ManutencaoEndpoint {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private VersoesRecursos versoesRecursos;
+
+    @Autowired
+    private DiretorioDogwalkers diretorioDogwalkers;
+
+    @Autowired
+    private ClienteEstatisticasService clienteEstatisticasService;
+
+    @Autowired
+    private HistoricoAgendamentosService historicoService;
+
+    @Autowired
+    private AvaliacaoService avaliacaoService;
+
+    @ReadOperation
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("tokens", tokenService.estatisticas());
+        estatisticas.put("versoes", versoesRecursos.estatisticas());
+        estatisticas.put("diretorioDogwalkers", diretorioDogwalkers.estatisticas());
+        return estatisticas;
+    }
+
+    @WriteOperation
+    public void reparar(@Selector String reparo) {
+        switch (reparo) {
+            case "estatisticas-clientes" -> clienteEstatisticasService.reconstruir();
+            case "projecoes" -> historicoService.reconstruirProjecoes();
+            case "avaliacoes" -> avaliacaoService.recalcularResumos();
+            default -> throw new InvalidEndpointRequestException("Reparo desconhecido: " + reparo,
+                    "Use estatisticas-clientes, projecoes ou avaliacoes");
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package br.com.pateandoapp.pateandobackend.controller;
 
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import br.com.pateandoapp.pateandobackend.DTO.CartaoPetDTO;
+import br.com.pateandoapp.pateandobackend.config.OrcamentoSql;
 import br.com.pateandoapp.pateandobackend.model.Pet;
 import br.com.pateandoapp.pateandobackend.service.PetService;
+import br.com.pateandoapp.pateandobackend.service.VersoesRecursos;
 
 @RestController
 @RequestMapping("/pets")
@@ -16,21 +18,30 @@ public class PetController {
     @Autowired
     private PetService petService;
 
+    @Autowired
+    private VersoesRecursos versoesRecursos;
+
+    // Responde 304 ao If-None-Match enquanto os pets do usuário não mudarem
     @GetMapping("/user/{usuarioId}")
-    public List<Pet> getPetsByUsuario(@PathVariable Long usuarioId) {
-        return petService.getPetsByUsuario(usuarioId);
+    @OrcamentoSql(1)
+    public ResponseEntity<?> getPetsByUsuario(@PathVariable Long usuarioId) {
+        return RespostaCondicional.ok(versoesRecursos, VersoesRecursos.petsDoUsuario(usuarioId),
+                () -> ResponseEntity.ok(petService.getPetsByUsuario(usuarioId)));
     }
 
     @PostMapping("/create/{usuarioId}")
-    public Pet createPet(@PathVariable Long usuarioId, @RequestBody Pet pet) {
+    @OrcamentoSql(2)
+    public CartaoPetDTO createPet(@PathVariable Long usuarioId, @RequestBody Pet pet) {
+        Autenticacao.exigirUsuario(usuarioId);
         return petService.createPet(usuarioId, pet)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
     }
 
-    // NOVO — Remover pet
+    // NOVO — Remover pet (só o dono)
     @DeleteMapping("/delete/{petId}")
+    @OrcamentoSql(2)
     public String deletePet(@PathVariable Long petId) {
-        boolean removed = petService.deletePet(petId);
+        boolean removed = petService.deletePet(petId, Autenticacao.usuario().id());
 
         if (removed) {
             return "Pet removido com sucesso!";
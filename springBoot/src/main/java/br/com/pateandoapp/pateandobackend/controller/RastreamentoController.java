@@ -0,0 +1,94 @@
+package br.com.pateandoapp.pateandobackend.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import br.com.pateandoapp.pateandobackend.DTO.LoteLocalizacoesDTO;
+import br.com.pateandoapp.pateandobackend.DTO.PontoLocalizacaoDTO;
+import br.com.pateandoapp.pateandobackend.config.OrcamentoSql;
+import br.com.pateandoapp.pateandobackend.repository.EnvolvidosAgendamento;
+import br.com.pateandoapp.pateandobackend.service.RastreamentoService;
+
+/**
+ * Controller do rastreamento por GPS dos passeios em andamento
+ */
+@RestController
+@RequestMapping("/agendamentos")
+@CrossOrigin(origins = "*")
+public class RastreamentoController {
+
+    @Autowired
+    private RastreamentoService rastreamentoService;
+
+    /**
+     * POST /agendamentos/{id}/localizacoes
+     * App do dogwalker envia os pontos coletados desde o último envio
+     * Body: { dogwalkerUsuarioId?, pontos: [{ latitude, longitude, timestamp }, ...] }
+     */
+    @PostMapping("/{id}/localizacoes")
+    @OrcamentoSql(3)
+    public ResponseEntity<?> registrarPontos(@PathVariable Long id, @RequestBody LoteLocalizacoesDTO lote) {
+        try {
+            lote.setDogwalkerUsuarioId(Autenticacao.usuarioId(lote.getDogwalkerUsuarioId()));
+            int aceitos = rastreamentoService.registrarPontos(id, lote);
+            return ResponseEntity.ok(Map.of("aceitos", aceitos));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /agendamentos/{id}/localizacao
+     * Última posição conhecida do passeio em andamento
+     * (só para o cliente e o dogwalker; sem SQL enquanto o passeio está em andamento)
+     */
+    @GetMapping("/{id}/localizacao")
+    @OrcamentoSql(1)
+    public ResponseEntity<PontoLocalizacaoDTO> ultimaPosicao(@PathVariable Long id) {
+        if (!exigirEnvolvido(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return rastreamentoService.ultimaPosicao(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /agendamentos/{id}/localizacoes/recentes
+     * Últimos pontos do passeio em andamento (rastro no mapa)
+     */
+    @GetMapping("/{id}/localizacoes/recentes")
+    @OrcamentoSql(1)
+    public ResponseEntity<List<PontoLocalizacaoDTO>> listarRecentes(@PathVariable Long id) {
+        if (!exigirEnvolvido(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(rastreamentoService.listarRecentes(id));
+    }
+
+    /**
+     * GET /agendamentos/{id}/trajeto
+     * Trajeto completo do passeio
+     */
+    @GetMapping("/{id}/trajeto")
+    @OrcamentoSql(2)
+    public ResponseEntity<List<PontoLocalizacaoDTO>> buscarTrajeto(@PathVariable Long id) {
+        if (!exigirEnvolvido(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(rastreamentoService.buscarTrajeto(id));
+    }
+
+    // O usuário do token é o cliente ou o dogwalker do passeio (403 se não for);
+    // false se o agendamento não existe
+    private boolean exigirEnvolvido(Long agendamentoId) {
+        Optional<EnvolvidosAgendamento> envolvidos = rastreamentoService.buscarEnvolvidos(agendamentoId);
+        envolvidos.ifPresent(Autenticacao::exigirEnvolvido);
+        return envolvidos.isPresent();
+    }
+}
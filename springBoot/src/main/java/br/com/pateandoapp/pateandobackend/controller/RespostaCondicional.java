@@ -0,0 +1,70 @@
+package br.com.pateandoapp.pateandobackend.controller;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import br.com.pateandoapp.pateandobackend.service.VersoesRecursos;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * GET condicional das listagens (RFC 9110, If-None-Match / ETag).
+ * O ETag vem da versão do recurso em memória (VersoesRecursos): se o app
+ * mandar o mesmo ETag, a resposta é 304 sem chamar o serviço nem o banco.
+ * Cache-Control "private, no-cache": o app guarda, mas sempre revalida.
+ */
+final class RespostaCondicional {
+
+    private static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
+    private RespostaCondicional() {}
+
+    static ResponseEntity<?> ok(VersoesRecursos versoes, String recurso, Supplier<ResponseEntity<?>> resposta) {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        String representacao = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+
+        // Versão lida antes da consulta: uma alteração no meio só faz o app baixar de novo
+        String etag = versoes.etag(recurso, representacao);
+        if (corresponde(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            versoes.registrarNaoModificado();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDAR).build();
+        }
+
+        ResponseEntity<?> completa = resposta.get();
+        if (!completa.getStatusCode().is2xxSuccessful()) {
+            return completa;
+        }
+        versoes.registrarCompleto();
+        return ResponseEntity.status(completa.getStatusCode())
+                .headers(completa.getHeaders())
+                .eTag(etag)
+                .cacheControl(REVALIDAR)
+                .body(completa.getBody());
+    }
+
+    /**
+     * Comparação fraca: algum dos ETags do If-None-Match é o atual (ou "*")
+     */
+    private static boolean corresponde(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        String atual = semPrefixoFraco(etag);
+        for (String informado : ifNoneMatch.split(",")) {
+            String valor = informado.trim();
+            if (valor.equals("*") || semPrefixoFraco(valor).equals(atual)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String semPrefixoFraco(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.pateandoapp.pateandobackend.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import br.com.pateandoapp.pateandobackend.DTO.PaginaDTO;
+
+/**
+ * Monta a resposta das listagens paginadas.
+ * O corpo continua sendo a lista (compatível com o app); o link da próxima
+ * página vai no header Link com rel="next", como em RFC 8288.
+ */
+final class RespostaPaginada {
+
+    private RespostaPaginada() {}
+
+    static <T> ResponseEntity<List<T>> ok(PaginaDTO<T> pagina) {
+        if (pagina.getProximoCursor() == null) {
+            return ResponseEntity.ok(pagina.getItens());
+        }
+        String proxima = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", pagina.getProximoCursor())
+                .build()
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + proxima + ">; rel=\"next\"")
+                .body(pagina.getItens());
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.pateandoapp.pateandobackend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,6 +11,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
 /**
  * Classe que representa o agendamento de uma caminhada entre Cliente, Pets e Dogwalker.
  * Suporta múltiplos pets (até 3) por passeio.
@@ -17,20 +21,25 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "agendamentos")
+@Table(name = "agendamentos") // Índices definidos nas migrations (db/migration)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Agendamento {
 
+    // Sequência com incremento 50 (pooled): ids reservados em bloco, inserts em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "agendamentos_seq")
+    @SequenceGenerator(name = "agendamentos_seq", sequenceName = "agendamentos_seq", allocationSize = 50)
     private Long id;
 
     // Cliente que fez o pedido
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id", nullable = false)
     private Usuario cliente;
 
     // ✅ MUDANÇA: Lista de Pets que serão passeados (até 3)
+    // Carregados em lote (um SELECT para vários agendamentos) em vez de um por linha
     @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(
         name = "agendamento_pets",
         joinColumns = @JoinColumn(name = "agendamento_id"),
@@ -39,7 +48,7 @@ public class Agendamento {
     private List<Pet> pets = new ArrayList<>();
 
     // Dogwalker responsável
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "dogwalker_id", nullable = false)
     private Dogwalker dogwalker;
 
@@ -51,23 +60,19 @@ public class Agendamento {
     @Column(nullable = false)
     private int duracao;
 
+    // Preço combinado: tabela do dogwalker no momento do pedido (não muda com a tabela)
+    private Double preco;
+
     // Rota ou local de encontro
     private String rota;
 
     // Observações especiais do cliente
     private String observacoes;
 
-    /**
-     * Status do agendamento:
-     * PENDENTE → cliente solicitou, aguardando Dogwalker aceitar
-     * ACEITO   → Dogwalker aceitou, vai para agenda
-     * REJEITADO→ Dogwalker recusou
-     * EM_ANDAMENTO → Passeio em andamento
-     * CONCLUIDO→ Passeio finalizado
-     * CANCELADO → Cliente cancelou
-     */
-    @Column(nullable = false)
-    private String status = "PENDENTE";
+    // Status do agendamento (ver StatusAgendamento)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusAgendamento status = StatusAgendamento.PENDENTE;
 
     /**
      * Flag para indicar se o cliente solicitou parada de emergência
@@ -75,6 +80,11 @@ public class Agendamento {
     @Column(nullable = false)
     private boolean emergenciaAtiva = false;
 
+    // Controle otimista de concorrência (incrementada também pelas transições em SQL)
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     // ✅ Método auxiliar para compatibilidade - retorna o primeiro pet
     public Pet getPet() {
         return pets != null && !pets.isEmpty() ? pets.get(0) : null;
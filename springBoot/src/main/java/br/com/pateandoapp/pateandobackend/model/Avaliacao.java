@@ -0,0 +1,49 @@
+package br.com.pateandoapp.pateandobackend.model;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Avaliação de um passeio concluído, feita pelo cliente (nota de 1 a 5).
+ * Cada agendamento recebe no máximo uma avaliação.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "avaliacoes") // Índices definidos nas migrations (db/migration)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class Avaliacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "agendamento_id", nullable = false, unique = true)
+    private Long agendamentoId;
+
+    // Cliente que avaliou
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cliente_id", nullable = false)
+    private Usuario cliente;
+
+    // Dogwalker avaliado
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "dogwalker_id", nullable = false)
+    private Dogwalker dogwalker;
+
+    @Column(nullable = false)
+    private int nota;
+
+    @Column(length = 500)
+    private String comentario;
+
+    @Column(name = "criada_em", nullable = false)
+    private LocalDateTime criadaEm;
+}
@@ -0,0 +1,43 @@
+package br.com.pateandoapp.pateandobackend.model;
+
+import java.io.Serializable;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contagem de passeios concluídos por par cliente/dogwalker.
+ * Usada para manter o dogwalker favorito de ClienteEstatisticas.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@IdClass(ClienteDogwalkerPasseios.Chave.class)
+@Table(name = "cliente_dogwalker_passeios")
+public class ClienteDogwalkerPasseios {
+
+    @Id
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    @Id
+    @Column(name = "dogwalker_id")
+    private Long dogwalkerId;
+
+    @Column(nullable = false)
+    private int passeios = 0;
+
+    /**
+     * Chave composta (cliente_id, dogwalker_id)
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Chave implements Serializable {
+        private Long clienteId;
+        private Long dogwalkerId;
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.pateandoapp.pateandobackend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estatísticas acumuladas de passeios concluídos de um cliente.
+ * Atualizada a cada passeio concluído, para que o perfil não precise
+ * recalcular sobre todo o histórico de agendamentos.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "cliente_estatisticas")
+public class ClienteEstatisticas {
+
+    // Mesmo ID do usuário cliente
+    @Id
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    @Column(name = "total_passeios", nullable = false)
+    private int totalPasseios = 0;
+
+    @Column(name = "total_minutos", nullable = false)
+    private int totalMinutos = 0;
+
+    // Dogwalker com mais passeios concluídos com este cliente
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "dogwalker_favorito_id")
+    private Dogwalker dogwalkerFavorito;
+
+    @Column(name = "passeios_com_favorito", nullable = false)
+    private int passeiosComFavorito = 0;
+
+    public ClienteEstatisticas(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+}
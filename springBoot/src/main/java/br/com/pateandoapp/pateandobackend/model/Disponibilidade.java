@@ -0,0 +1,24 @@
+package br.com.pateandoapp.pateandobackend.model;
+
+/**
+ * Disponibilidade do Dogwalker:
+ * DISPONIVEL   → pode receber novos pedidos
+ * INDISPONIVEL → fora de serviço
+ * OCUPADO      → em um passeio agora
+ */
+public enum Disponibilidade {
+    DISPONIVEL,
+    INDISPONIVEL,
+    OCUPADO;
+
+    /**
+     * Converte o texto recebido da API (sem diferenciar maiúsculas/minúsculas)
+     */
+    public static Disponibilidade de(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase());
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Disponibilidade inválida: " + valor);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.pateandoapp.pateandobackend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,18 +16,20 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Entity
 @Table(name = "dogwalkers")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Dogwalker {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @OneToOne // Relacionamento 1:1
+    @OneToOne(fetch = FetchType.LAZY) // Relacionamento 1:1
     @JoinColumn(name = "usuario_id", referencedColumnName = "id")
     private Usuario usuario; // Um Dogwalker é também um Usuario
 
-    @Column(nullable = false)
-    private String disponibilidade; // DISPONIVEL, INDISPONIVEL, OCUPADO
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Disponibilidade disponibilidade; // DISPONIVEL, INDISPONIVEL, OCUPADO
 
     // Preço por 30 minutos de passeio
     @Column(name = "preco_30min")
@@ -39,10 +43,14 @@ public class Dogwalker {
     @Column(name = "preco_90min")
     private Double preco90min = 55.0;
 
-    // Avaliação média (de 1 a 5)
+    // Avaliação média (de 1 a 5); 5.0 enquanto não houver avaliações
     @Column(name = "avaliacao_media")
     private Double avaliacaoMedia = 5.0;
 
+    // Total e histograma das avaliações
+    @Embedded
+    private ResumoAvaliacoes resumoAvaliacoes = new ResumoAvaliacoes();
+
     // Total de passeios realizados
     @Column(name = "total_passeios")
     private Integer totalPasseios = 0;
@@ -54,4 +62,15 @@ public class Dogwalker {
     // URL da foto de perfil
     @Column(name = "foto_url")
     private String fotoUrl;
+
+    // Localização (casa ou última posição conhecida), usada na busca por proximidade
+    private Double latitude;
+    private Double longitude;
+
+    // Preço da tabela para a duração pedida (até 30, até 60, acima de 60 minutos)
+    public Double precoPara(int duracao) {
+        if (duracao <= 30) return preco30min;
+        if (duracao <= 60) return preco60min;
+        return preco90min;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package br.com.pateandoapp.pateandobackend.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ganhos e atividade de um dogwalker num dia (dia do passeio), somados a cada passeio concluído.
+ * Os relatórios por período somam estas linhas em vez de percorrer os agendamentos.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@IdClass(GanhosDogwalkerDia.Chave.class)
+@Table(name = "ganhos_dogwalker_dia")
+public class GanhosDogwalkerDia {
+
+    @Id
+    @Column(name = "dogwalker_id")
+    private Long dogwalkerId;
+
+    @Id
+    private LocalDate dia;
+
+    @Column(nullable = false)
+    private int passeios = 0;
+
+    // Soma das durações (em minutos)
+    @Column(nullable = false)
+    private int minutos = 0;
+
+    // Soma dos preços combinados nos agendamentos
+    @Column(nullable = false)
+    private double receita = 0;
+
+    // Pets passeados (um passeio com dois pets conta dois)
+    @Column(nullable = false)
+    private int pets = 0;
+
+    /**
+     * Chave composta (dogwalker_id, dia)
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Chave implements Serializable {
+        private Long dogwalkerId;
+        private LocalDate dia;
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.pateandoapp.pateandobackend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
@@ -11,6 +13,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Entity
 @Table(name = "pets")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Pet {
 
     @Id
@@ -28,7 +31,7 @@ public class Pet {
     private String necessidadesEspeciais;
     private String observacoes;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", referencedColumnName = "id")
     private Usuario dono;
 }
@@ -0,0 +1,45 @@
+package br.com.pateandoapp.pateandobackend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resumo das avaliações de um dogwalker: total e histograma por nota.
+ * Atualizado em O(1) a cada avaliação (ver DogwalkerRepository.registrarAvaliacao),
+ * então a média nunca é calculada sobre todas as avaliações.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class ResumoAvaliacoes {
+
+    @Column(name = "total_avaliacoes", nullable = false)
+    private int total = 0;
+
+    // Soma das notas, para a média exata sem acumular erro de arredondamento
+    @JsonIgnore
+    @Column(name = "soma_avaliacoes", nullable = false)
+    private int soma = 0;
+
+    // Quantidade de avaliações com cada nota (1 a 5 estrelas)
+    @Column(name = "avaliacoes_1", nullable = false)
+    private int estrelas1 = 0;
+
+    @Column(name = "avaliacoes_2", nullable = false)
+    private int estrelas2 = 0;
+
+    @Column(name = "avaliacoes_3", nullable = false)
+    private int estrelas3 = 0;
+
+    @Column(name = "avaliacoes_4", nullable = false)
+    private int estrelas4 = 0;
+
+    @Column(name = "avaliacoes_5", nullable = false)
+    private int estrelas5 = 0;
+}
@@ -0,0 +1,30 @@
+package br.com.pateandoapp.pateandobackend.model;
+
+/**
+ * Status do agendamento:
+ * PENDENTE → cliente solicitou, aguardando Dogwalker aceitar
+ * ACEITO   → Dogwalker aceitou, vai para agenda
+ * REJEITADO→ Dogwalker recusou
+ * EM_ANDAMENTO → Passeio em andamento
+ * CONCLUIDO→ Passeio finalizado
+ * CANCELADO → Cliente cancelou
+ */
+public enum StatusAgendamento {
+    PENDENTE,
+    ACEITO,
+    REJEITADO,
+    EM_ANDAMENTO,
+    CONCLUIDO,
+    CANCELADO;
+
+    /**
+     * Converte o texto recebido da API (sem diferenciar maiúsculas/minúsculas)
+     */
+    public static StatusAgendamento de(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase());
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Status inválido: " + valor);
+        }
+    }
+}
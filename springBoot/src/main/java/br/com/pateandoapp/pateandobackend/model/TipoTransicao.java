@@ -0,0 +1,18 @@
+package br.com.pateandoapp.pateandobackend.model;
+
+/**
+ * Tipo de uma transição de agendamento: gravado no histórico
+ * (TransicaoAgendamento) e enviado por push no EventoAgendamentoDTO.
+ */
+public enum TipoTransicao {
+    CRIADO,
+    ACEITO,
+    REJEITADO,
+    INICIADO,
+    FINALIZADO,
+    CANCELADO,
+    EMERGENCIA_SOLICITADA,
+    EMERGENCIA_CONFIRMADA,
+    // Emergência sem confirmação do dogwalker dentro do prazo (reenviada e escalada)
+    EMERGENCIA_ESCALADA
+}
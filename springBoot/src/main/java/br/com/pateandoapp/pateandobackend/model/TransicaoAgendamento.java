@@ -0,0 +1,65 @@
+package br.com.pateandoapp.pateandobackend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Uma transição de um agendamento no histórico (tabela só de inserções):
+ * o tipo, o status resultante, quem fez e quando. Leva também cliente, dogwalker
+ * e duração, para as projeções serem refeitas só com o histórico.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "transicoes_agendamento") // Índices definidos nas migrations (db/migration)
+public class TransicaoAgendamento {
+
+    // Sequência com incremento 50 (pooled): cada lote do RegistroTransicoes vai num único comando
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transicoes_agendamento_seq")
+    @SequenceGenerator(name = "transicoes_agendamento_seq", sequenceName = "transicoes_agendamento_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "agendamento_id", nullable = false)
+    private Long agendamentoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TipoTransicao tipo;
+
+    // Status do agendamento depois da transição
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusAgendamento status;
+
+    @Column(name = "cliente_id", nullable = false)
+    private Long clienteId;
+
+    @Column(name = "dogwalker_id", nullable = false)
+    private Long dogwalkerId;
+
+    // Duração do passeio (em minutos)
+    @Column(nullable = false)
+    private int duracao;
+
+    // Usuário que fez a transição (null na carga inicial)
+    @Column(name = "autor_id")
+    private Long autorId;
+
+    @Column(name = "ocorrido_em", nullable = false)
+    private LocalDateTime ocorridoEm;
+
+    public TransicaoAgendamento(TipoTransicao tipo, Agendamento agendamento, Long autorId, LocalDateTime ocorridoEm) {
+        this.agendamentoId = agendamento.getId();
+        this.tipo = tipo;
+        this.status = agendamento.getStatus();
+        this.clienteId = agendamento.getCliente().getId();
+        this.dogwalkerId = agendamento.getDogwalker().getId();
+        this.duracao = agendamento.getDuracao();
+        this.autorId = autorId;
+        this.ocorridoEm = ocorridoEm;
+    }
+}
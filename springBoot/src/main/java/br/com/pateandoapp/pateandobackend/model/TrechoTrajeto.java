@@ -0,0 +1,67 @@
+package br.com.pateandoapp.pateandobackend.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Trecho gravado do trajeto de um passeio: um bloco de pontos de GPS
+ * codificados em delta (ver TrajetoCodec), em vez de uma linha por ponto.
+ * Os trechos são só inseridos, nunca atualizados.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@IdClass(TrechoTrajeto.Chave.class)
+@Table(name = "trechos_trajeto")
+public class TrechoTrajeto implements Persistable<TrechoTrajeto.Chave> {
+
+    @Id
+    @Column(name = "agendamento_id")
+    private Long agendamentoId;
+
+    // Ordem do trecho dentro do passeio (0, 1, 2...)
+    @Id
+    private Integer sequencia;
+
+    @Column(nullable = false)
+    private LocalDateTime inicio;
+
+    @Column(nullable = false)
+    private LocalDateTime fim;
+
+    @Column(name = "quantidade_pontos", nullable = false)
+    private int quantidadePontos;
+
+    @Column(nullable = false)
+    private byte[] dados;
+
+    @Override
+    public Chave getId() {
+        return new Chave(agendamentoId, sequencia);
+    }
+
+    // Sempre novo: evita o SELECT do merge e permite insert em lote
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    /**
+     * Chave composta (agendamento_id, sequencia)
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Chave implements Serializable {
+        private Long agendamentoId;
+        private Integer sequencia;
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.pateandoapp.pateandobackend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.*;
@@ -16,6 +17,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor  // Construtor vazio
 @Entity // Indica que a classe é uma entidade JPA (será mapeada para o banco de dados)
 @Table(name = "usuarios") // Nome da tabela no banco
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"}) // Ignora campos internos dos proxies LAZY
 public class Usuario {
 
     // Atributos
@@ -32,6 +34,8 @@ public class Usuario {
     @Column(nullable = false, unique = true)
     private String telefone;
 
+    // Só entra pelo JSON (cadastro); nunca é devolvida nas respostas
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String senha;
 
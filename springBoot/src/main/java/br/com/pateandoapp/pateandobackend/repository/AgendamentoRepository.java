@@ -1,21 +1,132 @@
 package br.com.pateandoapp.pateandobackend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import br.com.pateandoapp.pateandobackend.model.Agendamento;
-import br.com.pateandoapp.pateandobackend.model.Dogwalker;
-import br.com.pateandoapp.pateandobackend.model.Usuario;
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+import br.com.pateandoapp.pateandobackend.model.TipoTransicao;
 
-public interface AgendamentoRepository extends JpaRepository<Agendamento, Long> {
+/**
+ * Repositório da entidade Agendamento.
+ * As listagens devolvem resumos por projeção ({@link AgendamentoResumoRepository}),
+ * com os filtros de {@link AgendamentoSpecifications}, e os pets da página numa
+ * segunda consulta; as entidades completas só são lidas pelas regras de negócio.
+ * As transições de status são UPDATEs condicionais: retornam 0 se o agendamento
+ * não existe, não é do usuário ou não está no status esperado.
+ */
+public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>, JpaSpecificationExecutor<Agendamento>,
+        AgendamentoResumoRepository {
 
-    // Buscar agendamentos de um cliente
-    List<Agendamento> findByCliente(Usuario cliente);
+    // Buscar um agendamento já com todas as associações
+    @Override
+    @EntityGraph(attributePaths = {"cliente", "dogwalker", "dogwalker.usuario", "pets"})
+    Optional<Agendamento> findById(Long id);
 
-    // Buscar agendamentos de um Dogwalker
-    List<Agendamento> findByDogwalker(Dogwalker dogwalker);
+    // Cliente e usuário do dogwalker de um agendamento (sem carregar a entidade)
+    @Query("""
+            select a.cliente.id as clienteId, a.dogwalker.usuario.id as dogwalkerUsuarioId
+            from Agendamento a
+            where a.id = :id
+            """)
+    Optional<EnvolvidosAgendamento> buscarEnvolvidos(Long id);
 
-    // Buscar agendamentos por status
-    List<Agendamento> findByStatus(String status);
+    // Emergências ainda não confirmadas (usa o índice de emergências ativas), com o horário
+    // da solicitação no histórico de transições
+    @Query("""
+            select a.id as agendamentoId, a.status as status, a.cliente.id as clienteId,
+                   a.dogwalker.usuario.id as dogwalkerUsuarioId,
+                   (select max(t.ocorridoEm) from TransicaoAgendamento t
+                    where t.agendamentoId = a.id and t.tipo = :solicitada) as solicitadaEm
+            from Agendamento a
+            where a.emergenciaAtiva = true
+            """)
+    List<EmergenciaAberta> buscarEmergenciasAbertas(TipoTransicao solicitada);
+
+    // Totais de passeios concluídos agrupados por cliente e dogwalker (reconstrução das estatísticas)
+    @Query("""
+            select a.cliente.id as clienteId, a.dogwalker.id as dogwalkerId,
+                   count(a) as passeios, sum(a.duracao) as minutos
+            from Agendamento a
+            where a.status = br.com.pateandoapp.pateandobackend.model.StatusAgendamento.CONCLUIDO
+            group by a.cliente.id, a.dogwalker.id
+            """)
+    List<ResumoPasseios> resumirConcluidosPorClienteEDogwalker();
+
+    // Cliente, dogwalker (com o usuário) e pets de um novo agendamento num único SELECT,
+    // para validar tudo de uma vez; nenhuma linha se o cliente não existir
+    @Query("""
+            select c as cliente, d as dogwalker, du as dogwalkerUsuario, p as pet
+            from Usuario c
+            left join Dogwalker d on d.id = :dogwalkerId
+            left join d.usuario du
+            left join Pet p on p.id in :petIds
+            where c.id = :clienteId
+            """)
+    List<ParticipantesAgendamento> buscarParticipantes(Long clienteId, Collection<Long> petIds, Long dogwalkerId);
+
+    // Id e nome dos pets de uma página de agendamentos, num único SELECT
+    @Query("""
+            select a.id as agendamentoId, p.id as id, p.nome as nome
+            from Agendamento a join a.pets p
+            where a.id in :agendamentoIds
+            """)
+    List<PetDoAgendamento> buscarPetsDosAgendamentos(Collection<Long> agendamentoIds);
+
+    // Horários da agenda ativa de um dogwalker (usa o índice de agendamentos ativos por dogwalker)
+    @Query("""
+            select a.id as id, a.dataHora as dataHora, a.duracao as duracao, a.status as status
+            from Agendamento a
+            where a.dogwalker.id = :dogwalkerId and a.status in :status and a.dataHora >= :aPartirDe
+            """)
+    List<HorarioAgendamento> buscarHorarios(Long dogwalkerId, Collection<StatusAgendamento> status,
+            LocalDateTime aPartirDe);
+
+    // Transição feita pelo dogwalker dono do agendamento
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Agendamento a set a.status = :para, a.versao = a.versao + 1
+            where a.id = :id and a.status = :de
+              and a.dogwalker.id in (select d.id from Dogwalker d where d.usuario.id = :dogwalkerUsuarioId)
+            """)
+    int transicionarPeloDogwalker(Long id, Long dogwalkerUsuarioId, StatusAgendamento de, StatusAgendamento para);
+
+    // Transição feita pelo cliente dono do agendamento
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Agendamento a set a.status = :para, a.versao = a.versao + 1
+            where a.id = :id and a.status in :de and a.cliente.id = :clienteId
+            """)
+    int transicionarPeloCliente(Long id, Long clienteId, Collection<StatusAgendamento> de, StatusAgendamento para);
+
+    // Cliente aciona a emergência de um passeio em andamento (uma vez)
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Agendamento a set a.emergenciaAtiva = true, a.versao = a.versao + 1
+            where a.id = :id and a.cliente.id = :clienteId
+              and a.status = br.com.pateandoapp.pateandobackend.model.StatusAgendamento.EM_ANDAMENTO
+              and a.emergenciaAtiva = false
+            """)
+    int ativarEmergencia(Long id, Long clienteId);
+
+    // Dogwalker confirma a emergência: encerra o passeio
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Agendamento a
+            set a.emergenciaAtiva = false,
+                a.status = br.com.pateandoapp.pateandobackend.model.StatusAgendamento.CONCLUIDO,
+                a.versao = a.versao + 1
+            where a.id = :id and a.emergenciaAtiva = true
+              and a.status = br.com.pateandoapp.pateandobackend.model.StatusAgendamento.EM_ANDAMENTO
+              and a.dogwalker.id in (select d.id from Dogwalker d where d.usuario.id = :dogwalkerUsuarioId)
+            """)
+    int confirmarEmergencia(Long id, Long dogwalkerUsuarioId);
 }
@@ -0,0 +1,22 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.pateandoapp.pateandobackend.DTO.ResumoAgendamentoDTO;
+import br.com.pateandoapp.pateandobackend.model.Agendamento;
+
+/**
+ * Consultas de resumos de agendamentos por projeção (só as colunas da resposta).
+ * Implementada em {@link AgendamentoResumoRepositoryImpl}.
+ */
+public interface AgendamentoResumoRepository {
+
+    /**
+     * Até limite resumos que atendem ao filtro, na {@link AgendamentoSpecifications#ORDEM}.
+     * Os pets vêm vazios (ver AgendamentoRepository.buscarPetsDosAgendamentos).
+     */
+    List<ResumoAgendamentoDTO> buscarResumos(Specification<Agendamento> filtro, Limit limite);
+}
@@ -0,0 +1,61 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.pateandoapp.pateandobackend.DTO.ResumoAgendamentoDTO;
+import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Resumos de agendamentos montados direto das colunas, sem instanciar entidades:
+ * um SELECT com os joins de cliente e dogwalker (com usuário) e o construtor
+ * de projeção do ResumoAgendamentoDTO. Os filtros são as mesmas Specifications
+ * das listagens, aplicadas sobre a mesma raiz.
+ */
+class AgendamentoResumoRepositoryImpl implements AgendamentoResumoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ResumoAgendamentoDTO> buscarResumos(Specification<Agendamento> filtro, Limit limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ResumoAgendamentoDTO> query = cb.createQuery(ResumoAgendamentoDTO.class);
+        Root<Agendamento> agendamento = query.from(Agendamento.class);
+        Join<Agendamento, Usuario> cliente = agendamento.join("cliente");
+        Join<Agendamento, Dogwalker> dogwalker = agendamento.join("dogwalker");
+        Join<Dogwalker, Usuario> dogwalkerUsuario = dogwalker.join("usuario");
+
+        query.select(cb.construct(ResumoAgendamentoDTO.class,
+                agendamento.get("id"), agendamento.get("dataHora"), agendamento.get("duracao"),
+                agendamento.get("status"), agendamento.get("emergenciaAtiva"),
+                agendamento.get("rota"), agendamento.get("observacoes"),
+                cliente.get("id"), cliente.get("nome"), cliente.get("telefone"),
+                dogwalker.get("id"), dogwalkerUsuario.get("id"),
+                dogwalkerUsuario.get("nome"), dogwalkerUsuario.get("telefone")));
+
+        Predicate predicado = filtro != null ? filtro.toPredicate(agendamento, query, cb) : null;
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        query.orderBy(cb.desc(agendamento.get("dataHora")), cb.desc(agendamento.get("id")));
+
+        TypedQuery<ResumoAgendamentoDTO> consulta = entityManager.createQuery(query);
+        if (limite.isLimited()) {
+            consulta.setMaxResults(limite.max());
+        }
+        return consulta.getResultList();
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+
+/**
+ * Filtros das listagens paginadas de agendamentos.
+ * Cada filtro vira um predicado simples sobre colunas indexadas, sem "OR :param IS NULL".
+ */
+public final class AgendamentoSpecifications {
+
+    // Mais recentes primeiro; o id desempata agendamentos no mesmo horário
+    public static final Sort ORDEM = Sort.by(Sort.Direction.DESC, "dataHora", "id");
+
+    private AgendamentoSpecifications() {}
+
+    public static Specification<Agendamento> comId(Long id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    public static Specification<Agendamento> doCliente(Long clienteId) {
+        return (root, query, cb) -> cb.equal(root.get("cliente").get("id"), clienteId);
+    }
+
+    public static Specification<Agendamento> doDogwalker(Long dogwalkerId) {
+        return (root, query, cb) -> cb.equal(root.get("dogwalker").get("id"), dogwalkerId);
+    }
+
+    public static Specification<Agendamento> doDogwalkerUsuario(Long usuarioId) {
+        return (root, query, cb) -> cb.equal(root.get("dogwalker").get("usuario").get("id"), usuarioId);
+    }
+
+    public static Specification<Agendamento> comStatus(StatusAgendamento status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Agendamento> aPartirDe(LocalDateTime de) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dataHora"), de);
+    }
+
+    public static Specification<Agendamento> ate(LocalDateTime ate) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dataHora"), ate);
+    }
+
+    /**
+     * Keyset: tudo que vem depois de (dataHora, id) na ORDEM decrescente
+     */
+    public static Specification<Agendamento> depoisDe(LocalDateTime dataHora, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("dataHora"), dataHora),
+                cb.and(cb.equal(root.get("dataHora"), dataHora), cb.lessThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import br.com.pateandoapp.pateandobackend.model.Avaliacao;
+
+/**
+ * Repositório das avaliações de passeios.
+ */
+public interface AvaliacaoRepository extends JpaRepository<Avaliacao, Long> {
+
+    boolean existsByAgendamentoId(Long agendamentoId);
+
+    Optional<Avaliacao> findByAgendamentoId(Long agendamentoId);
+
+    // Página de avaliações de um dogwalker, das mais recentes para as mais antigas (cursor no id)
+    @EntityGraph(attributePaths = "cliente")
+    List<Avaliacao> findByDogwalkerIdAndIdLessThanOrderByIdDesc(Long dogwalkerId, Long id, Limit limite);
+
+    // Quantidade de avaliações por dogwalker e nota (recálculo dos resumos)
+    @Query("""
+            select a.dogwalker.id as dogwalkerId, a.nota as nota, count(a) as quantidade
+            from Avaliacao a
+            group by a.dogwalker.id, a.nota
+            """)
+    List<ContagemNotas> contarPorDogwalkerENota();
+}
@@ -0,0 +1,37 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import br.com.pateandoapp.pateandobackend.model.ClienteDogwalkerPasseios;
+
+/**
+ * Repositório das contagens de passeios por cliente/dogwalker.
+ */
+public interface ClienteDogwalkerPasseiosRepository
+        extends JpaRepository<ClienteDogwalkerPasseios, ClienteDogwalkerPasseios.Chave> {
+
+    // Soma um passeio ao par no próprio UPDATE (sem perder incrementos concorrentes); 0 se o par não existe
+    @Modifying
+    @Query("""
+            update ClienteDogwalkerPasseios c set c.passeios = c.passeios + 1
+            where c.clienteId = :clienteId and c.dogwalkerId = :dogwalkerId
+            """)
+    int somarPasseio(Long clienteId, Long dogwalkerId);
+
+    // Primeiro passeio do par; 0 (sem inserir) se outra transação já criou a linha
+    @Modifying
+    @Query(value = """
+            insert into cliente_dogwalker_passeios (cliente_id, dogwalker_id, passeios)
+            values (:clienteId, :dogwalkerId, 1)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int inserirPrimeiroPasseio(Long clienteId, Long dogwalkerId);
+
+    @Query("""
+            select c.passeios from ClienteDogwalkerPasseios c
+            where c.clienteId = :clienteId and c.dogwalkerId = :dogwalkerId
+            """)
+    int contarPasseios(Long clienteId, Long dogwalkerId);
+}
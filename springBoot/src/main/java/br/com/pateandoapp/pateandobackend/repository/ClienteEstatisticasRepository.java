@@ -0,0 +1,52 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import br.com.pateandoapp.pateandobackend.model.ClienteEstatisticas;
+import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+
+/**
+ * Repositório das estatísticas acumuladas dos clientes.
+ */
+public interface ClienteEstatisticasRepository extends JpaRepository<ClienteEstatisticas, Long> {
+
+    // Busca as estatísticas já com o nome do dogwalker favorito
+    @EntityGraph(attributePaths = {"dogwalkerFavorito", "dogwalkerFavorito.usuario"})
+    Optional<ClienteEstatisticas> findByClienteId(Long clienteId);
+
+    // Passeio concluído somado no próprio UPDATE (sem perder incrementos concorrentes);
+    // 0 se o cliente ainda não tem linha
+    @Modifying
+    @Query("""
+            update ClienteEstatisticas e
+            set e.totalPasseios = e.totalPasseios + 1,
+                e.totalMinutos = e.totalMinutos + :minutos
+            where e.clienteId = :clienteId
+            """)
+    int somarPasseio(Long clienteId, int minutos);
+
+    // O dogwalker passa a favorito só se tem mais passeios com o cliente que o favorito atual
+    @Modifying
+    @Query("""
+            update ClienteEstatisticas e
+            set e.dogwalkerFavorito = :dogwalker,
+                e.passeiosComFavorito = :passeiosComDogwalker
+            where e.clienteId = :clienteId and e.passeiosComFavorito < :passeiosComDogwalker
+            """)
+    int atualizarFavorito(Long clienteId, Dogwalker dogwalker, int passeiosComDogwalker);
+
+    // Primeiro passeio do cliente, já com o favorito; 0 (sem inserir) se outra transação já criou a linha
+    @Modifying
+    @Query(value = """
+            insert into cliente_estatisticas
+                (cliente_id, total_passeios, total_minutos, dogwalker_favorito_id, passeios_com_favorito)
+            values (:clienteId, 1, :minutos, :dogwalkerId, :passeiosComDogwalker)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int inserirPrimeiroPasseio(Long clienteId, int minutos, Long dogwalkerId, int passeiosComDogwalker);
+}
@@ -0,0 +1,10 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+/**
+ * Projeção com a quantidade de avaliações de um dogwalker com uma nota.
+ */
+public interface ContagemNotas {
+    Long getDogwalkerId();
+    Integer getNota();
+    Long getQuantidade();
+}
@@ -1,23 +1,132 @@
 package br.com.pateandoapp.pateandobackend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import br.com.pateandoapp.pateandobackend.DTO.CartaoDogwalkerDTO;
+import br.com.pateandoapp.pateandobackend.model.Disponibilidade;
 import br.com.pateandoapp.pateandobackend.model.Dogwalker;
 
 /**
  * Repositório da entidade Dogwalker.
+ * Todas as buscas trazem o usuário associado no mesmo SELECT.
  */
 public interface DogwalkerRepository extends JpaRepository<Dogwalker, Long> {
+
+    // Lista todos os dogwalkers com seus usuários
+    @Override
+    @EntityGraph(attributePaths = "usuario")
+    List<Dogwalker> findAll();
+
+    // Busca dogwalker por ID com o usuário
+    @Override
+    @EntityGraph(attributePaths = "usuario")
+    Optional<Dogwalker> findById(Long id);
     
     // Busca dogwalker pelo ID do usuário associado
+    @EntityGraph(attributePaths = "usuario")
     Optional<Dogwalker> findByUsuarioId(Long usuarioId);
     
     // Busca dogwalkers por disponibilidade
-    List<Dogwalker> findByDisponibilidade(String disponibilidade);
-    
-    // Busca todos os dogwalkers disponíveis
-    List<Dogwalker> findByDisponibilidadeIgnoreCase(String disponibilidade);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = "usuario")
+    List<Dogwalker> findByDisponibilidade(Disponibilidade disponibilidade);
+
+    // Página de cartões de dogwalkers por cursor (id), usando o índice da chave primária;
+    // só as colunas do cartão, sem instanciar as entidades
+    @Query("""
+            select new br.com.pateandoapp.pateandobackend.DTO.CartaoDogwalkerDTO(
+                d.id, u.id, u.nome, u.telefone, d.disponibilidade,
+                d.preco30min, d.preco60min, d.preco90min, d.avaliacaoMedia,
+                d.resumoAvaliacoes.total, d.totalPasseios, d.descricao, d.fotoUrl)
+            from Dogwalker d join d.usuario u
+            where d.id > :id
+            order by d.id
+            """)
+    List<CartaoDogwalkerDTO> buscarCartoesAPartirDe(Long id, Limit limite);
+
+    // Recarga dos dogwalkers alterados no cache do diretório
+    @EntityGraph(attributePaths = "usuario")
+    List<Dogwalker> findByIdIn(Collection<Long> ids);
+
+    // Disponíveis dentro de um retângulo (busca por proximidade quando o diretório não está em cache)
+    @EntityGraph(attributePaths = "usuario")
+    List<Dogwalker> findByDisponibilidadeAndLatitudeBetweenAndLongitudeBetween(
+            Disponibilidade disponibilidade, double latMin, double latMax, double lngMin, double lngMax);
+
+    // Disponibilidade do dogwalker de um agendamento, sem carregar a entidade
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Dogwalker d set d.disponibilidade = :disponibilidade
+            where d.id = (select a.dogwalker.id from Agendamento a where a.id = :agendamentoId)
+            """)
+    int atualizarDisponibilidadePorAgendamento(Long agendamentoId, Disponibilidade disponibilidade);
+
+    // Fim do passeio: contador incrementado no banco (sem perder incrementos concorrentes),
+    // dogwalker de volta a DISPONIVEL e, se houver, na posição onde o passeio terminou
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Dogwalker d
+            set d.totalPasseios = coalesce(d.totalPasseios, 0) + 1,
+                d.disponibilidade = br.com.pateandoapp.pateandobackend.model.Disponibilidade.DISPONIVEL,
+                d.latitude = coalesce(:latitude, d.latitude),
+                d.longitude = coalesce(:longitude, d.longitude)
+            where d.id = (select a.dogwalker.id from Agendamento a where a.id = :agendamentoId)
+            """)
+    int registrarPasseioConcluido(Long agendamentoId, Double latitude, Double longitude);
+
+    // Nova avaliação: total, soma, histograma e média atualizados no mesmo UPDATE
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Dogwalker d
+            set d.resumoAvaliacoes.total = d.resumoAvaliacoes.total + 1,
+                d.resumoAvaliacoes.soma = d.resumoAvaliacoes.soma + :nota,
+                d.resumoAvaliacoes.estrelas1 = d.resumoAvaliacoes.estrelas1 + case when :nota = 1 then 1 else 0 end,
+                d.resumoAvaliacoes.estrelas2 = d.resumoAvaliacoes.estrelas2 + case when :nota = 2 then 1 else 0 end,
+                d.resumoAvaliacoes.estrelas3 = d.resumoAvaliacoes.estrelas3 + case when :nota = 3 then 1 else 0 end,
+                d.resumoAvaliacoes.estrelas4 = d.resumoAvaliacoes.estrelas4 + case when :nota = 4 then 1 else 0 end,
+                d.resumoAvaliacoes.estrelas5 = d.resumoAvaliacoes.estrelas5 + case when :nota = 5 then 1 else 0 end,
+                d.avaliacaoMedia = (d.resumoAvaliacoes.soma + :nota) * 1.0 / (d.resumoAvaliacoes.total + 1)
+            where d.id = :dogwalkerId
+            """)
+    int registrarAvaliacao(Long dogwalkerId, int nota);
+
+    // Avaliação removida (agendamento apagado): desfaz o registrarAvaliacao
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Dogwalker d
+            set d.resumoAvaliacoes.total = d.resumoAvaliacoes.total - 1,
+                d.resumoAvaliacoes.soma = d.resumoAvaliacoes.soma - :nota,
+                d.resumoAvaliacoes.estrelas1 = d.resumoAvaliacoes.estrelas1 - case when :nota = 1 then 1 else 0 end,
+                d.resumoAvaliacoes.estrelas2 = d.resumoAvaliacoes.estrelas2 - case when :nota = 2 then 1 else 0 end,
+                d.resumoAvaliacoes.estrelas3 = d.resumoAvaliacoes.estrelas3 - case when :nota = 3 then 1 else 0 end,
+                d.resumoAvaliacoes.estrelas4 = d.resumoAvaliacoes.estrelas4 - case when :nota = 4 then 1 else 0 end,
+                d.resumoAvaliacoes.estrelas5 = d.resumoAvaliacoes.estrelas5 - case when :nota = 5 then 1 else 0 end,
+                d.avaliacaoMedia = case when d.resumoAvaliacoes.total <= 1 then 5.0
+                        else (d.resumoAvaliacoes.soma - :nota) * 1.0 / (d.resumoAvaliacoes.total - 1) end
+            where d.id = :dogwalkerId and d.resumoAvaliacoes.total > 0
+            """)
+    int removerAvaliacao(Long dogwalkerId, int nota);
+
+    // Zera os resumos de avaliação (antes do recálculo)
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Dogwalker d
+            set d.resumoAvaliacoes.total = 0, d.resumoAvaliacoes.soma = 0,
+                d.resumoAvaliacoes.estrelas1 = 0, d.resumoAvaliacoes.estrelas2 = 0, d.resumoAvaliacoes.estrelas3 = 0,
+                d.resumoAvaliacoes.estrelas4 = 0, d.resumoAvaliacoes.estrelas5 = 0,
+                d.avaliacaoMedia = 5.0
+            """)
+    int zerarResumosAvaliacoes();
+
+    // Zera os totais de passeios (antes da reconstrução pelo histórico)
+    @Modifying(clearAutomatically = true)
+    @Query("update Dogwalker d set d.totalPasseios = 0")
+    int zerarTotaisPasseios();
+}
@@ -0,0 +1,17 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+import java.time.LocalDateTime;
+
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+
+/**
+ * Projeção de um agendamento com emergência ativa (retomada do acompanhamento na subida).
+ */
+public interface EmergenciaAberta {
+    Long getAgendamentoId();
+    StatusAgendamento getStatus();
+    Long getClienteId();
+    Long getDogwalkerUsuarioId();
+    // Horário da solicitação no histórico (null se ainda não gravada)
+    LocalDateTime getSolicitadaEm();
+}
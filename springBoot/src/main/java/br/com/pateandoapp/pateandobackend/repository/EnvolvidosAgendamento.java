@@ -0,0 +1,9 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+/**
+ * Projeção com os usuários envolvidos num agendamento (controle de acesso).
+ */
+public interface EnvolvidosAgendamento {
+    Long getClienteId();
+    Long getDogwalkerUsuarioId();
+}
@@ -0,0 +1,32 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import br.com.pateandoapp.pateandobackend.model.GanhosDogwalkerDia;
+
+/**
+ * Repositório dos ganhos diários dos dogwalkers.
+ */
+public interface GanhosDogwalkerDiaRepository
+        extends JpaRepository<GanhosDogwalkerDia, GanhosDogwalkerDia.Chave> {
+
+    // Soma um passeio ao dia no próprio UPDATE (sem ler a linha); 0 se o dia ainda não existe
+    @Modifying
+    @Query("""
+            update GanhosDogwalkerDia g
+            set g.passeios = g.passeios + 1,
+                g.minutos = g.minutos + :minutos,
+                g.receita = g.receita + :receita,
+                g.pets = g.pets + :pets
+            where g.dogwalkerId = :dogwalkerId and g.dia = :dia
+            """)
+    int somarPasseio(Long dogwalkerId, LocalDate dia, int minutos, double receita, int pets);
+
+    // Dias com passeio no intervalo (inclusivo), pela chave primária
+    List<GanhosDogwalkerDia> findByDogwalkerIdAndDiaBetweenOrderByDia(Long dogwalkerId, LocalDate de, LocalDate ate);
+}
@@ -0,0 +1,15 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+import java.time.LocalDateTime;
+
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+
+/**
+ * Projeção com o horário de um agendamento (carga da agenda do dogwalker).
+ */
+public interface HorarioAgendamento {
+    Long getId();
+    LocalDateTime getDataHora();
+    Integer getDuracao();
+    StatusAgendamento getStatus();
+}
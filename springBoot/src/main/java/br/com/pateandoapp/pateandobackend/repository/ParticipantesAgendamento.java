@@ -0,0 +1,17 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+import br.com.pateandoapp.pateandobackend.model.Pet;
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+
+/**
+ * Projeção com os participantes de um novo agendamento, uma linha por pet encontrado
+ * (ver AgendamentoRepository.buscarParticipantes). Dogwalker e pet vêm null quando
+ * não existem.
+ */
+public interface ParticipantesAgendamento {
+    Usuario getCliente();
+    Dogwalker getDogwalker();
+    Usuario getDogwalkerUsuario();
+    Pet getPet();
+}
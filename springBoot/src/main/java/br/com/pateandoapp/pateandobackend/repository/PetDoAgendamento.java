@@ -0,0 +1,10 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+/**
+ * Projeção com id e nome de um pet de um agendamento (resumos das listagens).
+ */
+public interface PetDoAgendamento {
+    Long getAgendamentoId();
+    Long getId();
+    String getNome();
+}
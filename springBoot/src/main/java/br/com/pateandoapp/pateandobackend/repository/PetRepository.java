@@ -2,13 +2,27 @@ package br.com.pateandoapp.pateandobackend.repository;
 
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import br.com.pateandoapp.pateandobackend.DTO.CartaoPetDTO;
 import br.com.pateandoapp.pateandobackend.model.Pet;
 
 /**
  * Repositório da entidade Pet.
  */
 public interface PetRepository extends JpaRepository<Pet, Long> {
+    @EntityGraph(attributePaths = "dono")
     List<Pet> findByDonoId(Long usuarioId);
+
+    // Cartões dos pets de um usuário: só as colunas do pet, sem o dono
+    @Query("""
+            select new br.com.pateandoapp.pateandobackend.DTO.CartaoPetDTO(
+                p.id, p.nome, p.raca, p.idade, p.necessidadesEspeciais, p.observacoes)
+            from Pet p
+            where p.dono.id = :usuarioId
+            order by p.id
+            """)
+    List<CartaoPetDTO> buscarCartoesPorDono(Long usuarioId);
 }
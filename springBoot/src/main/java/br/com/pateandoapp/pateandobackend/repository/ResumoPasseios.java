@@ -0,0 +1,11 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+/**
+ * Projeção com o total de passeios concluídos de um par cliente/dogwalker.
+ */
+public interface ResumoPasseios {
+    Long getClienteId();
+    Long getDogwalkerId();
+    Long getPasseios();
+    Long getMinutos();
+}
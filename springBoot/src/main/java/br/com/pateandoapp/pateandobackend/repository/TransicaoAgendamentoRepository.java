@@ -0,0 +1,41 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import br.com.pateandoapp.pateandobackend.model.TipoTransicao;
+import br.com.pateandoapp.pateandobackend.model.TransicaoAgendamento;
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repositório do histórico de transições dos agendamentos.
+ */
+public interface TransicaoAgendamentoRepository extends JpaRepository<TransicaoAgendamento, Long> {
+
+    // Histórico de um agendamento, na ordem em que aconteceu
+    List<TransicaoAgendamento> findByAgendamentoIdOrderByIdAsc(Long agendamentoId);
+
+    /**
+     * Percorre as transições dos tipos pedidos em ordem, em blocos de 1000 linhas,
+     * sem guardar as entidades na sessão (read-only). Precisa de uma transação aberta
+     * e o Stream deve ser fechado.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from TransicaoAgendamento t where t.tipo in :tipos order by t.id")
+    Stream<TransicaoAgendamento> percorrer(Collection<TipoTransicao> tipos);
+
+    // Remove o histórico junto com o agendamento
+    @Modifying
+    @Query("delete from TransicaoAgendamento t where t.agendamentoId = :agendamentoId")
+    void deletarPorAgendamento(Long agendamentoId);
+}
@@ -0,0 +1,27 @@
+package br.com.pateandoapp.pateandobackend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import br.com.pateandoapp.pateandobackend.model.TrechoTrajeto;
+
+/**
+ * Repositório dos trechos gravados de trajeto dos passeios.
+ */
+public interface TrechoTrajetoRepository extends JpaRepository<TrechoTrajeto, TrechoTrajeto.Chave> {
+
+    // Trajeto completo do passeio, na ordem de gravação
+    List<TrechoTrajeto> findByAgendamentoIdOrderBySequenciaAsc(Long agendamentoId);
+
+    // Último trecho gravado (-1 se nenhum), para continuar a sequência após reinício
+    @Query("select coalesce(max(t.sequencia), -1) from TrechoTrajeto t where t.agendamentoId = :agendamentoId")
+    int ultimaSequencia(Long agendamentoId);
+
+    // Remove o trajeto junto com o agendamento
+    @Modifying
+    @Query("delete from TrechoTrajeto t where t.agendamentoId = :agendamentoId")
+    void deletarPorAgendamento(Long agendamentoId);
+}
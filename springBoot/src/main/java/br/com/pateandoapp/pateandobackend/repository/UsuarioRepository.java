@@ -1,7 +1,9 @@
 package br.com.pateandoapp.pateandobackend.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import br.com.pateandoapp.pateandobackend.model.Usuario;
@@ -17,5 +19,8 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     // novo método para login
     Optional<Usuario> findByEmailAndSenha(String email, String senha);
+
+    // Página de usuários por cursor (id), usando o índice da chave primária
+    List<Usuario> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
 }
 
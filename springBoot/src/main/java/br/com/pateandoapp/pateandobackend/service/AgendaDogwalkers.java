@@ -0,0 +1,274 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+import br.com.pateandoapp.pateandobackend.repository.AgendamentoRepository;
+import br.com.pateandoapp.pateandobackend.repository.HorarioAgendamento;
+
+/**
+ * Agenda em memória de cada dogwalker, para detectar horários sobrepostos.
+ *
+ * Cada agenda guarda os agendamentos ativos (PENDENTE, ACEITO, EM_ANDAMENTO)
+ * ordenados pelo início. Como nenhum passeio é maior que a maior duração da
+ * agenda, só os que começam entre (início - maior duração) e o fim do novo
+ * podem sobrepor: a verificação é O(log n) e não percorre o histórico.
+ *
+ * A agenda de um dogwalker é carregada do banco no primeiro uso. As alterações
+ * entram na agenda dentro da transação, com o lock da agenda (duas reservas
+ * concorrentes no mesmo horário não passam juntas), e são desfeitas se a
+ * transação for revertida.
+ *
+ * O lock de cada agenda é um ReentrantLock e a carga acontece fora do
+ * computeIfAbsent: com threads virtuais, a consulta ao banco dentro de um
+ * synchronized (ou do bloco do ConcurrentHashMap) prenderia a thread de plataforma.
+ */
+@Service
+public class AgendaDogwalkers {
+
+    static final Set<StatusAgendamento> ATIVOS =
+            EnumSet.of(StatusAgendamento.PENDENTE, StatusAgendamento.ACEITO, StatusAgendamento.EM_ANDAMENTO);
+
+    // Passeios que começaram há mais de um dia não entram na agenda
+    static final long JANELA_PASSADO_HORAS = 24;
+
+    @Autowired
+    private AgendamentoRepository agendamentoRepository;
+
+    private final Map<Long, Agenda> agendas = new ConcurrentHashMap<>();
+
+    // Dogwalker de cada agendamento presente nas agendas
+    private final Map<Long, Long> dogwalkerPorAgendamento = new ConcurrentHashMap<>();
+
+    /**
+     * Reserva o horário de um agendamento recém-criado.
+     * Falha se o dogwalker já tiver outro agendamento ativo que se sobreponha.
+     */
+    public void reservar(Agendamento agendamento) {
+        Long dogwalkerId = agendamento.getDogwalker().getId();
+        Intervalo novo = new Intervalo(agendamento.getId(), agendamento.getDataHora(),
+                fim(agendamento.getDataHora(), agendamento.getDuracao()), StatusAgendamento.PENDENTE);
+
+        Agenda agenda = travar(dogwalkerId);
+        try {
+            if (agenda.conflito(novo, ATIVOS) != null) {
+                throw new RuntimeException("O dogwalker já tem um passeio marcado nesse horário!");
+            }
+            agenda.adicionar(novo);
+            dogwalkerPorAgendamento.put(novo.agendamentoId, dogwalkerId);
+        } finally {
+            agenda.lock.unlock();
+        }
+        aoReverter(() -> remover(novo.agendamentoId));
+    }
+
+    /**
+     * Confirma o horário no aceite. Falha se o dogwalker já tiver aceitado
+     * (ou estiver fazendo) outro passeio que se sobreponha.
+     */
+    public void confirmar(Agendamento agendamento) {
+        Long dogwalkerId = agendamento.getDogwalker().getId();
+        Agenda agenda = travar(dogwalkerId);
+        try {
+            Intervalo intervalo = agenda.buscar(agendamento.getId());
+            if (intervalo == null) {
+                // Fora da janela carregada (agendamento antigo): entra agora
+                intervalo = new Intervalo(agendamento.getId(), agendamento.getDataHora(),
+                        fim(agendamento.getDataHora(), agendamento.getDuracao()), StatusAgendamento.PENDENTE);
+                agenda.adicionar(intervalo);
+                dogwalkerPorAgendamento.put(intervalo.agendamentoId, dogwalkerId);
+            }
+            if (agenda.conflito(intervalo, EnumSet.of(StatusAgendamento.ACEITO, StatusAgendamento.EM_ANDAMENTO)) != null) {
+                throw new RuntimeException("Você já aceitou outro passeio nesse horário!");
+            }
+            intervalo.status = StatusAgendamento.ACEITO;
+            Intervalo aceito = intervalo;
+            aoReverter(() -> {
+                agenda.lock.lock();
+                try {
+                    aceito.status = StatusAgendamento.PENDENTE;
+                } finally {
+                    agenda.lock.unlock();
+                }
+            });
+        } finally {
+            agenda.lock.unlock();
+        }
+    }
+
+    /**
+     * Libera o horário depois do commit (rejeitado, cancelado, concluído ou removido)
+     */
+    public void liberar(Long agendamentoId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remover(agendamentoId);
+                }
+            });
+        } else {
+            remover(agendamentoId);
+        }
+    }
+
+    /**
+     * Tira das agendas os passeios que já terminaram
+     */
+    @Scheduled(fixedRate = 1, timeUnit = TimeUnit.HOURS)
+    public void limparPassados() {
+        LocalDateTime limite = LocalDateTime.now().minusHours(JANELA_PASSADO_HORAS);
+        for (Agenda agenda : agendas.values()) {
+            agenda.lock.lock();
+            try {
+                for (Intervalo intervalo : List.copyOf(agenda.intervalos)) {
+                    if (intervalo.fim.isBefore(limite)) {
+                        agenda.remover(intervalo.agendamentoId);
+                        dogwalkerPorAgendamento.remove(intervalo.agendamentoId);
+                    }
+                }
+            } finally {
+                agenda.lock.unlock();
+            }
+        }
+    }
+
+    private void remover(Long agendamentoId) {
+        Long dogwalkerId = dogwalkerPorAgendamento.remove(agendamentoId);
+        if (dogwalkerId == null) return;
+        Agenda agenda = agendas.get(dogwalkerId);
+        if (agenda == null) return;
+        agenda.lock.lock();
+        try {
+            agenda.remover(agendamentoId);
+        } finally {
+            agenda.lock.unlock();
+        }
+    }
+
+    /**
+     * Agenda do dogwalker já com o lock (o chamador libera), carregada do banco no primeiro uso
+     */
+    private Agenda travar(Long dogwalkerId) {
+        Agenda agenda = agendas.computeIfAbsent(dogwalkerId, id -> new Agenda());
+        agenda.lock.lock();
+        try {
+            if (!agenda.carregada) {
+                LocalDateTime aPartirDe = LocalDateTime.now().minusHours(JANELA_PASSADO_HORAS);
+                for (HorarioAgendamento horario : agendamentoRepository.buscarHorarios(dogwalkerId, ATIVOS, aPartirDe)) {
+                    agenda.adicionar(new Intervalo(horario.getId(), horario.getDataHora(),
+                            fim(horario.getDataHora(), horario.getDuracao()), horario.getStatus()));
+                    dogwalkerPorAgendamento.put(horario.getId(), dogwalkerId);
+                }
+                agenda.carregada = true;
+            }
+            return agenda;
+        } catch (RuntimeException e) {
+            agenda.lock.unlock();
+            throw e;
+        }
+    }
+
+    private static void aoReverter(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) acao.run();
+            }
+        });
+    }
+
+    private static LocalDateTime fim(LocalDateTime inicio, Integer duracao) {
+        return inicio.plusMinutes(duracao != null && duracao > 0 ? duracao : 1);
+    }
+
+    /**
+     * Agendamentos ativos de um dogwalker (protegida pelo próprio lock)
+     */
+    private static class Agenda {
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean carregada = false;
+        private final NavigableSet<Intervalo> intervalos = new TreeSet<>(Intervalo.ORDEM);
+        private final Map<Long, Intervalo> porAgendamento = new HashMap<>();
+        private long maiorDuracaoMinutos = 0;
+
+        void adicionar(Intervalo intervalo) {
+            Intervalo anterior = porAgendamento.put(intervalo.agendamentoId, intervalo);
+            if (anterior != null) intervalos.remove(anterior);
+            intervalos.add(intervalo);
+            long duracao = Duration.between(intervalo.inicio, intervalo.fim).toMinutes();
+            maiorDuracaoMinutos = Math.max(maiorDuracaoMinutos, duracao);
+        }
+
+        Intervalo buscar(Long agendamentoId) {
+            return porAgendamento.get(agendamentoId);
+        }
+
+        void remover(Long agendamentoId) {
+            Intervalo intervalo = porAgendamento.remove(agendamentoId);
+            if (intervalo != null) intervalos.remove(intervalo);
+        }
+
+        /**
+         * Primeiro outro agendamento com status em filtro que se sobrepõe ao intervalo
+         */
+        Intervalo conflito(Intervalo novo, Set<StatusAgendamento> filtro) {
+            Intervalo de = Intervalo.limite(novo.inicio.minusMinutes(maiorDuracaoMinutos));
+            Intervalo ate = Intervalo.limite(novo.fim);
+            for (Intervalo existente : intervalos.subSet(de, true, ate, false)) {
+                if (existente.agendamentoId.equals(novo.agendamentoId)) continue;
+                if (!filtro.contains(existente.status)) continue;
+                if (existente.inicio.isBefore(novo.fim) && novo.inicio.isBefore(existente.fim)) {
+                    return existente;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Horário ocupado por um agendamento: [inicio, fim)
+     */
+    private static class Intervalo {
+        static final Comparator<Intervalo> ORDEM = Comparator
+                .comparing((Intervalo i) -> i.inicio)
+                .thenComparingLong(i -> i.agendamentoId);
+
+        private final Long agendamentoId;
+        private final LocalDateTime inicio;
+        private final LocalDateTime fim;
+        private StatusAgendamento status;
+
+        Intervalo(Long agendamentoId, LocalDateTime inicio, LocalDateTime fim, StatusAgendamento status) {
+            this.agendamentoId = agendamentoId;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.status = status;
+        }
+
+        // Limite de busca no TreeSet (ordena antes de qualquer agendamento no mesmo instante)
+        static Intervalo limite(LocalDateTime instante) {
+            return new Intervalo(Long.MIN_VALUE, instante, instante, null);
+        }
+    }
+}
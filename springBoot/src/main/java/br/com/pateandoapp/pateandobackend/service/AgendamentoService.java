@@ -1,24 +1,56 @@
 package br.com.pateandoapp.pateandobackend.service;
 
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.pateandoapp.pateandobackend.DTO.EventoAgendamentoDTO;
+import br.com.pateandoapp.pateandobackend.DTO.FiltroAgendamentoDTO;
+import br.com.pateandoapp.pateandobackend.DTO.PaginaDTO;
+import br.com.pateandoapp.pateandobackend.DTO.PetResumoDTO;
+import br.com.pateandoapp.pateandobackend.DTO.PontoLocalizacaoDTO;
+import br.com.pateandoapp.pateandobackend.DTO.ResumoAgendamentoDTO;
 import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.Disponibilidade;
 import br.com.pateandoapp.pateandobackend.model.Dogwalker;
 import br.com.pateandoapp.pateandobackend.model.Pet;
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+import br.com.pateandoapp.pateandobackend.model.TipoTransicao;
+import br.com.pateandoapp.pateandobackend.model.TransicaoAgendamento;
 import br.com.pateandoapp.pateandobackend.model.Usuario;
 import br.com.pateandoapp.pateandobackend.repository.AgendamentoRepository;
+import br.com.pateandoapp.pateandobackend.repository.AgendamentoSpecifications;
 import br.com.pateandoapp.pateandobackend.repository.DogwalkerRepository;
-import br.com.pateandoapp.pateandobackend.repository.PetRepository;
+import br.com.pateandoapp.pateandobackend.repository.EnvolvidosAgendamento;
+import br.com.pateandoapp.pateandobackend.repository.ParticipantesAgendamento;
+import br.com.pateandoapp.pateandobackend.repository.PetDoAgendamento;
+import br.com.pateandoapp.pateandobackend.repository.TransicaoAgendamentoRepository;
+import br.com.pateandoapp.pateandobackend.repository.TrechoTrajetoRepository;
 import br.com.pateandoapp.pateandobackend.repository.UsuarioRepository;
 
 @Service
+@Transactional
 public class AgendamentoService {
 
+    // Status a partir dos quais o cliente pode cancelar
+    static final Set<StatusAgendamento> CANCELAVEIS = EnumSet.of(StatusAgendamento.PENDENTE, StatusAgendamento.ACEITO);
+
+    // Máximo de ocorrências de um agendamento recorrente
+    static final int MAXIMO_OCORRENCIAS = 100;
+
     @Autowired
     private AgendamentoRepository agendamentoRepository;
 
@@ -26,280 +58,539 @@ public class AgendamentoService {
     private UsuarioRepository usuarioRepository;
 
     @Autowired
-    private PetRepository petRepository;
+    private DogwalkerRepository dogwalkerRepository;
 
     @Autowired
-    private DogwalkerRepository dogwalkerRepository;
+    private TrechoTrajetoRepository trechoTrajetoRepository;
 
-    /**
-     * ✅ ATUALIZADO: Cria um novo agendamento com múltiplos pets (até 3)
-     */
-    public Agendamento criarAgendamento(Long clienteId, List<Long> petIds, Long dogwalkerId, Agendamento agendamentoData) {
-        // Validar quantidade de pets
-        if (petIds == null || petIds.isEmpty()) {
-            throw new RuntimeException("Selecione pelo menos um pet!");
-        }
-        if (petIds.size() > 3) {
-            throw new RuntimeException("Máximo de 3 pets por passeio!");
-        }
+    @Autowired
+    private TransicaoAgendamentoRepository transicaoRepository;
 
-        // Buscar o cliente
-        Usuario cliente = usuarioRepository.findById(clienteId)
-                .orElseThrow(() -> new RuntimeException("Cliente não encontrado!"));
+    @Autowired
+    private AvaliacaoService avaliacaoService;
 
-        // Verificar se é realmente um cliente
-        if (!"CLIENTE".equalsIgnoreCase(cliente.getTipo())) {
-            throw new RuntimeException("Usuário não é um cliente!");
-        }
+    @Autowired
+    private ClienteEstatisticasService clienteEstatisticasService;
 
-        // Buscar e validar todos os pets
-        List<Pet> pets = new ArrayList<>();
-        for (Long petId : petIds) {
-            Pet pet = petRepository.findById(petId)
-                    .orElseThrow(() -> new RuntimeException("Pet com ID " + petId + " não encontrado!"));
+    @Autowired
+    private GanhosDogwalkerService ganhosService;
 
-            // Verificar se o pet pertence ao cliente
-            if (!pet.getDono().getId().equals(clienteId)) {
-                throw new RuntimeException("O pet " + pet.getNome() + " não pertence ao cliente!");
-            }
+    @Autowired
+    private RastreamentoService rastreamentoService;
 
-            pets.add(pet);
-        }
+    // Detecção de horários sobrepostos na agenda do dogwalker
+    @Autowired
+    private AgendaDogwalkers agendaDogwalkers;
 
-        // Buscar o dogwalker
-        Dogwalker dogwalker = dogwalkerRepository.findById(dogwalkerId)
-                .orElseThrow(() -> new RuntimeException("Dogwalker não encontrado!"));
+    // Eventos de transição entregues por push (ver EventoAgendamentoHub)
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-        // Montar o agendamento
-        Agendamento agendamento = new Agendamento();
-        agendamento.setCliente(cliente);
-        agendamento.setPets(pets);
-        agendamento.setDogwalker(dogwalker);
-        agendamento.setDataHora(agendamentoData.getDataHora());
-        agendamento.setDuracao(agendamentoData.getDuracao());
-        agendamento.setRota(agendamentoData.getRota());
-        agendamento.setObservacoes(agendamentoData.getObservacoes());
-        agendamento.setStatus("PENDENTE");
+    // Versões das listagens (ETag das respostas)
+    @Autowired
+    private VersoesRecursos versoesRecursos;
+
+    // Contadores das transições e motivos de falha
+    @Autowired
+    private MetricasAgendamentos metricas;
+
+    /**
+     * ✅ ATUALIZADO: Cria um novo agendamento com múltiplos pets (até 3)
+     *
+     * O custo não depende da quantidade de pets: o SELECT de validação e, no commit,
+     * a escrita em lote (o INSERT do agendamento e um lote com as linhas de
+     * agendamento_pets). O id já vem da sequência reservada em bloco.
+     */
+    public ResumoAgendamentoDTO criarAgendamento(Long clienteId, List<Long> petIds, Long dogwalkerId, Agendamento agendamentoData) {
+        return metricas.registrar("criar", () -> {
+            Participantes participantes = validarParticipantes(clienteId, petIds, dogwalkerId);
+
+            Agendamento salvo = agendamentoRepository.save(montar(participantes, agendamentoData, agendamentoData.getDataHora()));
+            agendaDogwalkers.reservar(salvo);
+            publicarEvento(TipoTransicao.CRIADO, salvo);
+            return Respostas.agendamento(salvo);
+        });
+    }
+
+    /**
+     * Cria uma série de agendamentos semanais numa única transação: a partir da data
+     * de agendamentoData, no mesmo horário, em cada dia da semana pedido, até somar
+     * o número de ocorrências. Sem dias informados, repete no dia da semana da data.
+     *
+     * Os ids vêm da sequência em blocos, então os INSERTs de agendamentos e de
+     * agendamento_pets vão ao banco em lote no commit. Se qualquer ocorrência
+     * conflitar com a agenda do dogwalker, nenhuma é criada.
+     */
+    public List<ResumoAgendamentoDTO> criarRecorrente(Long clienteId, List<Long> petIds, Long dogwalkerId,
+            Agendamento agendamentoData, Set<DayOfWeek> diasSemana, Integer ocorrencias) {
+        return metricas.registrar("criar_recorrente", () -> {
+            if (ocorrencias == null || ocorrencias < 1 || ocorrencias > MAXIMO_OCORRENCIAS) {
+                throw new RuntimeException("O número de ocorrências deve ser de 1 a " + MAXIMO_OCORRENCIAS + "!");
+            }
+            LocalDateTime inicio = agendamentoData.getDataHora();
+            if (inicio == null) {
+                throw new RuntimeException("Informe a data e hora do primeiro passeio!");
+            }
+            Set<DayOfWeek> dias = diasSemana == null || diasSemana.isEmpty()
+                    ? EnumSet.of(inicio.getDayOfWeek())
+                    : EnumSet.copyOf(diasSemana);
+
+            Participantes participantes = validarParticipantes(clienteId, petIds, dogwalkerId);
 
-        return agendamentoRepository.save(agendamento);
+            List<Agendamento> novos = new ArrayList<>(ocorrencias);
+            for (LocalDateTime dataHora = inicio; novos.size() < ocorrencias; dataHora = dataHora.plusDays(1)) {
+                if (dias.contains(dataHora.getDayOfWeek())) {
+                    novos.add(montar(participantes, agendamentoData, dataHora));
+                }
+            }
+
+            List<Agendamento> salvos = agendamentoRepository.saveAll(novos);
+            for (Agendamento salvo : salvos) {
+                agendaDogwalkers.reservar(salvo);
+            }
+            for (Agendamento salvo : salvos) {
+                publicarEvento(TipoTransicao.CRIADO, salvo);
+            }
+            return Respostas.agendamentos(salvos);
+        });
     }
 
     /**
      * ✅ Método de compatibilidade para criar com um único pet
      */
-    public Agendamento criarAgendamento(Long clienteId, Long petId, Long dogwalkerId, Agendamento agendamentoData) {
+    public ResumoAgendamentoDTO criarAgendamento(Long clienteId, Long petId, Long dogwalkerId, Agendamento agendamentoData) {
         List<Long> petIds = new ArrayList<>();
         petIds.add(petId);
         return criarAgendamento(clienteId, petIds, dogwalkerId, agendamentoData);
     }
 
     /**
-     * Lista todos os agendamentos
+     * Lista todos os agendamentos (paginado)
      */
-    public List<Agendamento> listarTodos() {
-        return agendamentoRepository.findAll();
+    @Transactional(readOnly = true)
+    public PaginaDTO<ResumoAgendamentoDTO> listarTodos(FiltroAgendamentoDTO filtro) {
+        return paginar(null, filtro);
     }
 
     /**
      * Busca agendamento por ID
      */
-    public Optional<Agendamento> buscarPorId(Long id) {
-        return agendamentoRepository.findById(id);
+    @Transactional(readOnly = true)
+    public Optional<ResumoAgendamentoDTO> buscarPorId(Long id) {
+        return comPets(agendamentoRepository.buscarResumos(AgendamentoSpecifications.comId(id), Limit.of(1)))
+                .stream().findFirst();
     }
 
     /**
-     * Lista agendamentos de um cliente específico
+     * Cliente e usuário do dogwalker do agendamento (controle de acesso)
      */
-    public List<Agendamento> listarPorCliente(Long clienteId) {
-        Usuario cliente = usuarioRepository.findById(clienteId)
-                .orElseThrow(() -> new RuntimeException("Cliente não encontrado!"));
-        return agendamentoRepository.findByCliente(cliente);
+    @Transactional(readOnly = true)
+    public Optional<EnvolvidosAgendamento> buscarEnvolvidos(Long id) {
+        return agendamentoRepository.buscarEnvolvidos(id);
     }
 
     /**
-     * Lista agendamentos de um dogwalker específico
+     * Lista agendamentos de um cliente específico (paginado)
      */
-    public List<Agendamento> listarPorDogwalker(Long dogwalkerId) {
-        Dogwalker dogwalker = dogwalkerRepository.findById(dogwalkerId)
-                .orElseThrow(() -> new RuntimeException("Dogwalker não encontrado!"));
-        return agendamentoRepository.findByDogwalker(dogwalker);
+    @Transactional(readOnly = true)
+    public PaginaDTO<ResumoAgendamentoDTO> listarPorCliente(Long clienteId, FiltroAgendamentoDTO filtro) {
+        if (!usuarioRepository.existsById(clienteId)) {
+            throw new RuntimeException("Cliente não encontrado!");
+        }
+        return paginar(AgendamentoSpecifications.doCliente(clienteId), filtro);
     }
 
     /**
-     * Lista agendamentos de um dogwalker pelo ID do usuário
+     * Lista agendamentos de um dogwalker específico (paginado)
      */
-    public List<Agendamento> listarPorDogwalkerUsuarioId(Long usuarioId) {
-        Optional<Dogwalker> dogwalkerOpt = dogwalkerRepository.findByUsuarioId(usuarioId);
-        if (dogwalkerOpt.isEmpty()) {
-            return List.of();
+    @Transactional(readOnly = true)
+    public PaginaDTO<ResumoAgendamentoDTO> listarPorDogwalker(Long dogwalkerId, FiltroAgendamentoDTO filtro) {
+        if (!dogwalkerRepository.existsById(dogwalkerId)) {
+            throw new RuntimeException("Dogwalker não encontrado!");
         }
-        return agendamentoRepository.findByDogwalker(dogwalkerOpt.get());
+        return paginar(AgendamentoSpecifications.doDogwalker(dogwalkerId), filtro);
     }
 
     /**
-     * Lista agendamentos por status
+     * Lista agendamentos de um dogwalker pelo ID do usuário (paginado)
+     * (lista vazia se o usuário ainda não tiver registro de dogwalker)
      */
-    public List<Agendamento> listarPorStatus(String status) {
-        return agendamentoRepository.findByStatus(status.toUpperCase());
+    @Transactional(readOnly = true)
+    public PaginaDTO<ResumoAgendamentoDTO> listarPorDogwalkerUsuarioId(Long usuarioId, FiltroAgendamentoDTO filtro) {
+        return paginar(AgendamentoSpecifications.doDogwalkerUsuario(usuarioId), filtro);
     }
 
     /**
-     * Dogwalker aceita um agendamento
+     * Lista agendamentos por status (paginado)
      */
-    public Agendamento aceitarAgendamento(Long agendamentoId, Long dogwalkerUsuarioId) {
-        Agendamento agendamento = agendamentoRepository.findById(agendamentoId)
-                .orElseThrow(() -> new RuntimeException("Agendamento não encontrado!"));
+    @Transactional(readOnly = true)
+    public PaginaDTO<ResumoAgendamentoDTO> listarPorStatus(String status, FiltroAgendamentoDTO filtro) {
+        filtro.setStatus(status);
+        return paginar(null, filtro);
+    }
 
-        if (!agendamento.getDogwalker().getUsuario().getId().equals(dogwalkerUsuarioId)) {
-            throw new RuntimeException("Você não tem permissão para aceitar este agendamento!");
-        }
+    /**
+     * Busca uma página de agendamentos ordenada por (dataHora, id) decrescente.
+     * O cursor vira um predicado sobre a chave, então cada página é um único
+     * SELECT com LIMIT pelo índice, sem OFFSET. Só as colunas do resumo são
+     * lidas; os pets da página vêm em uma segunda consulta.
+     */
+    private PaginaDTO<ResumoAgendamentoDTO> paginar(Specification<Agendamento> escopo, FiltroAgendamentoDTO filtro) {
+        int limite = Paginacao.limite(filtro.getLimite());
 
-        if (!"PENDENTE".equalsIgnoreCase(agendamento.getStatus())) {
-            throw new RuntimeException("Este agendamento não está mais pendente!");
+        List<Specification<Agendamento>> filtros = new ArrayList<>();
+        if (escopo != null) {
+            filtros.add(escopo);
+        }
+        if (filtro.getStatus() != null && !filtro.getStatus().isBlank()) {
+            filtros.add(AgendamentoSpecifications.comStatus(StatusAgendamento.de(filtro.getStatus())));
+        }
+        if (filtro.getDe() != null) {
+            filtros.add(AgendamentoSpecifications.aPartirDe(filtro.getDe()));
         }
+        if (filtro.getAte() != null) {
+            filtros.add(AgendamentoSpecifications.ate(filtro.getAte()));
+        }
+        if (filtro.getCursor() != null && !filtro.getCursor().isBlank()) {
+            Paginacao.ChaveAgendamento chave = Paginacao.decodificarAgendamento(filtro.getCursor());
+            filtros.add(AgendamentoSpecifications.depoisDe(chave.dataHora(), chave.id()));
+        }
+
+        List<ResumoAgendamentoDTO> linhas = agendamentoRepository.buscarResumos(
+                Specification.allOf(filtros), Paginacao.consulta(limite));
 
-        agendamento.setStatus("ACEITO");
-        return agendamentoRepository.save(agendamento);
+        return Paginacao.pagina(comPets(linhas), limite,
+                resumo -> Paginacao.codificar(resumo.getDataHora(), resumo.getId()));
     }
 
     /**
-     * Dogwalker rejeita um agendamento
+     * Preenche id e nome dos pets dos resumos com um único SELECT para a página inteira
      */
-    public Agendamento rejeitarAgendamento(Long agendamentoId, Long dogwalkerUsuarioId) {
-        Agendamento agendamento = agendamentoRepository.findById(agendamentoId)
-                .orElseThrow(() -> new RuntimeException("Agendamento não encontrado!"));
-
-        if (!agendamento.getDogwalker().getUsuario().getId().equals(dogwalkerUsuarioId)) {
-            throw new RuntimeException("Você não tem permissão para rejeitar este agendamento!");
+    private List<ResumoAgendamentoDTO> comPets(List<ResumoAgendamentoDTO> resumos) {
+        if (resumos.isEmpty()) return resumos;
+        Map<Long, ResumoAgendamentoDTO> porId = new HashMap<>();
+        for (ResumoAgendamentoDTO resumo : resumos) {
+            porId.put(resumo.getId(), resumo);
         }
-
-        if (!"PENDENTE".equalsIgnoreCase(agendamento.getStatus())) {
-            throw new RuntimeException("Este agendamento não está mais pendente!");
+        for (PetDoAgendamento pet : agendamentoRepository.buscarPetsDosAgendamentos(porId.keySet())) {
+            porId.get(pet.getAgendamentoId()).getPets().add(new PetResumoDTO(pet.getId(), pet.getNome()));
         }
+        return resumos;
+    }
+
+    /**
+     * Dogwalker aceita um agendamento
+     */
+    public ResumoAgendamentoDTO aceitarAgendamento(Long agendamentoId, Long dogwalkerUsuarioId) {
+        return metricas.registrar("aceitar", () -> {
+            if (agendamentoRepository.transicionarPeloDogwalker(agendamentoId, dogwalkerUsuarioId,
+                    StatusAgendamento.PENDENTE, StatusAgendamento.ACEITO) == 0) {
+                throw motivoDaFalha(agendamentoId, dogwalkerUsuarioId,
+                        "Você não tem permissão para aceitar este agendamento!",
+                        "Este agendamento não está mais pendente!");
+            }
 
-        agendamento.setStatus("REJEITADO");
-        return agendamentoRepository.save(agendamento);
+            Agendamento agendamento = carregar(agendamentoId);
+            agendaDogwalkers.confirmar(agendamento);
+            publicarEvento(TipoTransicao.ACEITO, agendamento);
+            return Respostas.agendamento(agendamento);
+        });
     }
 
     /**
-     * Inicia um passeio (muda status para EM_ANDAMENTO e dogwalker fica OCUPADO)
+     * Dogwalker rejeita um agendamento
      */
-    public Agendamento iniciarPasseio(Long agendamentoId, Long dogwalkerUsuarioId) {
-        Agendamento agendamento = agendamentoRepository.findById(agendamentoId)
-                .orElseThrow(() -> new RuntimeException("Agendamento não encontrado!"));
+    public ResumoAgendamentoDTO rejeitarAgendamento(Long agendamentoId, Long dogwalkerUsuarioId) {
+        return metricas.registrar("rejeitar", () -> {
+            if (agendamentoRepository.transicionarPeloDogwalker(agendamentoId, dogwalkerUsuarioId,
+                    StatusAgendamento.PENDENTE, StatusAgendamento.REJEITADO) == 0) {
+                throw motivoDaFalha(agendamentoId, dogwalkerUsuarioId,
+                        "Você não tem permissão para rejeitar este agendamento!",
+                        "Este agendamento não está mais pendente!");
+            }
 
-        if (!agendamento.getDogwalker().getUsuario().getId().equals(dogwalkerUsuarioId)) {
-            throw new RuntimeException("Você não tem permissão para iniciar este passeio!");
-        }
+            Agendamento agendamento = carregar(agendamentoId);
+            agendaDogwalkers.liberar(agendamento.getId());
+            publicarEvento(TipoTransicao.REJEITADO, agendamento);
+            return Respostas.agendamento(agendamento);
+        });
+    }
 
-        if (!"ACEITO".equalsIgnoreCase(agendamento.getStatus())) {
-            throw new RuntimeException("Este agendamento precisa estar aceito para iniciar!");
-        }
+    /**
+     * Inicia um passeio (muda status para EM_ANDAMENTO e dogwalker fica OCUPADO)
+     */
+    public ResumoAgendamentoDTO iniciarPasseio(Long agendamentoId, Long dogwalkerUsuarioId) {
+        return metricas.registrar("iniciar", () -> {
+            if (agendamentoRepository.transicionarPeloDogwalker(agendamentoId, dogwalkerUsuarioId,
+                    StatusAgendamento.ACEITO, StatusAgendamento.EM_ANDAMENTO) == 0) {
+                throw motivoDaFalha(agendamentoId, dogwalkerUsuarioId,
+                        "Você não tem permissão para iniciar este passeio!",
+                        "Este agendamento precisa estar aceito para iniciar!");
+            }
 
-        // Atualizar disponibilidade do dogwalker para OCUPADO
-        Dogwalker dogwalker = agendamento.getDogwalker();
-        dogwalker.setDisponibilidade("OCUPADO");
-        dogwalkerRepository.save(dogwalker);
+            // Atualizar disponibilidade do dogwalker para OCUPADO
+            dogwalkerRepository.atualizarDisponibilidadePorAgendamento(agendamentoId, Disponibilidade.OCUPADO);
 
-        agendamento.setStatus("EM_ANDAMENTO");
-        return agendamentoRepository.save(agendamento);
+            Agendamento agendamento = carregar(agendamentoId);
+            eventPublisher.publishEvent(new DogwalkerAlterado(agendamento.getDogwalker().getId()));
+            publicarEvento(TipoTransicao.INICIADO, agendamento);
+            return Respostas.agendamento(agendamento);
+        });
     }
 
     /**
      * Finaliza um passeio (incrementa contador e volta disponibilidade)
      */
-    public Agendamento finalizarPasseio(Long agendamentoId, Long dogwalkerUsuarioId) {
-        Agendamento agendamento = agendamentoRepository.findById(agendamentoId)
-                .orElseThrow(() -> new RuntimeException("Agendamento não encontrado!"));
+    public ResumoAgendamentoDTO finalizarPasseio(Long agendamentoId, Long dogwalkerUsuarioId) {
+        return metricas.registrar("finalizar", () -> {
+            if (agendamentoRepository.transicionarPeloDogwalker(agendamentoId, dogwalkerUsuarioId,
+                    StatusAgendamento.EM_ANDAMENTO, StatusAgendamento.CONCLUIDO) == 0) {
+                throw motivoDaFalha(agendamentoId, dogwalkerUsuarioId,
+                        "Você não tem permissão para finalizar este passeio!",
+                        "Este passeio não está em andamento!");
+            }
 
-        if (!agendamento.getDogwalker().getUsuario().getId().equals(dogwalkerUsuarioId)) {
-            throw new RuntimeException("Você não tem permissão para finalizar este passeio!");
-        }
+            // Incrementar contador de passeios do dogwalker e voltar para DISPONIVEL,
+            // onde o passeio terminou
+            Optional<PontoLocalizacaoDTO> ultimaPosicao = rastreamentoService.ultimaPosicao(agendamentoId);
+            dogwalkerRepository.registrarPasseioConcluido(agendamentoId,
+                    ultimaPosicao.map(PontoLocalizacaoDTO::getLatitude).orElse(null),
+                    ultimaPosicao.map(PontoLocalizacaoDTO::getLongitude).orElse(null));
+
+            Agendamento agendamento = carregar(agendamentoId);
+            eventPublisher.publishEvent(new DogwalkerAlterado(agendamento.getDogwalker().getId()));
+            clienteEstatisticasService.registrarPasseioConcluido(agendamento);
+            ganhosService.registrarPasseioConcluido(agendamento);
+            agendaDogwalkers.liberar(agendamento.getId());
+            publicarEvento(TipoTransicao.FINALIZADO, agendamento);
+            return Respostas.agendamento(agendamento);
+        });
+    }
 
-        if (!"EM_ANDAMENTO".equalsIgnoreCase(agendamento.getStatus())) {
-            throw new RuntimeException("Este passeio não está em andamento!");
-        }
+    /**
+     * Cliente cancela um agendamento
+     */
+    public ResumoAgendamentoDTO cancelarAgendamento(Long agendamentoId, Long clienteId) {
+        return metricas.registrar("cancelar", () -> {
+            if (agendamentoRepository.transicionarPeloCliente(agendamentoId, clienteId,
+                    CANCELAVEIS, StatusAgendamento.CANCELADO) == 0) {
+                Agendamento atual = agendamentoRepository.findById(agendamentoId)
+                        .orElseThrow(() -> new RuntimeException("Agendamento não encontrado!"));
+                if (!atual.getCliente().getId().equals(clienteId)) {
+                    throw new RuntimeException("Você não tem permissão para cancelar este agendamento!");
+                }
+                if (atual.getStatus() == StatusAgendamento.EM_ANDAMENTO
+                        || atual.getStatus() == StatusAgendamento.CONCLUIDO) {
+                    throw new RuntimeException("Não é possível cancelar um passeio em andamento ou concluído!");
+                }
+                // Já rejeitado ou cancelado: repetir o cancelamento (reenvio do app) devolve o estado atual
+                return Respostas.agendamento(atual);
+            }
 
-        // Incrementar contador de passeios do dogwalker
-        Dogwalker dogwalker = agendamento.getDogwalker();
-        Integer totalAtual = dogwalker.getTotalPasseios();
-        if (totalAtual == null) totalAtual = 0;
-        dogwalker.setTotalPasseios(totalAtual + 1);
-        
-        // Voltar disponibilidade para DISPONIVEL
-        dogwalker.setDisponibilidade("DISPONIVEL");
-        dogwalkerRepository.save(dogwalker);
-
-        agendamento.setStatus("CONCLUIDO");
-        return agendamentoRepository.save(agendamento);
+            Agendamento agendamento = carregar(agendamentoId);
+            agendaDogwalkers.liberar(agendamento.getId());
+            publicarEvento(TipoTransicao.CANCELADO, agendamento);
+            return Respostas.agendamento(agendamento);
+        });
     }
 
     /**
-     * Cliente cancela um agendamento
+     * Cliente solicita parada de emergência
      */
-    public Agendamento cancelarAgendamento(Long agendamentoId, Long clienteId) {
-        Agendamento agendamento = agendamentoRepository.findById(agendamentoId)
-                .orElseThrow(() -> new RuntimeException("Agendamento não encontrado!"));
+    public ResumoAgendamentoDTO solicitarEmergencia(Long agendamentoId, Long clienteId) {
+        return metricas.registrar("solicitar_emergencia", () -> {
+            if (agendamentoRepository.ativarEmergencia(agendamentoId, clienteId) == 0) {
+                Agendamento atual = agendamentoRepository.findById(agendamentoId)
+                        .orElseThrow(() -> new RuntimeException("Agendamento não encontrado!"));
+                if (!atual.getCliente().getId().equals(clienteId)) {
+                    throw new RuntimeException("Você não tem permissão para solicitar emergência neste agendamento!");
+                }
+                if (atual.getStatus() != StatusAgendamento.EM_ANDAMENTO) {
+                    throw new RuntimeException("Só é possível solicitar emergência em passeios em andamento!");
+                }
+                // Emergência já ativa: outra solicitação chegou antes, o alerta já está em curso
+                return Respostas.agendamento(atual);
+            }
 
-        if (!agendamento.getCliente().getId().equals(clienteId)) {
-            throw new RuntimeException("Você não tem permissão para cancelar este agendamento!");
-        }
+            Agendamento agendamento = carregar(agendamentoId);
+            publicarEvento(TipoTransicao.EMERGENCIA_SOLICITADA, agendamento);
+            return Respostas.agendamento(agendamento);
+        });
+    }
 
-        if ("EM_ANDAMENTO".equalsIgnoreCase(agendamento.getStatus()) || 
-            "CONCLUIDO".equalsIgnoreCase(agendamento.getStatus())) {
-            throw new RuntimeException("Não é possível cancelar um passeio em andamento ou concluído!");
-        }
+    /**
+     * Dogwalker confirma recebimento da emergência e finaliza o passeio
+     */
+    public ResumoAgendamentoDTO confirmarEmergencia(Long agendamentoId, Long dogwalkerUsuarioId) {
+        return metricas.registrar("confirmar_emergencia", () -> {
+            if (agendamentoRepository.confirmarEmergencia(agendamentoId, dogwalkerUsuarioId) == 0) {
+                Agendamento atual = agendamentoRepository.findById(agendamentoId)
+                        .orElseThrow(() -> new RuntimeException("Agendamento não encontrado!"));
+                if (!atual.getDogwalker().getUsuario().getId().equals(dogwalkerUsuarioId)) {
+                    throw new RuntimeException("Você não tem permissão para confirmar esta emergência!");
+                }
+                if (atual.getStatus() == StatusAgendamento.CONCLUIDO) {
+                    // Confirmação repetida: o passeio já foi encerrado
+                    return Respostas.agendamento(atual);
+                }
+                throw new RuntimeException("Não há emergência ativa neste passeio!");
+            }
 
-        agendamento.setStatus("CANCELADO");
-        return agendamentoRepository.save(agendamento);
+            // Voltar disponibilidade do dogwalker
+            dogwalkerRepository.atualizarDisponibilidadePorAgendamento(agendamentoId, Disponibilidade.DISPONIVEL);
+
+            Agendamento agendamento = carregar(agendamentoId);
+            eventPublisher.publishEvent(new DogwalkerAlterado(agendamento.getDogwalker().getId()));
+            clienteEstatisticasService.registrarPasseioConcluido(agendamento);
+            ganhosService.registrarPasseioConcluido(agendamento);
+            agendaDogwalkers.liberar(agendamento.getId());
+            publicarEvento(TipoTransicao.EMERGENCIA_CONFIRMADA, agendamento);
+            return Respostas.agendamento(agendamento);
+        });
     }
 
     /**
-     * Cliente solicita parada de emergência
+     * Lê o agendamento depois da transição (um SELECT com as associações)
      */
-    public Agendamento solicitarEmergencia(Long agendamentoId, Long clienteId) {
-        Agendamento agendamento = agendamentoRepository.findById(agendamentoId)
+    private Agendamento carregar(Long agendamentoId) {
+        return agendamentoRepository.findById(agendamentoId)
                 .orElseThrow(() -> new RuntimeException("Agendamento não encontrado!"));
+    }
 
-        if (!agendamento.getCliente().getId().equals(clienteId)) {
-            throw new RuntimeException("Você não tem permissão para solicitar emergência neste agendamento!");
-        }
-
-        if (!"EM_ANDAMENTO".equalsIgnoreCase(agendamento.getStatus())) {
-            throw new RuntimeException("Só é possível solicitar emergência em passeios em andamento!");
+    /**
+     * A transição do dogwalker não alterou nenhuma linha: lê o agendamento só para explicar o motivo
+     */
+    private RuntimeException motivoDaFalha(Long agendamentoId, Long dogwalkerUsuarioId,
+            String semPermissao, String statusInvalido) {
+        Optional<Agendamento> agendamento = agendamentoRepository.findById(agendamentoId);
+        if (agendamento.isEmpty()) {
+            return new RuntimeException("Agendamento não encontrado!");
         }
-
-        agendamento.setEmergenciaAtiva(true);
-        return agendamentoRepository.save(agendamento);
+        boolean dono = agendamento.get().getDogwalker().getUsuario().getId().equals(dogwalkerUsuarioId);
+        return new RuntimeException(dono ? statusInvalido : semPermissao);
     }
 
     /**
-     * Dogwalker confirma recebimento da emergência e finaliza o passeio
+     * Cliente, pets e dogwalker de um novo agendamento, já validados
      */
-    public Agendamento confirmarEmergencia(Long agendamentoId, Long dogwalkerUsuarioId) {
-        Agendamento agendamento = agendamentoRepository.findById(agendamentoId)
-                .orElseThrow(() -> new RuntimeException("Agendamento não encontrado!"));
+    private record Participantes(Usuario cliente, List<Pet> pets, Dogwalker dogwalker) {}
 
-        if (!agendamento.getDogwalker().getUsuario().getId().equals(dogwalkerUsuarioId)) {
-            throw new RuntimeException("Você não tem permissão para confirmar esta emergência!");
+    /**
+     * Valida cliente, pets e dogwalker com uma única consulta (buscarParticipantes).
+     * Os pets são conferidos na ordem pedida, com as mesmas mensagens de antes.
+     */
+    private Participantes validarParticipantes(Long clienteId, List<Long> petIds, Long dogwalkerId) {
+        // Validar quantidade de pets
+        if (petIds == null || petIds.isEmpty()) {
+            throw new RuntimeException("Selecione pelo menos um pet!");
+        }
+        if (petIds.size() > 3) {
+            throw new RuntimeException("Máximo de 3 pets por passeio!");
+        }
+
+        List<ParticipantesAgendamento> linhas = agendamentoRepository.buscarParticipantes(clienteId, petIds, dogwalkerId);
+        if (linhas.isEmpty()) {
+            throw new RuntimeException("Cliente não encontrado!");
+        }
+
+        // Verificar se é realmente um cliente
+        Usuario cliente = linhas.get(0).getCliente();
+        if (!"CLIENTE".equalsIgnoreCase(cliente.getTipo())) {
+            throw new RuntimeException("Usuário não é um cliente!");
         }
 
-        // Desativar emergência e finalizar passeio
-        agendamento.setEmergenciaAtiva(false);
-        agendamento.setStatus("CONCLUIDO");
-        
-        // Voltar disponibilidade do dogwalker
-        Dogwalker dogwalker = agendamento.getDogwalker();
-        dogwalker.setDisponibilidade("DISPONIVEL");
-        dogwalkerRepository.save(dogwalker);
+        // Validar todos os pets
+        Map<Long, Pet> encontrados = new HashMap<>();
+        for (ParticipantesAgendamento linha : linhas) {
+            if (linha.getPet() != null) {
+                encontrados.put(linha.getPet().getId(), linha.getPet());
+            }
+        }
+        List<Pet> pets = new ArrayList<>();
+        for (Long petId : petIds) {
+            Pet pet = encontrados.get(petId);
+            if (pet == null) {
+                throw new RuntimeException("Pet com ID " + petId + " não encontrado!");
+            }
 
-        return agendamentoRepository.save(agendamento);
+            // Verificar se o pet pertence ao cliente
+            if (!pet.getDono().getId().equals(clienteId)) {
+                throw new RuntimeException("O pet " + pet.getNome() + " não pertence ao cliente!");
+            }
+
+            pets.add(pet);
+        }
+
+        Dogwalker dogwalker = linhas.get(0).getDogwalker();
+        if (dogwalker == null) {
+            throw new RuntimeException("Dogwalker não encontrado!");
+        }
+
+        return new Participantes(cliente, pets, dogwalker);
+    }
+
+    private Agendamento montar(Participantes participantes, Agendamento agendamentoData, LocalDateTime dataHora) {
+        Agendamento agendamento = new Agendamento();
+        agendamento.setCliente(participantes.cliente());
+        agendamento.setPets(new ArrayList<>(participantes.pets()));
+        agendamento.setDogwalker(participantes.dogwalker());
+        agendamento.setDataHora(dataHora);
+        agendamento.setDuracao(agendamentoData.getDuracao());
+        agendamento.setPreco(participantes.dogwalker().precoPara(agendamentoData.getDuracao()));
+        agendamento.setRota(agendamentoData.getRota());
+        agendamento.setObservacoes(agendamentoData.getObservacoes());
+        agendamento.setStatus(StatusAgendamento.PENDENTE);
+        return agendamento;
     }
 
     /**
-     * Deleta um agendamento (admin)
+     * Publica o evento da transição e a linha do histórico, e avança as versões das
+     * listagens em que o agendamento aparece; o hub só entrega, o histórico só é gravado
+     * e as versões só mudam depois do commit
+     */
+    private void publicarEvento(TipoTransicao tipo, Agendamento agendamento) {
+        Long clienteId = agendamento.getCliente().getId();
+        Long dogwalkerUsuarioId = agendamento.getDogwalker().getUsuario().getId();
+        LocalDateTime agora = LocalDateTime.now();
+
+        versoesRecursos.alterar(
+                VersoesRecursos.AGENDAMENTOS,
+                VersoesRecursos.agendamentosDoUsuario(clienteId),
+                VersoesRecursos.agendamentosDoUsuario(dogwalkerUsuarioId),
+                VersoesRecursos.agendamentosDoDogwalker(agendamento.getDogwalker().getId()));
+        eventPublisher.publishEvent(new EventoAgendamentoDTO(
+                tipo,
+                agendamento.getId(),
+                agendamento.getStatus(),
+                agendamento.isEmergenciaAtiva(),
+                clienteId,
+                dogwalkerUsuarioId,
+                agora));
+
+        // Criar, cancelar e pedir emergência são do cliente; o resto, do dogwalker
+        Long autorId = switch (tipo) {
+            case CRIADO, CANCELADO, EMERGENCIA_SOLICITADA -> clienteId;
+            default -> dogwalkerUsuarioId;
+        };
+        eventPublisher.publishEvent(new TransicaoAgendamento(tipo, agendamento, autorId, agora));
+    }
+
+    /**
+     * Deleta um agendamento. Passeios concluídos não podem ser removidos: já entraram nas
+     * estatísticas do cliente, nos ganhos e no total de passeios do dogwalker.
      */
     public void deletarAgendamento(Long id) {
-        agendamentoRepository.deleteById(id);
+        Agendamento agendamento = carregar(id);
+        if (agendamento.getStatus() == StatusAgendamento.CONCLUIDO) {
+            throw new RuntimeException("Não é possível remover um passeio concluído!");
+        }
+        // Antes de apagar o trajeto: o gravador não insere mais trechos deste passeio
+        rastreamentoService.descartar(id);
+        trechoTrajetoRepository.deletarPorAgendamento(id);
+        transicaoRepository.deletarPorAgendamento(id);
+        avaliacaoService.removerDoAgendamento(id);
+        agendamentoRepository.delete(agendamento);
+        agendaDogwalkers.liberar(id);
+        versoesRecursos.alterarTudo();
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.pateandoapp.pateandobackend.DTO.AvaliacaoDTO;
+import br.com.pateandoapp.pateandobackend.DTO.PaginaDTO;
+import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.Avaliacao;
+import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+import br.com.pateandoapp.pateandobackend.model.ResumoAvaliacoes;
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+import br.com.pateandoapp.pateandobackend.repository.AgendamentoRepository;
+import br.com.pateandoapp.pateandobackend.repository.AvaliacaoRepository;
+import br.com.pateandoapp.pateandobackend.repository.ContagemNotas;
+import br.com.pateandoapp.pateandobackend.repository.DogwalkerRepository;
+
+/**
+ * Avaliações dos passeios concluídos.
+ *
+ * Cada avaliação atualiza o resumo do dogwalker (total, histograma e média) com
+ * um único UPDATE incremental; a listagem de dogwalkers só lê as colunas.
+ * O recálculo completo existe para reparo e roda toda madrugada.
+ */
+@Service
+@Transactional
+public class AvaliacaoService {
+
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Autowired
+    private AgendamentoRepository agendamentoRepository;
+
+    @Autowired
+    private DogwalkerRepository dogwalkerRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Cliente avalia um passeio concluído (nota de 1 a 5, uma vez por passeio)
+     */
+    public AvaliacaoDTO avaliar(Long agendamentoId, Long clienteId, Integer nota, String comentario) {
+        if (nota == null || nota < 1 || nota > 5) {
+            throw new RuntimeException("A nota deve ser de 1 a 5!");
+        }
+        if (comentario != null && comentario.length() > 500) {
+            throw new RuntimeException("O comentário deve ter no máximo 500 caracteres!");
+        }
+
+        Agendamento agendamento = agendamentoRepository.findById(agendamentoId)
+                .orElseThrow(() -> new RuntimeException("Agendamento não encontrado!"));
+
+        if (!agendamento.getCliente().getId().equals(clienteId)) {
+            throw new RuntimeException("Você não tem permissão para avaliar este passeio!");
+        }
+        if (agendamento.getStatus() != StatusAgendamento.CONCLUIDO) {
+            throw new RuntimeException("Só é possível avaliar passeios concluídos!");
+        }
+        if (avaliacaoRepository.existsByAgendamentoId(agendamentoId)) {
+            throw new RuntimeException("Este passeio já foi avaliado!");
+        }
+
+        Dogwalker dogwalker = agendamento.getDogwalker();
+        Avaliacao avaliacao = avaliacaoRepository.save(new Avaliacao(null, agendamentoId,
+                agendamento.getCliente(), dogwalker, nota, comentario, LocalDateTime.now()));
+
+        dogwalkerRepository.registrarAvaliacao(dogwalker.getId(), nota);
+        eventPublisher.publishEvent(new DogwalkerAlterado(dogwalker.getId()));
+
+        return paraDTO(avaliacao);
+    }
+
+    /**
+     * Avaliações de um dogwalker, das mais recentes para as mais antigas (paginado por cursor)
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<AvaliacaoDTO> listarPorDogwalker(Long dogwalkerId, String cursor, Integer limite) {
+        int tamanho = Paginacao.limite(limite);
+        // Ordem decrescente: sem cursor começa do maior id
+        Long antesDe = cursor == null || cursor.isBlank() ? Long.MAX_VALUE : Paginacao.decodificarId(cursor);
+
+        List<AvaliacaoDTO> linhas = avaliacaoRepository
+                .findByDogwalkerIdAndIdLessThanOrderByIdDesc(dogwalkerId, antesDe, Paginacao.consulta(tamanho))
+                .stream()
+                .map(this::paraDTO)
+                .toList();
+        return Paginacao.pagina(linhas, tamanho, avaliacao -> Paginacao.codificar(avaliacao.getId()));
+    }
+
+    /**
+     * Recalcula os resumos de todos os dogwalkers a partir das avaliações gravadas
+     * (uma consulta agregada). Usado para reparo.
+     */
+    @Scheduled(cron = "${pateando.avaliacoes.recalculo-cron:0 0 4 * * *}")
+    public void recalcularResumos() {
+        Map<Long, ResumoAvaliacoes> porDogwalker = new HashMap<>();
+        for (ContagemNotas contagem : avaliacaoRepository.contarPorDogwalkerENota()) {
+            ResumoAvaliacoes resumo = porDogwalker.computeIfAbsent(contagem.getDogwalkerId(), id -> new ResumoAvaliacoes());
+            int quantidade = contagem.getQuantidade().intValue();
+            int nota = contagem.getNota();
+            resumo.setTotal(resumo.getTotal() + quantidade);
+            resumo.setSoma(resumo.getSoma() + nota * quantidade);
+            switch (nota) {
+                case 1 -> resumo.setEstrelas1(quantidade);
+                case 2 -> resumo.setEstrelas2(quantidade);
+                case 3 -> resumo.setEstrelas3(quantidade);
+                case 4 -> resumo.setEstrelas4(quantidade);
+                default -> resumo.setEstrelas5(quantidade);
+            }
+        }
+
+        dogwalkerRepository.zerarResumosAvaliacoes();
+        for (Dogwalker dogwalker : dogwalkerRepository.findAllById(porDogwalker.keySet())) {
+            ResumoAvaliacoes resumo = porDogwalker.get(dogwalker.getId());
+            dogwalker.setResumoAvaliacoes(resumo);
+            dogwalker.setAvaliacaoMedia((double) resumo.getSoma() / resumo.getTotal());
+        }
+        // Todos os resumos podem ter mudado: o diretório recarrega tudo
+        eventPublisher.publishEvent(DogwalkerAlterado.todos());
+    }
+
+    /**
+     * Remove a avaliação de um agendamento que vai ser apagado, desfazendo-a no resumo
+     */
+    public void removerDoAgendamento(Long agendamentoId) {
+        avaliacaoRepository.findByAgendamentoId(agendamentoId).ifPresent(avaliacao -> {
+            Long dogwalkerId = avaliacao.getDogwalker().getId();
+            avaliacaoRepository.delete(avaliacao);
+            avaliacaoRepository.flush();
+            dogwalkerRepository.removerAvaliacao(dogwalkerId, avaliacao.getNota());
+            eventPublisher.publishEvent(new DogwalkerAlterado(dogwalkerId));
+        });
+    }
+
+    private AvaliacaoDTO paraDTO(Avaliacao avaliacao) {
+        return new AvaliacaoDTO(
+                avaliacao.getId(),
+                avaliacao.getAgendamentoId(),
+                avaliacao.getNota(),
+                avaliacao.getComentario(),
+                ClienteEstatisticasService.formatarNome(avaliacao.getCliente().getNome()),
+                avaliacao.getCriadaEm());
+    }
+}
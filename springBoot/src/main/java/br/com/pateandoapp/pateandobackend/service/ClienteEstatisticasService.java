@@ -0,0 +1,172 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.pateandoapp.pateandobackend.DTO.ClienteEstatisticasDTO;
+import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.ClienteDogwalkerPasseios;
+import br.com.pateandoapp.pateandobackend.model.ClienteEstatisticas;
+import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+import br.com.pateandoapp.pateandobackend.repository.AgendamentoRepository;
+import br.com.pateandoapp.pateandobackend.repository.ClienteDogwalkerPasseiosRepository;
+import br.com.pateandoapp.pateandobackend.repository.ClienteEstatisticasRepository;
+import br.com.pateandoapp.pateandobackend.repository.DogwalkerRepository;
+import br.com.pateandoapp.pateandobackend.repository.ResumoPasseios;
+
+/**
+ * Mantém as estatísticas dos clientes (total de passeios, minutos e dogwalker favorito)
+ * de forma incremental: cada passeio concluído atualiza os contadores, e a consulta
+ * do perfil lê uma única linha.
+ */
+@Service
+@Transactional
+public class ClienteEstatisticasService {
+
+    @Autowired
+    private ClienteEstatisticasRepository estatisticasRepository;
+
+    @Autowired
+    private ClienteDogwalkerPasseiosRepository passeiosRepository;
+
+    @Autowired
+    private AgendamentoRepository agendamentoRepository;
+
+    @Autowired
+    private DogwalkerRepository dogwalkerRepository;
+
+    // Versões das listagens (ETag das respostas)
+    @Autowired
+    private VersoesRecursos versoesRecursos;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Registra um passeio concluído nas estatísticas do cliente.
+     * Deve ser chamado uma única vez por agendamento, na transição para CONCLUIDO.
+     *
+     * Tudo em UPDATEs que somam no banco: passeios concluídos ao mesmo tempo pelo mesmo
+     * cliente não perdem incrementos. Sem linha, o primeiro passeio é inserido com
+     * ON CONFLICT DO NOTHING; se uma transação concorrente inseriu antes, soma na dela.
+     */
+    public void registrarPasseioConcluido(Agendamento agendamento) {
+        Long clienteId = agendamento.getCliente().getId();
+        Dogwalker dogwalker = agendamento.getDogwalker();
+        int minutos = agendamento.getDuracao();
+
+        // Passeios do par já com este; a linha fica travada pelo UPDATE/INSERT até o commit
+        int passeiosComDogwalker;
+        if (passeiosRepository.somarPasseio(clienteId, dogwalker.getId()) > 0) {
+            passeiosComDogwalker = passeiosRepository.contarPasseios(clienteId, dogwalker.getId());
+        } else if (passeiosRepository.inserirPrimeiroPasseio(clienteId, dogwalker.getId()) > 0) {
+            passeiosComDogwalker = 1;
+        } else {
+            passeiosRepository.somarPasseio(clienteId, dogwalker.getId());
+            passeiosComDogwalker = passeiosRepository.contarPasseios(clienteId, dogwalker.getId());
+        }
+
+        if (estatisticasRepository.somarPasseio(clienteId, minutos) == 0) {
+            if (estatisticasRepository.inserirPrimeiroPasseio(clienteId, minutos, dogwalker.getId(), passeiosComDogwalker) > 0) {
+                return;
+            }
+            estatisticasRepository.somarPasseio(clienteId, minutos);
+        }
+        // As contagens só crescem, então basta comparar com o favorito atual
+        estatisticasRepository.atualizarFavorito(clienteId, dogwalker, passeiosComDogwalker);
+    }
+
+    /**
+     * Busca as estatísticas de um cliente (zeradas se ainda não concluiu passeios)
+     */
+    @Transactional(readOnly = true)
+    public ClienteEstatisticasDTO buscar(Long clienteId) {
+        return estatisticasRepository.findByClienteId(clienteId)
+                .map(e -> new ClienteEstatisticasDTO(
+                        e.getTotalPasseios(),
+                        e.getTotalMinutos(),
+                        e.getDogwalkerFavorito() != null
+                                ? formatarNome(e.getDogwalkerFavorito().getUsuario().getNome())
+                                : "Nenhum",
+                        e.getPasseiosComFavorito()))
+                .orElseGet(() -> new ClienteEstatisticasDTO(0, 0, "Nenhum", 0));
+    }
+
+    /**
+     * Reconstrói todas as estatísticas a partir dos agendamentos CONCLUIDO,
+     * com uma única consulta agregada. Usado para o backfill inicial e para reparo.
+     */
+    public void reconstruir() {
+        reconstruir(agendamentoRepository.resumirConcluidosPorClienteEDogwalker());
+    }
+
+    /**
+     * Substitui todas as estatísticas pelos totais informados, um por par cliente/dogwalker
+     * (vindos da consulta agregada ou do histórico de transições)
+     */
+    public void reconstruir(Collection<? extends ResumoPasseios> resumos) {
+        passeiosRepository.deleteAllInBatch();
+        estatisticasRepository.deleteAllInBatch();
+
+        Map<Long, ClienteEstatisticas> porCliente = new HashMap<>();
+        List<ClienteDogwalkerPasseios> contagens = resumos
+                .stream()
+                .map(resumo -> acumular(porCliente, resumo))
+                .toList();
+
+        // persist direto: as tabelas acabaram de ser limpas, não há o que mesclar
+        contagens.forEach(entityManager::persist);
+        porCliente.values().forEach(entityManager::persist);
+        versoesRecursos.alterarTudo();
+    }
+
+    /**
+     * Backfill na inicialização: se ainda não há estatísticas gravadas
+     * (primeira execução com esta tabela), reconstrói a partir do histórico.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirSeVazio() {
+        if (estatisticasRepository.count() == 0) {
+            reconstruir();
+        }
+    }
+
+    private ClienteDogwalkerPasseios acumular(Map<Long, ClienteEstatisticas> porCliente, ResumoPasseios resumo) {
+        ClienteEstatisticas estatisticas = porCliente.computeIfAbsent(resumo.getClienteId(), ClienteEstatisticas::new);
+        int passeios = resumo.getPasseios().intValue();
+        estatisticas.setTotalPasseios(estatisticas.getTotalPasseios() + passeios);
+        estatisticas.setTotalMinutos(estatisticas.getTotalMinutos() + resumo.getMinutos().intValue());
+
+        if (passeios > estatisticas.getPasseiosComFavorito()) {
+            estatisticas.setDogwalkerFavorito(dogwalkerRepository.getReferenceById(resumo.getDogwalkerId()));
+            estatisticas.setPasseiosComFavorito(passeios);
+        }
+        return new ClienteDogwalkerPasseios(resumo.getClienteId(), resumo.getDogwalkerId(), passeios);
+    }
+
+    // Formata nome para "Nome S." (primeiro nome + inicial do sobrenome)
+    static String formatarNome(String nomeCompleto) {
+        if (nomeCompleto == null || nomeCompleto.isBlank()) return "Desconhecido";
+
+        String[] partes = nomeCompleto.trim().split("\\s+");
+        if (partes.length == 1) {
+            return partes[0];
+        }
+
+        String primeiroNome = partes[0];
+        String inicialSobrenome = partes[partes.length - 1].substring(0, 1).toUpperCase() + ".";
+
+        return primeiroNome + " " + inicialSobrenome;
+    }
+}
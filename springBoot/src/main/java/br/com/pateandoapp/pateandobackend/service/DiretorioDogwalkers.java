@@ -0,0 +1,280 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.pateandoapp.pateandobackend.DTO.DogwalkerProximoDTO;
+import br.com.pateandoapp.pateandobackend.model.Disponibilidade;
+import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+import br.com.pateandoapp.pateandobackend.repository.DogwalkerRepository;
+
+/**
+ * Cache em memória do diretório de dogwalkers (GET /dogwalkers/disponiveis e buscas por ID).
+ *
+ * A leitura não vai ao banco enquanto o diretório estiver válido. Cada alteração de
+ * dogwalker publica DogwalkerAlterado; depois do commit o dogwalker é marcado como
+ * alterado e só ele é recarregado na próxima leitura. O TTL cobre alterações feitas
+ * fora dos serviços (ex: direto no banco), recarregando tudo periodicamente.
+ * Acima do tamanho máximo o diretório deixa de ser cacheado e as leituras vão ao banco.
+ *
+ * Cada retrato do diretório leva a sua GradeGeografica para a busca dos mais
+ * próximos: as recargas montam uma grade nova (ou alteram uma cópia) e publicam
+ * as duas juntas, então a busca sempre vê uma grade inteira e coerente com a lista.
+ *
+ * As recargas são serializadas por um ReentrantLock e não por synchronized: a
+ * recarga consulta o banco, e uma thread virtual bloqueada em I/O dentro de um
+ * synchronized prende a thread de plataforma que a carrega.
+ */
+@Service
+public class DiretorioDogwalkers {
+
+    @Value("${pateando.cache.dogwalkers.ttl-segundos:300}")
+    private long ttlSegundos;
+
+    @Value("${pateando.cache.dogwalkers.tamanho-maximo:50000}")
+    private int tamanhoMaximo;
+
+    @Autowired
+    private DogwalkerRepository dogwalkerRepository;
+
+    // Diretório atual, com a grade dos disponíveis (imutável; trocado inteiro a cada recarga)
+    private volatile Diretorio diretorio;
+
+    // Uma recarga por vez
+    private final ReentrantLock recarga = new ReentrantLock();
+
+    // Diretório grande demais: leituras vão direto ao banco até este instante (nanoTime)
+    private volatile long semCacheAte;
+
+    // Dogwalkers alterados desde a última recarga, com a versão da invalidação
+    private final Map<Long, Long> alterados = new ConcurrentHashMap<>();
+    private final AtomicLong versao = new AtomicLong();
+
+    // Alteração em massa: a próxima leitura recarrega tudo
+    private volatile boolean todosAlterados;
+
+    // Estatísticas
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder invalidacoes = new LongAdder();
+    private final LongAdder recargasParciais = new LongAdder();
+    private final LongAdder recargasCompletas = new LongAdder();
+
+    /**
+     * Carrega o diretório na subida, para a primeira tela de seleção não pagar a consulta
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecer() {
+        recarregarTudo();
+    }
+
+    /**
+     * Recebe as alterações publicadas pelos serviços. Só dispara depois do commit,
+     * para uma leitura concorrente não recarregar o dado antigo e limpar a marca.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterar(DogwalkerAlterado evento) {
+        invalidacoes.increment();
+        if (evento.dogwalkerId() == null) {
+            todosAlterados = true;
+            return;
+        }
+        alterados.put(evento.dogwalkerId(), versao.incrementAndGet());
+    }
+
+    /**
+     * Todos os dogwalkers, ordenados por ID
+     */
+    public List<Dogwalker> listar() {
+        Diretorio atual = atual();
+        return atual != null ? atual.lista : dogwalkerRepository.findAll();
+    }
+
+    public Optional<Dogwalker> buscarPorId(Long id) {
+        Diretorio atual = atual();
+        return atual != null ? Optional.ofNullable(atual.porId.get(id)) : dogwalkerRepository.findById(id);
+    }
+
+    public Optional<Dogwalker> buscarPorUsuarioId(Long usuarioId) {
+        Diretorio atual = atual();
+        return atual != null
+                ? Optional.ofNullable(atual.porUsuarioId.get(usuarioId))
+                : dogwalkerRepository.findByUsuarioId(usuarioId);
+    }
+
+    /**
+     * Os k dogwalkers DISPONIVEL mais próximos dentro do raio, do mais perto para o mais longe
+     */
+    public List<DogwalkerProximoDTO> buscarProximos(double latitude, double longitude, double raioKm, int k) {
+        Diretorio atual = atual();
+        if (atual != null) {
+            return atual.grade.buscar(latitude, longitude, raioKm, k);
+        }
+
+        // Sem cache: filtra pelo retângulo que contém o raio e ordena aqui
+        double dLat = raioKm / GradeGeografica.KM_POR_GRAU;
+        double dLng = raioKm / (GradeGeografica.KM_POR_GRAU
+                * Math.max(Math.cos(Math.toRadians(Math.min(Math.abs(latitude) + dLat, 89.0))), 0.01));
+        return dogwalkerRepository.findByDisponibilidadeAndLatitudeBetweenAndLongitudeBetween(
+                        Disponibilidade.DISPONIVEL, latitude - dLat, latitude + dLat, longitude - dLng, longitude + dLng)
+                .stream()
+                .map(dogwalker -> new GradeGeografica.Candidato(dogwalker, GradeGeografica.distanciaKm(
+                        latitude, longitude, dogwalker.getLatitude(), dogwalker.getLongitude())))
+                .filter(candidato -> candidato.distanciaKm() <= raioKm)
+                .sorted(Comparator.comparingDouble(GradeGeografica.Candidato::distanciaKm))
+                .limit(k)
+                .map(GradeGeografica.Candidato::resposta)
+                .toList();
+    }
+
+    /**
+     * Estatísticas do cache (acertos, faltas, recargas)
+     */
+    public Map<String, Object> estatisticas() {
+        long totalAcertos = acertos.sum();
+        long totalFaltas = faltas.sum();
+        long total = totalAcertos + totalFaltas;
+        Diretorio atual = diretorio;
+
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("acertos", totalAcertos);
+        estatisticas.put("faltas", totalFaltas);
+        estatisticas.put("taxaAcerto", total == 0 ? 0.0 : (double) totalAcertos / total);
+        estatisticas.put("invalidacoes", invalidacoes.sum());
+        estatisticas.put("recargasParciais", recargasParciais.sum());
+        estatisticas.put("recargasCompletas", recargasCompletas.sum());
+        estatisticas.put("alteradosPendentes", alterados.size());
+        estatisticas.put("tamanho", atual == null ? 0 : atual.lista.size());
+        estatisticas.put("disponiveisNoMapa", atual == null ? 0 : atual.grade.tamanho());
+        return estatisticas;
+    }
+
+    /**
+     * Diretório válido para leitura, recarregando o necessário (null se grande demais para cachear)
+     */
+    private Diretorio atual() {
+        Diretorio atual = diretorio;
+        if (atual != null && !expirado(atual) && alterados.isEmpty() && !todosAlterados) {
+            acertos.increment();
+            return atual;
+        }
+        faltas.increment();
+        if (atual == null && System.nanoTime() - semCacheAte < 0) {
+            return null;
+        }
+
+        recarga.lock();
+        try {
+            // Outra thread pode ter recarregado enquanto esta esperava
+            atual = diretorio;
+            if (atual == null || expirado(atual) || todosAlterados) {
+                return recarregarTudo();
+            }
+            if (!alterados.isEmpty()) {
+                return recarregarAlterados(atual);
+            }
+            return atual;
+        } finally {
+            recarga.unlock();
+        }
+    }
+
+    private Diretorio recarregarTudo() {
+        recarga.lock();
+        try {
+            todosAlterados = false;
+            Map<Long, Long> capturados = new HashMap<>(alterados);
+            List<Dogwalker> todos = dogwalkerRepository.findAll();
+            recargasCompletas.increment();
+
+            if (todos.size() > tamanhoMaximo) {
+                diretorio = null;
+                semCacheAte = System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSegundos);
+                return null;
+            }
+
+            Map<Long, Dogwalker> porId = new TreeMap<>();
+            for (Dogwalker dogwalker : todos) {
+                porId.put(dogwalker.getId(), dogwalker);
+            }
+            return publicar(porId, GradeGeografica.de(todos), capturados);
+        } finally {
+            recarga.unlock();
+        }
+    }
+
+    // Deve ser chamado com o lock
+    private Diretorio recarregarAlterados(Diretorio atual) {
+        Map<Long, Long> capturados = new HashMap<>(alterados);
+        List<Dogwalker> recarregados = dogwalkerRepository.findByIdIn(capturados.keySet());
+        recargasParciais.increment();
+
+        // Alterados que não voltaram do banco foram removidos
+        Map<Long, Dogwalker> porId = new TreeMap<>(atual.porId);
+        porId.keySet().removeAll(capturados.keySet());
+        if (porId.size() + recarregados.size() > tamanhoMaximo) {
+            return recarregarTudo();
+        }
+        GradeGeografica grade = atual.grade.copia();
+        capturados.keySet().forEach(grade::remover);
+        for (Dogwalker dogwalker : recarregados) {
+            porId.put(dogwalker.getId(), dogwalker);
+            grade.atualizar(dogwalker);
+        }
+        return publicar(porId, grade, capturados);
+    }
+
+    private Diretorio publicar(Map<Long, Dogwalker> porId, GradeGeografica grade, Map<Long, Long> capturados) {
+        Diretorio novo = new Diretorio(porId, grade, System.nanoTime());
+        diretorio = novo;
+        // Só limpa a marca se não houve nova alteração durante a recarga
+        capturados.forEach(alterados::remove);
+        return novo;
+    }
+
+    private boolean expirado(Diretorio atual) {
+        return System.nanoTime() - atual.carregadoEmNanos >= TimeUnit.SECONDS.toNanos(ttlSegundos);
+    }
+
+    /**
+     * Um retrato imutável do diretório, com a grade montada a partir dele
+     */
+    private static class Diretorio {
+        private final List<Dogwalker> lista;
+        private final Map<Long, Dogwalker> porId;
+        private final Map<Long, Dogwalker> porUsuarioId;
+        private final GradeGeografica grade;
+        private final long carregadoEmNanos;
+
+        Diretorio(Map<Long, Dogwalker> porId, GradeGeografica grade, long carregadoEmNanos) {
+            this.lista = List.copyOf(porId.values());
+            this.porId = Map.copyOf(porId);
+            Map<Long, Dogwalker> porUsuario = new HashMap<>();
+            for (Dogwalker dogwalker : lista) {
+                if (dogwalker.getUsuario() != null) {
+                    porUsuario.put(dogwalker.getUsuario().getId(), dogwalker);
+                }
+            }
+            this.porUsuarioId = Map.copyOf(porUsuario);
+            this.grade = grade;
+            this.carregadoEmNanos = carregadoEmNanos;
+        }
+    }
+}
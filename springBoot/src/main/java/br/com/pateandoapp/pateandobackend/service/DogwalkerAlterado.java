@@ -0,0 +1,13 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+/**
+ * Evento publicado sempre que um dogwalker é criado, alterado ou removido.
+ * O DiretorioDogwalkers recarrega esse dogwalker depois do commit.
+ * Com dogwalkerId null (alteração em massa) o diretório é recarregado inteiro.
+ */
+public record DogwalkerAlterado(Long dogwalkerId) {
+
+    static DogwalkerAlterado todos() {
+        return new DogwalkerAlterado(null);
+    }
+}
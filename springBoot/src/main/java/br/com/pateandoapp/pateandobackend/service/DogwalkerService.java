@@ -4,8 +4,15 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.pateandoapp.pateandobackend.DTO.CartaoDogwalkerDTO;
+import br.com.pateandoapp.pateandobackend.DTO.DogwalkerProximoDTO;
+import br.com.pateandoapp.pateandobackend.DTO.PaginaDTO;
+import br.com.pateandoapp.pateandobackend.model.Disponibilidade;
 import br.com.pateandoapp.pateandobackend.model.Dogwalker;
 import br.com.pateandoapp.pateandobackend.model.Usuario;
 import br.com.pateandoapp.pateandobackend.repository.DogwalkerRepository;
@@ -15,18 +22,31 @@ import br.com.pateandoapp.pateandobackend.repository.UsuarioRepository;
  * Classe de serviço responsável pelas regras de negócio relacionadas a Dogwalkers.
  */
 @Service
+@Transactional
 public class DogwalkerService {
 
+    static final double RAIO_PADRAO_KM = 5;
+    static final double RAIO_MAXIMO_KM = 50;
+    static final int LIMITE_PADRAO_PROXIMOS = 10;
+    static final int LIMITE_MAXIMO_PROXIMOS = 50;
+
     @Autowired
     private DogwalkerRepository dogwalkerRepository;
 
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    // Leituras do diretório servidas do cache; alterações publicam DogwalkerAlterado
+    @Autowired
+    private DiretorioDogwalkers diretorioDogwalkers;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Cria um novo Dogwalker a partir de um usuário existente
      */
-    public Dogwalker criarDogwalker(Long usuarioId, String disponibilidade) {
+    public CartaoDogwalkerDTO criarDogwalker(Long usuarioId, String disponibilidade) {
         Usuario usuario = usuarioRepository.findById(usuarioId)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado!"));
 
@@ -42,71 +62,110 @@ public class DogwalkerService {
 
         Dogwalker dogwalker = new Dogwalker();
         dogwalker.setUsuario(usuario);
-        dogwalker.setDisponibilidade(disponibilidade != null ? disponibilidade : "DISPONIVEL");
+        dogwalker.setDisponibilidade(disponibilidade != null ? Disponibilidade.de(disponibilidade) : Disponibilidade.DISPONIVEL);
 
-        return dogwalkerRepository.save(dogwalker);
+        return Respostas.dogwalker(salvar(dogwalker));
     }
 
     /**
-     * Lista todos os dogwalkers
+     * Lista todos os dogwalkers (paginado por cursor no id; só as colunas do cartão)
      */
-    public List<Dogwalker> listarTodos() {
-        return dogwalkerRepository.findAll();
+    @Transactional(readOnly = true)
+    public PaginaDTO<CartaoDogwalkerDTO> listarTodos(String cursor, Integer limite) {
+        int tamanho = Paginacao.limite(limite);
+        List<CartaoDogwalkerDTO> linhas = dogwalkerRepository.buscarCartoesAPartirDe(
+                Paginacao.decodificarId(cursor), Paginacao.consulta(tamanho));
+        return Paginacao.pagina(linhas, tamanho, dogwalker -> Paginacao.codificar(dogwalker.getId()));
     }
 
     /**
      * Lista dogwalkers disponíveis
      * ✅ CORRIGIDO: Retorna todos mas cada um com sua disponibilidade real
+     * Servido do cache do diretório (sem transação: no acerto não pega conexão)
      */
-    public List<Dogwalker> listarDisponiveis() {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CartaoDogwalkerDTO> listarDisponiveis() {
         // Retornar TODOS os dogwalkers - o frontend vai mostrar quem está disponível ou não
         // Isso permite que o cliente veja todos os dogwalkers e seus status
-        return dogwalkerRepository.findAll();
+        return Respostas.dogwalkers(diretorioDogwalkers.listar());
     }
 
     /**
      * Lista APENAS dogwalkers com status DISPONIVEL
      */
-    public List<Dogwalker> listarApenasDisponiveis() {
-        return dogwalkerRepository.findByDisponibilidadeIgnoreCase("DISPONIVEL");
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CartaoDogwalkerDTO> listarApenasDisponiveis() {
+        return diretorioDogwalkers.listar().stream()
+                .filter(dogwalker -> dogwalker.getDisponibilidade() == Disponibilidade.DISPONIVEL)
+                .map(Respostas::dogwalker)
+                .toList();
+    }
+
+    /**
+     * Lista os dogwalkers DISPONIVEL mais próximos do cliente, do mais perto para o mais longe
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<DogwalkerProximoDTO> buscarProximos(Double latitude, Double longitude, Double raioKm, Integer limite) {
+        validarCoordenadas(latitude, longitude);
+        double raio = raioKm != null ? raioKm : RAIO_PADRAO_KM;
+        if (raio <= 0 || raio > RAIO_MAXIMO_KM) {
+            throw new RuntimeException("O raio deve estar entre 0 e " + (int) RAIO_MAXIMO_KM + " km!");
+        }
+        int k = limite != null ? Math.min(Math.max(limite, 1), LIMITE_MAXIMO_PROXIMOS) : LIMITE_PADRAO_PROXIMOS;
+        return diretorioDogwalkers.buscarProximos(latitude, longitude, raio, k);
     }
 
     /**
      * Busca dogwalker por ID
      */
-    public Optional<Dogwalker> buscarPorId(Long id) {
-        return dogwalkerRepository.findById(id);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<CartaoDogwalkerDTO> buscarPorId(Long id) {
+        return diretorioDogwalkers.buscarPorId(id).map(Respostas::dogwalker);
     }
 
     /**
      * Busca dogwalker pelo ID do usuário
      */
-    public Optional<Dogwalker> buscarPorUsuarioId(Long usuarioId) {
-        return dogwalkerRepository.findByUsuarioId(usuarioId);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<CartaoDogwalkerDTO> buscarPorUsuarioId(Long usuarioId) {
+        return diretorioDogwalkers.buscarPorUsuarioId(usuarioId).map(Respostas::dogwalker);
     }
 
     /**
      * Atualiza disponibilidade do dogwalker
      */
-    public Dogwalker atualizarDisponibilidade(Long dogwalkerId, String disponibilidade) {
+    public CartaoDogwalkerDTO atualizarDisponibilidade(Long dogwalkerId, String disponibilidade) {
         Dogwalker dogwalker = dogwalkerRepository.findById(dogwalkerId)
                 .orElseThrow(() -> new RuntimeException("Dogwalker não encontrado!"));
 
-        dogwalker.setDisponibilidade(disponibilidade);
-        return dogwalkerRepository.save(dogwalker);
+        dogwalker.setDisponibilidade(Disponibilidade.de(disponibilidade));
+        return Respostas.dogwalker(salvar(dogwalker));
+    }
+
+    /**
+     * Atualiza a localização do dogwalker (casa ou posição atual)
+     */
+    public CartaoDogwalkerDTO atualizarLocalizacao(Long dogwalkerId, Double latitude, Double longitude) {
+        validarCoordenadas(latitude, longitude);
+        Dogwalker dogwalker = dogwalkerRepository.findById(dogwalkerId)
+                .orElseThrow(() -> new RuntimeException("Dogwalker não encontrado!"));
+
+        dogwalker.setLatitude(latitude);
+        dogwalker.setLongitude(longitude);
+        return Respostas.dogwalker(salvar(dogwalker));
     }
 
     /**
      * Atualiza disponibilidade pelo ID do usuário
      * Se o dogwalker não existir, cria um novo
      */
-    public Dogwalker atualizarDisponibilidadePorUsuarioId(Long usuarioId, String disponibilidade) {
+    public CartaoDogwalkerDTO atualizarDisponibilidadePorUsuarioId(Long usuarioId, String disponibilidade) {
         Optional<Dogwalker> dogwalkerOpt = dogwalkerRepository.findByUsuarioId(usuarioId);
         
         if (dogwalkerOpt.isPresent()) {
             Dogwalker dogwalker = dogwalkerOpt.get();
-            dogwalker.setDisponibilidade(disponibilidade);
-            return dogwalkerRepository.save(dogwalker);
+            dogwalker.setDisponibilidade(Disponibilidade.de(disponibilidade));
+            return Respostas.dogwalker(salvar(dogwalker));
         } else {
             // Criar dogwalker se não existir
             Usuario usuario = usuarioRepository.findById(usuarioId)
@@ -118,13 +177,13 @@ public class DogwalkerService {
             
             Dogwalker novoDogwalker = new Dogwalker();
             novoDogwalker.setUsuario(usuario);
-            novoDogwalker.setDisponibilidade(disponibilidade);
+            novoDogwalker.setDisponibilidade(Disponibilidade.de(disponibilidade));
             novoDogwalker.setPreco30min(25.0);
             novoDogwalker.setPreco60min(40.0);
             novoDogwalker.setPreco90min(55.0);
             novoDogwalker.setAvaliacaoMedia(5.0);
             novoDogwalker.setTotalPasseios(0);
-            return dogwalkerRepository.save(novoDogwalker);
+            return Respostas.dogwalker(salvar(novoDogwalker));
         }
     }
 
@@ -133,5 +192,24 @@ public class DogwalkerService {
      */
     public void deletar(Long id) {
         dogwalkerRepository.deleteById(id);
+        eventPublisher.publishEvent(new DogwalkerAlterado(id));
+    }
+
+    private void validarCoordenadas(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            throw new RuntimeException("Informe latitude e longitude!");
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new RuntimeException("Coordenadas inválidas!");
+        }
+    }
+
+    /**
+     * Salva e avisa o diretório (recarrega este dogwalker depois do commit)
+     */
+    private Dogwalker salvar(Dogwalker dogwalker) {
+        Dogwalker salvo = dogwalkerRepository.save(dogwalker);
+        eventPublisher.publishEvent(new DogwalkerAlterado(salvo.getId()));
+        return salvo;
     }
 }
\ No newline at end of file
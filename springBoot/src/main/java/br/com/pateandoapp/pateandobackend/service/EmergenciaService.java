@@ -0,0 +1,232 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.pateandoapp.pateandobackend.DTO.AlertaEmergenciaDTO;
+import br.com.pateandoapp.pateandobackend.DTO.EventoAgendamentoDTO;
+import br.com.pateandoapp.pateandobackend.model.TipoTransicao;
+import br.com.pateandoapp.pateandobackend.repository.AgendamentoRepository;
+import br.com.pateandoapp.pateandobackend.repository.EmergenciaAberta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Acompanha as emergências em aberto até o dogwalker confirmar.
+ *
+ * O alerta chega ao dogwalker pelo stream SSE assim que a solicitação é gravada.
+ * Se não houver confirmação (confirmarEmergencia) dentro do prazo, ou se o
+ * dogwalker não estiver conectado, o alerta é reenviado a ele, avisado ao
+ * cliente e colocado na fila do operador.
+ *
+ * As emergências em aberto ficam em memória; na subida, as que o banco ainda marca
+ * como ativas (emergencia_ativa) voltam a ser acompanhadas, com um prazo novo para
+ * os apps reconectarem. Contadores, pendentes e a latência alerta → confirmação vão
+ * para as métricas pateando.emergencias.*.
+ */
+@Service
+public class EmergenciaService {
+
+    static final int TAMANHO_FILA_OPERADOR = 500;
+
+    @Value("${pateando.emergencia.prazo-confirmacao-segundos:20}")
+    private long prazoConfirmacaoSegundos;
+
+    @Autowired
+    private EventoAgendamentoHub eventoAgendamentoHub;
+
+    @Autowired
+    private AgendamentoRepository agendamentoRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // Emergências aguardando confirmação, por ID do agendamento
+    private final Map<Long, Alerta> pendentes = new ConcurrentHashMap<>();
+
+    // Emergências escaladas, mais recentes no fim
+    private final ConcurrentLinkedDeque<Alerta> filaOperador = new ConcurrentLinkedDeque<>();
+
+    // Métricas de alerta → confirmação
+    private Counter solicitadas;
+    private Counter confirmadas;
+    private Counter escaladas;
+    private Timer latenciaConfirmacao;
+
+    @PostConstruct
+    void registrarMetricas() {
+        solicitadas = Counter.builder("pateando.emergencias.solicitadas")
+                .description("Emergências solicitadas pelos clientes")
+                .register(registry);
+        confirmadas = Counter.builder("pateando.emergencias.confirmadas")
+                .description("Emergências confirmadas pelo dogwalker")
+                .register(registry);
+        escaladas = Counter.builder("pateando.emergencias.escaladas")
+                .description("Alertas reenviados e colocados na fila do operador")
+                .register(registry);
+        Gauge.builder("pateando.emergencias.pendentes", pendentes, Map::size)
+                .description("Emergências aguardando confirmação do dogwalker")
+                .register(registry);
+        latenciaConfirmacao = Timer.builder("pateando.emergencias.confirmacao")
+                .description("Tempo entre a solicitação da emergência e a confirmação do dogwalker")
+                .register(registry);
+    }
+
+    /**
+     * Retoma as emergências que continuam ativas no banco (o acompanhamento em memória
+     * se perde no reinício). O prazo conta da subida: os apps precisam reconectar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recuperarPendentes() {
+        for (EmergenciaAberta aberta : agendamentoRepository.buscarEmergenciasAbertas(
+                TipoTransicao.EMERGENCIA_SOLICITADA)) {
+            EventoAgendamentoDTO evento = new EventoAgendamentoDTO(
+                    TipoTransicao.EMERGENCIA_SOLICITADA,
+                    aberta.getAgendamentoId(),
+                    aberta.getStatus(),
+                    true,
+                    aberta.getClienteId(),
+                    aberta.getDogwalkerUsuarioId(),
+                    aberta.getSolicitadaEm() != null ? aberta.getSolicitadaEm() : LocalDateTime.now());
+            // Sem latência: o horário da solicitação no relógio deste processo não é conhecido
+            pendentes.putIfAbsent(evento.getAgendamentoId(), new Alerta(evento, System.nanoTime() + prazoNanos(), false));
+        }
+    }
+
+    /**
+     * Acompanha os eventos de agendamento publicados pelo AgendamentoService
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoEvento(EventoAgendamentoDTO evento) {
+        switch (evento.getTipo()) {
+            case EMERGENCIA_SOLICITADA -> registrar(evento);
+            case EMERGENCIA_CONFIRMADA -> confirmar(evento.getAgendamentoId());
+            case FINALIZADO, CANCELADO -> encerrar(evento.getAgendamentoId());
+            default -> { }
+        }
+    }
+
+    /**
+     * Verifica os prazos de confirmação a cada segundo
+     */
+    @Scheduled(fixedRate = 1, timeUnit = TimeUnit.SECONDS)
+    public void verificarPrazos() {
+        long agora = System.nanoTime();
+        for (Alerta alerta : pendentes.values()) {
+            if (agora - alerta.prazoNanos >= 0) {
+                escalar(alerta);
+            }
+        }
+    }
+
+    /**
+     * Emergências escaladas ainda sem confirmação, para o operador
+     */
+    public List<AlertaEmergenciaDTO> listarFilaOperador() {
+        return filaOperador.stream()
+                .map(Alerta::paraDTO)
+                .toList();
+    }
+
+    private void registrar(EventoAgendamentoDTO evento) {
+        Alerta alerta = new Alerta(evento, System.nanoTime() + prazoNanos(), true);
+        if (pendentes.putIfAbsent(evento.getAgendamentoId(), alerta) != null) {
+            return; // já havia uma emergência aberta para este passeio
+        }
+        solicitadas.increment();
+
+        // Dogwalker sem conexão aberta não vai receber o push: escala na hora
+        if (eventoAgendamentoHub.conexoesAbertas(evento.getDogwalkerUsuarioId()) == 0) {
+            escalar(alerta);
+        }
+    }
+
+    private void confirmar(Long agendamentoId) {
+        Alerta alerta = encerrar(agendamentoId);
+        if (alerta == null) return;
+        confirmadas.increment();
+        if (alerta.medirLatencia) {
+            latenciaConfirmacao.record(System.nanoTime() - alerta.solicitadoNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Alerta encerrar(Long agendamentoId) {
+        Alerta alerta = pendentes.remove(agendamentoId);
+        if (alerta != null) {
+            filaOperador.remove(alerta);
+        }
+        return alerta;
+    }
+
+    /**
+     * Reenvia o alerta (o evento vai para o dogwalker e para o cliente),
+     * coloca na fila do operador e renova o prazo
+     */
+    private void escalar(Alerta alerta) {
+        synchronized (alerta) {
+            if (!pendentes.containsKey(alerta.evento.getAgendamentoId())) return;
+            alerta.tentativas++;
+            alerta.prazoNanos = System.nanoTime() + prazoNanos();
+        }
+        escaladas.increment();
+
+        EventoAgendamentoDTO original = alerta.evento;
+        eventoAgendamentoHub.publicar(new EventoAgendamentoDTO(
+                TipoTransicao.EMERGENCIA_ESCALADA,
+                original.getAgendamentoId(),
+                original.getStatus(),
+                true,
+                original.getClienteId(),
+                original.getDogwalkerUsuarioId(),
+                LocalDateTime.now()));
+
+        if (!filaOperador.contains(alerta)) {
+            filaOperador.addLast(alerta);
+            while (filaOperador.size() > TAMANHO_FILA_OPERADOR) {
+                filaOperador.pollFirst();
+            }
+        }
+    }
+
+    private long prazoNanos() {
+        return TimeUnit.SECONDS.toNanos(prazoConfirmacaoSegundos);
+    }
+
+    /**
+     * Uma emergência em aberto
+     */
+    private static class Alerta {
+        private final EventoAgendamentoDTO evento;
+        private final long solicitadoNanos = System.nanoTime();
+        // false nas recuperadas na subida, solicitadas antes deste processo
+        private final boolean medirLatencia;
+        private volatile long prazoNanos;
+        private int tentativas = 0;
+
+        Alerta(EventoAgendamentoDTO evento, long prazoNanos, boolean medirLatencia) {
+            this.evento = evento;
+            this.prazoNanos = prazoNanos;
+            this.medirLatencia = medirLatencia;
+        }
+
+        AlertaEmergenciaDTO paraDTO() {
+            return new AlertaEmergenciaDTO(evento.getAgendamentoId(), evento.getClienteId(),
+                    evento.getDogwalkerUsuarioId(), evento.getOcorridoEm(), tentativas);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import br.com.pateandoapp.pateandobackend.DTO.EventoAgendamentoDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hub em memória que distribui os eventos de agendamento para as conexões SSE
+ * dos usuários envolvidos (cliente e dogwalker).
+ *
+ * A publicação nunca espera por rede: cada assinante tem uma fila limitada,
+ * esvaziada por uma tarefa no executor próprio de envio (um cliente lento não
+ * ocupa as threads das demais tarefas assíncronas). Se a fila enche, a conexão
+ * é encerrada e o app reconecta com Last-Event-ID, recebendo o que perdeu do
+ * histórico recente.
+ *
+ * Os ids enviados são "época-sequência": a época muda a cada subida do
+ * servidor, e um Last-Event-ID de outra época sempre resulta em RESINCRONIZAR.
+ */
+@Service
+public class EventoAgendamentoHub {
+
+    static final int BUFFER_POR_ASSINANTE = 64;
+    static final int TAMANHO_HISTORICO = 1024;
+    static final long TIMEOUT_CONEXAO_MS = TimeUnit.MINUTES.toMillis(30);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean threadsVirtuais;
+
+    // Threads de plataforma para os envios quando as threads virtuais estão desligadas
+    @Value("${pateando.eventos.threads-envio:8}")
+    private int threadsEnvio;
+
+    private ExecutorService executor;
+
+    // Identifica esta subida do servidor; a sequência recomeça a cada uma
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Long, Set<Assinatura>> assinantes = new ConcurrentHashMap<>();
+
+    // Últimos eventos publicados, para reenvio na reconexão (protegido pelo próprio lock)
+    private final Deque<EventoAgendamentoDTO> historico = new ArrayDeque<>(TAMANHO_HISTORICO);
+    private long sequencia = 0;
+
+    @PostConstruct
+    public void iniciarEnvio() {
+        executor = threadsVirtuais
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-envio-", 0).factory())
+                : Executors.newFixedThreadPool(threadsEnvio, Thread.ofPlatform().name("sse-envio-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    public void encerrarEnvio() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Abre a conexão SSE de um usuário. Se ultimoEventoId vier (header Last-Event-ID),
+     * reenvia os eventos do usuário publicados depois dele.
+     */
+    public SseEmitter assinar(Long usuarioId, String ultimoEventoId) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_CONEXAO_MS);
+        Assinatura assinatura = new Assinatura(usuarioId, emitter);
+        emitter.onCompletion(() -> remover(assinatura));
+        emitter.onTimeout(() -> remover(assinatura));
+        emitter.onError(e -> remover(assinatura));
+
+        synchronized (historico) {
+            assinantes.computeIfAbsent(usuarioId, id -> ConcurrentHashMap.newKeySet()).add(assinatura);
+            if (ultimoEventoId != null) {
+                reenviar(assinatura, ultimoEventoId);
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Recebe os eventos publicados pelo AgendamentoService. Só dispara depois do
+     * commit, para o app nunca ver um estado que foi desfeito.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publicar(EventoAgendamentoDTO evento) {
+        synchronized (historico) {
+            evento.setId(++sequencia);
+            if (historico.size() == TAMANHO_HISTORICO) {
+                historico.removeFirst();
+            }
+            historico.addLast(evento);
+
+            entregar(evento.getClienteId(), evento);
+            if (!evento.getClienteId().equals(evento.getDogwalkerUsuarioId())) {
+                entregar(evento.getDogwalkerUsuarioId(), evento);
+            }
+        }
+    }
+
+    /**
+     * Heartbeat: mantém a conexão viva através de proxies e detecta conexões mortas
+     */
+    @Scheduled(fixedRate = 15, timeUnit = TimeUnit.SECONDS)
+    public void heartbeat() {
+        for (Set<Assinatura> doUsuario : assinantes.values()) {
+            for (Assinatura assinatura : doUsuario) {
+                assinatura.enfileirar(SseEmitter.event().comment("ping"), false);
+            }
+        }
+    }
+
+    // Quantidade de conexões abertas de um usuário
+    public int conexoesAbertas(Long usuarioId) {
+        Set<Assinatura> doUsuario = assinantes.get(usuarioId);
+        return doUsuario == null ? 0 : doUsuario.size();
+    }
+
+    private void entregar(Long usuarioId, EventoAgendamentoDTO evento) {
+        if (usuarioId == null) return;
+        Set<Assinatura> doUsuario = assinantes.get(usuarioId);
+        if (doUsuario == null) return;
+        for (Assinatura assinatura : doUsuario) {
+            assinatura.enfileirar(paraSse(evento), true);
+        }
+    }
+
+    // Deve ser chamado com o lock do histórico
+    private void reenviar(Assinatura assinatura, String ultimoEventoId) {
+        Long ultimo = sequenciaDestaEpoca(ultimoEventoId);
+        if (ultimo == null || ultimo > sequencia) {
+            // Id de outra subida do servidor (ou ilegível): a sequência dele não
+            // se compara com a atual, o app deve recarregar as listas
+            assinatura.enfileirar(SseEmitter.event().name("RESINCRONIZAR").data(""), true);
+            return;
+        }
+        EventoAgendamentoDTO maisAntigo = historico.peekFirst();
+        if (maisAntigo != null && maisAntigo.getId() > ultimo + 1) {
+            // O histórico não cobre tudo que foi perdido
+            assinatura.enfileirar(SseEmitter.event().name("RESINCRONIZAR").data(""), true);
+        }
+        List<EventoAgendamentoDTO> perdidos = historico.stream()
+                .filter(e -> e.getId() > ultimo && e.envolve(assinatura.usuarioId))
+                .toList();
+        for (EventoAgendamentoDTO evento : perdidos) {
+            assinatura.enfileirar(paraSse(evento), true);
+        }
+    }
+
+    // Sequência de um id "época-sequência" desta subida; null se for de outra
+    private Long sequenciaDestaEpoca(String ultimoEventoId) {
+        int separador = ultimoEventoId.lastIndexOf('-');
+        if (separador < 0 || !ultimoEventoId.substring(0, separador).equals(epoca)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(ultimoEventoId.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private SseEventBuilder paraSse(EventoAgendamentoDTO evento) {
+        return SseEmitter.event()
+                .id(epoca + "-" + evento.getId())
+                .name(evento.getTipo().name())
+                .data(evento);
+    }
+
+    private void remover(Assinatura assinatura) {
+        assinantes.computeIfPresent(assinatura.usuarioId, (id, doUsuario) -> {
+            doUsuario.remove(assinatura);
+            return doUsuario.isEmpty() ? null : doUsuario;
+        });
+    }
+
+    /**
+     * Uma conexão SSE aberta, com sua fila de envio limitada
+     */
+    private class Assinatura {
+        private final Long usuarioId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<SseEventBuilder> fila = new ArrayBlockingQueue<>(BUFFER_POR_ASSINANTE);
+        private final AtomicBoolean drenando = new AtomicBoolean(false);
+        private volatile boolean encerrada = false;
+
+        Assinatura(Long usuarioId, SseEmitter emitter) {
+            this.usuarioId = usuarioId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Enfileira sem bloquear. Se a fila estiver cheia, eventos obrigatórios
+         * encerram a conexão (o app reconecta e recupera pelo histórico);
+         * heartbeats são simplesmente descartados.
+         */
+        void enfileirar(SseEventBuilder evento, boolean obrigatorio) {
+            if (encerrada) return;
+            if (!fila.offer(evento)) {
+                if (obrigatorio) {
+                    encerrar();
+                }
+                return;
+            }
+            if (drenando.compareAndSet(false, true)) {
+                executor.execute(this::drenar);
+            }
+        }
+
+        private void drenar() {
+            do {
+                SseEventBuilder evento;
+                while (!encerrada && (evento = fila.poll()) != null) {
+                    try {
+                        emitter.send(evento);
+                    } catch (IOException | IllegalStateException e) {
+                        encerrar();
+                    }
+                }
+                drenando.set(false);
+                // Reavalia: algo pode ter entrado na fila depois do último poll
+            } while (!encerrada && !fila.isEmpty() && drenando.compareAndSet(false, true));
+        }
+
+        private void encerrar() {
+            if (encerrada) return;
+            encerrada = true;
+            fila.clear();
+            remover(this);
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.pateandoapp.pateandobackend.DTO.GanhosDTO;
+import br.com.pateandoapp.pateandobackend.DTO.RelatorioGanhosDTO;
+import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.GanhosDogwalkerDia;
+import br.com.pateandoapp.pateandobackend.repository.GanhosDogwalkerDiaRepository;
+
+/**
+ * Ganhos e atividade dos dogwalkers (passeios, minutos, receita e pets) mantidos por dia:
+ * cada passeio concluído soma na linha do dia do passeio, e o relatório de um intervalo
+ * lê no máximo uma linha por dia, agrupando por semana ou mês em memória.
+ */
+@Service
+@Transactional
+public class GanhosDogwalkerService {
+
+    // Dias sem parâmetros: os últimos 30, até hoje
+    private static final int DIAS_PADRAO = 30;
+
+    // Intervalo máximo de um relatório (cerca de 3 anos)
+    private static final int MAXIMO_DIAS = 3 * 366;
+
+    public enum Agrupamento { DIA, SEMANA, MES }
+
+    @Autowired
+    private GanhosDogwalkerDiaRepository ganhosRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Soma um passeio concluído nos ganhos do dia, com o preço combinado no agendamento.
+     * Deve ser chamado uma única vez por agendamento, na transição para CONCLUIDO.
+     */
+    public void registrarPasseioConcluido(Agendamento agendamento) {
+        Long dogwalkerId = agendamento.getDogwalker().getId();
+        LocalDate dia = agendamento.getDataHora().toLocalDate();
+        double receita = agendamento.getPreco() != null ? agendamento.getPreco() : 0;
+        int pets = agendamento.getPets().size();
+
+        if (ganhosRepository.somarPasseio(dogwalkerId, dia, agendamento.getDuracao(), receita, pets) == 0) {
+            // Primeiro passeio do dia. Os passeios de um dogwalker não se sobrepõem, então
+            // dois "primeiros" ao mesmo tempo são raros; se acontecer, a chave primária barra
+            // o segundo, que é desfeito inteiro e pode ser repetido
+            entityManager.persist(new GanhosDogwalkerDia(dogwalkerId, dia, 1, agendamento.getDuracao(), receita, pets));
+        }
+    }
+
+    /**
+     * Relatório de ganhos do dogwalker entre de e ate (inclusive), por dia, semana
+     * (começando na segunda) ou mês. Sem datas: os últimos 30 dias, por dia.
+     */
+    @Transactional(readOnly = true)
+    public RelatorioGanhosDTO relatorio(Long dogwalkerId, LocalDate de, LocalDate ate, String agrupamento) {
+        LocalDate fim = ate != null ? ate : LocalDate.now();
+        LocalDate inicio = de != null ? de : fim.minusDays(DIAS_PADRAO - 1);
+        if (inicio.isAfter(fim)) {
+            throw new RuntimeException("A data inicial deve ser anterior à data final!");
+        }
+        if (ChronoUnit.DAYS.between(inicio, fim) >= MAXIMO_DIAS) {
+            throw new RuntimeException("O intervalo máximo do relatório é de 3 anos!");
+        }
+        Agrupamento modo = agrupamento(agrupamento);
+
+        GanhosDTO total = new GanhosDTO();
+        Map<LocalDate, GanhosDTO> periodos = new TreeMap<>();
+        for (GanhosDogwalkerDia dia : ganhosRepository.findByDogwalkerIdAndDiaBetweenOrderByDia(dogwalkerId, inicio, fim)) {
+            somar(periodos.computeIfAbsent(inicioDoPeriodo(dia.getDia(), modo), GanhosDTO::new), dia);
+            somar(total, dia);
+        }
+        return new RelatorioGanhosDTO(inicio, fim, modo.name(), total, new ArrayList<>(periodos.values()));
+    }
+
+    private static Agrupamento agrupamento(String agrupamento) {
+        if (agrupamento == null || agrupamento.isBlank()) {
+            return Agrupamento.DIA;
+        }
+        try {
+            return Agrupamento.valueOf(agrupamento.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Agrupamento inválido! Use DIA, SEMANA ou MES.");
+        }
+    }
+
+    private static LocalDate inicioDoPeriodo(LocalDate dia, Agrupamento modo) {
+        return switch (modo) {
+            case DIA -> dia;
+            case SEMANA -> dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MES -> dia.withDayOfMonth(1);
+        };
+    }
+
+    private static void somar(GanhosDTO ganhos, GanhosDogwalkerDia dia) {
+        ganhos.setPasseios(ganhos.getPasseios() + dia.getPasseios());
+        ganhos.setMinutos(ganhos.getMinutos() + dia.getMinutos());
+        // Centavos: a soma em double acumula resíduos
+        ganhos.setReceita(Math.round((ganhos.getReceita() + dia.getReceita()) * 100) / 100.0);
+        ganhos.setPets(ganhos.getPets() + dia.getPets());
+    }
+}
@@ -0,0 +1,440 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import br.com.pateandoapp.pateandobackend.model.Disponibilidade;
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+
+/**
+ * Massa de dados sintética para testes de carga (perfil "carga").
+ *
+ * Num banco vazio, gera clientes, dogwalkers, pets, agendamentos e avaliações nos
+ * volumes de pateando.carga.*. Tudo sai de geradores aleatórios com semente fixa
+ * (um por tabela), então a mesma configuração gera sempre os mesmos dados.
+ *
+ * Distribuição:
+ * - ids 1..(usuarios - dogwalkers) são clientes; os seguintes, os usuários dos dogwalkers
+ * - todo cliente tem ao menos um pet; os demais pets caem em clientes sorteados
+ * - 20% dos clientes fazem 60% dos passeios, e alguns dogwalkers têm mais agenda que outros
+ * - cada dogwalker tem uma linha do tempo sem sobreposição (6h às 21h), de dias-historico
+ *   para trás até dias-futuro para a frente; o status vem da data em relação ao meio-dia
+ *   do dia da geração (passado: concluído, cancelado ou rejeitado; futuro: pendente,
+ *   aceito, cancelado ou rejeitado; no horário: em andamento)
+ * - parte dos concluídos tem avaliação
+ * - cada agendamento leva o preço da tabela do dogwalker, e os concluídos entram nos
+ *   ganhos diários (como a carga inicial de db/migration/comum/V11)
+ * - o histórico de transições recebe uma linha por agendamento, para o status atual
+ *   (como a carga inicial de db/migration/comum/V9)
+ *
+ * Os inserts vão direto por JDBC, em lotes e com ids explícitos (sem entidades nem
+ * eventos). Os resumos que os serviços mantêm no dogwalker (passeios e avaliações) são
+ * calculados aqui; as estatísticas dos clientes e o diretório de dogwalkers são montados
+ * na subida (ApplicationReadyEvent), que acontece depois deste gerador.
+ */
+@Service
+@Profile("carga")
+public class GeradorDadosSinteticos implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorDadosSinteticos.class);
+
+    private static final int LOTE = 1000;
+
+    // Janela diária dos passeios: das 6h, 15 horas úteis por dia
+    private static final int INICIO_DIA_MINUTOS = 6 * 60;
+    private static final int MINUTOS_UTEIS_DIA = 15 * 60;
+    private static final int DURACAO_MAXIMA = 90;
+
+    private static final String[] NOMES = {"Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela",
+            "Henrique", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael",
+            "Sofia", "Thiago", "Vanessa", "Wagner"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira",
+            "Costa", "Rodrigues", "Almeida", "Nascimento", "Carvalho", "Gomes", "Martins", "Ribeiro"};
+    private static final String[] NOMES_PETS = {"Thor", "Mel", "Bob", "Luna", "Max", "Nina", "Fred", "Belinha",
+            "Toby", "Lola", "Pipoca", "Bidu", "Amora", "Zeus", "Pandora", "Paçoca"};
+    private static final String[] RACAS = {"SRD", "SRD", "SRD", "Shih Tzu", "Poodle", "Labrador", "Golden Retriever",
+            "Yorkshire", "Lhasa Apso", "Bulldog Francês", "Spitz Alemão", "Border Collie", "Pinscher"};
+    private static final String[] DESCRICOES = {
+            "Passeios tranquilos no parque, experiência com cães idosos.",
+            "Adoro cães agitados! Passeios longos e brincadeiras.",
+            "Atendo cães de todos os portes, com fotos durante o passeio.",
+            "Estudante de veterinária, cuidado com pets com necessidades especiais."};
+    private static final String[] OBSERVACOES = {"Portão azul, tocar o interfone", "Puxa bastante na guia",
+            "Não deixar chegar perto de gatos", "Levar água", "Chave com o porteiro"};
+    private static final String[] COMENTARIOS = {"Excelente, super atencioso!", "Meu cachorro voltou cansado e feliz.",
+            "Chegou um pouco atrasado.", "Mandou fotos do passeio todo.", "Recomendo!"};
+
+    // Centros das cidades (latitude, longitude) onde os dogwalkers moram
+    private static final double[][] CIDADES = {
+            {-23.5505, -46.6333}, {-22.9068, -43.1729}, {-19.9167, -43.9345}, {-25.4284, -49.2733}, {-30.0346, -51.2177}};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${pateando.carga.semente:42}")
+    private long semente;
+
+    @Value("${pateando.carga.usuarios:100000}")
+    private int usuarios;
+
+    @Value("${pateando.carga.dogwalkers:10000}")
+    private int dogwalkers;
+
+    @Value("${pateando.carga.pets:300000}")
+    private int pets;
+
+    @Value("${pateando.carga.agendamentos:3000000}")
+    private int agendamentos;
+
+    @Value("${pateando.carga.dias-historico:730}")
+    private int diasHistorico;
+
+    @Value("${pateando.carga.dias-futuro:30}")
+    private int diasFuturo;
+
+    @Value("${pateando.carga.senha:carga123}")
+    private String senha;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existentes = jdbcTemplate.queryForObject("select count(*) from usuarios", Integer.class);
+        if (existentes != null && existentes > 0) {
+            log.info("Banco já tem {} usuários; massa sintética não gerada", existentes);
+            return;
+        }
+        if (dogwalkers <= 0 || dogwalkers >= usuarios || pets <= 0) {
+            throw new IllegalStateException(
+                    "pateando.carga: dogwalkers precisa estar entre 1 e usuarios - 1, e pets ser positivo");
+        }
+
+        long inicio = System.nanoTime();
+        int clientes = usuarios - dogwalkers;
+        log.info("Gerando massa sintética: {} clientes, {} dogwalkers, {} pets, {} agendamentos",
+                clientes, dogwalkers, pets, agendamentos);
+
+        gerarUsuarios(clientes);
+        gerarDogwalkers(clientes);
+        int[] primeiroPet = gerarPets(clientes);
+        int avaliacoes = gerarAgendamentos(primeiroPet);
+        gerarGanhos();
+        gerarHistorico();
+        reiniciarSequencias(avaliacoes);
+
+        log.info("Massa sintética gerada em {} s ({} avaliações)", (System.nanoTime() - inicio) / 1_000_000_000, avaliacoes);
+    }
+
+    private void gerarUsuarios(int clientes) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        List<Object[]> lote = new ArrayList<>(LOTE);
+        for (long id = 1; id <= usuarios; id++) {
+            boolean cliente = id <= clientes;
+            String email = cliente ? "cliente" + id + "@carga.pateando.app" : "dogwalker" + (id - clientes) + "@carga.pateando.app";
+            lote.add(new Object[] {id, sortear(aleatorio, NOMES) + " " + sortear(aleatorio, SOBRENOMES), email,
+                    String.format("119%08d", id), senha, cliente ? "CLIENTE" : "DOGWALKER"});
+            if (lote.size() == LOTE) {
+                inserir("insert into usuarios (id, nome, email, telefone, senha, tipo) values (?, ?, ?, ?, ?, ?)", lote);
+            }
+        }
+        inserir("insert into usuarios (id, nome, email, telefone, senha, tipo) values (?, ?, ?, ?, ?, ?)", lote);
+    }
+
+    private void gerarDogwalkers(int clientes) {
+        SplittableRandom aleatorio = new SplittableRandom(semente + 1);
+        String sql = "insert into dogwalkers (id, usuario_id, disponibilidade, preco_30min, preco_60min, preco_90min,"
+                + " avaliacao_media, total_passeios, descricao, foto_url, latitude, longitude)"
+                + " values (?, ?, ?, ?, ?, ?, 5.0, 0, ?, null, ?, ?)";
+        List<Object[]> lote = new ArrayList<>(LOTE);
+        for (long id = 1; id <= dogwalkers; id++) {
+            double sorteio = aleatorio.nextDouble();
+            Disponibilidade disponibilidade = sorteio < 0.7 ? Disponibilidade.DISPONIVEL
+                    : sorteio < 0.9 ? Disponibilidade.INDISPONIVEL : Disponibilidade.OCUPADO;
+            // Preços em múltiplos de 5, em torno dos padrões (25 / 40 / 55)
+            double ajuste = 5.0 * (aleatorio.nextInt(5) - 2);
+            double[] cidade = CIDADES[aleatorio.nextInt(CIDADES.length)];
+            lote.add(new Object[] {id, clientes + id, disponibilidade.name(),
+                    Math.max(15.0, 25.0 + ajuste), Math.max(25.0, 40.0 + ajuste), Math.max(35.0, 55.0 + ajuste),
+                    sortear(aleatorio, DESCRICOES),
+                    cidade[0] + (aleatorio.nextDouble() - 0.5) * 0.3, cidade[1] + (aleatorio.nextDouble() - 0.5) * 0.3});
+            if (lote.size() == LOTE) {
+                inserir(sql, lote);
+            }
+        }
+        inserir(sql, lote);
+    }
+
+    /**
+     * Pets contíguos por dono: os do cliente c (base 0) têm ids primeiroPet[c] + 1 .. primeiroPet[c + 1].
+     * Com menos pets que clientes, só os primeiros clientes têm pet (e só eles agendam).
+     */
+    private int[] gerarPets(int clientes) {
+        SplittableRandom aleatorio = new SplittableRandom(semente + 2);
+        int donos = Math.min(clientes, pets);
+        int[] quantidade = new int[donos];
+        Arrays.fill(quantidade, 1);
+        for (int extra = donos; extra < pets; extra++) {
+            quantidade[aleatorio.nextInt(donos)]++;
+        }
+        int[] primeiroPet = new int[donos + 1];
+        for (int c = 0; c < donos; c++) {
+            primeiroPet[c + 1] = primeiroPet[c] + quantidade[c];
+        }
+
+        String sql = "insert into pets (id, nome, raca, idade, necessidades_especiais, observacoes, usuario_id)"
+                + " values (?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> lote = new ArrayList<>(LOTE);
+        for (int c = 0; c < donos; c++) {
+            for (long id = primeiroPet[c] + 1; id <= primeiroPet[c + 1]; id++) {
+                lote.add(new Object[] {id, sortear(aleatorio, NOMES_PETS), sortear(aleatorio, RACAS), 1 + aleatorio.nextInt(15),
+                        aleatorio.nextInt(20) == 0 ? "Medicação diária" : null,
+                        aleatorio.nextInt(5) == 0 ? sortear(aleatorio, OBSERVACOES) : null,
+                        c + 1L});
+                if (lote.size() == LOTE) {
+                    inserir(sql, lote);
+                }
+            }
+        }
+        inserir(sql, lote);
+        return primeiroPet;
+    }
+
+    /**
+     * Agendamentos (com pets e avaliações), dogwalker por dogwalker, e os resumos dos dogwalkers.
+     * Devolve quantas avaliações foram geradas.
+     */
+    private int gerarAgendamentos(int[] primeiroPet) {
+        SplittableRandom aleatorio = new SplittableRandom(semente + 3);
+        int donos = primeiroPet.length - 1;
+        LocalDateTime inicioJanela = LocalDate.now().minusDays(diasHistorico).atStartOfDay();
+        LocalDateTime referencia = LocalDate.now().atTime(12, 0);
+        long janelaUtil = (long) (diasHistorico + diasFuturo) * MINUTOS_UTEIS_DIA;
+
+        // Agenda de cada dogwalker proporcional a um peso sorteado (0,2 a 1,8); o resto da
+        // divisão vai um a um para os primeiros
+        double[] pesos = new double[dogwalkers];
+        double somaPesos = 0;
+        for (int d = 0; d < dogwalkers; d++) {
+            pesos[d] = 0.2 + 1.6 * aleatorio.nextDouble();
+            somaPesos += pesos[d];
+        }
+        int[] quantidades = new int[dogwalkers];
+        long distribuidos = 0;
+        for (int d = 0; d < dogwalkers; d++) {
+            quantidades[d] = (int) (agendamentos * pesos[d] / somaPesos);
+            distribuidos += quantidades[d];
+        }
+        for (int d = 0; distribuidos < agendamentos; d = (d + 1) % dogwalkers, distribuidos++) {
+            quantidades[d]++;
+        }
+
+        String sqlAgendamento = "insert into agendamentos (id, cliente_id, dogwalker_id, data_hora, duracao, rota,"
+                + " observacoes, status, emergencia_ativa, versao) values (?, ?, ?, ?, ?, null, ?, ?, false, 0)";
+        String sqlPet = "insert into agendamento_pets (agendamento_id, pet_id) values (?, ?)";
+        String sqlAvaliacao = "insert into avaliacoes (id, agendamento_id, cliente_id, dogwalker_id, nota, comentario, criada_em)"
+                + " values (?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> loteAgendamentos = new ArrayList<>(LOTE);
+        List<Object[]> lotePets = new ArrayList<>(2 * LOTE);
+        List<Object[]> loteAvaliacoes = new ArrayList<>(LOTE);
+        List<Object[]> resumos = new ArrayList<>(LOTE);
+
+        long agendamentoId = 0;
+        int avaliacaoId = 0;
+        for (int d = 0; d < dogwalkers; d++) {
+            int quantidade = quantidades[d];
+            // Cada passeio tem seu intervalo [j * espaco, (j + 1) * espaco) na linha do tempo útil
+            // (múltiplo de 5 minutos, como os horários)
+            long espaco = Math.max(DURACAO_MAXIMA + 10, quantidade == 0 ? 0 : janelaUtil / quantidade / 5 * 5);
+
+            int passeios = 0;
+            int[] notas = new int[6];
+            for (int j = 0; j < quantidade; j++) {
+                int duracao = sortearDuracao(aleatorio);
+                long minutoUtil = j * espaco + aleatorio.nextLong(espaco - DURACAO_MAXIMA + 1) / 5 * 5;
+                LocalDateTime dataHora = inicioJanela.plusDays(minutoUtil / MINUTOS_UTEIS_DIA)
+                        .plusMinutes(INICIO_DIA_MINUTOS + minutoUtil % MINUTOS_UTEIS_DIA);
+                StatusAgendamento status = sortearStatus(aleatorio, dataHora, duracao, referencia);
+
+                // Os clientes frequentes (os primeiros 20%) fazem 60% dos passeios
+                int frequentes = Math.max(1, donos / 5);
+                int cliente = aleatorio.nextInt(10) < 6 || frequentes == donos
+                        ? aleatorio.nextInt(frequentes)
+                        : frequentes + aleatorio.nextInt(donos - frequentes);
+                long id = ++agendamentoId;
+                loteAgendamentos.add(new Object[] {id, cliente + 1L, d + 1L, dataHora, duracao,
+                        aleatorio.nextInt(5) == 0 ? sortear(aleatorio, OBSERVACOES) : null, status.name()});
+
+                int petsDoCliente = primeiroPet[cliente + 1] - primeiroPet[cliente];
+                int primeiro = aleatorio.nextInt(petsDoCliente);
+                lotePets.add(new Object[] {id, primeiroPet[cliente] + primeiro + 1L});
+                if (petsDoCliente > 1 && aleatorio.nextInt(4) == 0) {
+                    lotePets.add(new Object[] {id, primeiroPet[cliente] + (primeiro + 1) % petsDoCliente + 1L});
+                }
+
+                if (status == StatusAgendamento.CONCLUIDO) {
+                    passeios++;
+                    if (aleatorio.nextInt(10) < 4) {
+                        int nota = sortearNota(aleatorio);
+                        notas[nota]++;
+                        loteAvaliacoes.add(new Object[] {++avaliacaoId, id, cliente + 1L, d + 1L, nota,
+                                aleatorio.nextInt(10) < 3 ? sortear(aleatorio, COMENTARIOS) : null,
+                                dataHora.plusMinutes(duracao + 30 + aleatorio.nextInt(24 * 60))});
+                    }
+                }
+
+                if (loteAgendamentos.size() >= LOTE) {
+                    inserir(sqlAgendamento, loteAgendamentos);
+                    inserir(sqlPet, lotePets);
+                    inserir(sqlAvaliacao, loteAvaliacoes);
+                }
+            }
+
+            int totalNotas = notas[1] + notas[2] + notas[3] + notas[4] + notas[5];
+            int soma = notas[1] + 2 * notas[2] + 3 * notas[3] + 4 * notas[4] + 5 * notas[5];
+            resumos.add(new Object[] {passeios, totalNotas, soma, notas[1], notas[2], notas[3], notas[4], notas[5],
+                    totalNotas == 0 ? 5.0 : (double) soma / totalNotas, d + 1L});
+            if (resumos.size() == LOTE) {
+                atualizarResumos(resumos);
+            }
+            if ((d + 1) % 1000 == 0) {
+                log.info("Agendamentos: {} dogwalkers, {} passeios", d + 1, agendamentoId);
+            }
+        }
+        inserir(sqlAgendamento, loteAgendamentos);
+        inserir(sqlPet, lotePets);
+        inserir(sqlAvaliacao, loteAvaliacoes);
+        atualizarResumos(resumos);
+        return avaliacaoId;
+    }
+
+    private void atualizarResumos(List<Object[]> resumos) {
+        inserir("update dogwalkers set total_passeios = ?, total_avaliacoes = ?, soma_avaliacoes = ?,"
+                + " avaliacoes_1 = ?, avaliacoes_2 = ?, avaliacoes_3 = ?, avaliacoes_4 = ?, avaliacoes_5 = ?,"
+                + " avaliacao_media = ? where id = ?", resumos);
+    }
+
+    /**
+     * Preço combinado de cada agendamento (tabela do dogwalker) e os ganhos diários dos passeios
+     * concluídos, com um UPDATE e um INSERT ... SELECT (mesmas regras da V11)
+     */
+    private void gerarGanhos() {
+        jdbcTemplate.update("""
+                update agendamentos a set preco = (
+                    select case
+                               when a.duracao <= 30 then d.preco_30min
+                               when a.duracao <= 60 then d.preco_60min
+                               else d.preco_90min
+                           end
+                    from dogwalkers d
+                    where d.id = a.dogwalker_id)
+                """);
+        jdbcTemplate.update("""
+                insert into ganhos_dogwalker_dia (dogwalker_id, dia, passeios, minutos, receita, pets)
+                select a.dogwalker_id, cast(a.data_hora as date), count(*), sum(a.duracao),
+                       coalesce(sum(a.preco), 0), coalesce(sum(p.pets), 0)
+                from agendamentos a
+                left join (select agendamento_id, count(*) as pets
+                           from agendamento_pets
+                           group by agendamento_id) p on p.agendamento_id = a.id
+                where a.status = 'CONCLUIDO'
+                group by a.dogwalker_id, cast(a.data_hora as date)
+                """);
+    }
+
+    /**
+     * Uma transição por agendamento gerado, com um único INSERT ... SELECT (mesma regra da V9)
+     */
+    private void gerarHistorico() {
+        jdbcTemplate.update("""
+                insert into transicoes_agendamento
+                    (id, agendamento_id, tipo, status, cliente_id, dogwalker_id, duracao, autor_id, ocorrido_em)
+                select row_number() over (order by id), id,
+                       case status
+                           when 'PENDENTE' then 'CRIADO'
+                           when 'EM_ANDAMENTO' then 'INICIADO'
+                           when 'CONCLUIDO' then 'FINALIZADO'
+                           else status
+                       end,
+                       status, cliente_id, dogwalker_id, duracao, null, data_hora
+                from agendamentos
+                """);
+    }
+
+    /**
+     * Próximos ids depois dos gerados: identity das tabelas e as sequências pooled dos agendamentos
+     * e do histórico (50 acima do maior id, como em db/migration/{vendor}/V8 e V10)
+     */
+    private void reiniciarSequencias(int avaliacoes) {
+        String banco = jdbcTemplate.execute((ConnectionCallback<String>) conexao -> conexao.getMetaData().getDatabaseProductName());
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(banco);
+        String[] tabelas = {"usuarios", "dogwalkers", "pets", "avaliacoes"};
+        long[] ultimos = {usuarios, dogwalkers, pets, avaliacoes};
+        for (int i = 0; i < tabelas.length; i++) {
+            if (postgres) {
+                // is_called = false com 1: tabela vazia (nenhuma avaliação gerada) começa do 1
+                jdbcTemplate.queryForObject("select setval(pg_get_serial_sequence(?, 'id'), ?, ?)", Long.class,
+                        tabelas[i], Math.max(ultimos[i], 1), ultimos[i] > 0);
+            } else {
+                jdbcTemplate.execute("alter table " + tabelas[i] + " alter column id restart with " + (ultimos[i] + 1));
+            }
+        }
+        // Uma transição por agendamento: as duas sequências param no mesmo ponto
+        for (String sequencia : new String[] {"agendamentos_seq", "transicoes_agendamento_seq"}) {
+            if (postgres) {
+                jdbcTemplate.queryForObject("select setval(?, ?, false)", Long.class, sequencia, agendamentos + 50L);
+            } else {
+                jdbcTemplate.execute("alter sequence " + sequencia + " restart with " + (agendamentos + 50L));
+            }
+        }
+    }
+
+    private void inserir(String sql, List<Object[]> lote) {
+        if (!lote.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, lote);
+            lote.clear();
+        }
+    }
+
+    private static String sortear(SplittableRandom aleatorio, String[] opcoes) {
+        return opcoes[aleatorio.nextInt(opcoes.length)];
+    }
+
+    private static int sortearDuracao(SplittableRandom aleatorio) {
+        int sorteio = aleatorio.nextInt(10);
+        return sorteio < 3 ? 30 : sorteio < 8 ? 60 : 90;
+    }
+
+    // Notas concentradas no alto, como nos apps de serviço
+    private static int sortearNota(SplittableRandom aleatorio) {
+        int sorteio = aleatorio.nextInt(100);
+        return sorteio < 55 ? 5 : sorteio < 80 ? 4 : sorteio < 90 ? 3 : sorteio < 95 ? 2 : 1;
+    }
+
+    private static StatusAgendamento sortearStatus(SplittableRandom aleatorio, LocalDateTime dataHora, int duracao,
+            LocalDateTime referencia) {
+        double sorteio = aleatorio.nextDouble();
+        if (!dataHora.plusMinutes(duracao).isAfter(referencia)) {
+            return sorteio < 0.85 ? StatusAgendamento.CONCLUIDO
+                    : sorteio < 0.95 ? StatusAgendamento.CANCELADO : StatusAgendamento.REJEITADO;
+        }
+        if (!dataHora.isAfter(referencia)) {
+            return StatusAgendamento.EM_ANDAMENTO;
+        }
+        return sorteio < 0.45 ? StatusAgendamento.PENDENTE
+                : sorteio < 0.90 ? StatusAgendamento.ACEITO
+                : sorteio < 0.97 ? StatusAgendamento.CANCELADO : StatusAgendamento.REJEITADO;
+    }
+}
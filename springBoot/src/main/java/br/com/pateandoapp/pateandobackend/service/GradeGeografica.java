@@ -0,0 +1,166 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import br.com.pateandoapp.pateandobackend.DTO.DogwalkerProximoDTO;
+import br.com.pateandoapp.pateandobackend.model.Disponibilidade;
+import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+
+/**
+ * Índice espacial em memória dos dogwalkers DISPONIVEL com localização.
+ *
+ * O mapa é dividido em células de 0,01° (~1 km). A busca percorre as células em
+ * anéis a partir da célula do cliente e para assim que os k melhores já estão mais
+ * perto do que qualquer ponto do próximo anel, então o custo depende de quantos
+ * dogwalkers há por perto, não do total.
+ *
+ * Cada grade é montada por uma única thread (a recarga do DiretorioDogwalkers) e
+ * publicada junto com o diretório; depois de publicada não muda mais. Uma recarga
+ * parcial altera uma cópia, então a busca nunca vê uma grade pela metade.
+ */
+final class GradeGeografica {
+
+    static final double CELULA_GRAUS = 0.01;
+    static final double KM_POR_GRAU = 111.32;
+    static final double RAIO_TERRA_KM = 6371.0;
+
+    // Dogwalkers por célula, e a célula atual de cada dogwalker
+    private final Map<Long, Map<Long, Dogwalker>> celulas = new HashMap<>();
+    private final Map<Long, Long> celulaPorDogwalker = new HashMap<>();
+
+    /**
+     * Grade com os dogwalkers dados (só os disponíveis com localização entram)
+     */
+    static GradeGeografica de(Collection<Dogwalker> dogwalkers) {
+        GradeGeografica grade = new GradeGeografica();
+        for (Dogwalker dogwalker : dogwalkers) {
+            grade.atualizar(dogwalker);
+        }
+        return grade;
+    }
+
+    /**
+     * Cópia para uma recarga parcial (a grade publicada continua intacta)
+     */
+    GradeGeografica copia() {
+        GradeGeografica copia = new GradeGeografica();
+        celulas.forEach((celula, doCelula) -> copia.celulas.put(celula, new HashMap<>(doCelula)));
+        copia.celulaPorDogwalker.putAll(celulaPorDogwalker);
+        return copia;
+    }
+
+    /**
+     * Coloca, move ou tira o dogwalker da grade conforme a disponibilidade e a localização
+     */
+    void atualizar(Dogwalker dogwalker) {
+        remover(dogwalker.getId());
+        if (dogwalker.getDisponibilidade() != Disponibilidade.DISPONIVEL
+                || dogwalker.getLatitude() == null || dogwalker.getLongitude() == null) {
+            return;
+        }
+        long celula = celula(linha(dogwalker.getLatitude()), coluna(dogwalker.getLongitude()));
+        celulas.computeIfAbsent(celula, c -> new HashMap<>()).put(dogwalker.getId(), dogwalker);
+        celulaPorDogwalker.put(dogwalker.getId(), celula);
+    }
+
+    void remover(Long dogwalkerId) {
+        Long celula = celulaPorDogwalker.remove(dogwalkerId);
+        if (celula == null) return;
+        celulas.computeIfPresent(celula, (c, doCelula) -> {
+            doCelula.remove(dogwalkerId);
+            return doCelula.isEmpty() ? null : doCelula;
+        });
+    }
+
+    int tamanho() {
+        return celulaPorDogwalker.size();
+    }
+
+    /**
+     * Dogwalker candidato na busca e sua distância até o cliente.
+     * Só os k que sobram viram DogwalkerProximoDTO.
+     */
+    record Candidato(Dogwalker dogwalker, double distanciaKm) {
+        DogwalkerProximoDTO resposta() {
+            return new DogwalkerProximoDTO(Respostas.dogwalker(dogwalker), distanciaKm);
+        }
+    }
+
+    /**
+     * Os k dogwalkers mais próximos dentro do raio, do mais perto para o mais longe
+     */
+    List<DogwalkerProximoDTO> buscar(double latitude, double longitude, double raioKm, int k) {
+        int linhaCentro = linha(latitude);
+        int colunaCentro = coluna(longitude);
+
+        // Lado mínimo de uma célula na região (as colunas estreitam longe do equador)
+        double latitudeExtrema = Math.min(Math.abs(latitude) + raioKm / KM_POR_GRAU, 89.0);
+        double ladoKm = CELULA_GRAUS * KM_POR_GRAU * Math.cos(Math.toRadians(latitudeExtrema));
+        int anelMaximo = (int) Math.ceil(raioKm / ladoKm);
+
+        // Max-heap com os k melhores até agora
+        PriorityQueue<Candidato> melhores = new PriorityQueue<>(k + 1,
+                Comparator.comparingDouble(Candidato::distanciaKm).reversed());
+
+        for (int anel = 0; anel <= anelMaximo; anel++) {
+            for (int dl = -anel; dl <= anel; dl++) {
+                boolean borda = Math.abs(dl) == anel;
+                // Nas linhas do meio só as duas colunas da borda pertencem ao anel
+                int passo = borda ? 1 : 2 * anel;
+                for (int dc = -anel; dc <= anel; dc += Math.max(passo, 1)) {
+                    Map<Long, Dogwalker> doCelula = celulas.get(celula(linhaCentro + dl, colunaCentro + dc));
+                    if (doCelula == null) continue;
+                    for (Dogwalker dogwalker : doCelula.values()) {
+                        double distancia = distanciaKm(latitude, longitude,
+                                dogwalker.getLatitude(), dogwalker.getLongitude());
+                        if (distancia > raioKm) continue;
+                        if (melhores.size() < k) {
+                            melhores.add(new Candidato(dogwalker, distancia));
+                        } else if (distancia < melhores.peek().distanciaKm()) {
+                            melhores.poll();
+                            melhores.add(new Candidato(dogwalker, distancia));
+                        }
+                    }
+                }
+            }
+            // Qualquer ponto dos próximos anéis está a pelo menos anel * ladoKm
+            if (melhores.size() == k && melhores.peek().distanciaKm() <= anel * ladoKm) {
+                break;
+            }
+        }
+
+        List<Candidato> resultado = new ArrayList<>(melhores);
+        resultado.sort(Comparator.comparingDouble(Candidato::distanciaKm));
+        return resultado.stream().map(Candidato::resposta).toList();
+    }
+
+    /**
+     * Distância em linha reta (haversine), em km
+     */
+    static double distanciaKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.sqrt(a));
+    }
+
+    private static int linha(double latitude) {
+        return (int) Math.floor(latitude / CELULA_GRAUS);
+    }
+
+    private static int coluna(double longitude) {
+        return (int) Math.floor(longitude / CELULA_GRAUS);
+    }
+
+    private static long celula(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xFFFFFFFFL);
+    }
+}
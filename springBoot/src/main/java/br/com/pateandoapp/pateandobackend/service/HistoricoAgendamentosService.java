@@ -0,0 +1,137 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+import br.com.pateandoapp.pateandobackend.model.TipoTransicao;
+import br.com.pateandoapp.pateandobackend.model.TransicaoAgendamento;
+import br.com.pateandoapp.pateandobackend.repository.DogwalkerRepository;
+import br.com.pateandoapp.pateandobackend.repository.ResumoPasseios;
+import br.com.pateandoapp.pateandobackend.repository.TransicaoAgendamentoRepository;
+
+/**
+ * Consulta do histórico de transições e reconstrução das projeções a partir dele.
+ *
+ * As projeções (estatísticas dos clientes e total de passeios dos dogwalkers) continuam
+ * sendo mantidas incrementalmente; a reconstrução percorre o histórico uma vez, em ordem,
+ * e substitui os valores gravados (reparo depois de um bug ou de uma projeção nova).
+ */
+@Service
+@Transactional
+public class HistoricoAgendamentosService {
+
+    @Autowired
+    private TransicaoAgendamentoRepository transicaoRepository;
+
+    @Autowired
+    private DogwalkerRepository dogwalkerRepository;
+
+    @Autowired
+    private RegistroTransicoes registroTransicoes;
+
+    @Autowired
+    private ClienteEstatisticasService clienteEstatisticasService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Transições de um agendamento, na ordem em que aconteceram
+     * (as dos últimos instantes aparecem depois que o RegistroTransicoes grava o lote)
+     */
+    @Transactional(readOnly = true)
+    public List<TransicaoAgendamento> listar(Long agendamentoId) {
+        return transicaoRepository.findByAgendamentoIdOrderByIdAsc(agendamentoId);
+    }
+
+    /**
+     * Refaz as estatísticas dos clientes e o total de passeios dos dogwalkers só com o histórico.
+     * Passeios concluídos são as transições FINALIZADO e EMERGENCIA_CONFIRMADA; o total do
+     * dogwalker conta só FINALIZADO, como o finalizarPasseio.
+     */
+    public void reconstruirProjecoes() {
+        // O que ainda está na fila do registro entra na reconstrução
+        registroTransicoes.gravar();
+
+        Map<Par, Passeios> porPar = new HashMap<>();
+        Map<Long, Integer> finalizadosPorDogwalker = new HashMap<>();
+
+        try (Stream<TransicaoAgendamento> transicoes = transicaoRepository.percorrer(
+                EnumSet.of(TipoTransicao.FINALIZADO, TipoTransicao.EMERGENCIA_CONFIRMADA))) {
+            transicoes.forEach(transicao -> {
+                porPar.computeIfAbsent(new Par(transicao.getClienteId(), transicao.getDogwalkerId()), Passeios::new)
+                        .somar(transicao.getDuracao());
+                if (transicao.getTipo() == TipoTransicao.FINALIZADO) {
+                    finalizadosPorDogwalker.merge(transicao.getDogwalkerId(), 1, Integer::sum);
+                }
+                // A sessão não guarda o que já foi somado: memória constante no histórico inteiro
+                entityManager.detach(transicao);
+            });
+        }
+
+        // Antes das estatísticas: o UPDATE em massa limpa a sessão, e com ela o que ainda não foi gravado
+        dogwalkerRepository.zerarTotaisPasseios();
+        for (Dogwalker dogwalker : dogwalkerRepository.findAllById(finalizadosPorDogwalker.keySet())) {
+            dogwalker.setTotalPasseios(finalizadosPorDogwalker.get(dogwalker.getId()));
+        }
+        clienteEstatisticasService.reconstruir(porPar.values());
+
+        // Todos os totais podem ter mudado: o diretório recarrega tudo
+        eventPublisher.publishEvent(DogwalkerAlterado.todos());
+    }
+
+    private record Par(Long clienteId, Long dogwalkerId) {
+    }
+
+    // Totais de um par cliente/dogwalker, no formato da consulta agregada
+    private static final class Passeios implements ResumoPasseios {
+
+        private final Par par;
+        private long passeios;
+        private long minutos;
+
+        Passeios(Par par) {
+            this.par = par;
+        }
+
+        void somar(int duracao) {
+            passeios++;
+            minutos += duracao;
+        }
+
+        @Override
+        public Long getClienteId() {
+            return par.clienteId();
+        }
+
+        @Override
+        public Long getDogwalkerId() {
+            return par.dogwalkerId();
+        }
+
+        @Override
+        public Long getPasseios() {
+            return passeios;
+        }
+
+        @Override
+        public Long getMinutos() {
+            return minutos;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Contadores das transições de agendamentos (pateando.agendamentos.transicoes), por
+ * transição, resultado (sucesso/falha) e motivo da falha.
+ *
+ * O motivo é uma categoria fixa tirada da exceção (as mensagens levam nomes e ids, não
+ * servem de tag): sem_permissao, nao_encontrado, conflito_horario, status_invalido,
+ * concorrencia, banco ou validacao.
+ */
+@Component
+class MetricasAgendamentos {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    <T> T registrar(String transicao, Supplier<T> operacao) {
+        try {
+            T resultado = operacao.get();
+            contador(transicao, "sucesso", "nenhum").increment();
+            return resultado;
+        } catch (RuntimeException e) {
+            contador(transicao, "falha", motivo(e)).increment();
+            throw e;
+        }
+    }
+
+    private Counter contador(String transicao, String resultado, String motivo) {
+        return Counter.builder("pateando.agendamentos.transicoes")
+                .description("Transições de agendamentos pedidas")
+                .tag("transicao", transicao)
+                .tag("resultado", resultado)
+                .tag("motivo", motivo)
+                .register(registry);
+    }
+
+    static String motivo(RuntimeException e) {
+        if (e instanceof OptimisticLockingFailureException) return "concorrencia";
+        if (e instanceof DataAccessException) return "banco";
+
+        String mensagem = e.getMessage() == null ? "" : e.getMessage().toLowerCase(Locale.ROOT);
+        if (mensagem.contains("permissão") || mensagem.contains("não pertence")) return "sem_permissao";
+        if (mensagem.contains("não encontrado")) return "nao_encontrado";
+        if (mensagem.contains("nesse horário")) return "conflito_horario";
+        if (mensagem.contains("não está") || mensagem.contains("precisa estar") || mensagem.contains("só é possível")
+                || mensagem.contains("não é possível") || mensagem.contains("já foi") || mensagem.contains("não há emergência")) {
+            return "status_invalido";
+        }
+        return "validacao";
+    }
+}
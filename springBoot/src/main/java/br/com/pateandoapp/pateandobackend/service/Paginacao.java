@@ -0,0 +1,91 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Limit;
+
+import br.com.pateandoapp.pateandobackend.DTO.PaginaDTO;
+
+/**
+ * Utilitário da paginação por cursor (keyset) usada pelos serviços.
+ * O cursor é a chave do último item da página, codificada em Base64 URL-safe,
+ * de forma que a página N custa o mesmo que a página 1.
+ */
+final class Paginacao {
+
+    static final int LIMITE_PADRAO = 50;
+    static final int LIMITE_MAXIMO = 200;
+
+    private Paginacao() {}
+
+    /**
+     * Chave de ordenação dos agendamentos: (dataHora, id)
+     */
+    record ChaveAgendamento(LocalDateTime dataHora, Long id) {}
+
+    // Normaliza o tamanho da página pedido pelo cliente
+    static int limite(Integer limite) {
+        if (limite == null || limite <= 0) return LIMITE_PADRAO;
+        return Math.min(limite, LIMITE_MAXIMO);
+    }
+
+    // Limite da consulta: uma linha a mais que a página, para saber se há próxima
+    static Limit consulta(int limite) {
+        return Limit.of(limite + 1);
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou limite + 1 linhas:
+     * a linha extra só indica que existe uma próxima página.
+     */
+    static <T> PaginaDTO<T> pagina(List<T> linhas, int limite, Function<T, String> cursorDe) {
+        if (linhas.size() <= limite) {
+            return new PaginaDTO<>(linhas, null);
+        }
+        List<T> itens = linhas.subList(0, limite);
+        return new PaginaDTO<>(itens, cursorDe.apply(itens.get(limite - 1)));
+    }
+
+    static String codificar(LocalDateTime dataHora, Long id) {
+        return codificar(dataHora + "|" + id);
+    }
+
+    static String codificar(Long id) {
+        return codificar(id.toString());
+    }
+
+    static ChaveAgendamento decodificarAgendamento(String cursor) {
+        String[] partes = decodificar(cursor).split("\\|");
+        try {
+            return new ChaveAgendamento(LocalDateTime.parse(partes[0]), Long.valueOf(partes[1]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Cursor inválido!");
+        }
+    }
+
+    // Cursor ausente começa do início (id 0)
+    static Long decodificarId(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0L;
+        try {
+            return Long.valueOf(decodificar(cursor));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Cursor inválido!");
+        }
+    }
+
+    private static String codificar(String valor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodificar(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Cursor inválido!");
+        }
+    }
+}
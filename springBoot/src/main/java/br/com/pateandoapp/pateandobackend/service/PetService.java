@@ -4,14 +4,18 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.pateandoapp.pateandobackend.DTO.CartaoPetDTO;
 import br.com.pateandoapp.pateandobackend.model.Pet;
 import br.com.pateandoapp.pateandobackend.model.Usuario;
 import br.com.pateandoapp.pateandobackend.repository.PetRepository;
 import br.com.pateandoapp.pateandobackend.repository.UsuarioRepository;
 
 @Service
+@Transactional
 public class PetService {
 
     @Autowired
@@ -20,26 +24,37 @@ public class PetService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
-    public Optional<Pet> createPet(Long usuarioId, Pet pet) {
+    // Versões das listagens (ETag das respostas)
+    @Autowired
+    private VersoesRecursos versoesRecursos;
+
+    public Optional<CartaoPetDTO> createPet(Long usuarioId, Pet pet) {
         Optional<Usuario> usuarioOpt = usuarioRepository.findById(usuarioId);
 
         if (usuarioOpt.isPresent()) {
             Usuario usuario = usuarioOpt.get();
             pet.setDono(usuario);
             Pet novoPet = petRepository.save(pet);
-            return Optional.of(novoPet);
+            versoesRecursos.alterar(VersoesRecursos.petsDoUsuario(usuarioId));
+            return Optional.of(Respostas.pet(novoPet));
         }
         return Optional.empty();
     }
 
-    public List<Pet> getPetsByUsuario(Long usuarioId) {
-        return petRepository.findByDonoId(usuarioId);
+    @Transactional(readOnly = true)
+    public List<CartaoPetDTO> getPetsByUsuario(Long usuarioId) {
+        return petRepository.buscarCartoesPorDono(usuarioId);
     }
 
-    // NOVO — remover pet
-    public boolean deletePet(Long petId) {
-        if (petRepository.existsById(petId)) {
-            petRepository.deleteById(petId);
+    // NOVO — remover pet (só o dono: AccessDeniedException para os outros)
+    public boolean deletePet(Long petId, Long usuarioId) {
+        Optional<Pet> pet = petRepository.findById(petId);
+        if (pet.isPresent()) {
+            if (!pet.get().getDono().getId().equals(usuarioId)) {
+                throw new AccessDeniedException("Você não tem permissão para remover este pet!");
+            }
+            petRepository.delete(pet.get());
+            versoesRecursos.alterar(VersoesRecursos.petsDoUsuario(pet.get().getDono().getId()));
             return true;
         }
         return false;
@@ -0,0 +1,384 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.pateandoapp.pateandobackend.DTO.EventoAgendamentoDTO;
+import br.com.pateandoapp.pateandobackend.DTO.LoteLocalizacoesDTO;
+import br.com.pateandoapp.pateandobackend.DTO.PontoLocalizacaoDTO;
+import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+import br.com.pateandoapp.pateandobackend.model.TrechoTrajeto;
+import br.com.pateandoapp.pateandobackend.repository.AgendamentoRepository;
+import br.com.pateandoapp.pateandobackend.repository.EnvolvidosAgendamento;
+import br.com.pateandoapp.pateandobackend.repository.TrechoTrajetoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Recebe os pontos de GPS dos passeios em andamento.
+ *
+ * A ingestão só mexe em memória: cada passeio ativo guarda os últimos pontos
+ * (para "onde está meu cachorro agora") e os pontos ainda não gravados. Um
+ * gravador periódico junta os pontos em trechos codificados (TrajetoCodec) e
+ * insere todos de uma vez, então o custo no banco não cresce com a frequência
+ * de envio do app. Trechos que não gravam depois de maximo-tentativas ciclos
+ * são descartados, e um agendamento removido sai da memória na hora.
+ */
+@Service
+public class RastreamentoService {
+
+    static final int PONTOS_RECENTES = 256;
+    static final int PONTOS_POR_TRECHO = 120;
+    static final int MAXIMO_PONTOS_POR_LOTE = 500;
+    static final long IDADE_MAXIMA_PENDENTE_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private static final Logger log = LoggerFactory.getLogger(RastreamentoService.class);
+
+    @Autowired
+    private AgendamentoRepository agendamentoRepository;
+
+    @Autowired
+    private TrechoTrajetoRepository trechoTrajetoRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // Ciclos de gravação (de 2 s) que um passeio pode falhar antes de descartar os trechos
+    @Value("${pateando.rastreamento.maximo-tentativas:30}")
+    private int maximoTentativas;
+
+    private Counter descartados;
+
+    // Passeios com rastreamento ativo, por ID do agendamento
+    private final Map<Long, Passeio> ativos = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registrarMetricas() {
+        descartados = Counter.builder("pateando.trajeto.descartados")
+                .description("Trechos de trajeto descartados depois de falhar a gravação várias vezes")
+                .register(registry);
+    }
+
+    /**
+     * Acompanha os eventos de agendamento: o rastreamento começa no início do
+     * passeio e os pontos pendentes são gravados quando ele termina
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoEvento(EventoAgendamentoDTO evento) {
+        switch (evento.getTipo()) {
+            case INICIADO -> ativos.putIfAbsent(evento.getAgendamentoId(),
+                    new Passeio(evento.getAgendamentoId(), evento.getClienteId(), evento.getDogwalkerUsuarioId(), 0));
+            case FINALIZADO, CANCELADO, EMERGENCIA_CONFIRMADA -> {
+                Passeio passeio = ativos.get(evento.getAgendamentoId());
+                if (passeio != null) passeio.encerrado = true;
+            }
+            default -> { }
+        }
+    }
+
+    /**
+     * Registra um lote de pontos enviado pelo app do dogwalker.
+     * Retorna quantos pontos foram aceitos (pontos fora de ordem são descartados).
+     */
+    public int registrarPontos(Long agendamentoId, LoteLocalizacoesDTO lote) {
+        List<PontoLocalizacaoDTO> pontos = lote.getPontos();
+        if (pontos == null || pontos.isEmpty()) {
+            throw new RuntimeException("Envie pelo menos um ponto!");
+        }
+        if (pontos.size() > MAXIMO_PONTOS_POR_LOTE) {
+            throw new RuntimeException("Máximo de " + MAXIMO_PONTOS_POR_LOTE + " pontos por envio!");
+        }
+
+        Passeio passeio = passeioAtivo(agendamentoId);
+        if (!passeio.dogwalkerUsuarioId.equals(lote.getDogwalkerUsuarioId())) {
+            throw new RuntimeException("Você não tem permissão para enviar a localização deste passeio!");
+        }
+
+        List<PontoLocalizacaoDTO> ordenados = new ArrayList<>(pontos);
+        ordenados.sort(Comparator.comparingLong(PontoLocalizacaoDTO::getTimestamp));
+
+        int aceitos = 0;
+        synchronized (passeio) {
+            if (passeio.encerrado) {
+                throw new RuntimeException("Este passeio não está em andamento!");
+            }
+            for (PontoLocalizacaoDTO ponto : ordenados) {
+                if (passeio.adicionar(ponto)) aceitos++;
+            }
+        }
+        return aceitos;
+    }
+
+    /**
+     * Cliente e dogwalker do passeio (controle de acesso): da memória enquanto ele
+     * está em andamento, do banco depois
+     */
+    public Optional<EnvolvidosAgendamento> buscarEnvolvidos(Long agendamentoId) {
+        Passeio passeio = ativos.get(agendamentoId);
+        if (passeio != null) return Optional.of(passeio);
+        return agendamentoRepository.buscarEnvolvidos(agendamentoId);
+    }
+
+    /**
+     * Última posição conhecida do passeio em andamento
+     */
+    public Optional<PontoLocalizacaoDTO> ultimaPosicao(Long agendamentoId) {
+        Passeio passeio = ativos.get(agendamentoId);
+        if (passeio == null) return Optional.empty();
+        synchronized (passeio) {
+            return Optional.ofNullable(passeio.ultimo());
+        }
+    }
+
+    /**
+     * Últimos pontos do passeio em andamento, do mais antigo para o mais recente
+     */
+    public List<PontoLocalizacaoDTO> listarRecentes(Long agendamentoId) {
+        Passeio passeio = ativos.get(agendamentoId);
+        if (passeio == null) return List.of();
+        synchronized (passeio) {
+            return passeio.recentes();
+        }
+    }
+
+    /**
+     * Trajeto completo: trechos gravados mais os pontos ainda em memória
+     */
+    public List<PontoLocalizacaoDTO> buscarTrajeto(Long agendamentoId) {
+        List<PontoLocalizacaoDTO> trajeto = new ArrayList<>();
+        for (TrechoTrajeto trecho : trechoTrajetoRepository.findByAgendamentoIdOrderBySequenciaAsc(agendamentoId)) {
+            trajeto.addAll(TrajetoCodec.decodificar(trecho.getDados()));
+        }
+        Passeio passeio = ativos.get(agendamentoId);
+        if (passeio != null) {
+            synchronized (passeio) {
+                // Trechos já cortados mas ainda não gravados também entram
+                for (TrechoTrajeto trecho : passeio.aGravar) {
+                    trajeto.addAll(TrajetoCodec.decodificar(trecho.getDados()));
+                }
+                trajeto.addAll(passeio.pendentes);
+            }
+        }
+        return trajeto;
+    }
+
+    /**
+     * Grava os trechos prontos de todos os passeios em um único lote de inserts.
+     * Se o lote falhar, cada passeio é gravado na sua própria transação: um passeio
+     * com problema (agendamento removido, por exemplo) não segura os outros.
+     * Uma gravação por vez, também quando chamada fora do agendador.
+     */
+    @Scheduled(fixedDelay = 2, timeUnit = TimeUnit.SECONDS)
+    public synchronized void gravarTrechos() {
+        long agora = System.currentTimeMillis();
+        Map<Passeio, List<TrechoTrajeto>> comTrechos = new IdentityHashMap<>();
+        List<TrechoTrajeto> lote = new ArrayList<>();
+
+        for (Passeio passeio : ativos.values()) {
+            synchronized (passeio) {
+                passeio.cortarTrechos(agora);
+                if (!passeio.aGravar.isEmpty()) {
+                    List<TrechoTrajeto> trechos = new ArrayList<>(passeio.aGravar);
+                    comTrechos.put(passeio, trechos);
+                    lote.addAll(trechos);
+                }
+            }
+        }
+
+        if (!lote.isEmpty()) {
+            try {
+                trechoTrajetoRepository.saveAll(lote);
+                comTrechos.forEach(RastreamentoService::confirmarGravacao);
+            } catch (RuntimeException e) {
+                comTrechos.forEach(this::gravarSeparado);
+            }
+        }
+
+        // Passeios encerrados saem da memória depois de gravar (ou descartar) tudo
+        ativos.values().removeIf(p -> {
+            synchronized (p) {
+                return p.encerrado && p.pendentes.isEmpty() && p.aGravar.isEmpty();
+            }
+        });
+    }
+
+    /**
+     * Agendamento removido: o passeio sai da memória sem gravar o que estava pendente
+     */
+    public void descartar(Long agendamentoId) {
+        Passeio passeio = ativos.remove(agendamentoId);
+        if (passeio != null) {
+            passeio.encerrado = true;
+        }
+    }
+
+    // Grava os trechos de um passeio; se falharem maximo-tentativas ciclos seguidos,
+    // são descartados (pateando.trajeto.descartados) para não acumular em memória
+    private void gravarSeparado(Passeio passeio, List<TrechoTrajeto> trechos) {
+        try {
+            trechoTrajetoRepository.saveAll(trechos);
+            confirmarGravacao(passeio, trechos);
+        } catch (RuntimeException e) {
+            synchronized (passeio) {
+                if (++passeio.falhas < maximoTentativas) {
+                    return; // continuam em aGravar para o próximo ciclo
+                }
+                passeio.aGravar.subList(0, trechos.size()).clear();
+                passeio.falhas = 0;
+            }
+            descartados.increment(trechos.size());
+            log.error("Trajeto do agendamento {}: {} trechos descartados após {} tentativas",
+                    passeio.agendamentoId, trechos.size(), maximoTentativas, e);
+        }
+    }
+
+    // Remove só o que foi gravado: a ingestão pode ter cortado outros trechos nesse meio tempo
+    private static void confirmarGravacao(Passeio passeio, List<TrechoTrajeto> gravados) {
+        synchronized (passeio) {
+            passeio.aGravar.subList(0, gravados.size()).clear();
+            passeio.falhas = 0;
+        }
+    }
+
+    /**
+     * Passeio ativo em memória; após um reinício do servidor é recuperado do banco
+     * no primeiro envio, continuando a sequência de trechos já gravados
+     */
+    private Passeio passeioAtivo(Long agendamentoId) {
+        Passeio passeio = ativos.get(agendamentoId);
+        if (passeio != null) return passeio;
+
+        Agendamento agendamento = agendamentoRepository.findById(agendamentoId)
+                .orElseThrow(() -> new RuntimeException("Agendamento não encontrado!"));
+        if (agendamento.getStatus() != StatusAgendamento.EM_ANDAMENTO) {
+            throw new RuntimeException("Este passeio não está em andamento!");
+        }
+        int proximaSequencia = trechoTrajetoRepository.ultimaSequencia(agendamentoId) + 1;
+        Passeio recuperado = new Passeio(agendamentoId, agendamento.getCliente().getId(),
+                agendamento.getDogwalker().getUsuario().getId(), proximaSequencia);
+        Passeio existente = ativos.putIfAbsent(agendamentoId, recuperado);
+        return existente != null ? existente : recuperado;
+    }
+
+    private static LocalDateTime paraDataHora(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+    }
+
+    /**
+     * Estado em memória de um passeio em andamento (protegido pelo próprio lock)
+     */
+    private static class Passeio implements EnvolvidosAgendamento {
+        private final Long agendamentoId;
+        private final Long clienteId;
+        private final Long dogwalkerUsuarioId;
+        private volatile boolean encerrado = false;
+
+        // Buffer circular com os últimos pontos
+        private final PontoLocalizacaoDTO[] recentes = new PontoLocalizacaoDTO[PONTOS_RECENTES];
+        private int inicioRecentes = 0;
+        private int totalRecentes = 0;
+
+        // Pontos ainda não cortados em trecho, e trechos cortados aguardando gravação
+        private final List<PontoLocalizacaoDTO> pendentes = new ArrayList<>(PONTOS_POR_TRECHO);
+        private final List<TrechoTrajeto> aGravar = new ArrayList<>();
+        private long primeiroPendenteEm = 0;
+        private int proximaSequencia;
+
+        // Ciclos seguidos em que a gravação dos trechos deste passeio falhou
+        private int falhas = 0;
+
+        Passeio(Long agendamentoId, Long clienteId, Long dogwalkerUsuarioId, int proximaSequencia) {
+            this.agendamentoId = agendamentoId;
+            this.clienteId = clienteId;
+            this.dogwalkerUsuarioId = dogwalkerUsuarioId;
+            this.proximaSequencia = proximaSequencia;
+        }
+
+        @Override
+        public Long getClienteId() {
+            return clienteId;
+        }
+
+        @Override
+        public Long getDogwalkerUsuarioId() {
+            return dogwalkerUsuarioId;
+        }
+
+        boolean adicionar(PontoLocalizacaoDTO ponto) {
+            PontoLocalizacaoDTO ultimo = ultimo();
+            if (ultimo != null && ponto.getTimestamp() <= ultimo.getTimestamp()) {
+                return false; // repetido ou fora de ordem (reenvio do app)
+            }
+
+            int posicao = (inicioRecentes + totalRecentes) % PONTOS_RECENTES;
+            recentes[posicao] = ponto;
+            if (totalRecentes < PONTOS_RECENTES) {
+                totalRecentes++;
+            } else {
+                inicioRecentes = (inicioRecentes + 1) % PONTOS_RECENTES;
+            }
+
+            if (pendentes.isEmpty()) {
+                primeiroPendenteEm = System.currentTimeMillis();
+            }
+            pendentes.add(ponto);
+            if (pendentes.size() >= PONTOS_POR_TRECHO) {
+                cortar();
+            }
+            return true;
+        }
+
+        PontoLocalizacaoDTO ultimo() {
+            if (totalRecentes == 0) return null;
+            return recentes[(inicioRecentes + totalRecentes - 1) % PONTOS_RECENTES];
+        }
+
+        List<PontoLocalizacaoDTO> recentes() {
+            List<PontoLocalizacaoDTO> lista = new ArrayList<>(totalRecentes);
+            for (int i = 0; i < totalRecentes; i++) {
+                lista.add(recentes[(inicioRecentes + i) % PONTOS_RECENTES]);
+            }
+            return lista;
+        }
+
+        // Corta o que sobrou se o passeio terminou ou os pontos estão parados há muito tempo
+        void cortarTrechos(long agora) {
+            if (pendentes.isEmpty()) return;
+            if (encerrado || agora - primeiroPendenteEm >= IDADE_MAXIMA_PENDENTE_MS) {
+                cortar();
+            }
+        }
+
+        private void cortar() {
+            PontoLocalizacaoDTO primeiro = pendentes.get(0);
+            PontoLocalizacaoDTO ultimo = pendentes.get(pendentes.size() - 1);
+            aGravar.add(new TrechoTrajeto(
+                    agendamentoId,
+                    proximaSequencia++,
+                    paraDataHora(primeiro.getTimestamp()),
+                    paraDataHora(ultimo.getTimestamp()),
+                    pendentes.size(),
+                    TrajetoCodec.codificar(pendentes)));
+            pendentes.clear();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.pateandoapp.pateandobackend.model.TransicaoAgendamento;
+import br.com.pateandoapp.pateandobackend.repository.TransicaoAgendamentoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Grava o histórico de transições (transicoes_agendamento) fora da requisição.
+ *
+ * O AgendamentoService publica uma TransicaoAgendamento por transição; depois do commit
+ * ela só entra numa fila em memória (a requisição não espera o banco). A fila é gravada
+ * em lotes de até tamanho-lote linhas (uma transação com INSERTs em lote, ids da sequência
+ * reservados em bloco) a cada intervalo-ms, ou antes, numa thread do applicationTaskExecutor,
+ * assim que junta tamanho-lote transições.
+ *
+ * Se a gravação falhar, o lote volta para o começo da fila e as próximas tentativas esperam cada
+ * vez mais (do intervalo até espera-maxima-ms), com um único aviso no log até o banco voltar.
+ * Com o banco fora por muito tempo, a fila para em maximo-pendentes e as mais antigas são descartadas
+ * (pateando.transicoes.descartadas): o histórico não pode derrubar o servidor por memória.
+ * Transições ainda na fila se perdem se o processo morrer sem o desligamento normal.
+ */
+@Service
+public class RegistroTransicoes {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistroTransicoes.class);
+
+    @Value("${pateando.transicoes.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${pateando.transicoes.maximo-pendentes:100000}")
+    private int maximoPendentes;
+
+    @Value("${pateando.transicoes.intervalo-ms:200}")
+    private long intervaloMs;
+
+    @Value("${pateando.transicoes.espera-maxima-ms:30000}")
+    private long esperaMaximaMs;
+
+    @Autowired
+    private TransicaoAgendamentoRepository transicaoRepository;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor executor;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // Transições aguardando gravação, na ordem em que aconteceram
+    private final ConcurrentLinkedDeque<TransicaoAgendamento> pendentes = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger quantidadePendentes = new AtomicInteger();
+
+    // Uma gravação por vez; e no máximo uma antecipada na fila do executor
+    private final ReentrantLock gravacao = new ReentrantLock();
+    private final AtomicBoolean antecipada = new AtomicBoolean(false);
+
+    // Falhas seguidas e o instante (System.nanoTime) antes do qual não se tenta de novo;
+    // só alterados com o lock de gravação
+    private int falhasSeguidas = 0;
+    private long proximaTentativa = 0;
+
+    private Counter gravadas;
+    private Counter descartadas;
+    private Counter falhas;
+
+    @PostConstruct
+    void registrarMetricas() {
+        Gauge.builder("pateando.transicoes.pendentes", quantidadePendentes, AtomicInteger::get)
+                .description("Transições de agendamentos aguardando gravação no histórico")
+                .register(registry);
+        gravadas = Counter.builder("pateando.transicoes.gravadas")
+                .description("Transições gravadas no histórico")
+                .register(registry);
+        descartadas = Counter.builder("pateando.transicoes.descartadas")
+                .description("Transições descartadas com a fila cheia (banco indisponível)")
+                .register(registry);
+        falhas = Counter.builder("pateando.transicoes.falhas")
+                .description("Tentativas de gravação do histórico que falharam")
+                .register(registry);
+    }
+
+    /**
+     * Recebe a transição publicada pelo AgendamentoService. Só dispara depois do commit:
+     * uma transição desfeita não entra no histórico.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void registrar(TransicaoAgendamento transicao) {
+        pendentes.addLast(transicao);
+        int quantidade = quantidadePendentes.incrementAndGet();
+
+        if (quantidade > maximoPendentes && pendentes.pollFirst() != null) {
+            quantidadePendentes.decrementAndGet();
+            descartadas.increment();
+        }
+        if (quantidade >= tamanhoLote && antecipada.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    gravar();
+                } finally {
+                    antecipada.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Grava tudo o que estiver na fila, em lotes de até tamanho-lote transições.
+     * Cada lote vai na sua própria transação, mesmo chamado de dentro de outra:
+     * um lote gravado não se perde se quem chamou desfizer a dele.
+     * Depois de uma falha, não faz nada até passar a espera da próxima tentativa.
+     */
+    @Scheduled(fixedDelayString = "${pateando.transicoes.intervalo-ms:200}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void gravar() {
+        gravar(false);
+    }
+
+    /**
+     * Desligamento normal: grava o que restou antes de o DataSource fechar,
+     * sem esperar o fim de uma espera entre tentativas
+     */
+    @PreDestroy
+    public void gravarPendentes() {
+        gravar(true);
+    }
+
+    private void gravar(boolean ignorarEspera) {
+        gravacao.lock();
+        try {
+            if (!ignorarEspera && falhasSeguidas > 0 && System.nanoTime() - proximaTentativa < 0) {
+                return;
+            }
+            List<TransicaoAgendamento> lote;
+            while (!(lote = retirarLote()).isEmpty()) {
+                try {
+                    transicaoRepository.saveAll(lote);
+                    gravadas.increment(lote.size());
+                } catch (RuntimeException e) {
+                    devolver(lote);
+                    registrarFalha(e);
+                    return;
+                }
+                if (falhasSeguidas > 0) {
+                    log.info("Gravação do histórico de transições voltou após {} tentativas", falhasSeguidas);
+                    falhasSeguidas = 0;
+                }
+            }
+        } finally {
+            gravacao.unlock();
+        }
+    }
+
+    // Dobra a espera a cada falha seguida, até espera-maxima-ms; só a primeira vai para o log
+    private void registrarFalha(RuntimeException e) {
+        falhas.increment();
+        falhasSeguidas++;
+        long espera = Math.min(intervaloMs << Math.min(falhasSeguidas - 1, 20), esperaMaximaMs);
+        proximaTentativa = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(espera);
+        if (falhasSeguidas == 1) {
+            log.warn("Falha ao gravar o histórico de transições ({} pendentes); novas tentativas até {} ms",
+                    quantidadePendentes.get(), esperaMaximaMs, e);
+        }
+    }
+
+    private List<TransicaoAgendamento> retirarLote() {
+        List<TransicaoAgendamento> lote = new ArrayList<>();
+        TransicaoAgendamento transicao;
+        while (lote.size() < tamanhoLote && (transicao = pendentes.pollFirst()) != null) {
+            lote.add(transicao);
+        }
+        quantidadePendentes.addAndGet(-lote.size());
+        return lote;
+    }
+
+    // O lote volta para o começo da fila, na ordem original, sem os ids da tentativa
+    private void devolver(List<TransicaoAgendamento> lote) {
+        for (int i = lote.size() - 1; i >= 0; i--) {
+            lote.get(i).setId(null);
+            pendentes.addFirst(lote.get(i));
+        }
+        quantidadePendentes.addAndGet(lote.size());
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.pateandoapp.pateandobackend.DTO.CartaoDogwalkerDTO;
+import br.com.pateandoapp.pateandobackend.DTO.CartaoPetDTO;
+import br.com.pateandoapp.pateandobackend.DTO.ContatoDTO;
+import br.com.pateandoapp.pateandobackend.DTO.DogwalkerResumoDTO;
+import br.com.pateandoapp.pateandobackend.DTO.PetResumoDTO;
+import br.com.pateandoapp.pateandobackend.DTO.ResumoAgendamentoDTO;
+import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+import br.com.pateandoapp.pateandobackend.model.Pet;
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+
+/**
+ * Conversão das entidades já carregadas nos DTOs de resposta.
+ * Usada quando a entidade é lida de qualquer forma (transições, cache do
+ * diretório); as listagens montam os mesmos DTOs direto por projeção.
+ * Deve ser chamada dentro da transação que carregou a entidade.
+ */
+final class Respostas {
+
+    private Respostas() {}
+
+    static ResumoAgendamentoDTO agendamento(Agendamento agendamento) {
+        List<PetResumoDTO> pets = new ArrayList<>(agendamento.getPets().size());
+        for (Pet pet : agendamento.getPets()) {
+            pets.add(new PetResumoDTO(pet.getId(), pet.getNome()));
+        }
+        Dogwalker dogwalker = agendamento.getDogwalker();
+        return new ResumoAgendamentoDTO(
+                agendamento.getId(),
+                agendamento.getDataHora(),
+                agendamento.getDuracao(),
+                agendamento.getStatus(),
+                agendamento.isEmergenciaAtiva(),
+                agendamento.getRota(),
+                agendamento.getObservacoes(),
+                contato(agendamento.getCliente()),
+                new DogwalkerResumoDTO(dogwalker.getId(), contato(dogwalker.getUsuario())),
+                pets);
+    }
+
+    static List<ResumoAgendamentoDTO> agendamentos(List<Agendamento> agendamentos) {
+        return agendamentos.stream().map(Respostas::agendamento).toList();
+    }
+
+    static CartaoDogwalkerDTO dogwalker(Dogwalker dogwalker) {
+        return new CartaoDogwalkerDTO(
+                dogwalker.getId(),
+                contato(dogwalker.getUsuario()),
+                dogwalker.getDisponibilidade(),
+                dogwalker.getPreco30min(),
+                dogwalker.getPreco60min(),
+                dogwalker.getPreco90min(),
+                dogwalker.getAvaliacaoMedia(),
+                dogwalker.getResumoAvaliacoes() != null ? dogwalker.getResumoAvaliacoes().getTotal() : 0,
+                dogwalker.getTotalPasseios(),
+                dogwalker.getDescricao(),
+                dogwalker.getFotoUrl());
+    }
+
+    static List<CartaoDogwalkerDTO> dogwalkers(List<Dogwalker> dogwalkers) {
+        return dogwalkers.stream().map(Respostas::dogwalker).toList();
+    }
+
+    static CartaoPetDTO pet(Pet pet) {
+        return new CartaoPetDTO(pet.getId(), pet.getNome(), pet.getRaca(), pet.getIdade(),
+                pet.getNecessidadesEspeciais(), pet.getObservacoes());
+    }
+
+    static ContatoDTO contato(Usuario usuario) {
+        return usuario != null ? new ContatoDTO(usuario.getId(), usuario.getNome(), usuario.getTelefone()) : null;
+    }
+}
@@ -0,0 +1,201 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Emite e verifica os tokens de acesso.
+ *
+ * O token é "dados.assinatura" em Base64 URL-safe, onde dados = "id|tipo|dogwalkerId|expiraEm"
+ * e a assinatura é o HMAC-SHA256 dos dados. Tudo o que a autorização precisa está no
+ * próprio token: verificar não consulta o banco.
+ *
+ * Tokens já verificados ficam num cache limitado (token → UsuarioAutenticado), então
+ * a requisição seguinte com o mesmo token é só uma busca no mapa, sem recalcular o HMAC.
+ */
+@Service
+public class TokenService {
+
+    // Vazio: gera uma chave aleatória na subida (os tokens deixam de valer a cada reinício)
+    @Value("${pateando.auth.segredo:}")
+    private String segredo;
+
+    @Value("${pateando.auth.validade-horas:24}")
+    private long validadeHoras;
+
+    @Value("${pateando.auth.cache-maximo:10000}")
+    private int cacheMaximo;
+
+    @Autowired
+    private DiretorioDogwalkers diretorioDogwalkers;
+
+    // Mac já inicializado com a chave; cada uso trabalha numa cópia (Mac não é thread-safe)
+    private Mac prototipo;
+
+    private final Map<String, UsuarioAutenticado> verificados = new ConcurrentHashMap<>();
+
+    // Estatísticas
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder verificacoes = new LongAdder();
+    private final LongAdder rejeitados = new LongAdder();
+
+    @PostConstruct
+    void iniciar() throws GeneralSecurityException {
+        byte[] chave;
+        if (segredo == null || segredo.isBlank()) {
+            chave = new byte[32];
+            new SecureRandom().nextBytes(chave);
+        } else {
+            chave = segredo.getBytes(StandardCharsets.UTF_8);
+        }
+        prototipo = Mac.getInstance("HmacSHA256");
+        prototipo.init(new SecretKeySpec(chave, "HmacSHA256"));
+    }
+
+    /**
+     * Token para o usuário que acabou de fazer login
+     */
+    public String emitir(Usuario usuario) {
+        Long dogwalkerId = null;
+        if ("DOGWALKER".equalsIgnoreCase(usuario.getTipo())) {
+            dogwalkerId = diretorioDogwalkers.buscarPorUsuarioId(usuario.getId()).map(Dogwalker::getId).orElse(null);
+        }
+        long expiraEm = Instant.now().getEpochSecond() + TimeUnit.HOURS.toSeconds(validadeHoras);
+        String dados = usuario.getId() + "|" + usuario.getTipo().toUpperCase() + "|"
+                + (dogwalkerId == null ? "" : dogwalkerId) + "|" + expiraEm;
+
+        Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+        byte[] bytes = dados.getBytes(StandardCharsets.UTF_8);
+        return base64.encodeToString(bytes) + "." + base64.encodeToString(assinar(bytes));
+    }
+
+    /**
+     * Usuário do token, se a assinatura confere e o token não expirou
+     */
+    public Optional<UsuarioAutenticado> verificar(String token) {
+        long agora = Instant.now().getEpochSecond();
+        UsuarioAutenticado emCache = verificados.get(token);
+        if (emCache != null) {
+            if (emCache.expiraEmSegundos() > agora) {
+                acertos.increment();
+                return Optional.of(comPerfilDogwalker(token, emCache));
+            }
+            verificados.remove(token);
+        }
+
+        verificacoes.increment();
+        UsuarioAutenticado usuario = decodificar(token);
+        if (usuario == null || usuario.expiraEmSegundos() <= agora) {
+            rejeitados.increment();
+            return Optional.empty();
+        }
+        if (verificados.size() >= cacheMaximo) {
+            abrirEspaco(agora);
+        }
+        verificados.put(token, usuario);
+        return Optional.of(comPerfilDogwalker(token, usuario));
+    }
+
+    /**
+     * Dogwalker que criou o perfil depois do login: o token não tem o dogwalkerId,
+     * que é buscado no diretório (em memória) e fica no cache junto com o token
+     */
+    private UsuarioAutenticado comPerfilDogwalker(String token, UsuarioAutenticado usuario) {
+        if (!usuario.isDogwalker() || usuario.dogwalkerId() != null) {
+            return usuario;
+        }
+        return diretorioDogwalkers.buscarPorUsuarioId(usuario.id())
+                .map(dogwalker -> {
+                    UsuarioAutenticado completo = new UsuarioAutenticado(
+                            usuario.id(), usuario.tipo(), dogwalker.getId(), usuario.expiraEmSegundos());
+                    verificados.replace(token, usuario, completo);
+                    return completo;
+                })
+                .orElse(usuario);
+    }
+
+    /**
+     * Estatísticas da verificação (acertos no cache, HMACs calculados, tokens rejeitados)
+     */
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("acertosCache", acertos.sum());
+        estatisticas.put("verificacoes", verificacoes.sum());
+        estatisticas.put("rejeitados", rejeitados.sum());
+        estatisticas.put("tamanhoCache", verificados.size());
+        return estatisticas;
+    }
+
+    /**
+     * Tira do cache os tokens expirados
+     */
+    @Scheduled(fixedRate = 10, timeUnit = TimeUnit.MINUTES)
+    public void limparExpirados() {
+        long agora = Instant.now().getEpochSecond();
+        verificados.values().removeIf(usuario -> usuario.expiraEmSegundos() <= agora);
+    }
+
+    private UsuarioAutenticado decodificar(String token) {
+        int ponto = token.indexOf('.');
+        if (ponto <= 0) return null;
+        try {
+            Base64.Decoder base64 = Base64.getUrlDecoder();
+            byte[] dados = base64.decode(token.substring(0, ponto));
+            byte[] assinatura = base64.decode(token.substring(ponto + 1));
+            if (!MessageDigest.isEqual(assinar(dados), assinatura)) return null;
+
+            String[] partes = new String(dados, StandardCharsets.UTF_8).split("\\|", -1);
+            if (partes.length != 4) return null;
+            return new UsuarioAutenticado(
+                    Long.valueOf(partes[0]),
+                    partes[1],
+                    partes[2].isEmpty() ? null : Long.valueOf(partes[2]),
+                    Long.parseLong(partes[3]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] assinar(byte[] dados) {
+        try {
+            Mac mac = (Mac) prototipo.clone();
+            return mac.doFinal(dados);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Cache cheio: tira os expirados e, se não bastar, um décimo das entradas
+    private void abrirEspaco(long agora) {
+        verificados.values().removeIf(usuario -> usuario.expiraEmSegundos() <= agora);
+        int remover = verificados.size() - cacheMaximo + Math.max(cacheMaximo / 10, 1);
+        Iterator<String> tokens = verificados.keySet().iterator();
+        while (remover-- > 0 && tokens.hasNext()) {
+            tokens.next();
+            tokens.remove();
+        }
+    }
+}
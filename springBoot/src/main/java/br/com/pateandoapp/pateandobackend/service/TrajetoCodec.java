@@ -0,0 +1,84 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.pateandoapp.pateandobackend.DTO.PontoLocalizacaoDTO;
+
+/**
+ * Codificação compacta de um bloco de pontos de GPS.
+ *
+ * Formato: quantidade de pontos, seguida de (Δlatitude, Δlongitude, Δtimestamp)
+ * de cada ponto em relação ao anterior (o primeiro em relação a zero). Coordenadas
+ * em micrograus (~0,1 m) e tempo em ms, todos como varint zigzag: pontos
+ * consecutivos de um passeio costumam ocupar 4 a 6 bytes, contra 24 em binário puro.
+ */
+final class TrajetoCodec {
+
+    private static final double ESCALA = 1_000_000d;
+
+    private TrajetoCodec() {}
+
+    static byte[] codificar(List<PontoLocalizacaoDTO> pontos) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(8 + pontos.size() * 6);
+        escreverVarint(saida, pontos.size());
+
+        long latAnterior = 0, lngAnterior = 0, tsAnterior = 0;
+        for (PontoLocalizacaoDTO ponto : pontos) {
+            long lat = Math.round(ponto.getLatitude() * ESCALA);
+            long lng = Math.round(ponto.getLongitude() * ESCALA);
+            long ts = ponto.getTimestamp();
+            escreverVarint(saida, zigzag(lat - latAnterior));
+            escreverVarint(saida, zigzag(lng - lngAnterior));
+            escreverVarint(saida, zigzag(ts - tsAnterior));
+            latAnterior = lat;
+            lngAnterior = lng;
+            tsAnterior = ts;
+        }
+        return saida.toByteArray();
+    }
+
+    static List<PontoLocalizacaoDTO> decodificar(byte[] dados) {
+        int[] posicao = {0};
+        int quantidade = (int) lerVarint(dados, posicao);
+        List<PontoLocalizacaoDTO> pontos = new ArrayList<>(quantidade);
+
+        long lat = 0, lng = 0, ts = 0;
+        for (int i = 0; i < quantidade; i++) {
+            lat += unzigzag(lerVarint(dados, posicao));
+            lng += unzigzag(lerVarint(dados, posicao));
+            ts += unzigzag(lerVarint(dados, posicao));
+            pontos.add(new PontoLocalizacaoDTO(lat / ESCALA, lng / ESCALA, ts));
+        }
+        return pontos;
+    }
+
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static long unzigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    private static void escreverVarint(ByteArrayOutputStream saida, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            saida.write((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        saida.write((int) valor);
+    }
+
+    private static long lerVarint(byte[] dados, int[] posicao) {
+        long valor = 0;
+        int deslocamento = 0;
+        byte b;
+        do {
+            b = dados[posicao[0]++];
+            valor |= (long) (b & 0x7F) << deslocamento;
+            deslocamento += 7;
+        } while ((b & 0x80) != 0);
+        return valor;
+    }
+}
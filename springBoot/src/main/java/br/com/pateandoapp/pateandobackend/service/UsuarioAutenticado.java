@@ -0,0 +1,16 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+/**
+ * Usuário identificado por um token válido (ver TokenService).
+ * dogwalkerId só vem preenchido para usuários DOGWALKER.
+ */
+public record UsuarioAutenticado(Long id, String tipo, Long dogwalkerId, long expiraEmSegundos) {
+
+    public boolean isCliente() {
+        return "CLIENTE".equalsIgnoreCase(tipo);
+    }
+
+    public boolean isDogwalker() {
+        return "DOGWALKER".equalsIgnoreCase(tipo);
+    }
+}
@@ -4,14 +4,19 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.pateandoapp.pateandobackend.DTO.PaginaDTO;
+import br.com.pateandoapp.pateandobackend.model.Disponibilidade;
 import br.com.pateandoapp.pateandobackend.model.Dogwalker;
 import br.com.pateandoapp.pateandobackend.model.Usuario;
 import br.com.pateandoapp.pateandobackend.repository.DogwalkerRepository;
 import br.com.pateandoapp.pateandobackend.repository.UsuarioRepository;
 
 @Service
+@Transactional
 public class UsuarioService {
 
     @Autowired
@@ -20,6 +25,13 @@ public class UsuarioService {
     @Autowired
     private DogwalkerRepository dogwalkerRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Versões das listagens (ETag das respostas)
+    @Autowired
+    private VersoesRecursos versoesRecursos;
+
     // Criar Usuario
     public Usuario createUser(Usuario usuario) {
         // Verificar se email já existe
@@ -39,29 +51,36 @@ public class UsuarioService {
         if ("DOGWALKER".equalsIgnoreCase(usuario.getTipo())) {
             Dogwalker dogwalker = new Dogwalker();
             dogwalker.setUsuario(savedUser);
-            dogwalker.setDisponibilidade("DISPONIVEL");
+            dogwalker.setDisponibilidade(Disponibilidade.DISPONIVEL);
             dogwalker.setPreco30min(25.0);
             dogwalker.setPreco60min(40.0);
             dogwalker.setPreco90min(55.0);
             dogwalker.setAvaliacaoMedia(5.0);
             dogwalker.setTotalPasseios(0);
             dogwalkerRepository.save(dogwalker);
+            eventPublisher.publishEvent(new DogwalkerAlterado(dogwalker.getId()));
         }
 
         return savedUser;
     }
 
-    // Buscar todos os Usuarios
-    public List<Usuario> listUsers() {
-        return usuarioRepository.findAll();
+    // Buscar Usuarios (paginado por cursor no id)
+    @Transactional(readOnly = true)
+    public PaginaDTO<Usuario> listUsers(String cursor, Integer limite) {
+        int tamanho = Paginacao.limite(limite);
+        List<Usuario> linhas = usuarioRepository.findByIdGreaterThanOrderByIdAsc(
+                Paginacao.decodificarId(cursor), Paginacao.consulta(tamanho));
+        return Paginacao.pagina(linhas, tamanho, usuario -> Paginacao.codificar(usuario.getId()));
     }
 
     // Buscar usuário por ID
+    @Transactional(readOnly = true)
     public Optional<Usuario> findById(Long id) {
         return usuarioRepository.findById(id);
     }
 
     // Buscar usuário por email
+    @Transactional(readOnly = true)
     public Optional<Usuario> findByEmail(String email) {
         return usuarioRepository.findByEmail(email);
     }
@@ -69,6 +88,7 @@ public class UsuarioService {
     // Deletar usuário
     public void deleteUser(Long id) {
         usuarioRepository.deleteById(id);
+        versoesRecursos.alterarTudo();
     }
 
     public Optional<Usuario> login(String email, String senha) {
@@ -83,13 +103,14 @@ public class UsuarioService {
                     // Criar registro de dogwalker se não existir
                     Dogwalker dogwalker = new Dogwalker();
                     dogwalker.setUsuario(usuario);
-                    dogwalker.setDisponibilidade("DISPONIVEL");
+                    dogwalker.setDisponibilidade(Disponibilidade.DISPONIVEL);
                     dogwalker.setPreco30min(25.0);
                     dogwalker.setPreco60min(40.0);
                     dogwalker.setPreco90min(55.0);
                     dogwalker.setAvaliacaoMedia(5.0);
                     dogwalker.setTotalPasseios(0);
                     dogwalkerRepository.save(dogwalker);
+                    eventPublisher.publishEvent(new DogwalkerAlterado(dogwalker.getId()));
                 }
             }
         }
@@ -0,0 +1,163 @@
+package br.com.pateandoapp.pateandobackend.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Versões em memória das listagens, usadas nos ETags das respostas.
+ *
+ * Cada recurso (agendamentos de um usuário, de um dogwalker, pets de um usuário,
+ * diretório de dogwalkers...) tem uma versão que os serviços avançam quando
+ * alteram algo que aparece nele. Com o ETag guardado pelo app, o controller
+ * responde 304 comparando só a versão, sem consultar o banco.
+ *
+ * Todas as versões saem de um único relógio crescente, e a versão efetiva de um
+ * recurso é a maior entre a dele e a "geral": alterarTudo() invalida todos os
+ * recursos de uma vez. A geração (aleatória, da subida) faz os ETags anteriores a
+ * um reinício deixarem de valer.
+ *
+ * As versões só avançam depois do commit: a leitura pega a versão antes de
+ * consultar, então no pior caso o app baixa de novo algo que não mudou, nunca
+ * guarda um dado antigo com a versão nova.
+ */
+@Service
+public class VersoesRecursos {
+
+    // Listagens gerais (GET /agendamentos, /agendamentos/status/{status})
+    public static final String AGENDAMENTOS = "agendamentos";
+
+    // Listagens do diretório de dogwalkers
+    public static final String DOGWALKERS = "dogwalkers";
+
+    @Value("${pateando.etag.maximo-recursos:100000}")
+    private int maximoRecursos;
+
+    private final String geracao = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final AtomicLong relogio = new AtomicLong();
+    private volatile long geral = 0;
+    private final Map<String, Long> versoes = new ConcurrentHashMap<>();
+
+    // Estatísticas
+    private final LongAdder alteracoes = new LongAdder();
+    private final LongAdder naoModificados = new LongAdder();
+    private final LongAdder completos = new LongAdder();
+
+    public static String agendamentosDoUsuario(Long usuarioId) {
+        return "agendamentos:usuario:" + usuarioId;
+    }
+
+    public static String agendamentosDoDogwalker(Long dogwalkerId) {
+        return "agendamentos:dogwalker:" + dogwalkerId;
+    }
+
+    public static String petsDoUsuario(Long usuarioId) {
+        return "pets:usuario:" + usuarioId;
+    }
+
+    public static String dogwalker(Long dogwalkerId) {
+        return "dogwalker:" + dogwalkerId;
+    }
+
+    /**
+     * ETag fraco da versão atual do recurso para uma representação (URL e parâmetros).
+     * Fraco porque a compressão muda os bytes, não o conteúdo.
+     */
+    public String etag(String recurso, String representacao) {
+        Long versao = versoes.get(recurso);
+        long efetiva = Math.max(versao != null ? versao : 0, geral);
+        return "W/\"" + geracao + "-" + Long.toString(efetiva, 36)
+                + "-" + Integer.toHexString(representacao.hashCode()) + "\"";
+    }
+
+    /**
+     * Avança a versão dos recursos depois do commit da transação atual
+     */
+    public void alterar(String... recursos) {
+        aposCommit(() -> avancar(recursos));
+    }
+
+    /**
+     * Invalida todos os recursos depois do commit (remoções e alterações em massa)
+     */
+    public void alterarTudo() {
+        aposCommit(this::avancarTudo);
+    }
+
+    /**
+     * Dogwalker criado, alterado ou removido: o cartão dele e as listagens do diretório.
+     * Já roda depois do commit, então avança na hora.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarDogwalker(DogwalkerAlterado evento) {
+        if (evento.dogwalkerId() == null) {
+            avancarTudo();
+        } else {
+            avancar(DOGWALKERS, dogwalker(evento.dogwalkerId()));
+        }
+    }
+
+    private void avancar(String... recursos) {
+        for (String recurso : recursos) {
+            versoes.put(recurso, relogio.incrementAndGet());
+        }
+        alteracoes.increment();
+        if (versoes.size() > maximoRecursos) {
+            // Muitos recursos: esquece todos e invalida tudo (os ETags só mudam)
+            versoes.clear();
+            geral = relogio.incrementAndGet();
+        }
+    }
+
+    private void avancarTudo() {
+        geral = relogio.incrementAndGet();
+        alteracoes.increment();
+    }
+
+    // Contadores das respostas condicionais (chamados pelos controllers)
+    public void registrarNaoModificado() {
+        naoModificados.increment();
+    }
+
+    public void registrarCompleto() {
+        completos.increment();
+    }
+
+    /**
+     * Recursos versionados e respostas 304 x completas
+     */
+    public Map<String, Object> estatisticas() {
+        long naoModificadas = naoModificados.sum();
+        long total = naoModificadas + completos.sum();
+        Map<String, Object> estatisticas = new HashMap<>();
+        estatisticas.put("recursos", versoes.size());
+        estatisticas.put("alteracoes", alteracoes.sum());
+        estatisticas.put("naoModificados", naoModificadas);
+        estatisticas.put("completos", completos.sum());
+        estatisticas.put("taxaNaoModificados", total == 0 ? 0.0 : (double) naoModificadas / total);
+        return estatisticas;
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+-- Preço combinado no agendamento: tabela do dogwalker na hora do pedido, para a duração pedida.
+-- Mudanças de preço depois disso não alteram passeios já agendados.
+alter table agendamentos add column preco double precision;
+
+-- Agendamentos existentes: preço atual do dogwalker (o da época não foi guardado)
+update agendamentos a set preco = (
+    select case
+               when a.duracao <= 30 then d.preco_30min
+               when a.duracao <= 60 then d.preco_60min
+               else d.preco_90min
+           end
+    from dogwalkers d
+    where d.id = a.dogwalker_id);
+
+-- Ganhos e atividade por dogwalker e dia do passeio, somados a cada passeio concluído.
+-- Relatórios por período somam estes baldes em vez de percorrer os agendamentos.
+create table ganhos_dogwalker_dia (
+    dogwalker_id bigint not null references dogwalkers (id),
+    dia date not null,
+    passeios integer not null,
+    minutos integer not null,
+    receita double precision not null,
+    pets integer not null,
+    primary key (dogwalker_id, dia)
+);
+
+-- Carga inicial a partir dos passeios já concluídos
+insert into ganhos_dogwalker_dia (dogwalker_id, dia, passeios, minutos, receita, pets)
+select a.dogwalker_id, cast(a.data_hora as date), count(*), sum(a.duracao),
+       coalesce(sum(a.preco), 0), coalesce(sum(p.pets), 0)
+from agendamentos a
+left join (select agendamento_id, count(*) as pets
+           from agendamento_pets
+           group by agendamento_id) p on p.agendamento_id = a.id
+where a.status = 'CONCLUIDO'
+group by a.dogwalker_id, cast(a.data_hora as date);
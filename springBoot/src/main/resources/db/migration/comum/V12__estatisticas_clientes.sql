@@ -0,0 +1,19 @@
+-- Estatísticas dos clientes mantidas a cada passeio concluído (ClienteEstatisticasService).
+-- Estavam na V1 por engano: bancos marcados na baseline nunca as receberam.
+-- IF NOT EXISTS: o ddl-auto=update de ambientes que já rodavam essas estatísticas
+-- antes do Flyway pode tê-las criado.
+-- Sem carga aqui: com a tabela vazia, a reconstrução roda na subida.
+create table if not exists cliente_estatisticas (
+    cliente_id bigint primary key,
+    total_passeios integer not null,
+    total_minutos integer not null,
+    dogwalker_favorito_id bigint references dogwalkers (id),
+    passeios_com_favorito integer not null
+);
+
+create table if not exists cliente_dogwalker_passeios (
+    cliente_id bigint not null,
+    dogwalker_id bigint not null,
+    passeios integer not null,
+    primary key (cliente_id, dogwalker_id)
+);
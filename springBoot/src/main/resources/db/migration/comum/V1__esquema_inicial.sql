@@ -0,0 +1,52 @@
+-- Esquema inicial, equivalente ao que o antigo ddl-auto=update gerava.
+-- Bancos já existentes são marcados nesta versão (baseline) e não executam este script:
+-- tabelas novas vão sempre em migrations seguintes, nunca aqui.
+
+create table usuarios (
+    id bigint generated by default as identity primary key,
+    nome varchar(255) not null,
+    email varchar(255) not null unique,
+    telefone varchar(255) not null unique,
+    senha varchar(255) not null,
+    tipo varchar(255) not null
+);
+
+create table dogwalkers (
+    id bigint generated by default as identity primary key,
+    usuario_id bigint unique references usuarios (id),
+    disponibilidade varchar(255) not null,
+    preco_30min double precision,
+    preco_60min double precision,
+    preco_90min double precision,
+    avaliacao_media double precision,
+    total_passeios integer,
+    descricao varchar(500),
+    foto_url varchar(255)
+);
+
+create table pets (
+    id bigint generated by default as identity primary key,
+    nome varchar(255) not null,
+    raca varchar(255),
+    idade integer not null,
+    necessidades_especiais varchar(255),
+    observacoes varchar(255),
+    usuario_id bigint references usuarios (id)
+);
+
+create table agendamentos (
+    id bigint generated by default as identity primary key,
+    cliente_id bigint not null references usuarios (id),
+    dogwalker_id bigint not null references dogwalkers (id),
+    data_hora timestamp(6) not null,
+    duracao integer not null,
+    rota varchar(255),
+    observacoes varchar(255),
+    status varchar(255) not null,
+    emergencia_ativa boolean not null
+);
+
+create table agendamento_pets (
+    agendamento_id bigint not null references agendamentos (id),
+    pet_id bigint not null references pets (id)
+);
@@ -0,0 +1,24 @@
+-- Status passam a ser enums gravados como texto em maiúsculas.
+-- Normaliza valores antigos gravados com outra caixa antes das constraints.
+update agendamentos set status = upper(status);
+update dogwalkers set disponibilidade = upper(disponibilidade);
+
+alter table agendamentos add constraint ck_agendamentos_status
+    check (status in ('PENDENTE', 'ACEITO', 'REJEITADO', 'EM_ANDAMENTO', 'CONCLUIDO', 'CANCELADO'));
+alter table dogwalkers add constraint ck_dogwalkers_disponibilidade
+    check (disponibilidade in ('DISPONIVEL', 'INDISPONIVEL', 'OCUPADO'));
+
+-- Listagens paginadas por (data_hora, id), com e sem filtro por dono/status.
+-- IF NOT EXISTS: o ddl-auto=update pode já ter criado alguns destes índices.
+create index if not exists idx_agendamentos_data_hora_id on agendamentos (data_hora, id);
+create index if not exists idx_agendamentos_cliente_data_hora on agendamentos (cliente_id, data_hora, id);
+create index if not exists idx_agendamentos_dogwalker_data_hora on agendamentos (dogwalker_id, data_hora, id);
+create index if not exists idx_agendamentos_status_data_hora on agendamentos (status, data_hora, id);
+
+-- Chaves estrangeiras sem índice (o postgres não cria automaticamente)
+create index if not exists idx_agendamento_pets_agendamento on agendamento_pets (agendamento_id);
+create index if not exists idx_agendamento_pets_pet on agendamento_pets (pet_id);
+create index if not exists idx_pets_usuario on pets (usuario_id);
+
+-- Diretório de dogwalkers por disponibilidade
+create index if not exists idx_dogwalkers_disponibilidade on dogwalkers (disponibilidade);
@@ -0,0 +1,10 @@
+-- Trajeto dos passeios em blocos de pontos codificados em delta (um insert por bloco, não por ponto)
+create table trechos_trajeto (
+    agendamento_id bigint not null references agendamentos (id),
+    sequencia integer not null,
+    inicio timestamp(6) not null,
+    fim timestamp(6) not null,
+    quantidade_pontos integer not null,
+    dados bytea not null,
+    primary key (agendamento_id, sequencia)
+);
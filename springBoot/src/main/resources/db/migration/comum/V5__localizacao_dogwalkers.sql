@@ -0,0 +1,4 @@
+-- Coordenadas do dogwalker (casa ou última posição conhecida), para a busca por proximidade.
+-- A busca é servida por um índice em memória (GradeGeografica); no banco fica só o dado.
+alter table dogwalkers add column latitude double precision;
+alter table dogwalkers add column longitude double precision;
@@ -0,0 +1,3 @@
+-- Versão para controle otimista de concorrência: as transições de status são
+-- UPDATEs condicionais que também incrementam a versão.
+alter table agendamentos add column versao bigint not null default 0;
@@ -0,0 +1,22 @@
+-- Avaliações dos passeios concluídos (uma por agendamento)
+create table avaliacoes (
+    id bigint generated by default as identity primary key,
+    agendamento_id bigint not null unique references agendamentos (id),
+    cliente_id bigint not null references usuarios (id),
+    dogwalker_id bigint not null references dogwalkers (id),
+    nota integer not null check (nota between 1 and 5),
+    comentario varchar(500),
+    criada_em timestamp(6) not null
+);
+
+-- Avaliações recentes de um dogwalker (paginação por id decrescente)
+create index idx_avaliacoes_dogwalker on avaliacoes (dogwalker_id, id);
+
+-- Resumo das avaliações mantido no próprio dogwalker (atualizado a cada avaliação)
+alter table dogwalkers add column total_avaliacoes integer not null default 0;
+alter table dogwalkers add column soma_avaliacoes integer not null default 0;
+alter table dogwalkers add column avaliacoes_1 integer not null default 0;
+alter table dogwalkers add column avaliacoes_2 integer not null default 0;
+alter table dogwalkers add column avaliacoes_3 integer not null default 0;
+alter table dogwalkers add column avaliacoes_4 integer not null default 0;
+alter table dogwalkers add column avaliacoes_5 integer not null default 0;
@@ -0,0 +1,35 @@
+-- Histórico das transições dos agendamentos: quem fez o quê e quando.
+-- Só recebe inserções, gravadas em lote fora da requisição (RegistroTransicoes).
+-- As projeções (estatísticas dos clientes, total de passeios dos dogwalkers) podem
+-- ser refeitas percorrendo a tabela.
+-- Sem chave estrangeira para agendamentos: o log não trava a remoção (o admin apaga
+-- as transições junto com o agendamento).
+create table transicoes_agendamento (
+    id bigint primary key,
+    agendamento_id bigint not null,
+    tipo varchar(30) not null,
+    status varchar(20) not null,
+    cliente_id bigint not null,
+    dogwalker_id bigint not null,
+    duracao integer not null,
+    -- Usuário que fez a transição (vazio: carga inicial)
+    autor_id bigint,
+    ocorrido_em timestamp(6) not null
+);
+
+-- Histórico de um agendamento, em ordem
+create index idx_transicoes_agendamento on transicoes_agendamento (agendamento_id, id);
+
+-- Carga inicial: o histórico anterior não foi guardado, então cada agendamento existente
+-- entra com uma transição para o status atual, na data do passeio.
+insert into transicoes_agendamento
+    (id, agendamento_id, tipo, status, cliente_id, dogwalker_id, duracao, autor_id, ocorrido_em)
+select row_number() over (order by id), id,
+       case status
+           when 'PENDENTE' then 'CRIADO'
+           when 'EM_ANDAMENTO' then 'INICIADO'
+           when 'CONCLUIDO' then 'FINALIZADO'
+           else status
+       end,
+       status, cliente_id, dogwalker_id, duracao, null, data_hora
+from agendamentos;
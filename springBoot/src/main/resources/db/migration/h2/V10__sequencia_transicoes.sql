@@ -0,0 +1,3 @@
+-- O H2 não tem setval; o equivalente de db/migration/postgresql/V10 é o restart.
+create sequence transicoes_agendamento_seq increment by 50;
+alter sequence transicoes_agendamento_seq restart with (select coalesce(max(id), 0) + 50 from transicoes_agendamento);
@@ -0,0 +1,7 @@
+-- O H2 não suporta índices parciais; usa os equivalentes completos
+-- dos índices de db/migration/postgresql/V3.
+create index if not exists idx_agendamentos_dogwalker_ativos
+    on agendamentos (dogwalker_id, status, data_hora);
+
+create index if not exists idx_agendamentos_emergencia_ativa
+    on agendamentos (dogwalker_id, emergencia_ativa);
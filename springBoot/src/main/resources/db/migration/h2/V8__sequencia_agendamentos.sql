@@ -0,0 +1,3 @@
+-- O H2 não tem setval; o equivalente de db/migration/postgresql/V8 é o restart.
+create sequence agendamentos_seq increment by 50;
+alter sequence agendamentos_seq restart with (select coalesce(max(id), 0) + 50 from agendamentos);
@@ -0,0 +1,5 @@
+-- Ids das transições vêm de uma sequência com incremento 50 (pooled), como os agendamentos:
+-- o RegistroTransicoes grava cada lote num único comando.
+-- O valor inicial fica 50 acima do maior id da carga inicial (V9).
+create sequence transicoes_agendamento_seq increment by 50;
+select setval('transicoes_agendamento_seq', (select coalesce(max(id), 0) + 50 from transicoes_agendamento), false);
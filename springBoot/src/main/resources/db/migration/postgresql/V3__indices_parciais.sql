@@ -0,0 +1,10 @@
+-- Agenda ativa do dogwalker (pendentes, aceitos e em andamento) ordenada por horário.
+-- Índice parcial: só as linhas ativas, uma fração pequena do histórico.
+create index if not exists idx_agendamentos_dogwalker_ativos
+    on agendamentos (dogwalker_id, data_hora)
+    where status in ('PENDENTE', 'ACEITO', 'EM_ANDAMENTO');
+
+-- Emergências em aberto
+create index if not exists idx_agendamentos_emergencia_ativa
+    on agendamentos (dogwalker_id)
+    where emergencia_ativa;
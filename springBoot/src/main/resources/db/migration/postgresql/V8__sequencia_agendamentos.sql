@@ -0,0 +1,7 @@
+-- Ids de agendamentos passam a vir de uma sequência com incremento 50 (otimizador pooled
+-- do Hibernate): a aplicação reserva 50 ids por chamada e os inserts podem ir em lote,
+-- o que a coluna identity impedia.
+-- O valor inicial fica 50 acima do maior id existente, porque o pooled usa o intervalo
+-- (valor - 49 .. valor).
+create sequence agendamentos_seq increment by 50;
+select setval('agendamentos_seq', (select coalesce(max(id), 0) + 50 from agendamentos), false);
@@ -0,0 +1,101 @@
+package br.com.pateandoapp.pateandobackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.pateandoapp.pateandobackend.model.StatusAgendamento;
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+import br.com.pateandoapp.pateandobackend.repository.AgendamentoRepository;
+import br.com.pateandoapp.pateandobackend.service.AgendamentoService;
+import br.com.pateandoapp.pateandobackend.service.ClienteEstatisticasService;
+
+// Regras das transições e dos horários de agendamento pelo serviço
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+class AgendamentosTests {
+
+	@Autowired
+	private DadosTeste dados;
+
+	@Autowired
+	private AgendamentoService agendamentoService;
+
+	@Autowired
+	private AgendamentoRepository agendamentoRepository;
+
+	@Autowired
+	private ClienteEstatisticasService clienteEstatisticasService;
+
+	@Test
+	void cancelarDeNovoDevolveOEstadoAtual() {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		Long cancelado = dados.criarPasseio(cliente, walker, DadosTeste.horario());
+		Long rejeitado = dados.criarPasseio(cliente, walker, DadosTeste.horario());
+
+		assertThat(agendamentoService.cancelarAgendamento(cancelado, cliente.getId()).getStatus())
+				.isEqualTo(StatusAgendamento.CANCELADO);
+		assertThat(agendamentoService.cancelarAgendamento(cancelado, cliente.getId()).getStatus())
+				.isEqualTo(StatusAgendamento.CANCELADO);
+
+		agendamentoService.rejeitarAgendamento(rejeitado, walker.getId());
+		assertThat(agendamentoService.cancelarAgendamento(rejeitado, cliente.getId()).getStatus())
+				.isEqualTo(StatusAgendamento.REJEITADO);
+
+		// Outro cliente continua sem permissão, mesmo no agendamento já cancelado
+		Long outro = dados.usuario("CLIENTE").getId();
+		assertThatThrownBy(() -> agendamentoService.cancelarAgendamento(cancelado, outro))
+				.hasMessage("Você não tem permissão para cancelar este agendamento!");
+	}
+
+	@Test
+	void passeioConcluidoNaoPodeSerRemovido() {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		Long concluido = dados.concluir(dados.criarPasseio(cliente, walker, DadosTeste.horario()), walker);
+		Long pendente = dados.criarPasseio(cliente, walker, DadosTeste.horario());
+
+		assertThatThrownBy(() -> agendamentoService.deletarAgendamento(concluido))
+				.hasMessage("Não é possível remover um passeio concluído!");
+		assertThat(agendamentoRepository.existsById(concluido)).isTrue();
+		assertThat(clienteEstatisticasService.buscar(cliente.getId()).getTotalPasseios()).isEqualTo(1);
+		assertThat(dados.dogwalker(walker).getTotalPasseios()).isEqualTo(1);
+
+		agendamentoService.deletarAgendamento(pendente);
+		assertThat(agendamentoRepository.existsById(pendente)).isFalse();
+	}
+
+	@Test
+	void horarioSobrepostoNoMesmoDogwalkerERejeitado() {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		Usuario outroWalker = dados.usuario("DOGWALKER");
+		List<Long> pets = List.of(dados.pet(cliente));
+		LocalDateTime inicio = DadosTeste.horario();
+
+		// Passeio longo: o que começa perto do fim dele só é achado olhando a maior duração para trás
+		Long longo = dados.criarPasseio(cliente, pets, walker, inicio, 180);
+		assertThatThrownBy(() -> dados.criarPasseio(cliente, pets, walker, inicio.plusMinutes(150), 60))
+				.hasMessage("O dogwalker já tem um passeio marcado nesse horário!");
+		assertThatThrownBy(() -> dados.criarPasseio(cliente, pets, walker, inicio.minusMinutes(30), 60))
+				.hasMessage("O dogwalker já tem um passeio marcado nesse horário!");
+
+		// Encostado no fim ([início, fim)) e com outro dogwalker no mesmo horário: sem conflito
+		dados.criarPasseio(cliente, pets, walker, inicio.plusMinutes(180), 60);
+		dados.criarPasseio(cliente, pets, outroWalker, inicio, 60);
+
+		// Cancelado libera o horário
+		agendamentoService.cancelarAgendamento(longo, cliente.getId());
+		dados.criarPasseio(cliente, pets, walker, inicio.plusMinutes(150), 30);
+	}
+}
@@ -0,0 +1,96 @@
+package br.com.pateandoapp.pateandobackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.pateandoapp.pateandobackend.DTO.ClienteEstatisticasDTO;
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+import br.com.pateandoapp.pateandobackend.service.AgendamentoService;
+import br.com.pateandoapp.pateandobackend.service.ClienteEstatisticasService;
+
+// Estatísticas dos clientes mantidas a cada passeio concluído, inclusive com passeios
+// do mesmo cliente concluídos ao mesmo tempo (primeiro passeio incluído)
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+class ClienteEstatisticasTests {
+
+	@Autowired
+	private DadosTeste dados;
+
+	@Autowired
+	private AgendamentoService agendamentoService;
+
+	@Autowired
+	private ClienteEstatisticasService clienteEstatisticasService;
+
+	@Test
+	void passeiosConcluidosAoMesmoTempoNaoSePerdem() throws Exception {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walkerA = dados.usuario("DOGWALKER");
+		Usuario walkerB = dados.usuario("DOGWALKER");
+
+		// 4 passeios com A e 2 com B, todos em andamento
+		List<Usuario> walkers = List.of(walkerA, walkerA, walkerA, walkerA, walkerB, walkerB);
+		List<Long> passeios = new ArrayList<>();
+		for (Usuario walker : walkers) {
+			passeios.add(dados.iniciar(dados.criarPasseio(cliente, walker, DadosTeste.horario()), walker));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(walkers.size());
+		try {
+			CountDownLatch largada = new CountDownLatch(1);
+			List<Future<?>> finalizacoes = new ArrayList<>();
+			for (int i = 0; i < walkers.size(); i++) {
+				Long passeio = passeios.get(i);
+				Long walkerId = walkers.get(i).getId();
+				finalizacoes.add(executor.submit(() -> {
+					largada.await();
+					return agendamentoService.finalizarPasseio(passeio, walkerId);
+				}));
+			}
+			largada.countDown();
+			for (Future<?> finalizacao : finalizacoes) {
+				finalizacao.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		ClienteEstatisticasDTO estatisticas = clienteEstatisticasService.buscar(cliente.getId());
+		assertThat(estatisticas.getTotalPasseios()).isEqualTo(6);
+		assertThat(estatisticas.getTotalMinutos()).isEqualTo(360);
+		assertThat(estatisticas.getDogwalkerFavorito()).isEqualTo(walkerA.getNome());
+		assertThat(estatisticas.getPasseiosComFavorito()).isEqualTo(4);
+	}
+
+	@Test
+	void favoritoMudaQuandoOutroDogwalkerPassa() {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walkerA = dados.usuario("DOGWALKER");
+		Usuario walkerB = dados.usuario("DOGWALKER");
+
+		dados.concluir(dados.criarPasseio(cliente, walkerA, DadosTeste.horario()), walkerA);
+		dados.concluir(dados.criarPasseio(cliente, walkerB, DadosTeste.horario()), walkerB);
+		// Empate: fica o que chegou primeiro
+		assertThat(clienteEstatisticasService.buscar(cliente.getId()).getDogwalkerFavorito()).isEqualTo(walkerA.getNome());
+
+		dados.concluir(dados.criarPasseio(cliente, walkerB, DadosTeste.horario()), walkerB);
+		ClienteEstatisticasDTO estatisticas = clienteEstatisticasService.buscar(cliente.getId());
+		assertThat(estatisticas.getDogwalkerFavorito()).isEqualTo(walkerB.getNome());
+		assertThat(estatisticas.getPasseiosComFavorito()).isEqualTo(2);
+		assertThat(estatisticas.getTotalPasseios()).isEqualTo(3);
+	}
+}
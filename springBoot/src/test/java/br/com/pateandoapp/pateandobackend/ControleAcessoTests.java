@@ -0,0 +1,161 @@
+package br.com.pateandoapp.pateandobackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import br.com.pateandoapp.pateandobackend.controller.ManutencaoEndpoint;
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+import br.com.pateandoapp.pateandobackend.service.DogwalkerService;
+
+// Tokens rejeitados (401) e recursos de outro usuário (403): agendamentos, rastreamento,
+// stream de eventos e remoções só para o dono; manutenção só pelo actuator
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+class ControleAcessoTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private DadosTeste dados;
+
+	@Autowired
+	private ManutencaoEndpoint manutencaoEndpoint;
+
+	@Autowired
+	private DogwalkerService dogwalkerService;
+
+	@Test
+	void rejeitaTokenAusenteOuAdulterado() throws Exception {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario outro = dados.usuario("CLIENTE");
+		String token = dados.token(cliente);
+
+		chamar(get("/usuarios/" + cliente.getId()), null, status().isUnauthorized());
+		chamar(get("/usuarios/" + cliente.getId()), "abc.def", status().isUnauthorized());
+
+		// Mesma assinatura com o id de outro usuário nos dados
+		Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+		String[] partes = token.split("\\.");
+		String dados = new String(Base64.getUrlDecoder().decode(partes[0]), StandardCharsets.UTF_8);
+		String trocado = outro.getId() + dados.substring(dados.indexOf('|'));
+		chamar(get("/usuarios/" + outro.getId()),
+				base64.encodeToString(trocado.getBytes(StandardCharsets.UTF_8)) + "." + partes[1],
+				status().isUnauthorized());
+
+		chamar(get("/usuarios/" + cliente.getId()), token, status().isOk());
+	}
+
+	@Test
+	void passeioSoParaOClienteEODogwalker() throws Exception {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		String estranho = dados.token(dados.usuario("CLIENTE"));
+		Long passeio = dados.iniciar(dados.criarPasseio(cliente, walker, DadosTeste.horario()), walker);
+		chamar(post("/agendamentos/" + passeio + "/localizacoes").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"pontos\":[{\"latitude\":-23.55,\"longitude\":-46.63,\"timestamp\":"
+						+ System.currentTimeMillis() + "}]}"), dados.token(walker), status().isOk());
+
+		for (String caminho : new String[] {"/historico", "/localizacao", "/localizacoes/recentes", "/trajeto"}) {
+			chamar(get("/agendamentos/" + passeio + caminho), estranho, status().isForbidden());
+			chamar(get("/agendamentos/" + passeio + caminho), dados.token(walker), status().isOk());
+		}
+		chamar(get("/agendamentos/" + passeio + "/historico"), dados.token(cliente), status().isOk());
+		chamar(get("/agendamentos/999999/trajeto"), estranho, status().isNotFound());
+	}
+
+	@Test
+	void streamDeEventosSoDoProprioUsuario() throws Exception {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario outro = dados.usuario("CLIENTE");
+
+		chamar(get("/eventos/usuario/" + cliente.getId()), dados.token(outro), status().isForbidden());
+	}
+
+	@Test
+	void remocoesSoPeloDono() throws Exception {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		Long pet = dados.pet(cliente);
+		Long passeio = dados.criarPasseio(cliente, walker, DadosTeste.horario());
+
+		chamar(delete("/usuarios/" + cliente.getId()), dados.token(walker), status().isForbidden());
+		chamar(delete("/pets/delete/" + pet), dados.token(walker), status().isForbidden());
+		chamar(delete("/dogwalkers/" + dados.dogwalker(walker).getId()), dados.token(cliente), status().isForbidden());
+		// O dogwalker do passeio também não remove o agendamento
+		chamar(delete("/agendamentos/" + passeio), dados.token(walker), status().isForbidden());
+
+		chamar(delete("/agendamentos/" + passeio), dados.token(cliente), status().isNoContent());
+		chamar(delete("/pets/delete/" + pet), dados.token(cliente), status().isOk());
+	}
+
+	@Test
+	void cadastrosSoParaOProprioUsuario() throws Exception {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		String estranho = dados.token(dados.usuario("CLIENTE"));
+
+		chamar(post("/pets/create/" + cliente.getId()).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Rex\",\"idade\":3}"), estranho, status().isForbidden());
+		chamar(put("/dogwalkers/usuario/" + walker.getId() + "/disponibilidade").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"disponibilidade\":\"INDISPONIVEL\"}"), estranho, status().isForbidden());
+		// O usuário do corpo tem de ser o do token (como nos agendamentos)
+		chamar(post("/dogwalkers/criar").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"usuarioId\":" + walker.getId() + "}"), estranho, status().isBadRequest());
+	}
+
+	@Test
+	void perfilDeDogwalkerCriadoDepoisDoLoginValeNoMesmoToken() throws Exception {
+		Usuario walker = dados.usuario("DOGWALKER");
+		dogwalkerService.deletar(dados.dogwalker(walker).getId());
+		// Login sem perfil: o token não leva o dogwalkerId
+		String token = dados.token(walker);
+
+		chamar(post("/dogwalkers/criar").contentType(MediaType.APPLICATION_JSON).content("{}"), token, status().isOk());
+		chamar(put("/dogwalkers/" + dados.dogwalker(walker).getId() + "/disponibilidade")
+				.contentType(MediaType.APPLICATION_JSON).content("{\"disponibilidade\":\"INDISPONIVEL\"}"),
+				token, status().isOk());
+	}
+
+	@Test
+	void manutencaoSaiuDaApi() throws Exception {
+		String token = dados.token(dados.usuario("CLIENTE"));
+
+		chamar(get("/emergencias/operador"), token, status().isNotFound());
+		chamar(get("/dogwalkers/cache/estatisticas"), token, status().isNotFound());
+
+		assertThat(manutencaoEndpoint.estatisticas()).containsKeys("tokens", "versoes", "diretorioDogwalkers");
+		assertThatThrownBy(() -> manutencaoEndpoint.reparar("tudo"))
+				.isInstanceOf(InvalidEndpointRequestException.class);
+	}
+
+	private void chamar(MockHttpServletRequestBuilder requisicao, String token, ResultMatcher esperado) throws Exception {
+		if (token != null) {
+			requisicao.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		}
+		mvc.perform(requisicao).andExpect(esperado);
+	}
+}
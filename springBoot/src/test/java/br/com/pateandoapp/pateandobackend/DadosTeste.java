@@ -0,0 +1,104 @@
+package br.com.pateandoapp.pateandobackend;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import br.com.pateandoapp.pateandobackend.model.Agendamento;
+import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+import br.com.pateandoapp.pateandobackend.model.Pet;
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+import br.com.pateandoapp.pateandobackend.repository.DogwalkerRepository;
+import br.com.pateandoapp.pateandobackend.service.AgendamentoService;
+import br.com.pateandoapp.pateandobackend.service.PetService;
+import br.com.pateandoapp.pateandobackend.service.TokenService;
+import br.com.pateandoapp.pateandobackend.service.UsuarioService;
+
+// Massa dos testes de integração, criada pelos serviços como a API criaria (@Import nos testes).
+// O banco em memória é compartilhado por todos os contextos: emails, telefones e horários
+// saem de uma sequência, e cada teste cria os próprios usuários.
+@TestComponent
+class DadosTeste {
+
+	private static final AtomicInteger SEQUENCIA = new AtomicInteger();
+
+	@Autowired
+	private UsuarioService usuarioService;
+
+	@Autowired
+	private PetService petService;
+
+	// Direto do banco: o diretório em cache só recarrega depois do commit
+	@Autowired
+	private DogwalkerRepository dogwalkerRepository;
+
+	@Autowired
+	private AgendamentoService agendamentoService;
+
+	@Autowired
+	private TokenService tokenService;
+
+	// Usuário cadastrado (DOGWALKER ganha também o perfil de dogwalker)
+	Usuario usuario(String tipo) {
+		return usuarioService.createUser(novoUsuario(tipo.toLowerCase() + SEQUENCIA.incrementAndGet(), tipo));
+	}
+
+	// Usuário ainda não cadastrado, com email nome@teste.local e telefone único
+	Usuario novoUsuario(String nome, String tipo) {
+		Usuario usuario = new Usuario();
+		usuario.setNome(nome);
+		usuario.setEmail(nome + "@teste.local");
+		usuario.setTelefone("44" + SEQUENCIA.incrementAndGet());
+		usuario.setSenha("s");
+		usuario.setTipo(tipo);
+		return usuario;
+	}
+
+	String token(Usuario usuario) {
+		return tokenService.emitir(usuario);
+	}
+
+	Dogwalker dogwalker(Usuario walker) {
+		return dogwalkerRepository.findByUsuarioId(walker.getId()).orElseThrow();
+	}
+
+	Long pet(Usuario dono) {
+		Pet pet = new Pet();
+		pet.setNome("Rex");
+		pet.setIdade(3);
+		return petService.createPet(dono.getId(), pet).orElseThrow().getId();
+	}
+
+	// Passeio de 60 minutos com um pet novo do cliente
+	Long criarPasseio(Usuario cliente, Usuario walker, LocalDateTime dataHora) {
+		return criarPasseio(cliente, List.of(pet(cliente)), walker, dataHora, 60);
+	}
+
+	Long criarPasseio(Usuario cliente, List<Long> petIds, Usuario walker, LocalDateTime dataHora, int duracao) {
+		Agendamento dados = new Agendamento();
+		dados.setDataHora(dataHora);
+		dados.setDuracao(duracao);
+		return agendamentoService.criarAgendamento(cliente.getId(), petIds, dogwalker(walker).getId(), dados)
+				.getId();
+	}
+
+	// Um horário futuro só deste passeio: passeios criados assim nunca conflitam
+	static LocalDateTime horario() {
+		return LocalDateTime.of(2036, 1, 1, 6, 0).plusHours(2L * SEQUENCIA.incrementAndGet());
+	}
+
+	Long iniciar(Long passeio, Usuario walker) {
+		agendamentoService.aceitarAgendamento(passeio, walker.getId());
+		agendamentoService.iniciarPasseio(passeio, walker.getId());
+		return passeio;
+	}
+
+	Long concluir(Long passeio, Usuario walker) {
+		iniciar(passeio, walker);
+		agendamentoService.finalizarPasseio(passeio, walker.getId());
+		return passeio;
+	}
+}
@@ -0,0 +1,85 @@
+package br.com.pateandoapp.pateandobackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+import br.com.pateandoapp.pateandobackend.service.DiretorioDogwalkers;
+import br.com.pateandoapp.pateandobackend.service.DogwalkerAlterado;
+import br.com.pateandoapp.pateandobackend.service.DogwalkerService;
+
+// Busca dos mais próximos durante as recargas do diretório: a grade é publicada junto
+// com o retrato do diretório, então uma busca nunca vê a grade vazia ou pela metade
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+class DiretorioDogwalkersTests {
+
+	private static final double LATITUDE = 12.3456;
+	private static final double LONGITUDE = 45.6789;
+
+	@Autowired
+	private DadosTeste dados;
+
+	@Autowired
+	private DogwalkerService dogwalkerService;
+
+	@Autowired
+	private DiretorioDogwalkers diretorio;
+
+	@Test
+	void buscaDuranteAsRecargasSempreAchaODogwalker() throws Exception {
+		Usuario walker = dados.usuario("DOGWALKER");
+		Long dogwalkerId = dados.dogwalker(walker).getId();
+		dogwalkerService.atualizarLocalizacao(dogwalkerId, LATITUDE, LONGITUDE);
+		dogwalkerService.atualizarDisponibilidade(dogwalkerId, "DISPONIVEL");
+
+		AtomicBoolean recarregando = new AtomicBoolean(true);
+		AtomicInteger buscas = new AtomicInteger();
+		AtomicInteger semResultado = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> leitores = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				leitores.add(executor.submit(() -> {
+					while (recarregando.get()) {
+						buscas.incrementAndGet();
+						boolean achou = diretorio.buscarProximos(LATITUDE, LONGITUDE, 1.0, 10).stream()
+								.anyMatch(proximo -> proximo.getDogwalker().getId().equals(dogwalkerId));
+						if (!achou) {
+							semResultado.incrementAndGet();
+						}
+					}
+				}));
+			}
+
+			// Recargas completas e parciais, como as do TTL e das alterações
+			for (int i = 0; i < 200; i++) {
+				diretorio.aoAlterar(new DogwalkerAlterado(i % 2 == 0 ? null : dogwalkerId));
+				diretorio.listar();
+			}
+			recarregando.set(false);
+			for (Future<?> leitor : leitores) {
+				leitor.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(buscas.get()).isPositive();
+		assertThat(semResultado.get()).isZero();
+	}
+}
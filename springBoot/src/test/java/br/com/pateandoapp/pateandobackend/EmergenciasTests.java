@@ -0,0 +1,80 @@
+package br.com.pateandoapp.pateandobackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+import br.com.pateandoapp.pateandobackend.service.AgendamentoService;
+import br.com.pateandoapp.pateandobackend.service.EmergenciaService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Acompanhamento das emergências: latência até a confirmação nas métricas e
+// retomada, na subida, das emergências que o banco ainda marca como ativas
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+class EmergenciasTests {
+
+	@Autowired
+	private DadosTeste dados;
+
+	@Autowired
+	private AgendamentoService agendamentoService;
+
+	@Autowired
+	private EmergenciaService emergenciaService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Test
+	void confirmacaoEntraNaLatencia() {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		Long passeio = dados.iniciar(dados.criarPasseio(cliente, walker, DadosTeste.horario()), walker);
+		long medidas = latencias();
+		double confirmadas = confirmadas();
+
+		agendamentoService.solicitarEmergencia(passeio, cliente.getId());
+		agendamentoService.confirmarEmergencia(passeio, walker.getId());
+
+		assertThat(confirmadas()).isEqualTo(confirmadas + 1);
+		assertThat(latencias()).isEqualTo(medidas + 1);
+	}
+
+	@Test
+	void retomaEmergenciasAtivasDoBanco() {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		Long passeio = dados.iniciar(dados.criarPasseio(cliente, walker, DadosTeste.horario()), walker);
+
+		// Solicitada antes de um reinício: ativa no banco, nada em memória
+		jdbcTemplate.update("update agendamentos set emergencia_ativa = true where id = ?", passeio);
+		emergenciaService.recuperarPendentes();
+		long medidas = latencias();
+		double confirmadas = confirmadas();
+
+		agendamentoService.confirmarEmergencia(passeio, walker.getId());
+
+		assertThat(confirmadas()).isEqualTo(confirmadas + 1);
+		// O horário da solicitação é de antes deste processo: sem latência
+		assertThat(latencias()).isEqualTo(medidas);
+	}
+
+	private double confirmadas() {
+		return registry.get("pateando.emergencias.confirmadas").counter().count();
+	}
+
+	private long latencias() {
+		return registry.get("pateando.emergencias.confirmacao").timer().count();
+	}
+}
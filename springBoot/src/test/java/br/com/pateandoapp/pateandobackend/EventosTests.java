@@ -0,0 +1,91 @@
+package br.com.pateandoapp.pateandobackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+
+// Reconexão do stream SSE: eventos perdidos reenviados a partir do Last-Event-ID
+// desta subida do servidor; ids de outra subida pedem RESINCRONIZAR
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+class EventosTests {
+
+	private static final Pattern ID = Pattern.compile("^id:(\\S+)$", Pattern.MULTILINE);
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private DadosTeste dados;
+
+	@Test
+	void reconexaoRecebeOsEventosPerdidos() throws Exception {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		MvcResult primeira = assinar(cliente, null);
+		dados.criarPasseio(cliente, walker, DadosTeste.horario());
+		String ultimoRecebido = ids(aguardar(primeira, "id:")).get(0);
+
+		// Publicado entre a queda e a reconexão
+		dados.criarPasseio(cliente, walker, DadosTeste.horario());
+
+		String reenviado = aguardar(assinar(cliente, ultimoRecebido), "id:");
+		assertThat(reenviado).doesNotContain("RESINCRONIZAR");
+		List<String> ids = ids(reenviado);
+		assertThat(ids).hasSize(1);
+		assertThat(ids.get(0)).isNotEqualTo(ultimoRecebido)
+				.startsWith(ultimoRecebido.substring(0, ultimoRecebido.lastIndexOf('-') + 1));
+	}
+
+	@Test
+	void idDeOutraSubidaPedeResincronizar() throws Exception {
+		Usuario cliente = dados.usuario("CLIENTE");
+
+		// Sequência menor que a atual, mas de uma época anterior (e o formato antigo, só a sequência)
+		assertThat(aguardar(assinar(cliente, "abc-1"), "RESINCRONIZAR")).contains("event:RESINCRONIZAR");
+		assertThat(aguardar(assinar(cliente, "1"), "RESINCRONIZAR")).contains("event:RESINCRONIZAR");
+	}
+
+	private MvcResult assinar(Usuario usuario, String ultimoEventoId) throws Exception {
+		var requisicao = get("/eventos/usuario/" + usuario.getId())
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + dados.token(usuario));
+		if (ultimoEventoId != null) {
+			requisicao.header("Last-Event-ID", ultimoEventoId);
+		}
+		return mvc.perform(requisicao).andExpect(request().asyncStarted()).andReturn();
+	}
+
+	// Os envios saem da thread de envio do hub: espera o conteúdo aparecer na resposta
+	private static String aguardar(MvcResult resultado, String trecho) throws Exception {
+		long limite = System.currentTimeMillis() + 5000;
+		String conteudo = resultado.getResponse().getContentAsString();
+		while (!conteudo.contains(trecho) && System.currentTimeMillis() < limite) {
+			Thread.sleep(20);
+			conteudo = resultado.getResponse().getContentAsString();
+		}
+		return conteudo;
+	}
+
+	private static List<String> ids(String conteudo) {
+		Matcher matcher = ID.matcher(conteudo);
+		return matcher.results().map(m -> m.group(1)).toList();
+	}
+}
@@ -0,0 +1,105 @@
+package br.com.pateandoapp.pateandobackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.pateandoapp.pateandobackend.service.ClienteEstatisticasService;
+
+// Banco criado pelo antigo ddl-auto=update, com dados, sem histórico do Flyway: a subida
+// marca a baseline na versão 1, roda só as migrations seguintes e passa no ddl-auto=validate
+@SpringBootTest(properties = "spring.datasource.url=" + FlywayBaselineTests.URL_LEGADO)
+@ActiveProfiles("h2")
+class FlywayBaselineTests {
+
+	static final String URL_LEGADO = "jdbc:h2:mem:pateando_legado;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ClienteEstatisticasService clienteEstatisticasService;
+
+	// Antes do contexto subir: o esquema que o ddl-auto=update gerava para as entidades da
+	// versão anterior ao Flyway (status em texto livre, sem as tabelas criadas depois), sem o
+	// histórico do Flyway, e dados gravados por essa versão (status em minúsculas)
+	@BeforeAll
+	static void criarBancoLegado() {
+		JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(URL_LEGADO, "sa", ""));
+		jdbc.execute("""
+				create table usuarios (
+				    id bigint generated by default as identity primary key,
+				    nome varchar(255) not null,
+				    email varchar(255) not null unique,
+				    telefone varchar(255) not null unique,
+				    senha varchar(255) not null,
+				    tipo varchar(255) not null
+				);
+				create table dogwalkers (
+				    id bigint generated by default as identity primary key,
+				    usuario_id bigint unique references usuarios (id),
+				    disponibilidade varchar(255) not null,
+				    preco_30min float(53),
+				    preco_60min float(53),
+				    preco_90min float(53),
+				    avaliacao_media float(53),
+				    total_passeios integer,
+				    descricao varchar(500),
+				    foto_url varchar(255)
+				);
+				create table pets (
+				    id bigint generated by default as identity primary key,
+				    nome varchar(255) not null,
+				    raca varchar(255),
+				    idade integer not null,
+				    necessidades_especiais varchar(255),
+				    observacoes varchar(255),
+				    usuario_id bigint references usuarios (id)
+				);
+				create table agendamentos (
+				    id bigint generated by default as identity primary key,
+				    cliente_id bigint not null references usuarios (id),
+				    dogwalker_id bigint not null references dogwalkers (id),
+				    data_hora timestamp(6) not null,
+				    duracao integer not null,
+				    rota varchar(255),
+				    observacoes varchar(255),
+				    status varchar(255) not null,
+				    emergencia_ativa boolean not null
+				);
+				create table agendamento_pets (
+				    agendamento_id bigint not null references agendamentos (id),
+				    pet_id bigint not null references pets (id)
+				)
+				""");
+		jdbc.update("insert into usuarios (id, nome, email, telefone, senha, tipo) values (1, 'Ana Souza', 'ana@legado', '1', 's', 'CLIENTE')");
+		jdbc.update("insert into usuarios (id, nome, email, telefone, senha, tipo) values (2, 'Bruno Lima', 'bruno@legado', '2', 's', 'DOGWALKER')");
+		jdbc.update("insert into dogwalkers (id, usuario_id, disponibilidade, preco_30min, preco_60min, preco_90min, avaliacao_media, total_passeios)"
+				+ " values (1, 2, 'disponivel', 25, 40, 55, 5, 1)");
+		jdbc.update("insert into pets (id, nome, idade, usuario_id) values (1, 'Rex', 3, 1)");
+		jdbc.update("insert into agendamentos (id, cliente_id, dogwalker_id, data_hora, duracao, status, emergencia_ativa)"
+				+ " values (1, 1, 1, timestamp '2024-05-02 08:00:00', 60, 'concluido', false)");
+		jdbc.update("insert into agendamento_pets (agendamento_id, pet_id) values (1, 1)");
+	}
+
+	@Test
+	void bancoLegadoRecebeAsMigrationsSeguintes() {
+		assertThat(jdbcTemplate.queryForObject("select type from flyway_schema_history where version = '1'", String.class))
+				.isEqualTo("BASELINE");
+		assertThat(jdbcTemplate.queryForObject("select status from agendamentos where id = 1", String.class))
+				.isEqualTo("CONCLUIDO");
+
+		// Tabelas criadas depois da baseline, com a carga inicial de cada uma
+		assertThat(clienteEstatisticasService.buscar(1L).getTotalPasseios()).isEqualTo(1);
+		assertThat(jdbcTemplate.queryForObject("select receita from ganhos_dogwalker_dia where dogwalker_id = 1", Double.class))
+				.isEqualTo(40.0);
+		assertThat(jdbcTemplate.queryForObject("select count(*) from transicoes_agendamento", Integer.class))
+				.isEqualTo(1);
+	}
+}
@@ -0,0 +1,119 @@
+package br.com.pateandoapp.pateandobackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.pateandoapp.pateandobackend.DTO.GanhosDTO;
+import br.com.pateandoapp.pateandobackend.DTO.RelatorioGanhosDTO;
+import br.com.pateandoapp.pateandobackend.model.Dogwalker;
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+import br.com.pateandoapp.pateandobackend.repository.AgendamentoRepository;
+import br.com.pateandoapp.pateandobackend.repository.DogwalkerRepository;
+import br.com.pateandoapp.pateandobackend.service.AgendamentoService;
+import br.com.pateandoapp.pateandobackend.service.GanhosDogwalkerService;
+
+// Ganhos diários dos dogwalkers: preço combinado no agendamento e os relatórios por período
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+class GanhosDogwalkerTests {
+
+	@Autowired
+	private DadosTeste dados;
+
+	@Autowired
+	private DogwalkerRepository dogwalkerRepository;
+
+	@Autowired
+	private AgendamentoRepository agendamentoRepository;
+
+	@Autowired
+	private AgendamentoService agendamentoService;
+
+	@Autowired
+	private GanhosDogwalkerService ganhosService;
+
+	@Test
+	void passeioConcluidoUsaOPrecoCombinado() {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		Long petA = dados.pet(cliente);
+		Long petB = dados.pet(cliente);
+
+		Long passeio = dados.criarPasseio(cliente, List.of(petA, petB), walker, LocalDateTime.of(2034, 5, 2, 8, 0), 60);
+		assertThat(agendamentoRepository.findById(passeio).orElseThrow().getPreco()).isEqualTo(40.0);
+
+		// Mudança na tabela depois do pedido não altera o passeio já agendado
+		Dogwalker dogwalker = dados.dogwalker(walker);
+		dogwalker.setPreco60min(60.0);
+		dogwalkerRepository.save(dogwalker);
+		dados.concluir(passeio, walker);
+
+		RelatorioGanhosDTO relatorio = ganhosService.relatorio(dogwalker.getId(),
+				LocalDate.of(2034, 5, 1), LocalDate.of(2034, 5, 31), null);
+		assertThat(relatorio.getAgrupamento()).isEqualTo("DIA");
+		assertThat(relatorio.getPeriodos()).extracting(GanhosDTO::getInicio).containsExactly(LocalDate.of(2034, 5, 2));
+		assertThat(relatorio.getTotal().getPasseios()).isEqualTo(1);
+		assertThat(relatorio.getTotal().getMinutos()).isEqualTo(60);
+		assertThat(relatorio.getTotal().getReceita()).isEqualTo(40.0);
+		assertThat(relatorio.getTotal().getPets()).isEqualTo(2);
+	}
+
+	@Test
+	void agrupaPorSemanaEMes() {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		List<Long> pets = List.of(dados.pet(cliente));
+
+		// Sexta 31/03, segunda 03/04 (duas vezes) e sábado 08/04; o cancelado não entra
+		dados.concluir(dados.criarPasseio(cliente, pets, walker, LocalDateTime.of(2034, 3, 31, 8, 0), 30), walker);
+		dados.concluir(dados.criarPasseio(cliente, pets, walker, LocalDateTime.of(2034, 4, 3, 8, 0), 60), walker);
+		dados.concluir(dados.criarPasseio(cliente, pets, walker, LocalDateTime.of(2034, 4, 3, 14, 0), 90), walker);
+		dados.concluir(dados.criarPasseio(cliente, pets, walker, LocalDateTime.of(2034, 4, 8, 8, 0), 30), walker);
+		Long cancelado = dados.criarPasseio(cliente, pets, walker, LocalDateTime.of(2034, 4, 4, 8, 0), 60);
+		agendamentoService.cancelarAgendamento(cancelado, cliente.getId());
+
+		Long dogwalkerId = dados.dogwalker(walker).getId();
+		LocalDate de = LocalDate.of(2034, 3, 1);
+		LocalDate ate = LocalDate.of(2034, 4, 30);
+
+		RelatorioGanhosDTO porDia = ganhosService.relatorio(dogwalkerId, de, ate, "dia");
+		assertThat(porDia.getPeriodos()).extracting(GanhosDTO::getPasseios).containsExactly(1, 2, 1);
+		assertThat(porDia.getTotal().getPasseios()).isEqualTo(4);
+		assertThat(porDia.getTotal().getMinutos()).isEqualTo(210);
+		assertThat(porDia.getTotal().getReceita()).isEqualTo(25.0 + 40.0 + 55.0 + 25.0);
+
+		// Semanas começam na segunda: 27/03 (sexta 31) e 03/04 (segunda e sábado)
+		RelatorioGanhosDTO porSemana = ganhosService.relatorio(dogwalkerId, de, ate, "SEMANA");
+		assertThat(porSemana.getPeriodos()).extracting(GanhosDTO::getInicio)
+				.containsExactly(LocalDate.of(2034, 3, 27), LocalDate.of(2034, 4, 3));
+		assertThat(porSemana.getPeriodos()).extracting(GanhosDTO::getReceita).containsExactly(25.0, 120.0);
+
+		RelatorioGanhosDTO porMes = ganhosService.relatorio(dogwalkerId, de, ate, "MES");
+		assertThat(porMes.getPeriodos()).extracting(GanhosDTO::getInicio)
+				.containsExactly(LocalDate.of(2034, 3, 1), LocalDate.of(2034, 4, 1));
+		assertThat(porMes.getPeriodos()).extracting(GanhosDTO::getMinutos).containsExactly(30, 180);
+		assertThat(porMes.getTotal().getPasseios()).isEqualTo(porSemana.getTotal().getPasseios());
+	}
+
+	@Test
+	void recusaIntervaloInvalido() {
+		LocalDate hoje = LocalDate.of(2034, 1, 1);
+		assertThatThrownBy(() -> ganhosService.relatorio(1L, hoje, hoje.minusDays(1), null))
+				.hasMessage("A data inicial deve ser anterior à data final!");
+		assertThatThrownBy(() -> ganhosService.relatorio(1L, hoje.minusYears(4), hoje, null))
+				.hasMessage("O intervalo máximo do relatório é de 3 anos!");
+		assertThatThrownBy(() -> ganhosService.relatorio(1L, hoje, hoje, "ANO"))
+				.hasMessage("Agrupamento inválido! Use DIA, SEMANA ou MES.");
+	}
+}
@@ -0,0 +1,114 @@
+package br.com.pateandoapp.pateandobackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.pateandoapp.pateandobackend.DTO.ClienteEstatisticasDTO;
+import br.com.pateandoapp.pateandobackend.model.TipoTransicao;
+import br.com.pateandoapp.pateandobackend.model.TransicaoAgendamento;
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+import br.com.pateandoapp.pateandobackend.service.AgendamentoService;
+import br.com.pateandoapp.pateandobackend.service.ClienteEstatisticasService;
+import br.com.pateandoapp.pateandobackend.service.HistoricoAgendamentosService;
+import br.com.pateandoapp.pateandobackend.service.RegistroTransicoes;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Histórico de transições: o que cada transição grava e a reconstrução das projeções,
+// que tem de chegar aos mesmos números que a manutenção incremental
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+class HistoricoAgendamentosTests {
+
+	@Autowired
+	private DadosTeste dados;
+
+	@Autowired
+	private AgendamentoService agendamentoService;
+
+	@Autowired
+	private ClienteEstatisticasService clienteEstatisticasService;
+
+	@Autowired
+	private HistoricoAgendamentosService historicoService;
+
+	@Autowired
+	private RegistroTransicoes registroTransicoes;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Test
+	void registraCadaTransicaoComOAutor() {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		Long passeio = dados.concluir(dados.criarPasseio(cliente, walker, LocalDateTime.of(2033, 3, 1, 8, 0)), walker);
+		registroTransicoes.gravar();
+
+		List<TransicaoAgendamento> historico = historicoService.listar(passeio);
+		assertThat(historico).extracting(TransicaoAgendamento::getTipo)
+				.containsExactly(TipoTransicao.CRIADO, TipoTransicao.ACEITO, TipoTransicao.INICIADO, TipoTransicao.FINALIZADO);
+		assertThat(historico).extracting(TransicaoAgendamento::getAutorId)
+				.containsExactly(cliente.getId(), walker.getId(), walker.getId(), walker.getId());
+		assertThat(historico.get(3).getDuracao()).isEqualTo(60);
+	}
+
+	@Test
+	void reconstrucaoChegaAosMesmosNumeros() {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		for (int i = 0; i < 3; i++) {
+			dados.concluir(dados.criarPasseio(cliente, walker, LocalDateTime.of(2033, 4, 1 + i, 8, 0)), walker);
+		}
+		Long cancelado = dados.criarPasseio(cliente, walker, LocalDateTime.of(2033, 4, 10, 8, 0));
+		agendamentoService.cancelarAgendamento(cancelado, cliente.getId());
+
+		ClienteEstatisticasDTO incremental = clienteEstatisticasService.buscar(cliente.getId());
+		Integer totalIncremental = dados.dogwalker(walker).getTotalPasseios();
+
+		historicoService.reconstruirProjecoes();
+
+		ClienteEstatisticasDTO reconstruida = clienteEstatisticasService.buscar(cliente.getId());
+		assertThat(reconstruida.getTotalPasseios()).isEqualTo(3).isEqualTo(incremental.getTotalPasseios());
+		assertThat(reconstruida.getTotalMinutos()).isEqualTo(180).isEqualTo(incremental.getTotalMinutos());
+		assertThat(reconstruida.getPasseiosComFavorito()).isEqualTo(incremental.getPasseiosComFavorito());
+		assertThat(dados.dogwalker(walker).getTotalPasseios()).isEqualTo(3).isEqualTo(totalIncremental);
+	}
+
+	@Test
+	void falhaNaGravacaoMantemAsTransicoesNaFila() {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		double falhas = registry.counter("pateando.transicoes.falhas").count();
+
+		// Tabela fora do ar: a gravação falha sem lançar e o lote volta para a fila
+		jdbcTemplate.execute("alter table transicoes_agendamento rename to transicoes_agendamento_fora");
+		Long passeio;
+		try {
+			passeio = dados.criarPasseio(cliente, walker, DadosTeste.horario());
+			assertThatCode(registroTransicoes::gravar).doesNotThrowAnyException();
+			assertThat(registry.counter("pateando.transicoes.falhas").count()).isGreaterThan(falhas);
+			assertThat(registry.get("pateando.transicoes.pendentes").gauge().value()).isPositive();
+		} finally {
+			jdbcTemplate.execute("alter table transicoes_agendamento_fora rename to transicoes_agendamento");
+		}
+
+		// Sem esperar o fim da espera entre tentativas, como no desligamento
+		registroTransicoes.gravarPendentes();
+		assertThat(historicoService.listar(passeio)).extracting(TransicaoAgendamento::getTipo)
+				.containsExactly(TipoTransicao.CRIADO);
+	}
+}
@@ -0,0 +1,292 @@
+package br.com.pateandoapp.pateandobackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.jayway.jsonpath.JsonPath;
+
+import br.com.pateandoapp.pateandobackend.config.OrcamentoSql;
+import br.com.pateandoapp.pateandobackend.controller.AgendamentoController;
+import br.com.pateandoapp.pateandobackend.controller.DogwalkerController;
+import br.com.pateandoapp.pateandobackend.controller.EventoController;
+import br.com.pateandoapp.pateandobackend.controller.PetController;
+import br.com.pateandoapp.pateandobackend.controller.RastreamentoController;
+import br.com.pateandoapp.pateandobackend.controller.UsuarioController;
+
+// Orçamento de comandos SQL (@OrcamentoSql) de todos os endpoints, no modo FALHAR:
+// uma requisição acima do orçamento lança exceção e o teste falha. Cada teste passa por
+// todos os endpoints de um controller, com listas de mais de uma linha (onde um SELECT
+// por linha apareceria) e pelo caminho de sucesso de cada um.
+@SpringBootTest(properties = "pateando.sql.orcamento.modo=FALHAR")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class OrcamentoSqlTests {
+
+	// O banco em memória é compartilhado com os outros testes: emails e telefones únicos
+	// (os horários vêm de DadosTeste.horario()). Os usuários, pets e passeios são criados
+	// pela API, porque essas chamadas também entram no orçamento
+	private static final AtomicInteger SEQUENCIA = new AtomicInteger();
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	@Qualifier("requestMappingHandlerMapping")
+	private RequestMappingHandlerMapping mapeamentos;
+
+	// Endpoints chamados pelo teste em curso
+	private final Set<String> exercitados = new HashSet<>();
+
+	@Test
+	void todoEndpointTemOrcamento() {
+		List<String> semOrcamento = endpoints(null).stream()
+				.filter(handler -> !handler.hasMethodAnnotation(OrcamentoSql.class))
+				.map(HandlerMethod::getShortLogMessage)
+				.toList();
+		assertThat(semOrcamento).isEmpty();
+	}
+
+	@Test
+	void usuarios() throws Exception {
+		Usuario cliente = criarUsuario("CLIENTE");
+		criarUsuario("CLIENTE");
+		Usuario removido = criarUsuario("CLIENTE");
+		Cenario cenario = new Cenario(cliente, criarUsuario("DOGWALKER"));
+		concluir(cenario, cenario.passeio(0));
+		concluir(cenario, cenario.passeio(1));
+
+		chamar(get("/usuarios").param("limite", "2"), cliente.token);
+		chamar(get("/usuarios/" + cliente.id), cliente.token);
+		chamar(get("/usuarios/" + cliente.id + "/estatisticas"), cliente.token);
+		chamar(delete("/usuarios/" + removido.id), removido.token);
+
+		assertTodosExercitados(UsuarioController.class);
+	}
+
+	@Test
+	void pets() throws Exception {
+		Usuario cliente = criarUsuario("CLIENTE");
+		criarPet(cliente);
+		Long petId = criarPet(cliente);
+
+		chamar(get("/pets/user/" + cliente.id), cliente.token);
+		chamar(delete("/pets/delete/" + petId), cliente.token);
+
+		assertTodosExercitados(PetController.class);
+	}
+
+	@Test
+	void dogwalkers() throws Exception {
+		Usuario cliente = criarUsuario("CLIENTE");
+		Usuario dogwalker = criarUsuario("DOGWALKER");
+		Usuario outro = criarUsuario("DOGWALKER");
+		Cenario cenario = new Cenario(cliente, dogwalker);
+		avaliar(cenario, concluir(cenario, cenario.passeio(0)));
+		avaliar(cenario, concluir(cenario, cenario.passeio(1)));
+
+		chamar(put("/dogwalkers/" + dogwalker.dogwalkerId + "/localizacao"), dogwalker.token,
+				"{\"latitude\":-23.55,\"longitude\":-46.63}");
+		chamar(put("/dogwalkers/" + outro.dogwalkerId + "/localizacao"), outro.token,
+				"{\"latitude\":-23.56,\"longitude\":-46.64}");
+
+		chamar(get("/dogwalkers").param("limite", "2"), cliente.token);
+		chamar(get("/dogwalkers/disponiveis"), cliente.token);
+		chamar(get("/dogwalkers/proximos").param("latitude", "-23.55").param("longitude", "-46.63"), cliente.token);
+		chamar(get("/dogwalkers/" + dogwalker.dogwalkerId), cliente.token);
+		chamar(get("/dogwalkers/" + dogwalker.dogwalkerId + "/avaliacoes"), cliente.token);
+		chamar(get("/dogwalkers/" + dogwalker.dogwalkerId + "/ganhos").param("de", "2036-01-01")
+				.param("ate", "2038-12-31").param("agrupamento", "SEMANA"), dogwalker.token);
+		chamar(get("/dogwalkers/usuario/" + dogwalker.id), cliente.token);
+		chamar(put("/dogwalkers/" + dogwalker.dogwalkerId + "/disponibilidade"), dogwalker.token,
+				"{\"disponibilidade\":\"INDISPONIVEL\"}");
+		chamar(put("/dogwalkers/usuario/" + dogwalker.id + "/disponibilidade"), dogwalker.token,
+				"{\"disponibilidade\":\"DISPONIVEL\"}");
+
+		// O usuário continua DOGWALKER depois de remover o perfil: dá para criar de novo
+		chamar(delete("/dogwalkers/" + outro.dogwalkerId), outro.token);
+		chamar(post("/dogwalkers/criar"), outro.token, "{\"usuarioId\":" + outro.id + "}");
+
+		assertTodosExercitados(DogwalkerController.class);
+	}
+
+	@Test
+	void agendamentos() throws Exception {
+		Usuario cliente = criarUsuario("CLIENTE");
+		Usuario dogwalker = criarUsuario("DOGWALKER");
+		Cenario cenario = new Cenario(cliente, dogwalker);
+
+		List<Number> serie = JsonPath.read(chamar(post("/agendamentos/recorrente"), cliente.token,
+				"{\"petIds\":" + cenario.petIds + ",\"dogwalkerId\":" + dogwalker.dogwalkerId
+						+ ",\"dataHora\":\"" + DadosTeste.horario() + "\",\"duracao\":60,\"ocorrencias\":3}"), "$[*].id");
+
+		chamar(get("/agendamentos").param("limite", "2"), cliente.token);
+		chamar(get("/agendamentos/" + cenario.passeio(0)), cliente.token);
+		chamar(get("/agendamentos/cliente/" + cliente.id), cliente.token);
+		chamar(get("/agendamentos/dogwalker/" + dogwalker.dogwalkerId), dogwalker.token);
+		chamar(get("/agendamentos/dogwalker/usuario/" + dogwalker.id), dogwalker.token);
+		chamar(get("/agendamentos/status/PENDENTE").param("limite", "2"), cliente.token);
+
+		avaliar(cenario, concluir(cenario, cenario.passeio(0)));
+		chamar(put("/agendamentos/" + serie.get(0) + "/rejeitar"), dogwalker.token, "{}");
+		chamar(put("/agendamentos/" + serie.get(1) + "/cancelar"), cliente.token, "{}");
+		chamar(delete("/agendamentos/" + serie.get(2)), cliente.token);
+
+		Long emAndamento = iniciar(cenario, cenario.passeio(1));
+		chamar(put("/agendamentos/" + emAndamento + "/emergencia"), cliente.token, "{}");
+		chamar(put("/agendamentos/" + emAndamento + "/emergencia/confirmar"), dogwalker.token, "{}");
+
+		chamar(get("/agendamentos/" + emAndamento + "/historico"), cliente.token);
+
+		assertTodosExercitados(AgendamentoController.class);
+	}
+
+	@Test
+	void rastreamento() throws Exception {
+		Cenario cenario = new Cenario(criarUsuario("CLIENTE"), criarUsuario("DOGWALKER"));
+		Long passeio = iniciar(cenario, cenario.passeio(0));
+		long agora = System.currentTimeMillis();
+
+		chamar(post("/agendamentos/" + passeio + "/localizacoes"), cenario.dogwalker.token,
+				"{\"pontos\":[{\"latitude\":-23.55,\"longitude\":-46.63,\"timestamp\":" + agora + "},"
+						+ "{\"latitude\":-23.56,\"longitude\":-46.64,\"timestamp\":" + (agora + 5000) + "}]}");
+		chamar(get("/agendamentos/" + passeio + "/localizacao"), cenario.cliente.token);
+		chamar(get("/agendamentos/" + passeio + "/localizacoes/recentes"), cenario.cliente.token);
+		chamar(get("/agendamentos/" + passeio + "/trajeto"), cenario.cliente.token);
+
+		assertTodosExercitados(RastreamentoController.class);
+	}
+
+	@Test
+	void eventos() throws Exception {
+		Usuario cliente = criarUsuario("CLIENTE");
+
+		chamar(get("/eventos/usuario/" + cliente.id).header("Last-Event-ID", "antiga-0"), cliente.token);
+
+		assertTodosExercitados(EventoController.class);
+	}
+
+	// Dados de um cliente com dois pets e dois passeios pendentes com um dogwalker
+	private class Cenario {
+		final Usuario cliente;
+		final Usuario dogwalker;
+		final List<Long> petIds;
+		final List<Long> passeios;
+
+		Cenario(Usuario cliente, Usuario dogwalker) throws Exception {
+			this.cliente = cliente;
+			this.dogwalker = dogwalker;
+			this.petIds = List.of(criarPet(cliente), criarPet(cliente));
+			this.passeios = List.of(criarPasseio(), criarPasseio());
+		}
+
+		Long passeio(int indice) {
+			return passeios.get(indice);
+		}
+
+		private Long criarPasseio() throws Exception {
+			return id(chamar(post("/agendamentos/criar"), cliente.token,
+					"{\"petIds\":" + petIds + ",\"dogwalkerId\":" + dogwalker.dogwalkerId
+							+ ",\"dataHora\":\"" + DadosTeste.horario() + "\",\"duracao\":60}"));
+		}
+	}
+
+	private record Usuario(Long id, String token, Long dogwalkerId) {}
+
+	private Usuario criarUsuario(String tipo) throws Exception {
+		int n = SEQUENCIA.incrementAndGet();
+		String email = "orcamento" + n + "@teste.local";
+		Long id = id(chamar(post("/usuarios"), null,
+				"{\"nome\":\"Usuário " + n + "\",\"email\":\"" + email + "\",\"telefone\":\"55" + n
+						+ "\",\"senha\":\"s\",\"tipoUsuario\":\"" + tipo + "\"}"));
+		String token = JsonPath.read(chamar(post("/usuarios/login"), null,
+				"{\"email\":\"" + email + "\",\"senha\":\"s\"}"), "$.token");
+		Long dogwalkerId = "DOGWALKER".equals(tipo)
+				? id(chamar(get("/dogwalkers/usuario/" + id), token))
+				: null;
+		return new Usuario(id, token, dogwalkerId);
+	}
+
+	private Long criarPet(Usuario dono) throws Exception {
+		return id(chamar(post("/pets/create/" + dono.id), dono.token, "{\"nome\":\"Rex\",\"idade\":3}"));
+	}
+
+	private Long iniciar(Cenario cenario, Long passeio) throws Exception {
+		chamar(put("/agendamentos/" + passeio + "/aceitar"), cenario.dogwalker.token, "{}");
+		chamar(put("/agendamentos/" + passeio + "/iniciar"), cenario.dogwalker.token, "{}");
+		return passeio;
+	}
+
+	private Long concluir(Cenario cenario, Long passeio) throws Exception {
+		iniciar(cenario, passeio);
+		chamar(put("/agendamentos/" + passeio + "/finalizar"), cenario.dogwalker.token, "{}");
+		return passeio;
+	}
+
+	private void avaliar(Cenario cenario, Long passeio) throws Exception {
+		chamar(post("/agendamentos/" + passeio + "/avaliacao"), cenario.cliente.token, "{\"nota\":5}");
+	}
+
+	private String chamar(MockHttpServletRequestBuilder requisicao, String token) throws Exception {
+		return chamar(requisicao, token, null);
+	}
+
+	// Executa a requisição (acima do orçamento, o filtro lança exceção) e exige sucesso
+	private String chamar(MockHttpServletRequestBuilder requisicao, String token, String corpo) throws Exception {
+		if (token != null) {
+			requisicao.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		}
+		if (corpo != null) {
+			requisicao.contentType(MediaType.APPLICATION_JSON).content(corpo);
+		}
+		MvcResult resultado = mvc.perform(requisicao).andReturn();
+		String resposta = resultado.getResponse().getContentAsString();
+		assertThat(resultado.getResponse().getStatus())
+				.as("%s %s: %s", resultado.getRequest().getMethod(), resultado.getRequest().getRequestURI(), resposta)
+				.isBetween(200, 299);
+		if (resultado.getHandler() instanceof HandlerMethod handler) {
+			exercitados.add(handler.getShortLogMessage());
+		}
+		return resposta;
+	}
+
+	private static Long id(String json) {
+		return ((Number) JsonPath.read(json, "$.id")).longValue();
+	}
+
+	private List<HandlerMethod> endpoints(Class<?> controller) {
+		return mapeamentos.getHandlerMethods().values().stream()
+				.filter(handler -> handler.getBeanType().getPackageName().endsWith(".controller"))
+				.filter(handler -> controller == null || handler.getBeanType().equals(controller))
+				.toList();
+	}
+
+	private void assertTodosExercitados(Class<?> controller) {
+		List<String> faltando = endpoints(controller).stream()
+				.map(HandlerMethod::getShortLogMessage)
+				.filter(endpoint -> !exercitados.contains(endpoint))
+				.toList();
+		assertThat(faltando).as("Endpoints de %s sem chamada no teste", controller.getSimpleName()).isEmpty();
+	}
+}
@@ -0,0 +1,107 @@
+package br.com.pateandoapp.pateandobackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.jayway.jsonpath.JsonPath;
+
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+
+// Paginação por cursor: seguir o header Link percorre a lista inteira, na ordem e sem
+// repetir itens; sem limite, a resposta é a página padrão (nunca a tabela inteira)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+class PaginacaoTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private DadosTeste dados;
+
+	@Test
+	void cursorPercorreOsAgendamentosDoCliente() throws Exception {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		List<Long> criados = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			criados.add(dados.criarPasseio(cliente, walker, DadosTeste.horario()));
+		}
+		String token = dados.token(cliente);
+
+		MockHttpServletResponse tudo = chamar(get("/agendamentos/cliente/" + cliente.getId()), token);
+		assertThat(tudo.getHeader(HttpHeaders.LINK)).isNull();
+		List<Long> completa = ids(tudo);
+		// Do mais recente para o mais antigo
+		assertThat(completa).containsExactlyElementsOf(criados.reversed());
+
+		List<Long> percorrida = new ArrayList<>();
+		int paginas = 0;
+		MockHttpServletRequestBuilder proxima = get("/agendamentos/cliente/" + cliente.getId() + "?limite=2");
+		while (proxima != null) {
+			MockHttpServletResponse pagina = chamar(proxima, token);
+			List<Long> itens = ids(pagina);
+			assertThat(itens).hasSizeLessThanOrEqualTo(2);
+			percorrida.addAll(itens);
+			paginas++;
+			String link = pagina.getHeader(HttpHeaders.LINK);
+			proxima = link == null ? null : get(URI.create(link.substring(link.indexOf('<') + 1, link.indexOf('>'))));
+		}
+
+		assertThat(paginas).isEqualTo(3);
+		assertThat(percorrida).containsExactlyElementsOf(completa);
+	}
+
+	@Test
+	void semLimiteDevolveAPaginaPadrao() throws Exception {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		List<Long> pets = List.of(dados.pet(cliente));
+		for (int i = 0; i < 51; i++) {
+			dados.criarPasseio(cliente, pets, walker, DadosTeste.horario(), 60);
+		}
+
+		MockHttpServletResponse pagina = chamar(get("/agendamentos/cliente/" + cliente.getId()), dados.token(cliente));
+		assertThat(ids(pagina)).hasSize(50);
+		assertThat(pagina.getHeader(HttpHeaders.LINK)).contains("cursor=").endsWith("rel=\"next\"");
+	}
+
+	@Test
+	void cursorInvalidoDevolve400() throws Exception {
+		Usuario cliente = dados.usuario("CLIENTE");
+
+		mvc.perform(get("/agendamentos/cliente/" + cliente.getId()).param("cursor", "nao-e-cursor")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + dados.token(cliente)))
+				.andExpect(status().isBadRequest());
+	}
+
+	private MockHttpServletResponse chamar(MockHttpServletRequestBuilder requisicao, String token) throws Exception {
+		return mvc.perform(requisicao.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse();
+	}
+
+	private static List<Long> ids(MockHttpServletResponse resposta) throws Exception {
+		List<Number> ids = JsonPath.read(resposta.getContentAsString(), "$[*].id");
+		return ids.stream().map(Number::longValue).toList();
+	}
+}
@@ -2,8 +2,11 @@ package br.com.pateandoapp.pateandobackend;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
+// Banco H2 em memória (application-h2.properties), sem depender de um postgres
 @SpringBootTest
+@ActiveProfiles("h2")
 class PateandobackendApplicationTests {
 
 	@Test
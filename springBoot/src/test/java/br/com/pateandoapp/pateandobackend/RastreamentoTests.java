@@ -0,0 +1,98 @@
+package br.com.pateandoapp.pateandobackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.pateandoapp.pateandobackend.DTO.LoteLocalizacoesDTO;
+import br.com.pateandoapp.pateandobackend.DTO.PontoLocalizacaoDTO;
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+import br.com.pateandoapp.pateandobackend.repository.TrechoTrajetoRepository;
+import br.com.pateandoapp.pateandobackend.service.AgendamentoService;
+import br.com.pateandoapp.pateandobackend.service.RastreamentoService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Gravação dos trechos de trajeto: um passeio que não grava não segura os outros,
+// e os trechos dele são descartados depois de maximo-tentativas ciclos
+@SpringBootTest(properties = "pateando.rastreamento.maximo-tentativas=2")
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+class RastreamentoTests {
+
+	@Autowired
+	private DadosTeste dados;
+
+	@Autowired
+	private RastreamentoService rastreamentoService;
+
+	@Autowired
+	private AgendamentoService agendamentoService;
+
+	@Autowired
+	private TrechoTrajetoRepository trechoTrajetoRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Test
+	void passeioQueNaoGravaEDescartadoSemSegurarOsOutros() {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		Long removido = dados.iniciar(dados.criarPasseio(cliente, walker, DadosTeste.horario()), walker);
+		Long normal = dados.iniciar(dados.criarPasseio(cliente, walker, DadosTeste.horario()), walker);
+
+		// Removido por fora do serviço: continua em memória, e os trechos dele violam a chave estrangeira
+		jdbcTemplate.update("delete from agendamento_pets where agendamento_id = ?", removido);
+		jdbcTemplate.update("delete from agendamentos where id = ?", removido);
+		double descartadosAntes = registry.counter("pateando.trajeto.descartados").count();
+
+		// Um trecho completo em cada passeio
+		rastreamentoService.registrarPontos(removido, lote(walker, 120));
+		rastreamentoService.registrarPontos(normal, lote(walker, 120));
+		rastreamentoService.gravarTrechos();
+		rastreamentoService.gravarTrechos();
+
+		assertThat(trechoTrajetoRepository.findByAgendamentoIdOrderBySequenciaAsc(normal)).hasSize(1);
+		assertThat(rastreamentoService.buscarTrajeto(removido)).isEmpty();
+		assertThat(registry.counter("pateando.trajeto.descartados").count() - descartadosAntes).isEqualTo(1);
+	}
+
+	@Test
+	void agendamentoRemovidoSaiDaMemoria() {
+		Usuario cliente = dados.usuario("CLIENTE");
+		Usuario walker = dados.usuario("DOGWALKER");
+		Long passeio = dados.iniciar(dados.criarPasseio(cliente, walker, DadosTeste.horario()), walker);
+		rastreamentoService.registrarPontos(passeio, lote(walker, 10));
+		assertThat(rastreamentoService.ultimaPosicao(passeio)).isPresent();
+
+		agendamentoService.deletarAgendamento(passeio);
+
+		assertThat(rastreamentoService.ultimaPosicao(passeio)).isEmpty();
+		assertThatThrownBy(() -> rastreamentoService.registrarPontos(passeio, lote(walker, 1)))
+				.hasMessage("Agendamento não encontrado!");
+	}
+
+	private static LoteLocalizacoesDTO lote(Usuario walker, int pontos) {
+		long agora = System.currentTimeMillis();
+		List<PontoLocalizacaoDTO> lista = new ArrayList<>();
+		for (int i = 0; i < pontos; i++) {
+			lista.add(new PontoLocalizacaoDTO(-23.55 + i * 0.0001, -46.63, agora + i * 1000L));
+		}
+		LoteLocalizacoesDTO lote = new LoteLocalizacoesDTO();
+		lote.setDogwalkerUsuarioId(walker.getId());
+		lote.setPontos(lista);
+		return lote;
+	}
+}
@@ -0,0 +1,143 @@
+package br.com.pateandoapp.pateandobackend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.pateandoapp.pateandobackend.model.Usuario;
+import br.com.pateandoapp.pateandobackend.repository.UsuarioRepository;
+import br.com.pateandoapp.pateandobackend.service.UsuarioAutenticado;
+import br.com.pateandoapp.pateandobackend.service.UsuarioService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Réplica de leitura com dois bancos H2 em memória no lugar do primário e da réplica.
+// Não há replicação entre eles: o que só existe num dos dois mostra de onde a leitura veio.
+@SpringBootTest(properties = {
+		"pateando.datasource.replica.url=" + ReplicaLeituraTests.URL_REPLICA,
+		"pateando.datasource.replica.janela-leitura-ms=500"})
+@ActiveProfiles("h2")
+@Import(DadosTeste.class)
+class ReplicaLeituraTests {
+
+	static final String URL_REPLICA = "jdbc:h2:mem:pateando_replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private DadosTeste dados;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private UsuarioService usuarioService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	// Antes do contexto subir: a réplica precisa do esquema, e as migrations só rodam no primário
+	@BeforeAll
+	static void criarEsquemaDaReplica() {
+		Flyway.configure()
+				.dataSource(URL_REPLICA, "sa", "")
+				.locations("classpath:db/migration/comum", "classpath:db/migration/h2")
+				.load()
+				.migrate();
+	}
+
+	@Test
+	void leiturasVaoParaAReplicaEEscritasParaOPrimario() throws Exception {
+		new JdbcTemplate(new DriverManagerDataSource(URL_REPLICA, "sa", "")).update(
+				"insert into usuarios (nome, email, telefone, senha, tipo) values (?, ?, ?, ?, ?)",
+				"Só na réplica", "replica1@teste.local", "8001", "s", "CLIENTE");
+
+		// Transação somente leitura, e os métodos de leitura herdados do JpaRepository: réplica
+		assertThat(emOutraThread(null, () -> buscar("replica1"))).isPresent();
+		assertThat(emOutraThread(null, () -> usuarioRepository.findAll()))
+				.extracting(Usuario::getEmail).contains("replica1@teste.local");
+
+		// A mesma consulta numa transação de escrita: primário
+		TransactionTemplate escrita = new TransactionTemplate(transactionManager);
+		Optional<Usuario> naEscrita = emOutraThread(null,
+				() -> escrita.execute(status -> usuarioRepository.findByEmail("replica1@teste.local")));
+		assertThat(naEscrita).isEmpty();
+	}
+
+	@Test
+	void logoDepoisDeEscreverOUsuarioLeDoPrimario() throws Exception {
+		Authentication autor = autenticado(990_001L);
+
+		// Mesma thread da escrita, sem usuário (como o cadastro): primário
+		assertThat(emOutraThread(null, () -> {
+			usuarioService.createUser(dados.novoUsuario("replica2", "CLIENTE"));
+			return buscar("replica2");
+		})).isPresent();
+
+		// Outra requisição (outra thread) do usuário que acabou de escrever: primário
+		emOutraThread(autor, () -> usuarioService.createUser(dados.novoUsuario("replica3", "CLIENTE")));
+		assertThat(emOutraThread(autor, () -> buscar("replica3"))).isPresent();
+
+		// Outro usuário, ou o mesmo depois da janela: réplica (onde o cadastro não chegou)
+		assertThat(emOutraThread(autenticado(990_002L), () -> buscar("replica3")))
+				.isEmpty();
+		Thread.sleep(600);
+		assertThat(emOutraThread(autor, () -> buscar("replica3"))).isEmpty();
+	}
+
+	@Test
+	void cadaPoolPublicaAsPropriasMetricas() throws Exception {
+		emOutraThread(null, () -> usuarioRepository.count());
+
+		assertThat(registry.find("hikaricp.connections").tag("pool", "primario").gauge()).isNotNull();
+		assertThat(registry.find("hikaricp.connections").tag("pool", "replica").gauge()).isNotNull();
+		assertThat(registry.find("pateando.datasource.conexoes").tag("destino", "replica").counter()).isNotNull();
+	}
+
+	// Consulta numa transação somente leitura, como as dos serviços
+	private Optional<Usuario> buscar(String nome) {
+		TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+		leitura.setReadOnly(true);
+		return leitura.execute(status -> usuarioRepository.findByEmail(nome + "@teste.local"));
+	}
+
+	// Cada chamada numa thread nova: a janela da thread de uma chamada não vale para a seguinte
+	private static <T> T emOutraThread(Authentication autenticacao, Callable<T> tarefa) throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			return executor.submit(() -> {
+				SecurityContextHolder.getContext().setAuthentication(autenticacao);
+				try {
+					return tarefa.call();
+				} finally {
+					SecurityContextHolder.clearContext();
+				}
+			}).get();
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static Authentication autenticado(Long usuarioId) {
+		return new UsernamePasswordAuthenticationToken(new UsuarioAutenticado(usuarioId, "CLIENTE", null, 0), null, List.of());
+	}
+}